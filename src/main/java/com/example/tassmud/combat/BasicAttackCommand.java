@@ -298,9 +298,8 @@ public class BasicAttackCommand implements CombatCommand {
             // Player with weapon - use weapon's ability score and multiplier
             damageBonus = getWeaponAbilityDamageBonus(user, attacker);
             // If unarmed (returns 0), fall back to STR mod
-            Long mainHandId = DaoProvider.equipment().getCharacterEquipment(user.getCharacterId(), 
-                com.example.tassmud.model.EquipmentSlot.MAIN_HAND.getId());
-            if (mainHandId == null) {
+            CombatProfile profile = user.getCombatProfile();
+            if (profile != null && !profile.isArmed()) {
                 damageBonus = strMod; // Unarmed uses STR
             }
         } else {
@@ -319,13 +318,10 @@ public class BasicAttackCommand implements CombatCommand {
         if (!isRangedAttack && !isMagicalAttack && infusion == null && isTwoHandedWeapon(user)) {
             // Only apply 1.5x bonus if using default STR calculation (not custom weapon ability)
             // Check if weapon has custom ability multiplier > 1.0
-            com.example.tassmud.persistence.ItemDAO th2ItemDAO = new com.example.tassmud.persistence.ItemDAO();
-            Long mainHandId = DaoProvider.equipment().getCharacterEquipment(user.getCharacterId(), 
-                com.example.tassmud.model.EquipmentSlot.MAIN_HAND.getId());
-            if (mainHandId != null) {
-                com.example.tassmud.model.ItemInstance weaponInst = th2ItemDAO.getInstance(mainHandId);
-                com.example.tassmud.model.ItemTemplate weaponTmpl = weaponInst != null 
-                    ? th2ItemDAO.getTemplateById(weaponInst.templateId) : null;
+            CombatProfile profile = user.getCombatProfile();
+            if (profile != null && profile.isArmed()) {
+                com.example.tassmud.model.ItemInstance weaponInst = profile.getMainHand();
+                com.example.tassmud.model.ItemTemplate weaponTmpl = profile.getMainHandTemplate();
                 double abilMult = weaponInst != null ? weaponInst.getEffectiveAbilityMultiplier(weaponTmpl) : 1.0;
                 // Only apply 1.5x if weapon uses default 1.0 multiplier
                 if (abilMult <= 1.0) {
@@ -532,7 +528,7 @@ public class BasicAttackCommand implements CombatCommand {
         }
         
         // Check if defender knows the parry skill
-        CharacterSkill parrySkill = DaoProvider.skills().getCharacterSkill(defender.getCharacterId(), PARRY_SKILL_ID);
+        CharacterSkill parrySkill = defender.getCombatProfile().getSkill(PARRY_SKILL_ID);
         if (parrySkill == null) {
             return null;
         }
@@ -587,7 +583,7 @@ public class BasicAttackCommand implements CombatCommand {
         }
         
         // Check if defender knows the deflect missiles skill
-        CharacterSkill deflectSkill = DaoProvider.skills().getCharacterSkill(defender.getCharacterId(), DEFLECT_MISSILES_SKILL_ID);
+        CharacterSkill deflectSkill = defender.getCombatProfile().getSkill(DEFLECT_MISSILES_SKILL_ID);
         if (deflectSkill == null) {
             return null;
         }
@@ -637,7 +633,7 @@ public class BasicAttackCommand implements CombatCommand {
         
         Integer charId = attacker.getCharacterId();
         var skillDao = DaoProvider.skills();
-        CharacterSkill kiStrikeSkill = skillDao.getCharacterSkill(charId, KI_STRIKE_SKILL_ID);
+        CharacterSkill kiStrikeSkill = attacker.getCombatProfile().getSkill(KI_STRIKE_SKILL_ID);
         if (kiStrikeSkill == null) return; // doesn't know Ki Strike
         
         GameCharacter gc = attacker.getCharacter();
@@ -693,7 +689,7 @@ public class BasicAttackCommand implements CombatCommand {
         }
         
         // Check if defender knows Riposte skill
-        CharacterSkill riposteSkill = DaoProvider.skills().getCharacterSkill(defender.getCharacterId(), RIPOSTE_SKILL_ID);
+        CharacterSkill riposteSkill = defender.getCombatProfile().getSkill(RIPOSTE_SKILL_ID);
         if (riposteSkill == null) {
             return; // Doesn't know Riposte
         }
@@ -749,15 +745,12 @@ public class BasicAttackCommand implements CombatCommand {
         
         // For players: check equipped main-hand weapon
         if (attacker.isPlayer() && attacker.getCharacterId() != null) {
-            com.example.tassmud.persistence.ItemDAO itemDAO = new com.example.tassmud.persistence.ItemDAO();
+            CombatProfile profile = attacker.getCombatProfile();
             
-            Long mainHandId = DaoProvider.equipment().getCharacterEquipment(attacker.getCharacterId(), 
-                com.example.tassmud.model.EquipmentSlot.MAIN_HAND.getId());
-            
-            if (mainHandId != null) {
-                com.example.tassmud.model.ItemInstance weaponInst = itemDAO.getInstance(mainHandId);
+            if (profile.isArmed()) {
+                com.example.tassmud.model.ItemInstance weaponInst = profile.getMainHand();
                 if (weaponInst != null) {
-                    com.example.tassmud.model.ItemTemplate weaponTmpl = itemDAO.getTemplateById(weaponInst.templateId);
+                    com.example.tassmud.model.ItemTemplate weaponTmpl = profile.getMainHandTemplate();
                     int effectiveBaseDie = weaponInst.getEffectiveBaseDie(weaponTmpl);
                     int effectiveMultiplier = weaponInst.getEffectiveMultiplier(weaponTmpl);
                     if (effectiveBaseDie > 0) {
@@ -831,15 +824,12 @@ public class BasicAttackCommand implements CombatCommand {
         
         // For players: check equipped main-hand weapon
         if (attacker.isPlayer() && attacker.getCharacterId() != null) {
-            com.example.tassmud.persistence.ItemDAO itemDAO = new com.example.tassmud.persistence.ItemDAO();
-            
-            Long mainHandId = DaoProvider.equipment().getCharacterEquipment(attacker.getCharacterId(), 
-                com.example.tassmud.model.EquipmentSlot.MAIN_HAND.getId());
+            CombatProfile profile = attacker.getCombatProfile();
             
-            if (mainHandId != null) {
-                com.example.tassmud.model.ItemInstance weaponInst = itemDAO.getInstance(mainHandId);
+            if (profile.isArmed()) {
+                com.example.tassmud.model.ItemInstance weaponInst = profile.getMainHand();
                 if (weaponInst != null) {
-                    com.example.tassmud.model.ItemTemplate weaponTmpl = itemDAO.getTemplateById(weaponInst.templateId);
+                    com.example.tassmud.model.ItemTemplate weaponTmpl = profile.getMainHandTemplate();
                     // Use effective stats (instance overrides if present, otherwise template)
                     int effectiveBaseDie = weaponInst.getEffectiveBaseDie(weaponTmpl);
                     int effectiveMultiplier = weaponInst.getEffectiveMultiplier(weaponTmpl);
@@ -871,17 +861,14 @@ public class BasicAttackCommand implements CombatCommand {
         if (!attacker.isPlayer() || attacker.getCharacterId() == null) return false;
         
         // Must have Unarmed Strike skill
-        com.example.tassmud.model.CharacterSkill unarmedSkill = 
-            DaoProvider.skills().getCharacterSkill(attacker.getCharacterId(), UNARMED_STRIKE_SKILL_ID);
-        if (unarmedSkill == null) return false;
+        CombatProfile profile = attacker.getCombatProfile();
+        if (profile.getSkill(UNARMED_STRIKE_SKILL_ID) == null) return false;
         
         // Check if unarmed or wielding a monk weapon
-        Long mainHandId = DaoProvider.equipment().getCharacterEquipment(attacker.getCharacterId(), 
-            com.example.tassmud.model.EquipmentSlot.MAIN_HAND.getId());
-        if (mainHandId == null) return true; // Unarmed — use monk damage
+        if (!profile.isArmed()) return true; // Unarmed — use monk damage
         
         // Wielding something — check if it's a monk weapon
-        WeaponFamily family = calculator.getEquippedWeaponFamily(attacker);
+        WeaponFamily family = profile.getWeaponFamily();
         return family != null && family.isMonkWeapon();
     }
     
@@ -953,21 +940,18 @@ public class BasicAttackCommand implements CombatCommand {
             return 0; // Mobs don't use this system
         }
         
-        com.example.tassmud.persistence.ItemDAO itemDAO = new com.example.tassmud.persistence.ItemDAO();
+        CombatProfile profile = attacker.getCombatProfile();
         
-        Long mainHandId = DaoProvider.equipment().getCharacterEquipment(attacker.getCharacterId(), 
-            com.example.tassmud.model.EquipmentSlot.MAIN_HAND.getId());
-        
-        if (mainHandId == null) {
+        if (!profile.isArmed()) {
             return 0; // Unarmed - no ability multiplier bonus
         }
         
-        com.example.tassmud.model.ItemInstance weaponInst = itemDAO.getInstance(mainHandId);
+        com.example.tassmud.model.ItemInstance weaponInst = profile.getMainHand();
         if (weaponInst == null) {
             return 0;
         }
         
-        com.example.tassmud.model.ItemTemplate weaponTmpl = itemDAO.getTemplateById(weaponInst.templateId);
+        com.example.tassmud.model.ItemTemplate weaponTmpl = profile.getMainHandTemplate();
         
         // Get ability score name from template (default to STR)
         String abilityScore = (weaponTmpl != null && weaponTmpl.abilityScore != null) 
@@ -991,13 +975,8 @@ public class BasicAttackCommand implements CombatCommand {
             return false;
         }
         
-        Long mainHandId = DaoProvider.equipment().getCharacterEquipment(attacker.getCharacterId(), 
-            com.example.tassmud.model.EquipmentSlot.MAIN_HAND.getId());
-        Long offHandId = DaoProvider.equipment().getCharacterEquipment(attacker.getCharacterId(), 
-            com.example.tassmud.model.EquipmentSlot.OFF_HAND.getId());
-        
         // Two-handed if both slots have the same non-null item
-        return mainHandId != null && mainHandId.equals(offHandId);
+        return attacker.getCombatProfile().isTwoHanded();
     }
     
     /**
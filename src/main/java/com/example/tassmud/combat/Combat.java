@@ -51,8 +51,8 @@ public class Combat {
     /** Results from this round (for display, synchronized for thread safety) */
     private final List<CombatResult> roundResults = Collections.synchronizedList(new ArrayList<>());
     
-    /** Log of all combat events (for recap, synchronized for thread safety) */
-    private final List<String> combatLog = Collections.synchronizedList(new ArrayList<>());
+    /** Most recent combat events (for recap; bounded, see {@link CombatLog}) */
+    private final CombatLog combatLog = new CombatLog();
     
     /** Alliance counter for assigning unique alliances */
     private int nextAlliance = 1;
@@ -431,23 +431,16 @@ public class Combat {
     // Combat Log
     
     public void logEvent(String event) {
-        String timestamp = "[R%d %.1fs]".formatted(currentRound,
-            (System.currentTimeMillis() - startedAt) / 1000.0);
-        combatLog.add(timestamp + " " + event);
+        combatLog.add(currentRound, System.currentTimeMillis() - startedAt, event);
     }
     
+    /** The retained combat log, oldest first (unmodifiable snapshot). */
     public List<String> getCombatLog() {
-        return Collections.unmodifiableList(combatLog);
+        return combatLog.entries();
     }
     
     public String getRecentLog(int lines) {
-        int start = Math.max(0, combatLog.size() - lines);
-        StringBuilder sb = new StringBuilder();
-        for (int i = start; i < combatLog.size(); i++) {
-            if (sb.length() > 0) sb.append("\n");
-            sb.append(combatLog.get(i));
-        }
-        return sb.toString();
+        return String.join("\n", combatLog.recent(lines));
     }
     
     // ========== Aggro/Threat System ==========
@@ -3,15 +3,10 @@ package com.example.tassmud.combat;
 
 import com.example.tassmud.persistence.DaoProvider;
 import com.example.tassmud.model.CharacterSkill;
-import com.example.tassmud.model.EquipmentSlot;
-import com.example.tassmud.model.ItemInstance;
-import com.example.tassmud.model.ItemTemplate;
 import com.example.tassmud.model.Mobile;
-import com.example.tassmud.model.Skill;
 import com.example.tassmud.model.WeaponCategory;
 import com.example.tassmud.model.WeaponFamily;
 import com.example.tassmud.persistence.CharacterClassDAO;
-import com.example.tassmud.persistence.ItemDAO;
 
 /**
  * Combat calculator for attack bonuses and damage multipliers.
@@ -35,7 +30,6 @@ public class CombatCalculator {
     
     // Lazy-loaded DAOs (created once per calculator instance)
     private CharacterClassDAO classDAO;
-    private ItemDAO itemDAO;
     
     /**
      * Create a new CombatCalculator.
@@ -118,14 +112,16 @@ public class CombatCalculator {
         if (characterId == null) {
             return new CombatSkills(MIN_SKILL_PROFICIENCY, MIN_SKILL_PROFICIENCY);
         }
-        
-        ensureDAOs();
-        
-        // Get equipped main-hand weapon
-        Long mainHandInstanceId = DaoProvider.equipment().getCharacterEquipment(characterId, EquipmentSlot.MAIN_HAND.getId());
-        if (mainHandInstanceId == null) {
+        return getPlayerCombatSkills(CombatProfile.load(characterId));
+    }
+    
+    /**
+     * Get combat skills for a player from their combat profile (no database access).
+     */
+    private CombatSkills getPlayerCombatSkills(CombatProfile profile) {
+        if (!profile.isArmed()) {
             // Unarmed — check for Unarmed Strike skill (monks)
-            CharacterSkill unarmedSkill = DaoProvider.skills().getCharacterSkill(characterId, 700);
+            CharacterSkill unarmedSkill = profile.getSkill(700);
             if (unarmedSkill != null) {
                 double prof = unarmedSkill.getProficiency() / 100.0;
                 return new CombatSkills(prof, prof);
@@ -133,45 +129,24 @@ public class CombatCalculator {
             return new CombatSkills(MIN_SKILL_PROFICIENCY, MIN_SKILL_PROFICIENCY);
         }
         
-        // Get weapon template to find category and family
-        ItemInstance weaponInstance = itemDAO.getInstance(mainHandInstanceId);
-        if (weaponInstance == null) {
+        if (profile.getMainHandTemplate() == null) {
             return new CombatSkills(MIN_SKILL_PROFICIENCY, MIN_SKILL_PROFICIENCY);
         }
         
-        ItemTemplate weaponTemplate = itemDAO.getTemplateById(weaponInstance.templateId);
-        if (weaponTemplate == null) {
-            return new CombatSkills(MIN_SKILL_PROFICIENCY, MIN_SKILL_PROFICIENCY);
-        }
-        
-        // Get weapon category and family
-        WeaponFamily weaponFamily = weaponTemplate.getWeaponFamily();
-        WeaponCategory weaponCategory = weaponFamily != null ? weaponFamily.getCategory() : null;
-        
-        // Look up character's skills
+        // Look up character's category and family skills for the wielded weapon
         double categorySkill = MIN_SKILL_PROFICIENCY;
         double familySkill = MIN_SKILL_PROFICIENCY;
         
-        // Get category skill
-        if (weaponCategory != null) {
-            Skill catSkill = DaoProvider.skills().getSkillByKey(weaponCategory.getSkillKey());
-            if (catSkill != null) {
-                CharacterSkill charCatSkill = DaoProvider.skills().getCharacterSkill(characterId, catSkill.getId());
-                if (charCatSkill != null) {
-                    categorySkill = charCatSkill.getProficiency() / 100.0; // Convert 0-100 to 0.0-1.0
-                }
-            }
+        Integer catSkillId = profile.getCategorySkillId();
+        CharacterSkill charCatSkill = catSkillId != null ? profile.getSkill(catSkillId) : null;
+        if (charCatSkill != null) {
+            categorySkill = charCatSkill.getProficiency() / 100.0; // Convert 0-100 to 0.0-1.0
         }
         
-        // Get family skill
-        if (weaponFamily != null) {
-            Skill famSkill = DaoProvider.skills().getSkillByKey(weaponFamily.getSkillKey());
-            if (famSkill != null) {
-                CharacterSkill charFamSkill = DaoProvider.skills().getCharacterSkill(characterId, famSkill.getId());
-                if (charFamSkill != null) {
-                    familySkill = charFamSkill.getProficiency() / 100.0;
-                }
-            }
+        Integer famSkillId = profile.getFamilySkillId();
+        CharacterSkill charFamSkill = famSkillId != null ? profile.getSkill(famSkillId) : null;
+        if (charFamSkill != null) {
+            familySkill = charFamSkill.getProficiency() / 100.0;
         }
         
         return new CombatSkills(categorySkill, familySkill);
@@ -208,7 +183,11 @@ public class CombatCalculator {
         }
         
         if (combatant.isPlayer()) {
-            return getPlayerCombatSkills(combatant.getCharacterId());
+            CombatProfile profile = combatant.getCombatProfile();
+            if (profile == null) {
+                return new CombatSkills(MIN_SKILL_PROFICIENCY, MIN_SKILL_PROFICIENCY);
+            }
+            return getPlayerCombatSkills(profile);
         } else if (combatant.isMobile()) {
             return getMobileCombatSkills(combatant.getMobile());
         }
@@ -246,7 +225,8 @@ public class CombatCalculator {
         if (combatant == null) return 1;
         
         if (combatant.isPlayer()) {
-            return getPlayerLevel(combatant.getCharacterId());
+            CombatProfile profile = combatant.getCombatProfile();
+            return profile != null ? profile.getLevel() : 1;
         } else if (combatant.isMobile() && combatant.getMobile() != null) {
             return combatant.getMobile().getLevel();
         }
@@ -267,7 +247,8 @@ public class CombatCalculator {
         if (combatant == null) return true;
         
         if (combatant.isPlayer()) {
-            return isPlayerTrainedWithEquippedWeapon(combatant.getCharacterId());
+            CombatProfile profile = combatant.getCombatProfile();
+            return profile == null || isPlayerTrainedWithEquippedWeapon(profile);
         } else if (combatant.isMobile()) {
             // Mobs are always considered trained with their weapons
             return true;
@@ -279,33 +260,15 @@ public class CombatCalculator {
     /**
      * Check if a player has the category skill for their equipped main-hand weapon.
      */
-    private boolean isPlayerTrainedWithEquippedWeapon(Integer characterId) {
-        if (characterId == null) return true;
-        
-        ensureDAOs();
-        
-        // Get equipped main-hand weapon
-        Long mainHandInstanceId = DaoProvider.equipment().getCharacterEquipment(characterId, EquipmentSlot.MAIN_HAND.getId());
-        if (mainHandInstanceId == null) {
+    private boolean isPlayerTrainedWithEquippedWeapon(CombatProfile profile) {
+        if (!profile.isArmed()) {
             return true; // Unarmed - no training needed
         }
         
-        // Get weapon instance
-        ItemInstance weaponInstance = itemDAO.getInstance(mainHandInstanceId);
-        if (weaponInstance == null) {
-            return true; // No weapon found
-        }
-        
-        // Get weapon template
-        ItemTemplate weaponTemplate = itemDAO.getTemplateById(weaponInstance.templateId);
-        if (weaponTemplate == null) {
-            return true; // No template found
-        }
-        
-        // Get weapon family and category
-        WeaponFamily weaponFamily = weaponTemplate.getWeaponFamily();
+        // Get weapon family and category (no weapon/template/family means nothing to train)
+        WeaponFamily weaponFamily = profile.getWeaponFamily();
         if (weaponFamily == null) {
-            return true; // Not a weapon or no family defined
+            return true;
         }
         
         WeaponCategory weaponCategory = weaponFamily.getCategory();
@@ -313,16 +276,13 @@ public class CombatCalculator {
             return true; // No category defined
         }
         
-        // Check if character has the category skill
-        String categorySkillKey = weaponCategory.getSkillKey();
-        Skill catSkill = DaoProvider.skills().getSkillByKey(categorySkillKey);
-        if (catSkill == null) {
+        Integer catSkillId = profile.getCategorySkillId();
+        if (catSkillId == null) {
             return false; // Skill doesn't exist in the system
         }
         
         // Check if character has this skill (any proficiency means trained)
-        CharacterSkill charCatSkill = DaoProvider.skills().getCharacterSkill(characterId, catSkill.getId());
-        return charCatSkill != null;
+        return profile.getSkill(catSkillId) != null;
     }
     
     /**
@@ -378,9 +338,6 @@ public class CombatCalculator {
         if (classDAO == null) {
             classDAO = DaoProvider.classes();
         }
-        if (itemDAO == null) {
-            itemDAO = DaoProvider.items();
-        }
     }
     
     /**
@@ -393,7 +350,8 @@ public class CombatCalculator {
         if (combatant == null) return null;
         
         if (combatant.isPlayer()) {
-            return getPlayerWeaponFamily(combatant.getCharacterId());
+            CombatProfile profile = combatant.getCombatProfile();
+            return profile != null ? profile.getWeaponFamily() : null;
         } else if (combatant.isMobile()) {
             // For mobs, return null (they don't have equipped items)
             // TODO: Could add weapon family to MobileTemplate for mob weapons
@@ -403,32 +361,6 @@ public class CombatCalculator {
         return null;
     }
     
-    /**
-     * Get the weapon family of a player's equipped main-hand weapon.
-     */
-    private WeaponFamily getPlayerWeaponFamily(Integer characterId) {
-        if (characterId == null) return null;
-        
-        ensureDAOs();
-        
-        Long mainHandInstanceId = DaoProvider.equipment().getCharacterEquipment(characterId, EquipmentSlot.MAIN_HAND.getId());
-        if (mainHandInstanceId == null) {
-            return null; // Unarmed
-        }
-        
-        ItemInstance weaponInstance = itemDAO.getInstance(mainHandInstanceId);
-        if (weaponInstance == null) {
-            return null;
-        }
-        
-        ItemTemplate weaponTemplate = itemDAO.getTemplateById(weaponInstance.templateId);
-        if (weaponTemplate == null) {
-            return null;
-        }
-        
-        return weaponTemplate.getWeaponFamily();
-    }
-    
     /**
      * Check if a combatant is using a ranged weapon.
      * 
@@ -439,7 +371,8 @@ public class CombatCalculator {
         if (combatant == null) return false;
         
         if (combatant.isPlayer()) {
-            return isPlayerUsingRangedWeapon(combatant.getCharacterId());
+            WeaponFamily weaponFamily = getEquippedWeaponFamily(combatant);
+            return weaponFamily != null && weaponFamily.isRanged();
         } else if (combatant.isMobile()) {
             // For now, mobs are assumed to be melee unless we add ranged mob support later
             // TODO: Add ranged weapon support for mobiles
@@ -459,7 +392,9 @@ public class CombatCalculator {
         if (combatant == null) return false;
         
         if (combatant.isPlayer()) {
-            return isPlayerUsingMagicalWeapon(combatant.getCharacterId());
+            CombatProfile profile = combatant.getCombatProfile();
+            return profile != null && profile.getMainHandTemplate() != null
+                && profile.getMainHandTemplate().magical;
         } else if (combatant.isMobile()) {
             // TODO: Add magical weapon support for mobiles
             return false;
@@ -468,64 +403,6 @@ public class CombatCalculator {
         return false;
     }
     
-    /**
-     * Check if a player character is using a ranged weapon.
-     */
-    private boolean isPlayerUsingRangedWeapon(Integer characterId) {
-        if (characterId == null) return false;
-        
-        ensureDAOs();
-        
-        // Get equipped main-hand weapon
-        Long mainHandInstanceId = DaoProvider.equipment().getCharacterEquipment(characterId, EquipmentSlot.MAIN_HAND.getId());
-        if (mainHandInstanceId == null) {
-            return false; // Unarmed is melee
-        }
-        
-        // Get weapon template to find family
-        ItemInstance weaponInstance = itemDAO.getInstance(mainHandInstanceId);
-        if (weaponInstance == null) {
-            return false;
-        }
-        
-        ItemTemplate weaponTemplate = itemDAO.getTemplateById(weaponInstance.templateId);
-        if (weaponTemplate == null) {
-            return false;
-        }
-        
-        WeaponFamily weaponFamily = weaponTemplate.getWeaponFamily();
-        return weaponFamily != null && weaponFamily.isRanged();
-    }
-    
-    /**
-     * Check if a player character is using a magical weapon.
-     * A weapon is magical if it has the 'magical' flag set on its template.
-     */
-    private boolean isPlayerUsingMagicalWeapon(Integer characterId) {
-        if (characterId == null) return false;
-        
-        ensureDAOs();
-        
-        // Get equipped main-hand weapon
-        Long mainHandInstanceId = DaoProvider.equipment().getCharacterEquipment(characterId, EquipmentSlot.MAIN_HAND.getId());
-        if (mainHandInstanceId == null) {
-            return false; // Unarmed is not magical
-        }
-        
-        // Get weapon instance and template
-        ItemInstance weaponInstance = itemDAO.getInstance(mainHandInstanceId);
-        if (weaponInstance == null) {
-            return false;
-        }
-        
-        ItemTemplate weaponTemplate = itemDAO.getTemplateById(weaponInstance.templateId);
-        if (weaponTemplate == null) {
-            return false;
-        }
-        
-        return weaponTemplate.magical;
-    }
-
     // ==================== Mobile Combat Helpers ====================
 
     /**
@@ -0,0 +1,77 @@
+package com.example.tassmud.combat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Fixed-capacity ring buffer of combat events, kept for recaps.
+ *
+ * <p>Once full, each new event overwrites the oldest one, so a long boss fight holds at most
+ * {@code tassmud.combat.logSize} entries (default 200). Events are stored as the raw message plus
+ * the round and elapsed time; the {@code [R3 7.5s]} prefix is only formatted when the log is read.
+ */
+public final class CombatLog {
+
+    static final int DEFAULT_CAPACITY = Math.max(1, Integer.getInteger("tassmud.combat.logSize", 200));
+
+    private final String[] events;
+    private final int[] rounds;
+    private final long[] elapsedMs;
+
+    // All guarded by this
+    private int next;
+    private int size;
+    private long dropped;
+
+    public CombatLog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public CombatLog(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        this.events = new String[capacity];
+        this.rounds = new int[capacity];
+        this.elapsedMs = new long[capacity];
+    }
+
+    /** Record an event, overwriting the oldest entry if the buffer is full. */
+    public synchronized void add(int round, long elapsedMs, String event) {
+        if (size == events.length) {
+            dropped++;
+        } else {
+            size++;
+        }
+        events[next] = event;
+        rounds[next] = round;
+        this.elapsedMs[next] = elapsedMs;
+        next = (next + 1) % events.length;
+    }
+
+    /** All retained events, oldest first, as an unmodifiable list. */
+    public List<String> entries() {
+        return recent(Integer.MAX_VALUE);
+    }
+
+    /** The last {@code count} events (or fewer), oldest first, as an unmodifiable list. */
+    public synchronized List<String> recent(int count) {
+        int n = Math.min(Math.max(0, count), size);
+        List<String> out = new ArrayList<>(n);
+        int start = next - n + events.length;
+        for (int i = 0; i < n; i++) {
+            out.add(format((start + i) % events.length));
+        }
+        return Collections.unmodifiableList(out);
+    }
+
+    public synchronized int size() { return size; }
+
+    public int capacity() { return events.length; }
+
+    /** Number of events overwritten since the log was created. */
+    public synchronized long dropped() { return dropped; }
+
+    private String format(int slot) {
+        return "[R%d %.1fs] %s".formatted(rounds[slot], elapsedMs[slot] / 1000.0, events[slot]);
+    }
+}
@@ -17,6 +17,7 @@ import com.example.tassmud.effect.HasteEffect;
 import com.example.tassmud.effect.HolyAvengerEffect;
 import com.example.tassmud.effect.EffectRegistry;
 import com.example.tassmud.effect.EffectInstance;
+import com.example.tassmud.util.AreaShards;
 import com.example.tassmud.util.TickService;
 import com.example.tassmud.util.GroupManager;
 import com.example.tassmud.util.RegenerationService;
@@ -40,9 +41,6 @@ import java.util.function.Consumer;
  */
 public class CombatManager {
     
-    // Singleton instance
-    private static CombatManager instance;
-    
     /** All active combats, keyed by combat ID */
     private final Map<Long, Combat> activeCombats = new ConcurrentHashMap<>();
     
@@ -121,11 +119,13 @@ public class CombatManager {
     /**
      * Get the singleton instance.
      */
-    public static synchronized CombatManager getInstance() {
-        if (instance == null) {
-            instance = new CombatManager();
-        }
-        return instance;
+    public static CombatManager getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /** Initialization-on-demand holder: lazy and thread-safe without locking on every call. */
+    private static final class Holder {
+        static final CombatManager INSTANCE = new CombatManager();
     }
     
     /**
@@ -187,19 +187,24 @@ public class CombatManager {
         // Expire Empty Body invincibility windows
         sweepEmptyBodyExpiry();
 
+        List<Combat> live = new ArrayList<>();
         for (Combat combat : activeCombats.values()) {
             if (combat.hasEnded()) {
                 toRemove.add(combat);
                 continue;
             }
-            
+
             if (!combat.isActive()) {
                 continue;
             }
-            
-            processCombatTick(combat);
-            
-            // Check if combat should end after processing
+            live.add(combat);
+        }
+
+        // Each combat only touches its own room, so with area sharding rounds run per area in parallel
+        AreaShards.getInstance().forEach("combat", live, Combat::getRoomId, this::processCombatTick);
+
+        // Check if combat should end after processing
+        for (Combat combat : live) {
             if (combat.shouldEnd()) {
                 endCombat(combat);
                 toRemove.add(combat);
@@ -257,18 +262,24 @@ public class CombatManager {
         
         // After all turns are processed, if round just completed, send prompts to players (once)
         if (combat.isRoundComplete() && !combat.isPromptsSentForRound()) {
-            // Process autoflee checks before prompts
-            processAutoflee(combat);
-            
-            // Check if combat ended due to autoflee
-            if (combat.shouldEnd()) {
-                return;
-            }
-            
-            messagingService.sendPromptsToPlayers(combat);
-            combat.setPromptsSentForRound(true);
+            // Fleeing moves combatants out of the room, possibly into another area
+            AreaShards.getInstance().handoff(() -> finishRound(combat));
         }
     }
+
+    /** End-of-round autoflee checks, then prompts to the players still fighting. */
+    private void finishRound(Combat combat) {
+        // Process autoflee checks before prompts
+        processAutoflee(combat);
+
+        // Check if combat ended due to autoflee
+        if (combat.shouldEnd()) {
+            return;
+        }
+
+        messagingService.sendPromptsToPlayers(combat);
+        combat.setPromptsSentForRound(true);
+    }
     
     /**
      * Process autoflee for all combatants in a combat.
@@ -635,7 +646,7 @@ public class CombatManager {
         
         // Look up flurry skill proficiency
         SkillDAO skillDao = DaoProvider.skills();
-        CharacterSkill flurrySkill = skillDao.getCharacterSkill(charId, FLURRY_SKILL_ID);
+        CharacterSkill flurrySkill = combatant.getCombatProfile().getSkill(FLURRY_SKILL_ID);
         if (flurrySkill == null) return;
         
         int proficiency = flurrySkill.getProficiency();
@@ -775,8 +786,7 @@ public class CombatManager {
         }
 
         // Check character has the skill
-        com.example.tassmud.persistence.SkillDAO skillDao = DaoProvider.skills();
-        CharacterSkill emptyBodySkill = skillDao.getCharacterSkill(charId, EMPTY_BODY_SKILL_ID);
+        CharacterSkill emptyBodySkill = target.getCombatProfile().getSkill(EMPTY_BODY_SKILL_ID);
         if (emptyBodySkill == null) return false;
 
         // All conditions met — activate Empty Body
@@ -1312,7 +1322,7 @@ public class CombatManager {
         
         Integer charId = attacker.getCharacterId();
         SkillDAO skillDao = DaoProvider.skills();
-        CharacterSkill kiSkill = skillDao.getCharacterSkill(charId, KI_POOL_SKILL_ID);
+        CharacterSkill kiSkill = attacker.getCombatProfile().getSkill(KI_POOL_SKILL_ID);
         if (kiSkill == null) return; // not a ki user
         
         GameCharacter gc = attacker.getCharacter();
@@ -0,0 +1,164 @@
+package com.example.tassmud.combat;
+
+import com.example.tassmud.model.CharacterSkill;
+import com.example.tassmud.model.EquipmentSlot;
+import com.example.tassmud.model.ItemInstance;
+import com.example.tassmud.model.ItemTemplate;
+import com.example.tassmud.model.Skill;
+import com.example.tassmud.model.WeaponCategory;
+import com.example.tassmud.model.WeaponFamily;
+import com.example.tassmud.persistence.CharacterClassDAO;
+import com.example.tassmud.persistence.DaoProvider;
+import com.example.tassmud.persistence.ItemDAO;
+import com.example.tassmud.persistence.LoadoutChanges;
+import com.example.tassmud.persistence.SkillDAO;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Snapshot of the database-backed state a player's attacks read every round: effective level,
+ * wielded weapon (instance and template), weapon category/family skill ids and every learned
+ * skill with its proficiency.
+ *
+ * <p>{@link Combatant#getCombatProfile()} builds it on the player's first action in a
+ * {@link Combat} and keeps using it until {@link LoadoutChanges} reports an equipment, equipped
+ * item, skill or class-level write for that character; the next read after that rebuilds it. A round of attacks
+ * therefore runs without SQL unless something in it changes the player's loadout (a skill gain,
+ * for instance).
+ */
+public final class CombatProfile {
+
+    /** Bumped for a character on every loadout change; a profile is current while it matches. */
+    private static final Map<Integer, Long> generations = new ConcurrentHashMap<>();
+
+    static {
+        LoadoutChanges.addListener(CombatProfile::invalidate);
+    }
+
+    private final int characterId;
+    private final long generation;
+    private final int level;
+    private final Long mainHandId;
+    private final Long offHandId;
+    private final ItemInstance mainHand;
+    private final ItemTemplate mainHandTemplate;
+    private final Integer categorySkillId;
+    private final Integer familySkillId;
+    private final Map<Integer, CharacterSkill> skills;
+
+    CombatProfile(int characterId, long generation, int level, Long mainHandId, Long offHandId,
+                          ItemInstance mainHand, ItemTemplate mainHandTemplate,
+                          Integer categorySkillId, Integer familySkillId, Map<Integer, CharacterSkill> skills) {
+        this.characterId = characterId;
+        this.generation = generation;
+        this.level = level;
+        this.mainHandId = mainHandId;
+        this.offHandId = offHandId;
+        this.mainHand = mainHand;
+        this.mainHandTemplate = mainHandTemplate;
+        this.categorySkillId = categorySkillId;
+        this.familySkillId = familySkillId;
+        this.skills = skills;
+    }
+
+    /** Read a character's current profile from the database. */
+    public static CombatProfile load(int characterId) {
+        // Read the generation first: a change committed while we load makes this profile stale
+        long generation = generation(characterId);
+
+        CharacterClassDAO classDao = DaoProvider.classes();
+        Integer classId = classDao.getCharacterCurrentClassId(characterId);
+        int level = classId != null ? Math.max(1, classDao.getCharacterClassLevel(characterId, classId)) : 1;
+
+        Map<Integer, Long> equipment = DaoProvider.equipment().getEquipmentMapByCharacterId(characterId);
+        Long mainHandId = equipment.get(EquipmentSlot.MAIN_HAND.getId());
+        Long offHandId = equipment.get(EquipmentSlot.OFF_HAND.getId());
+
+        ItemInstance mainHand = null;
+        ItemTemplate mainHandTemplate = null;
+        if (mainHandId != null) {
+            ItemDAO itemDao = DaoProvider.items();
+            mainHand = itemDao.getInstance(mainHandId);
+            if (mainHand != null) {
+                mainHandTemplate = itemDao.getTemplateById(mainHand.templateId);
+            }
+        }
+
+        SkillDAO skillDao = DaoProvider.skills();
+        Integer categorySkillId = null;
+        Integer familySkillId = null;
+        WeaponFamily family = mainHandTemplate != null ? mainHandTemplate.getWeaponFamily() : null;
+        if (family != null) {
+            familySkillId = skillIdForKey(skillDao, family.getSkillKey());
+            WeaponCategory category = family.getCategory();
+            if (category != null) {
+                categorySkillId = skillIdForKey(skillDao, category.getSkillKey());
+            }
+        }
+
+        Map<Integer, CharacterSkill> skills = new HashMap<>();
+        for (CharacterSkill skill : skillDao.getAllCharacterSkills(characterId)) {
+            skills.put(skill.getSkillId(), skill);
+        }
+
+        return new CombatProfile(characterId, generation, level, mainHandId, offHandId, mainHand,
+                mainHandTemplate, categorySkillId, familySkillId, Map.copyOf(skills));
+    }
+
+    private static Integer skillIdForKey(SkillDAO skillDao, String key) {
+        Skill skill = key != null ? skillDao.getSkillByKey(key) : null;
+        return skill != null ? skill.getId() : null;
+    }
+
+    static long generation(int characterId) {
+        return generations.getOrDefault(characterId, 0L);
+    }
+
+    /** Mark every profile of {@code characterId} stale. */
+    public static void invalidate(int characterId) {
+        generations.merge(characterId, 1L, Long::sum);
+    }
+
+    /** False once the character's loadout has changed since this profile was read. */
+    public boolean isCurrent() {
+        return generation(characterId) == generation;
+    }
+
+    public int getCharacterId() { return characterId; }
+
+    /** Effective combat level (current class level, at least 1). */
+    public int getLevel() { return level; }
+
+    public boolean isArmed() { return mainHandId != null; }
+
+    public Long getMainHandId() { return mainHandId; }
+
+    /** The wielded weapon instance, or null if unarmed or the instance is missing. */
+    public ItemInstance getMainHand() { return mainHand; }
+
+    /** Template of the wielded weapon, or null. */
+    public ItemTemplate getMainHandTemplate() { return mainHandTemplate; }
+
+    /** Weapon family of the wielded weapon, or null if unarmed or not a weapon. */
+    public WeaponFamily getWeaponFamily() {
+        return mainHandTemplate != null ? mainHandTemplate.getWeaponFamily() : null;
+    }
+
+    /** Two-handed when the main and off hand hold the same item instance. */
+    public boolean isTwoHanded() {
+        return mainHandId != null && mainHandId.equals(offHandId);
+    }
+
+    /** Id of the wielded weapon's category skill, or null if there is none. */
+    public Integer getCategorySkillId() { return categorySkillId; }
+
+    /** Id of the wielded weapon's family skill, or null if there is none. */
+    public Integer getFamilySkillId() { return familySkillId; }
+
+    /** The character's proficiency in {@code skillId}, or null if they have not learned it. */
+    public CharacterSkill getSkill(int skillId) {
+        return skills.get(skillId);
+    }
+}
@@ -39,8 +39,8 @@ public class CombatResult {
     private String targetMessage;
     private String roomMessage;
     
-    /** Additional effects that occurred */
-    private final List<String> effects = new ArrayList<>();
+    /** Additional effects that occurred (allocated on first use; most results have none) */
+    private List<String> effects;
     
     public enum ResultType {
         HIT,            // Normal hit with damage
@@ -162,8 +162,12 @@ public class CombatResult {
     public String getRoomMessage() { return roomMessage; }
     public CombatResult setRoomMessage(String msg) { this.roomMessage = msg; return this; }
     
-    public List<String> getEffects() { return effects; }
-    public CombatResult addEffect(String effect) { this.effects.add(effect); return this; }
+    public List<String> getEffects() { return effects != null ? effects : List.of(); }
+    public CombatResult addEffect(String effect) {
+        if (effects == null) effects = new ArrayList<>(2);
+        effects.add(effect);
+        return this;
+    }
     
     public boolean isHit() { return type == ResultType.HIT || type == ResultType.CRITICAL_HIT; }
     public boolean isMiss() { return type == ResultType.MISS || type == ResultType.DODGED || 
@@ -78,6 +78,9 @@ public class Combatant {
 
     /** Consecutive miss count for Ki Strike escalating chance (resets on hit or ki gain) */
     private int kiStrikeMissCount = 0;
+
+    /** Equipment/skill snapshot for players (built on first use, rebuilt when stale) */
+    private volatile CombatProfile combatProfile;
     
     /**
      * Status flags that can be applied to combatants.
@@ -175,6 +178,20 @@ public class Combatant {
     
     public Mobile getMobile() { return mobile; }
     
+    /**
+     * Get this player's combat profile (wielded weapon, skills, level), reading it from the
+     * database only the first time and after a loadout change. Null for mobiles.
+     */
+    public CombatProfile getCombatProfile() {
+        if (!isPlayer() || characterId == null) return null;
+        CombatProfile profile = combatProfile;
+        if (profile == null || !profile.isCurrent()) {
+            profile = CombatProfile.load(characterId);
+            combatProfile = profile;
+        }
+        return profile;
+    }
+    
     /**
      * Get the underlying Character (works for both players and mobiles since Mobile extends Character).
      */
@@ -11,6 +11,7 @@ import com.example.tassmud.persistence.DaoProvider;
 import com.example.tassmud.persistence.ItemDAO;
 import com.example.tassmud.persistence.MobileDAO;
 import com.example.tassmud.persistence.TransactionManager;
+import com.example.tassmud.util.AreaShards;
 import com.example.tassmud.util.LootGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,6 +35,9 @@ public class DeathHandler {
     /** Template ID for summoned Lich (from UndeadTemplateFactory: base 90001 + LICH ordinal 5). */
     private static final int LICH_TEMPLATE_ID = 90006;
 
+    /** Room dead players are recalled to: the Temple Altar. */
+    public static final int RECALL_ROOM_ID = 3054;
+
     /**
      * Tracks Lich instances that have already used their one-time resurrect.
      * Keyed by mob instance ID; present = already resurrected once.
@@ -284,6 +288,9 @@ public class DeathHandler {
 
     // ── player death ───────────────────────────────────────────────────
 
+    /** What a dead player left behind, reported to them once they are recalled. */
+    record PlayerLosses(long corpseId, long gold, int xpLost) {}
+
     /**
      * Handle a player's death — create corpse, move items, deduct XP, teleport to recall.
      *
@@ -293,9 +300,12 @@ public class DeathHandler {
      * 3. Move ALL inventory items into the corpse
      * 4. Move ALL gold into the corpse
      * 5. Deduct 250 XP (minimum 0, cannot lose a level)
-     * 6. Teleport player to Temple Altar (room 3054)
-     * 7. Set HP to 1, MP to 0, MV to 0
+     * 6. Set HP to 1, MP to 0, MV to 0
+     * 7. Teleport player to Temple Altar ({@link #RECALL_ROOM_ID})
      * 8. Set stance to SLEEPING
+     *
+     * Steps 1-6 stay in the death room's area. The recall usually lands in another area, so
+     * steps 7-8 go through {@link AreaShards#handoff} and run once the area phase is over.
      */
     private void handlePlayerDeath(Combat combat, Combatant victim) {
         Integer characterId = victim.getCharacterId();
@@ -304,6 +314,32 @@ public class DeathHandler {
         int deathRoomId = combat.getRoomId();
         String playerName = victim.getName();
 
+        PlayerLosses losses = leaveCorpse(characterId, playerName, deathRoomId);
+
+        if (losses.corpseId() > 0) {
+            broadcastToRoom(deathRoomId, playerName + " has fallen! Their corpse lies on the ground.");
+        }
+
+        // Announce departure from death room (if different from recall room)
+        if (deathRoomId != RECALL_ROOM_ID) {
+            broadcastToRoom(deathRoomId, playerName + "'s spirit departs...");
+        }
+
+        // Update the character's in-memory state
+        GameCharacter victimChar = victim.getAsCharacter();
+        if (victimChar != null) {
+            victimChar.setHpCur(1);
+            victimChar.setMpCur(0);
+            victimChar.setMvCur(0);
+        }
+
+        AreaShards.getInstance().handoff(() -> recallPlayer(characterId, playerName, victimChar, losses));
+    }
+
+    /**
+     * Steps 1-6 of the death sequence, in a single transaction so no item or gold is lost.
+     */
+    PlayerLosses leaveCorpse(int characterId, String playerName, int deathRoomId) {
         CharacterDAO charDAO = DaoProvider.characters();
         ItemDAO itemDAO = DaoProvider.items();
         CharacterClassDAO classDAO = DaoProvider.classes();
@@ -311,10 +347,8 @@ public class DeathHandler {
         // Get player's gold before we clear it
         long playerGold = charDAO.getGold(characterId);
 
-        // Wrap all death DB operations in a single transaction to prevent item/gold loss
         final int[] xpLostHolder = {0};
         final long[] corpseIdHolder = {-1};
-        final int recallRoomId = 3054;
 
         TransactionManager.runInTransaction(() -> {
             // 1. Create the corpse in the death room (uses template 999)
@@ -363,38 +397,24 @@ public class DeathHandler {
             // 5. Deduct 250 XP (minimum 0, cannot lose a level)
             xpLostHolder[0] = classDAO.deductXpFromCurrentClass(characterId, 250);
 
-            // 6. Teleport player to Temple Altar (room 3054)
-            charDAO.updateCharacterRoom(playerName, recallRoomId);
-
-            // 7. Set HP to 1, MP to 0, MV to 0
+            // 6. Set HP to 1, MP to 0, MV to 0
             charDAO.setVitals(characterId, 1, 0, 0);
         });
+        // Don't leave the post-death state sitting in the write-behind cache
+        charDAO.flushSessionState(characterId);
 
-        long corpseId = corpseIdHolder[0];
-        int xpLost = xpLostHolder[0];
-
-        if (corpseId > 0) {
-            broadcastToRoom(deathRoomId, playerName + " has fallen! Their corpse lies on the ground.");
-        }
-
-        // Announce departure from death room (if different from recall room)
-        if (deathRoomId != recallRoomId) {
-            broadcastToRoom(deathRoomId, playerName + "'s spirit departs...");
-        }
-
-        // Announce arrival at recall room
-        broadcastToRoom(recallRoomId, "The spirit of " + playerName + " materializes, barely clinging to life.");
+        return new PlayerLosses(corpseIdHolder[0], playerGold, xpLostHolder[0]);
+    }
 
-        // Update the character's in-memory state
-        GameCharacter victimChar = victim.getAsCharacter();
+    /** Steps 7-8 of the death sequence: move the player to the recall room and put them to sleep. */
+    private void recallPlayer(int characterId, String playerName, GameCharacter victimChar, PlayerLosses losses) {
+        moveCharacterRecord(characterId, playerName, RECALL_ROOM_ID);
         if (victimChar != null) {
-            victimChar.setHpCur(1);
-            victimChar.setMpCur(0);
-            victimChar.setMvCur(0);
-            victimChar.setCurrentRoom(recallRoomId);
+            victimChar.setCurrentRoom(RECALL_ROOM_ID);
         }
 
-        // 8. Set stance to SLEEPING (handled by ClientHandler session update)
+        // Announce arrival at recall room
+        broadcastToRoom(RECALL_ROOM_ID, "The spirit of " + playerName + " materializes, barely clinging to life.");
 
         // Send death messages to the player
         sendToPlayer(characterId, "");
@@ -402,11 +422,11 @@ public class DeathHandler {
         sendToPlayer(characterId, "");
         sendToPlayer(characterId, "Your vision fades to black...");
         sendToPlayer(characterId, "");
-        if (playerGold > 0) {
-            sendToPlayer(characterId, "Your \u001B[33m" + playerGold + " gold\u001B[0m lies in your corpse.");
+        if (losses.gold() > 0) {
+            sendToPlayer(characterId, "Your \u001B[33m" + losses.gold() + " gold\u001B[0m lies in your corpse.");
         }
-        if (xpLost > 0) {
-            sendToPlayer(characterId, "You have lost \u001B[1;31m" + xpLost + " experience\u001B[0m.");
+        if (losses.xpLost() > 0) {
+            sendToPlayer(characterId, "You have lost \u001B[1;31m" + losses.xpLost() + " experience\u001B[0m.");
         }
         sendToPlayer(characterId, "");
         sendToPlayer(characterId, "You awaken at the Temple of Midgaard, naked and penniless.");
@@ -416,4 +436,11 @@ public class DeathHandler {
         // Notify ClientHandler to set the player to SLEEPING stance
         ClientHandler.handlePlayerDeathStance(characterId);
     }
+
+    /** Persist a character's new room straight away rather than leaving it in the session cache. */
+    void moveCharacterRecord(int characterId, String playerName, int roomId) {
+        CharacterDAO charDAO = DaoProvider.characters();
+        charDAO.updateCharacterRoom(playerName, roomId);
+        charDAO.flushSessionState(characterId);
+    }
 }
@@ -121,9 +121,10 @@ public class MultiAttackHandler {
         List<AttackOpportunity> opportunities = new ArrayList<>();
         Integer characterId = combatant.getCharacterId();
         if (characterId == null) return opportunities;
+        CombatProfile profile = combatant.getCombatProfile();
         
         // Check second attack
-        CharacterSkill secondAttack = DaoProvider.skills().getCharacterSkill(characterId, SECOND_ATTACK_SKILL_ID);
+        CharacterSkill secondAttack = profile.getSkill(SECOND_ATTACK_SKILL_ID);
         if (secondAttack != null) {
             boolean triggered = rollForAttack(secondAttack.getProficiency());
             opportunities.add(new AttackOpportunity(2, SECOND_ATTACK_PENALTY, SECOND_ATTACK_SKILL_ID, triggered));
@@ -132,7 +133,7 @@ public class MultiAttackHandler {
             checkSkillProgression(characterId, SECOND_ATTACK_SKILL_ID, secondAttack, triggered);
             
             // Only check for third attack if we have second attack skill
-            CharacterSkill thirdAttack = DaoProvider.skills().getCharacterSkill(characterId, THIRD_ATTACK_SKILL_ID);
+            CharacterSkill thirdAttack = profile.getSkill(THIRD_ATTACK_SKILL_ID);
             if (thirdAttack != null) {
                 boolean thirdTriggered = triggered && rollForAttack(thirdAttack.getProficiency());
                 opportunities.add(new AttackOpportunity(3, THIRD_ATTACK_PENALTY, THIRD_ATTACK_SKILL_ID, thirdTriggered));
@@ -143,7 +144,7 @@ public class MultiAttackHandler {
                 }
                 
                 // Only check for fourth attack if we have third attack skill
-                CharacterSkill fourthAttack = DaoProvider.skills().getCharacterSkill(characterId, FOURTH_ATTACK_SKILL_ID);
+                CharacterSkill fourthAttack = profile.getSkill(FOURTH_ATTACK_SKILL_ID);
                 if (fourthAttack != null) {
                     boolean fourthTriggered = thirdTriggered && rollForAttack(fourthAttack.getProficiency());
                     opportunities.add(new AttackOpportunity(4, FOURTH_ATTACK_PENALTY, FOURTH_ATTACK_SKILL_ID, fourthTriggered));
@@ -226,11 +226,9 @@ public class AuraManager {
 
     /** Applies the child effect to every online PC currently in {@code roomId}. */
     private void applyToAllPcsInRoom(AuraState state, Integer roomId) {
-        // charIdToSession is a ConcurrentHashMap<Integer, ClientHandler>
-        for (Map.Entry<Integer, ClientHandler> entry : ClientHandler.charIdToSession.entrySet()) {
-            Integer sessionCharId = entry.getKey();
-            ClientHandler session = entry.getValue();
-            if (session.currentRoomId == null || !session.currentRoomId.equals(roomId)) continue;
+        for (ClientHandler session : ClientHandler.sessionsInRoom(roomId)) {
+            Integer sessionCharId = session.getCharacterId();
+            if (sessionCharId == null) continue;
             applyChildEffect(state, sessionCharId);
         }
     }
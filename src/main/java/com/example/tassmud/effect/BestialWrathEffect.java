@@ -11,11 +11,12 @@ import com.example.tassmud.net.ClientHandler;
 import com.example.tassmud.persistence.DaoProvider;
 import com.example.tassmud.persistence.ItemDAO;
 import com.example.tassmud.util.AllyManager;
+import com.example.tassmud.util.WorldScheduler;
 
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Bestial Wrath effect — ranger/companion battle frenzy.
@@ -30,16 +31,10 @@ public class BestialWrathEffect implements EffectHandler {
     // ── Static state shared across all active instances ─────────────────────
     private static final Set<Integer> activeRangers = ConcurrentHashMap.newKeySet();
     private static final Set<Long>    frenziedCompanions = ConcurrentHashMap.newKeySet();
-    private static final ConcurrentHashMap<Integer, ScheduledFuture<?>> autoShotTasks =
+    // Auto-shots run on the tick thread via WorldScheduler, so they never race a combat round
+    private static final ConcurrentHashMap<Integer, WorldScheduler.Handle> autoShotTasks =
             new ConcurrentHashMap<>();
 
-    private static final ScheduledExecutorService SCHEDULER =
-            Executors.newSingleThreadScheduledExecutor(r -> {
-                Thread t = new Thread(r, "bw-autoshot");
-                t.setDaemon(true);
-                return t;
-            });
-
     // ── Public query methods (used by RangerSkillHandler & BasicAttackCommand) ─
     public static boolean isActive(int charId) {
         return activeRangers.contains(charId);
@@ -67,9 +62,10 @@ public class BestialWrathEffect implements EffectHandler {
 
         // Schedule auto rapid-shots every 3 seconds
         final int rangerCharId = targetId;
-        ScheduledFuture<?> task = SCHEDULER.scheduleAtFixedRate(
-                () -> doAutoShot(rangerCharId), 3000L, 3000L, TimeUnit.MILLISECONDS);
-        autoShotTasks.put(rangerCharId, task);
+        WorldScheduler.Handle task = WorldScheduler.getInstance().scheduleRepeating(
+                WorldScheduler.Owner.character(rangerCharId), 3000L, 3000L, () -> doAutoShot(rangerCharId));
+        WorldScheduler.Handle previous = autoShotTasks.put(rangerCharId, task);
+        if (previous != null) previous.cancel();
 
         // Notify ranger
         ClientHandler.sendToCharacter(targetId,
@@ -98,8 +94,8 @@ public class BestialWrathEffect implements EffectHandler {
         if (binding != null) frenziedCompanions.remove(binding.getMobInstanceId());
 
         // Cancel auto-shot task
-        ScheduledFuture<?> task = autoShotTasks.remove(charId);
-        if (task != null) task.cancel(false);
+        WorldScheduler.Handle task = autoShotTasks.remove(charId);
+        if (task != null) task.cancel();
 
         ClientHandler.sendToCharacter(charId,
                 "The bestial frenzy fades from you and your companion.");
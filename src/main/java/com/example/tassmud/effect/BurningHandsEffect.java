@@ -55,9 +55,8 @@ public class BurningHandsEffect implements EffectHandler {
         // Handle REFRESH stack policy - remove existing effect from same caster on same target
         if (def.getStackPolicy() == EffectDefinition.StackPolicy.REFRESH ||
             def.getStackPolicy() == EffectDefinition.StackPolicy.REPLACE_HIGHER_PRIORITY) {
-            for (EffectInstance existing : EffectRegistry.getActiveForTarget(targetId)) {
-                if (existing.getDefId().equals(def.getId()) && 
-                    casterId != null && casterId.equals(existing.getCasterId())) {
+            for (EffectInstance existing : EffectRegistry.getActiveForTarget(targetId, def.getId())) {
+                if (casterId != null && casterId.equals(existing.getCasterId())) {
                     EffectRegistry.removeInstance(existing.getId());
                     logger.debug("[BurningHandsEffect] Refreshed existing {} on target {}", def.getName(), targetId);
                     break;
@@ -79,7 +78,8 @@ public class BurningHandsEffect implements EffectHandler {
         p.put("last_tick_ms", String.valueOf(nowMs));
 
         UUID id = UUID.randomUUID();
-        EffectInstance inst = new EffectInstance(id, def.getId(), casterId, targetId, p, nowMs, expiresAtMs, def.getPriority());
+        EffectParams ep = EffectParams.compile(def, p, DEFAULT_TICK_INTERVAL_MS, "fire", nowMs);
+        EffectInstance inst = new EffectInstance(id, def.getId(), casterId, targetId, p, nowMs, expiresAtMs, def.getPriority(), ep);
 
         // Deal initial tick damage immediately
         dealTickDamage(inst, def, nowMs);
@@ -107,36 +107,19 @@ public class BurningHandsEffect implements EffectHandler {
         return inst;
     }
 
+    @Override
+    public boolean isPeriodic() {
+        return true;
+    }
+
     @Override
     public void tick(EffectInstance instance, long nowMs) {
+        EffectParams ep = instance.getEffectParams();
+        if (ep == null || !ep.tryTick(nowMs)) return; // Not time for next tick yet
+
         EffectDefinition def = EffectRegistry.getDefinition(instance.getDefId());
         if (def == null) return;
 
-        Map<String, String> p = instance.getParams();
-        if (p == null) return;
-
-        // Get tick interval
-        int tickIntervalMs = DEFAULT_TICK_INTERVAL_MS;
-        try {
-            String intervalStr = p.get("tick_interval");
-            if (intervalStr != null) {
-                tickIntervalMs = (int) (Double.parseDouble(intervalStr) * 1000);
-            }
-        } catch (Exception ignored) {}
-
-        // Check if enough time has passed since last tick
-        long lastTickMs = 0;
-        try {
-            lastTickMs = Long.parseLong(p.getOrDefault("last_tick_ms", "0"));
-        } catch (Exception ignored) {}
-
-        if (nowMs - lastTickMs < tickIntervalMs) {
-            return;
-        }
-
-        // Update last tick time
-        p.put("last_tick_ms", String.valueOf(nowMs));
-
         // Deal damage
         dealTickDamage(instance, def, nowMs);
 
@@ -308,52 +291,14 @@ public class BurningHandsEffect implements EffectHandler {
     private void dealTickDamage(EffectInstance instance, EffectDefinition def, long nowMs) {
         Integer targetId = instance.getTargetId();
         Integer casterId = instance.getCasterId();
-        Map<String, String> p = instance.getParams();
-
-        // Parse dice spec (e.g., "5d4")
-        String raw = def.getDiceMultiplierRaw();
-        if ((raw == null || raw.isEmpty()) && p != null && p.containsKey("dice")) {
-            raw = p.get("dice");
-        }
-        if (raw == null || raw.isEmpty()) return;
-
-        // Get proficiency
-        int prof = 1;
-        try {
-            prof = Integer.parseInt(p.getOrDefault("proficiency", "1"));
-        } catch (Exception ignored) {}
-        prof = Math.max(1, Math.min(100, prof));
-
-        // Parse NdM
-        raw = raw.trim().toLowerCase();
-        int dIdx = raw.indexOf('d');
-        if (dIdx <= 0) return;
-        String nStr = raw.substring(0, dIdx);
-        String mStr = raw.substring(dIdx + 1);
-        int baseN, dieM;
-        try {
-            baseN = Integer.parseInt(nStr);
-            dieM = Integer.parseInt(mStr);
-        } catch (Exception e) {
-            return;
-        }
-
-        // Scale N by proficiency if configured
-        int scaledN = baseN;
-        if (def.getProficiencyImpact().contains(EffectDefinition.ProficiencyImpact.DICE_MULTIPLIER)) {
-            scaledN = (int) Math.floor(baseN * (prof / 100.0));
-            if (scaledN < 1) scaledN = 1;
-        }
-
-        // Roll damage
-        int total = 0;
-        for (int i = 0; i < scaledN; i++) {
-            total += ThreadLocalRandom.current().nextInt(1, dieM + 1);
-        }
+        EffectParams ep = instance.getEffectParams();
+        if (ep == null || ep.getDice() == null) return;
 
+        // Dice were compiled (and scaled by proficiency) at apply time
+        int total = ep.getDice().roll();
         if (total <= 0) return;
 
-        String damageType = p != null ? p.getOrDefault("damage_type", "fire") : "fire";
+        String damageType = ep.getDamageType();
         String casterName = resolveName(casterId);
         String targetName = resolveName(targetId);
 
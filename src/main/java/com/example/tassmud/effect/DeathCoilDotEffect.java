@@ -44,27 +44,29 @@ public class DeathCoilDotEffect implements EffectHandler {
         long durationMs = (long) (def.getDurationSeconds() * 1000L);
         long expiresAt = now + Math.max(durationMs, 20_000L);
 
-        return new EffectInstance(UUID.randomUUID(), def.getId(), casterId, targetId, p, now, expiresAt, def.getPriority());
+        EffectParams ep = EffectParams.compile(def, p, DEFAULT_TICK_INTERVAL_MS, "necrotic", now);
+        return new EffectInstance(UUID.randomUUID(), def.getId(), casterId, targetId, p, now, expiresAt, def.getPriority(), ep);
+    }
+
+    @Override
+    public boolean isPeriodic() {
+        return true;
     }
 
     @Override
     public void tick(EffectInstance instance, long nowMs) {
-        Map<String, String> p = instance.getParams();
-        if (p == null) return;
+        EffectParams ep = instance.getEffectParams();
+        if (ep == null) return;
 
-        int ticksRemaining = parseInt(p.get("ticks_remaining"), 0);
+        int ticksRemaining = ep.getTicksRemaining();
         if (ticksRemaining <= 0) {
             EffectRegistry.removeInstance(instance.getId());
             return;
         }
 
-        int tickIntervalMs = (int) (parseDouble(p.get("tick_interval"), 3.0) * 1000.0);
-        if (tickIntervalMs <= 0) tickIntervalMs = DEFAULT_TICK_INTERVAL_MS;
+        if (!ep.tryTick(nowMs)) return;
 
-        long lastTick = parseLong(p.get("last_tick_ms"), 0L);
-        if (nowMs - lastTick < tickIntervalMs) return;
-
-        int dotDamage = parseInt(p.get("dot_damage"), 0);
+        int dotDamage = ep.getAmount();
         if (dotDamage <= 0) {
             EffectRegistry.removeInstance(instance.getId());
             return;
@@ -78,8 +80,7 @@ public class DeathCoilDotEffect implements EffectHandler {
         notifyCaster(casterId, "Necrotic residue wracks your target for " + dotDamage + " damage.");
 
         ticksRemaining--;
-        p.put("ticks_remaining", String.valueOf(ticksRemaining));
-        p.put("last_tick_ms", String.valueOf(nowMs));
+        ep.setTicksRemaining(ticksRemaining);
 
         if (ticksRemaining <= 0) {
             notifyTarget(targetId, "The necrotic residue finally dissipates.");
@@ -150,22 +151,4 @@ public class DeathCoilDotEffect implements EffectHandler {
             return fallback;
         }
     }
-
-    private long parseLong(String value, long fallback) {
-        if (value == null) return fallback;
-        try {
-            return Long.parseLong(value);
-        } catch (Exception ignored) {
-            return fallback;
-        }
-    }
-
-    private double parseDouble(String value, double fallback) {
-        if (value == null) return fallback;
-        try {
-            return Double.parseDouble(value);
-        } catch (Exception ignored) {
-            return fallback;
-        }
-    }
 }
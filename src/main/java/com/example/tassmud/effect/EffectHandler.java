@@ -10,10 +10,17 @@ public interface EffectHandler {
     EffectInstance apply(EffectDefinition def, Integer casterId, Integer targetId, Map<String,String> extraParams);
 
     /**
-     * Called periodically for ticking effects (optional).
+     * Called about once a second while the effect is active, for handlers that report
+     * {@link #isPeriodic()} (optional).
      */
     default void tick(EffectInstance instance, long nowMs) {}
 
+    /**
+     * Whether {@link #tick} does anything. Only periodic handlers are polled; the scheduler
+     * wakes the others just when their effect expires.
+     */
+    default boolean isPeriodic() { return false; }
+
     /**
      * Called when an effect expires.
      */
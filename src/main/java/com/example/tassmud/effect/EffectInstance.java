@@ -8,31 +8,50 @@ public class EffectInstance {
     private final String defId;
     private final Integer casterId;
     private final Integer targetId;
-    private final Map<String,String> params;
+    private final Map<String,String> params; // read-only tick-state view for typed params
     private final long startAtMs;
     private final long expiresAtMs; // 0 means instant/no expiry
     private final int priority;
+    private final EffectParams effectParams; // null unless the handler compiled typed params
+    // Resolved once when the registry starts tracking the instance
+    private volatile EffectHandler handler;
 
     public EffectInstance(UUID id, String defId, Integer casterId, Integer targetId,
                           Map<String,String> params, long startAtMs, long expiresAtMs, int priority) {
+        this(id, defId, casterId, targetId, params, startAtMs, expiresAtMs, priority, null);
+    }
+
+    public EffectInstance(UUID id, String defId, Integer casterId, Integer targetId,
+                          Map<String,String> params, long startAtMs, long expiresAtMs, int priority,
+                          EffectParams effectParams) {
         this.id = id;
         this.defId = defId;
         this.casterId = casterId;
         this.targetId = targetId;
-        this.params = params;
+        this.params = effectParams != null && params != null ? effectParams.view(params) : params;
         this.startAtMs = startAtMs;
         this.expiresAtMs = expiresAtMs;
         this.priority = priority;
+        this.effectParams = effectParams;
     }
 
     public UUID getId() { return id; }
     public String getDefId() { return defId; }
     public Integer getCasterId() { return casterId; }
     public Integer getTargetId() { return targetId; }
+    /**
+     * String params. For instances with typed params this is a read-only view that shows the
+     * current tick state ({@link EffectParams#view}).
+     */
     public Map<String,String> getParams() { return params; }
     public long getStartAtMs() { return startAtMs; }
     public long getExpiresAtMs() { return expiresAtMs; }
     public int getPriority() { return priority; }
+    public EffectParams getEffectParams() { return effectParams; }
+
+    /** Handler bound at apply time; null for instances the registry never tracked. */
+    public EffectHandler getHandler() { return handler; }
+    void setHandler(EffectHandler handler) { this.handler = handler; }
 
     public boolean isExpired(long nowMs) {
         return expiresAtMs > 0 && nowMs >= expiresAtMs;
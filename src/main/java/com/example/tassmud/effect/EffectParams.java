@@ -0,0 +1,185 @@
+package com.example.tassmud.effect;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Typed, pre-parsed parameters for a periodic effect instance.
+ *
+ * <p>Built once at apply time from the merged definition/extra string params, so handlers can
+ * check their interval and roll damage on every tick without parsing strings or boxing. The
+ * string map on {@link EffectInstance} stays the source for YAML input and display; it is read
+ * through {@link #view}, which shows the mutable tick state kept here ({@code last_tick_ms},
+ * {@code ticks_remaining}) in place of the compiled-from values.
+ *
+ * <p>Mutable fields are only written by the effect's own handler, on the tick thread; the tick
+ * state is volatile so other threads reading the params see current values.
+ */
+public final class EffectParams {
+
+    /** Compiled {@code NdM} dice expression. */
+    public record Dice(int count, int sides) {
+
+        /** @return the parsed dice, or null if {@code raw} isn't a valid {@code NdM} spec */
+        public static Dice parse(String raw) {
+            if (raw == null) return null;
+            raw = raw.trim().toLowerCase();
+            int dIdx = raw.indexOf('d');
+            if (dIdx <= 0) return null;
+            try {
+                int n = Integer.parseInt(raw.substring(0, dIdx));
+                int m = Integer.parseInt(raw.substring(dIdx + 1));
+                return n > 0 && m > 0 ? new Dice(n, m) : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        /** Scale the die count by proficiency (1-100), keeping at least one die. */
+        public Dice scaled(int proficiency) {
+            int n = (int) Math.floor(count * (proficiency / 100.0));
+            return new Dice(Math.max(1, n), sides);
+        }
+
+        public int roll() {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            int total = 0;
+            for (int i = 0; i < count; i++) total += rnd.nextInt(1, sides + 1);
+            return total;
+        }
+    }
+
+    private final long tickIntervalMs;
+    private final int proficiency;
+    private final Dice dice;
+    private final String damageType;
+    private volatile long lastTickMs;
+    private volatile int ticksRemaining; // -1 = not limited by count
+    private int amount;
+
+    private EffectParams(long tickIntervalMs, int proficiency, Dice dice, String damageType,
+                         long lastTickMs, int ticksRemaining, int amount) {
+        this.tickIntervalMs = tickIntervalMs;
+        this.proficiency = proficiency;
+        this.dice = dice;
+        this.damageType = damageType;
+        this.lastTickMs = lastTickMs;
+        this.ticksRemaining = ticksRemaining;
+        this.amount = amount;
+    }
+
+    /**
+     * Compile the merged string params of a new instance.
+     *
+     * <p>Reads {@code tick_interval_ms} or {@code tick_interval} (seconds), {@code proficiency}
+     * (clamped to 1-100), the definition's dice multiplier or a {@code dice} param (scaled by
+     * proficiency when the definition has the DICE_MULTIPLIER impact), {@code damage_type},
+     * {@code ticks_remaining}, {@code dot_damage} and {@code last_tick_ms}. Missing or malformed
+     * values fall back to the given defaults.
+     */
+    public static EffectParams compile(EffectDefinition def, Map<String, String> p,
+                                       long defaultTickIntervalMs, String defaultDamageType, long nowMs) {
+        long interval = parseLong(p.get("tick_interval_ms"), 0L);
+        if (interval <= 0) interval = (long) (parseDouble(p.get("tick_interval"), 0.0) * 1000.0);
+        if (interval <= 0) interval = defaultTickIntervalMs;
+
+        int prof = Math.max(1, Math.min(100, parseInt(p.get("proficiency"), 1)));
+
+        String raw = def != null ? def.getDiceMultiplierRaw() : null;
+        if (raw == null || raw.isEmpty()) raw = p.get("dice");
+        Dice dice = Dice.parse(raw);
+        if (dice != null && def != null
+                && def.getProficiencyImpact().contains(EffectDefinition.ProficiencyImpact.DICE_MULTIPLIER)) {
+            dice = dice.scaled(prof);
+        }
+
+        return new EffectParams(interval, prof, dice,
+                p.getOrDefault("damage_type", defaultDamageType),
+                parseLong(p.get("last_tick_ms"), nowMs),
+                parseInt(p.get("ticks_remaining"), -1),
+                parseInt(p.get("dot_damage"), 0));
+    }
+
+    public long getTickIntervalMs() { return tickIntervalMs; }
+    public int getProficiency() { return proficiency; }
+    /** Damage/heal dice, already scaled by proficiency; null if the effect has none. */
+    public Dice getDice() { return dice; }
+    public String getDamageType() { return damageType; }
+    public long getLastTickMs() { return lastTickMs; }
+    public int getTicksRemaining() { return ticksRemaining; }
+    public void setTicksRemaining(int ticksRemaining) { this.ticksRemaining = ticksRemaining; }
+    /** Flat per-tick amount ({@code dot_damage}), or handler-specific running total. */
+    public int getAmount() { return amount; }
+    public void setAmount(int amount) { this.amount = amount; }
+
+    /**
+     * Claim the next tick: true (and {@code nowMs} recorded as the last tick) if at least one
+     * interval has passed since the previous one.
+     */
+    public boolean tryTick(long nowMs) {
+        if (nowMs - lastTickMs < tickIntervalMs) return false;
+        lastTickMs = nowMs;
+        return true;
+    }
+
+    /**
+     * Read-only view of an instance's string params that shows the current tick state instead of
+     * the values {@code p} was compiled from. Reads never modify {@code p}.
+     */
+    Map<String, String> view(Map<String, String> p) {
+        return new AbstractMap<>() {
+            @Override
+            public String get(Object key) {
+                if ("last_tick_ms".equals(key)) return String.valueOf(lastTickMs);
+                int ticks = ticksRemaining;
+                if ("ticks_remaining".equals(key) && ticks >= 0) return String.valueOf(ticks);
+                return p.get(key);
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return get(key) != null || p.containsKey(key);
+            }
+
+            @Override
+            public Set<Entry<String, String>> entrySet() {
+                Map<String, String> copy = new HashMap<>(p);
+                copy.put("last_tick_ms", String.valueOf(lastTickMs));
+                int ticks = ticksRemaining;
+                if (ticks >= 0) copy.put("ticks_remaining", String.valueOf(ticks));
+                return Collections.unmodifiableMap(copy).entrySet();
+            }
+        };
+    }
+
+    private static int parseInt(String value, int fallback) {
+        if (value == null) return fallback;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private static long parseLong(String value, long fallback) {
+        if (value == null) return fallback;
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private static double parseDouble(String value, double fallback) {
+        if (value == null) return fallback;
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+}
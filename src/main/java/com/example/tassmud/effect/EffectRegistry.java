@@ -4,16 +4,26 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Set;
 import java.util.UUID;
 
 /**
  * Simple in-memory registry for effect definitions and handlers.
  * For now this keeps active instances in memory; persistence is handled by handlers themselves when needed.
+ *
+ * <p>Active instances are also indexed by target and then by definition id, so per-target
+ * queries ({@link #hasEffect}, {@link #getActiveForTarget}, visibility checks, cleanses) only
+ * look at that target's effects. Every change to the active set goes through
+ * {@link #track}/{@link #removeInstance}, which keep the index in step; {@link #track} also binds
+ * the resolved handler to the instance and hands it to the {@link EffectScheduler}.
  */
 public class EffectRegistry {
     private static final Map<String, EffectDefinition> defs = new ConcurrentHashMap<>();
     private static final Map<String, EffectHandler> handlers = new ConcurrentHashMap<>();
     private static final Map<UUID, EffectInstance> activeInstances = new ConcurrentHashMap<>();
+    /** targetId -> defId -> active instances. Buckets are created and emptied under the outer map's compute. */
+    private static final ConcurrentHashMap<Integer, ConcurrentHashMap<String, Set<EffectInstance>>> byTarget =
+            new ConcurrentHashMap<>();
 
     public static void registerDefinition(EffectDefinition def) {
         if (def != null) defs.put(def.getId(), def);
@@ -62,14 +72,8 @@ public class EffectRegistry {
                 && targetId != null
                 && def.isPersistent()) {
             final EffectHandler finalH = h;
-            List<EffectInstance> toExpire = new ArrayList<>();
-            for (EffectInstance existing : activeInstances.values()) {
-                if (defId.equals(existing.getDefId()) && targetId.equals(existing.getTargetId())) {
-                    toExpire.add(existing);
-                }
-            }
-            for (EffectInstance existing : toExpire) {
-                activeInstances.remove(existing.getId());
+            for (EffectInstance existing : instancesOf(targetId, defId)) {
+                removeInstance(existing.getId());
                 try { finalH.expire(existing); } catch (Exception ignored) {}
             }
         }
@@ -78,28 +82,74 @@ public class EffectRegistry {
         // Only track persistent effects with duration > 0 in activeInstances
         // Instant effects (heals, damage) should not be tracked
         if (inst != null && def.isPersistent() && def.getDurationSeconds() > 0) {
-            activeInstances.put(inst.getId(), inst);
+            track(inst, h);
         }
         return inst;
     }
 
+    private static void track(EffectInstance inst, EffectHandler h) {
+        inst.setHandler(h);
+        activeInstances.put(inst.getId(), inst);
+        EffectScheduler.getInstance().schedule(inst);
+        Integer targetId = inst.getTargetId();
+        if (targetId == null || inst.getDefId() == null) return;
+        byTarget.compute(targetId, (k, perDef) -> {
+            if (perDef == null) perDef = new ConcurrentHashMap<>();
+            perDef.computeIfAbsent(inst.getDefId(), d -> ConcurrentHashMap.newKeySet()).add(inst);
+            return perDef;
+        });
+    }
+
+    private static void untrack(EffectInstance inst) {
+        Integer targetId = inst.getTargetId();
+        if (targetId == null || inst.getDefId() == null) return;
+        byTarget.computeIfPresent(targetId, (k, perDef) -> {
+            Set<EffectInstance> set = perDef.get(inst.getDefId());
+            if (set != null && set.remove(inst) && set.isEmpty()) perDef.remove(inst.getDefId());
+            return perDef.isEmpty() ? null : perDef;
+        });
+    }
+
+    /** Snapshot of the tracked instances of {@code defId} on {@code targetId} (expired ones included). */
+    private static List<EffectInstance> instancesOf(Integer targetId, String defId) {
+        Map<String, Set<EffectInstance>> perDef = byTarget.get(targetId);
+        if (perDef == null) return List.of();
+        Set<EffectInstance> set = perDef.get(defId);
+        return set == null ? List.of() : new ArrayList<>(set);
+    }
+
     public static List<EffectInstance> getActiveForTarget(Integer targetId) {
+        if (targetId == null) return new ArrayList<>();
+        Map<String, Set<EffectInstance>> perDef = byTarget.get(targetId);
         List<EffectInstance> out = new ArrayList<>();
+        if (perDef == null) return out;
         long now = System.currentTimeMillis();
-        for (EffectInstance ei : activeInstances.values()) {
-            if (ei.getTargetId() != null && ei.getTargetId().equals(targetId) && !ei.isExpired(now)) {
-                out.add(ei);
+        for (Set<EffectInstance> set : perDef.values()) {
+            for (EffectInstance ei : set) {
+                if (!ei.isExpired(now)) out.add(ei);
             }
         }
         return out;
     }
 
+    /** Active (unexpired) instances of one effect definition on a target. */
+    public static List<EffectInstance> getActiveForTarget(Integer targetId, String effectDefId) {
+        if (targetId == null || effectDefId == null) return new ArrayList<>();
+        List<EffectInstance> out = instancesOf(targetId, effectDefId);
+        if (out.isEmpty()) return new ArrayList<>();
+        long now = System.currentTimeMillis();
+        out.removeIf(ei -> ei.isExpired(now));
+        return out;
+    }
+
     public static java.util.Collection<EffectInstance> getAllActiveInstances() {
-        return activeInstances.values();
+        return java.util.Collections.unmodifiableCollection(activeInstances.values());
     }
 
     public static void removeInstance(UUID id) {
-        activeInstances.remove(id);
+        if (id == null) return;
+        EffectInstance inst = activeInstances.remove(id);
+        if (inst != null) untrack(inst);
     }
 
     public static EffectInstance getInstance(UUID id) {
@@ -129,12 +179,13 @@ public class EffectRegistry {
      */
     public static boolean hasEffect(Integer targetId, String effectDefId) {
         if (targetId == null || effectDefId == null) return false;
+        Map<String, Set<EffectInstance>> perDef = byTarget.get(targetId);
+        if (perDef == null) return false;
+        Set<EffectInstance> set = perDef.get(effectDefId);
+        if (set == null) return false;
         long now = System.currentTimeMillis();
-        for (EffectInstance ei : activeInstances.values()) {
-            if (ei.getTargetId() != null && ei.getTargetId().equals(targetId) 
-                    && effectDefId.equals(ei.getDefId()) && !ei.isExpired(now)) {
-                return true;
-            }
+        for (EffectInstance ei : set) {
+            if (!ei.isExpired(now)) return true;
         }
         return false;
     }
@@ -202,16 +253,8 @@ public class EffectRegistry {
      */
     public static void removeAllEffectsOfType(Integer targetId, String effectId) {
         if (targetId == null || effectId == null) return;
-        List<UUID> toRemove = new ArrayList<>();
-        for (EffectInstance ei : activeInstances.values()) {
-            if (ei.getTargetId() != null && ei.getTargetId().equals(targetId)) {
-                if (effectId.equals(ei.getDefId())) {
-                    toRemove.add(ei.getId());
-                }
-            }
-        }
-        for (UUID id : toRemove) {
-            activeInstances.remove(id);
+        for (EffectInstance ei : instancesOf(targetId, effectId)) {
+            removeInstance(ei.getId());
         }
     }
 
@@ -225,20 +268,21 @@ public class EffectRegistry {
      */
     public static int removeEffectsByTag(Integer targetId, String... requiredTags) {
         if (targetId == null || requiredTags == null || requiredTags.length == 0) return 0;
+        Map<String, Set<EffectInstance>> perDef = byTarget.get(targetId);
+        if (perDef == null) return 0;
         List<EffectInstance> toRemove = new ArrayList<>();
-        for (EffectInstance ei : activeInstances.values()) {
-            if (!targetId.equals(ei.getTargetId())) continue;
-            EffectDefinition def = defs.get(ei.getDefId());
+        for (Map.Entry<String, Set<EffectInstance>> e : perDef.entrySet()) {
+            EffectDefinition def = defs.get(e.getKey());
             if (def == null) continue;
             boolean allMatch = true;
             for (String tag : requiredTags) {
                 if (!def.hasTag(tag)) { allMatch = false; break; }
             }
-            if (allMatch) toRemove.add(ei);
+            if (allMatch) toRemove.addAll(e.getValue());
         }
         for (EffectInstance ei : toRemove) {
-            activeInstances.remove(ei.getId());
-            EffectHandler h = getHandlerForDef(defs.get(ei.getDefId()));
+            removeInstance(ei.getId());
+            EffectHandler h = ei.getHandler() != null ? ei.getHandler() : getHandlerForDef(defs.get(ei.getDefId()));
             if (h != null) {
                 try { h.expire(ei); } catch (Exception e) {
                     // expire() is best-effort cleanup; don't abort the cleanse
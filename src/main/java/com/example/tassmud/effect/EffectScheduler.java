@@ -4,59 +4,107 @@ import com.example.tassmud.util.TickService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Schedules ticking and expiration of active effects. Integrates with TickService.
+ *
+ * <p>Instead of walking every active instance each second, the scheduler keeps a priority queue
+ * of timers keyed by the time they are next due: one expiry timer per instance with a duration,
+ * plus a repeating tick timer for instances whose handler is {@link EffectHandler#isPeriodic}.
+ * Each run only pops the timers that are due, so passive buffs and debuffs are not touched again
+ * until they expire. Newly tracked instances arrive through {@link #schedule} from any thread and
+ * are picked up at the start of the next run; the queue itself is only used on the tick thread.
+ *
+ * <p>Instances removed early (dispels, refreshes, handlers removing themselves) are not searched
+ * for in the queue; their timers are dropped when they come due and the instance is no longer
+ * registered.
  */
 public class EffectScheduler {
     private static final EffectScheduler instance = new EffectScheduler();
     private volatile boolean initialized = false;
     private static final Logger logger = LoggerFactory.getLogger(EffectScheduler.class);
 
-    private EffectScheduler() {}
+    /** Tick cadence for periodic effects; handlers enforce their own intervals on top of it. */
+    static final long TICK_MS = 1000;
+    /** Tick timers are armed this much early so scheduling jitter can't skip a run. */
+    private static final long TICK_SLACK_MS = TICK_MS / 4;
+
+    private record Timer(long dueAtMs, EffectInstance inst, boolean expiry) {}
+
+    private final ConcurrentLinkedQueue<EffectInstance> incoming = new ConcurrentLinkedQueue<>();
+    private final PriorityQueue<Timer> timers = new PriorityQueue<>(Comparator.comparingLong(Timer::dueAtMs));
+
+    EffectScheduler() {}
 
     public static EffectScheduler getInstance() { return instance; }
 
     public synchronized void initialize(TickService tickService) {
         if (initialized) return;
+        initialized = true;
+        // Anything applied before startup finished
+        for (EffectInstance ei : EffectRegistry.getAllActiveInstances()) incoming.add(ei);
         // Run every second
-        tickService.scheduleAtFixedRate("effect-scheduler", () -> {
+        tickService.scheduleAtFixedRate("effect-scheduler", TickService.Lane.WORLD, () -> {
             try {
-                tickOnce();
+                tickOnce(System.currentTimeMillis());
             } catch (Throwable t) {
                 logger.error("[EffectScheduler] tick error", t);
             }
-        }, 1000, 1000);
-        initialized = true;
+        }, TICK_MS, TICK_MS, "combat-tick"); // see the round's damage before expiring or ticking effects
     }
 
-    private void tickOnce() {
-        long now = System.currentTimeMillis();
-        List<EffectInstance> toExpire = new ArrayList<>();
-        for (EffectInstance ei : EffectRegistry.getAllActiveInstances()) {
-            if (ei.isExpired(now)) {
-                toExpire.add(ei);
-            } else {
-                EffectDefinition def = EffectRegistry.getDefinition(ei.getDefId());
-                EffectHandler h = EffectRegistry.getHandlerForDef(def);
-                if (h != null) {
-                    try { h.tick(ei, now); } catch (Exception ignored) {}
-                }
-            }
+    /** Start timing a newly tracked instance. Safe to call from any thread. */
+    void schedule(EffectInstance ei) {
+        if (initialized) arm(ei);
+    }
+
+    // Unconditional variant; tests drive a private scheduler through this and tickOnce
+    void arm(EffectInstance ei) {
+        if (ei != null) incoming.add(ei);
+    }
+
+    /** Timers currently queued, stale ones included. Tick thread only. */
+    int pendingTimers() {
+        return timers.size();
+    }
+
+    void tickOnce(long now) {
+        for (EffectInstance ei; (ei = incoming.poll()) != null; ) {
+            if (ei.getExpiresAtMs() > 0) timers.add(new Timer(ei.getExpiresAtMs(), ei, true));
+            // First tick on this run, as when every instance was polled
+            if (isPeriodic(handlerOf(ei))) timers.add(new Timer(now, ei, false));
         }
 
-        for (EffectInstance ei : toExpire) {
-            EffectDefinition def = EffectRegistry.getDefinition(ei.getDefId());
-            EffectHandler h = EffectRegistry.getHandlerForDef(def);
-            try {
-                if (h != null) h.expire(ei);
-            } catch (Exception e) {
-                logger.warn("[EffectScheduler] expire error for {}", ei.getId(), e);
-            } finally {
-                EffectRegistry.removeInstance(ei.getId());
+        while (!timers.isEmpty() && timers.peek().dueAtMs() <= now) {
+            Timer t = timers.poll();
+            EffectInstance ei = t.inst();
+            if (EffectRegistry.getInstance(ei.getId()) != ei) continue; // removed meanwhile
+            EffectHandler h = handlerOf(ei);
+            if (t.expiry()) {
+                try {
+                    if (h != null) h.expire(ei);
+                } catch (Exception e) {
+                    logger.warn("[EffectScheduler] expire error for {}", ei.getId(), e);
+                } finally {
+                    EffectRegistry.removeInstance(ei.getId());
+                }
+            } else if (!ei.isExpired(now)) {
+                try { h.tick(ei, now); } catch (Exception ignored) {}
+                timers.add(new Timer(now + TICK_MS - TICK_SLACK_MS, ei, false));
             }
         }
     }
+
+    private static EffectHandler handlerOf(EffectInstance ei) {
+        EffectHandler h = ei.getHandler();
+        return h != null ? h : EffectRegistry.getHandlerForDef(EffectRegistry.getDefinition(ei.getDefId()));
+    }
+
+    /** True if instances of this handler need one-second tick timers. */
+    boolean isPeriodic(EffectHandler h) {
+        return h != null && h.isPeriodic();
+    }
 }
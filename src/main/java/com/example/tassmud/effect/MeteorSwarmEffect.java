@@ -64,7 +64,13 @@ public class MeteorSwarmEffect implements EffectHandler {
         notifyCaster(casterId,
                 "You invoke Meteor Swarm! Fiery stones will rain for " + ticksRemaining + " volleys.");
 
-        return new EffectInstance(UUID.randomUUID(), def.getId(), casterId, casterId, p, now, expiresAt, def.getPriority());
+        EffectParams ep = EffectParams.compile(def, p, TICK_INTERVAL_MS, "fire", now);
+        return new EffectInstance(UUID.randomUUID(), def.getId(), casterId, casterId, p, now, expiresAt, def.getPriority(), ep);
+    }
+
+    @Override
+    public boolean isPeriodic() {
+        return true;
     }
 
     @Override
@@ -72,18 +78,16 @@ public class MeteorSwarmEffect implements EffectHandler {
         EffectDefinition def = EffectRegistry.getDefinition(instance.getDefId());
         if (def == null) return;
 
-        Map<String, String> p = instance.getParams();
-        if (p == null) return;
+        EffectParams ep = instance.getEffectParams();
+        if (ep == null) return;
 
-        int ticksRemaining = parseInt(p.get("ticks_remaining"), 0);
+        int ticksRemaining = ep.getTicksRemaining();
         if (ticksRemaining <= 0) {
             EffectRegistry.removeInstance(instance.getId());
             return;
         }
 
-        int tickIntervalMs = parseInt(p.get("tick_interval_ms"), TICK_INTERVAL_MS);
-        long lastTickMs = parseLong(p.get("last_tick_ms"), 0L);
-        if (nowMs - lastTickMs < tickIntervalMs) return;
+        if (!ep.tryTick(nowMs)) return;
 
         Integer casterId = instance.getCasterId();
         if (casterId == null) {
@@ -95,12 +99,11 @@ public class MeteorSwarmEffect implements EffectHandler {
         Combatant casterCombatant = combat != null ? combat.findByCharacterId(casterId) : null;
 
         if (combat != null && casterCombatant != null && casterCombatant.isAlive() && casterCombatant.isActive()) {
-            runMeteorVolley(def, casterCombatant, combat, p);
+            runMeteorVolley(def, casterCombatant, combat, ep);
         }
 
         ticksRemaining--;
-        p.put("ticks_remaining", String.valueOf(ticksRemaining));
-        p.put("last_tick_ms", String.valueOf(nowMs));
+        ep.setTicksRemaining(ticksRemaining);
 
         if (ticksRemaining <= 0) {
             notifyCaster(casterId, "The heavens fall silent as your Meteor Swarm ends.");
@@ -113,7 +116,7 @@ public class MeteorSwarmEffect implements EffectHandler {
         notifyCaster(instance.getCasterId(), "The heavens fall silent as your Meteor Swarm ends.");
     }
 
-    private void runMeteorVolley(EffectDefinition def, Combatant caster, Combat combat, Map<String, String> p) {
+    private void runMeteorVolley(EffectDefinition def, Combatant caster, Combat combat, EffectParams ep) {
         List<Combatant> enemies = combat.getValidTargets(caster);
         if (enemies.isEmpty()) return;
 
@@ -125,7 +128,7 @@ public class MeteorSwarmEffect implements EffectHandler {
 
         for (int i = 0; i < meteors; i++) {
             Combatant target = enemies.get(ThreadLocalRandom.current().nextInt(enemies.size()));
-            int dmg = rollMeteorDamage(def, p);
+            int dmg = rollMeteorDamage(def, ep);
             if (dmg <= 0) continue;
 
             target.damage(dmg);
@@ -163,40 +166,9 @@ public class MeteorSwarmEffect implements EffectHandler {
         notifyCaster(caster.getCharacterId(), "Your meteor volley deals " + totalDamage + " total damage.");
     }
 
-    private int rollMeteorDamage(EffectDefinition def, Map<String, String> p) {
-        String raw = def.getDiceMultiplierRaw();
-        if ((raw == null || raw.isEmpty()) && p != null) raw = p.get("dice");
-        if (raw == null || raw.isEmpty()) return 0;
-
-        raw = raw.trim().toLowerCase();
-        int dIdx = raw.indexOf('d');
-        if (dIdx <= 0) return 0;
-
-        int baseN;
-        int dieM;
-        try {
-            baseN = Integer.parseInt(raw.substring(0, dIdx));
-            dieM = Integer.parseInt(raw.substring(dIdx + 1));
-        } catch (Exception e) {
-            return 0;
-        }
-
-        int proficiency = parseInt(p.get("proficiency"), 1);
-        proficiency = Math.max(1, Math.min(100, proficiency));
-
-        int scaledN = baseN;
-        if (def.getProficiencyImpact().contains(EffectDefinition.ProficiencyImpact.DICE_MULTIPLIER)) {
-            scaledN = (int) Math.floor(baseN * (proficiency / 100.0));
-            if (scaledN < 1) scaledN = 1;
-        }
-
-        int total = 0;
-        for (int i = 0; i < scaledN; i++) {
-            total += ThreadLocalRandom.current().nextInt(1, dieM + 1);
-        }
-
-        total += Math.max(0, def.getLevelMultiplier());
-        return total;
+    private int rollMeteorDamage(EffectDefinition def, EffectParams ep) {
+        if (ep.getDice() == null) return 0;
+        return ep.getDice().roll() + Math.max(0, def.getLevelMultiplier());
     }
 
     private void notifyCaster(Integer casterId, String msg) {
@@ -220,15 +192,6 @@ public class MeteorSwarmEffect implements EffectHandler {
         }
     }
 
-    private long parseLong(String value, long fallback) {
-        if (value == null) return fallback;
-        try {
-            return Long.parseLong(value);
-        } catch (Exception ignored) {
-            return fallback;
-        }
-    }
-
     private double parseDouble(String value, double fallback) {
         if (value == null) return fallback;
         try {
@@ -32,7 +32,6 @@ public class PlagueEffect implements EffectHandler {
     private static final Logger logger = LoggerFactory.getLogger(PlagueEffect.class);
     private static final long TICK_INTERVAL_MS = 3_000L;
     private static final String KEY_LAST_TICK = "last_tick_ms";
-    private static final String KEY_ACCUM = "accumulated_damage";
     /** Effect ID for the UNDEAD flag — undead are immune to disease. */
     private static final String EFFECT_UNDEAD = "2000";
 
@@ -62,7 +61,6 @@ public class PlagueEffect implements EffectHandler {
         Map<String, String> p = new HashMap<>();
         if (def.getParams() != null) p.putAll(def.getParams());
         if (extraParams != null) p.putAll(extraParams);
-        p.put(KEY_ACCUM, "0");
         p.put(KEY_LAST_TICK, String.valueOf(nowMs));
 
         // Apply messages
@@ -71,25 +69,24 @@ public class PlagueEffect implements EffectHandler {
         notifyCaster(casterId, targetName + " is overtaken by a hideous plague!");
 
         logger.debug("[PlagueEffect] Applied to {} for {}ms (prof={})", targetName, durationMs, proficiency);
-        return new EffectInstance(UUID.randomUUID(), def.getId(), casterId, targetId, p, nowMs, expiresAtMs, def.getPriority());
+        EffectParams ep = EffectParams.compile(def, p, TICK_INTERVAL_MS, "", nowMs);
+        return new EffectInstance(UUID.randomUUID(), def.getId(), casterId, targetId, p, nowMs, expiresAtMs, def.getPriority(), ep);
     }
 
     @Override
-    public void tick(EffectInstance instance, long nowMs) {
-        Map<String, String> p = instance.getParams();
+    public boolean isPeriodic() {
+        return true;
+    }
 
-        // Enforce tick interval
-        long lastTick = 0;
-        try { lastTick = Long.parseLong(p.getOrDefault(KEY_LAST_TICK, "0")); } catch (Exception ignored) {}
-        if (nowMs - lastTick < TICK_INTERVAL_MS) return;
-        p.put(KEY_LAST_TICK, String.valueOf(nowMs));
+    @Override
+    public void tick(EffectInstance instance, long nowMs) {
+        EffectParams ep = instance.getEffectParams();
+        if (ep == null || !ep.tryTick(nowMs)) return;
 
         // Accumulate damage: prior total + 1d6
-        int accumulated = 0;
-        try { accumulated = Integer.parseInt(p.getOrDefault(KEY_ACCUM, "0")); } catch (Exception ignored) {}
         int roll = ThreadLocalRandom.current().nextInt(1, 7);
-        int tickDamage = accumulated + roll;
-        p.put(KEY_ACCUM, String.valueOf(tickDamage));
+        int tickDamage = ep.getAmount() + roll;
+        ep.setAmount(tickDamage);
 
         Integer targetId = instance.getTargetId();
         Integer casterId = instance.getCasterId();
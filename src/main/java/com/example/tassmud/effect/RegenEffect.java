@@ -62,18 +62,19 @@ public class RegenEffect implements EffectHandler {
             logger.debug("[RegenEffect] Aura-sourced application to targetId={} (infinite duration)", targetId);
         }
 
-        return new EffectInstance(UUID.randomUUID(), def.getId(), casterId, targetId, p, nowMs, expiresAtMs, def.getPriority());
+        EffectParams ep = EffectParams.compile(def, p, TICK_INTERVAL_MS, "", nowMs);
+        return new EffectInstance(UUID.randomUUID(), def.getId(), casterId, targetId, p, nowMs, expiresAtMs, def.getPriority(), ep);
     }
 
     @Override
-    public void tick(EffectInstance instance, long nowMs) {
-        Map<String, String> p = instance.getParams();
-
-        long lastTick = 0;
-        try { lastTick = Long.parseLong(p.getOrDefault(KEY_LAST_TICK, "0")); } catch (Exception ignored) {}
+    public boolean isPeriodic() {
+        return true;
+    }
 
-        if (nowMs - lastTick < TICK_INTERVAL_MS) return;
-        p.put(KEY_LAST_TICK, String.valueOf(nowMs));
+    @Override
+    public void tick(EffectInstance instance, long nowMs) {
+        EffectParams ep = instance.getEffectParams();
+        if (ep == null || !ep.tryTick(nowMs)) return;
 
         int roll = ThreadLocalRandom.current().nextInt(1, 9); // 1d8
         applyHeal(instance.getTargetId(), instance.getCasterId(), roll);
@@ -0,0 +1,61 @@
+package com.example.tassmud.event;
+
+import com.example.tassmud.persistence.TransactionManager;
+import com.example.tassmud.util.SpawnEventLogger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Repops one area: runs all of the area's spawns that share a respawn period as a single event.
+ *
+ * <p>The spawns run in one database transaction, so a full area repop (mobs, their equipment
+ * and inventory, room items) is committed at once instead of one auto-commit per row. If any
+ * spawn fails, the whole batch is rolled back and each spawn is retried on its own, so one bad
+ * spawn config cannot keep the rest of the area empty. Areas that list the same mob in a room
+ * more than once share its spawn mappings, so the spawns also share one {@link SpawnBatch}.
+ */
+public class AreaSpawnEvent implements GameEvent {
+
+    private final int areaId;
+    private final List<SpawnEvent> spawns = new ArrayList<>();
+
+    public AreaSpawnEvent(int areaId, List<SpawnConfig> configs) {
+        if (configs.isEmpty()) throw new IllegalArgumentException("Area " + areaId + " has no spawns to run");
+        this.areaId = areaId;
+        for (SpawnConfig config : configs) {
+            spawns.add(new SpawnEvent(config));
+        }
+    }
+
+    /** All spawns are in the same area, so any of their rooms places this event there. */
+    @Override
+    public Integer roomId() {
+        return spawns.get(0).roomId();
+    }
+
+    @Override
+    public void execute() {
+        try {
+            TransactionManager.runInTransaction(() -> {
+                SpawnBatch batch = new SpawnBatch();
+                for (SpawnEvent spawn : spawns) {
+                    spawn.spawn(batch);
+                }
+            });
+        } catch (Exception e) {
+            SpawnEventLogger.error("[AreaSpawnEvent] Batched repop of area " + areaId + " failed (" + e.getMessage()
+                    + "); retrying its " + spawns.size() + " spawn(s) one at a time");
+            for (SpawnEvent spawn : spawns) {
+                spawn.execute();
+            }
+        }
+    }
+
+    public int getAreaId() {
+        return areaId;
+    }
+
+    public int getSpawnCount() {
+        return spawns.size();
+    }
+}
@@ -2,6 +2,7 @@ package com.example.tassmud.event;
 
 import java.util.concurrent.*;
 import java.util.*;
+import com.example.tassmud.util.AreaShards;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,8 +13,6 @@ import org.slf4j.LoggerFactory;
  */
 public class EventScheduler {
     
-    private static EventScheduler instance;
-    
     /** Priority queue ordered by scheduled execution time */
     private final PriorityBlockingQueue<ScheduledEvent> eventQueue;
     
@@ -41,11 +40,12 @@ public class EventScheduler {
     }
     private static final Logger logger = LoggerFactory.getLogger(EventScheduler.class);
     
-    public static synchronized EventScheduler getInstance() {
-        if (instance == null) {
-            instance = new EventScheduler();
-        }
-        return instance;
+    public static EventScheduler getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private static final class Holder {
+        static final EventScheduler INSTANCE = new EventScheduler();
     }
     
     /**
@@ -111,9 +111,8 @@ public class EventScheduler {
         if (!running) return;
         
         long now = System.currentTimeMillis();
-        int processed = 0;
-        
-        while (processed < MAX_EVENTS_PER_TICK) {
+        List<ScheduledEvent> due = new ArrayList<>();
+        while (due.size() < MAX_EVENTS_PER_TICK) {
             ScheduledEvent scheduled = eventQueue.peek();
             if (scheduled == null || scheduled.executeAt > now) {
                 break; // No more events ready
@@ -122,14 +121,21 @@ public class EventScheduler {
             // Remove and process
             scheduled = eventQueue.poll();
             if (scheduled == null) break;
-            
+            due.add(scheduled);
+        }
+        if (due.isEmpty()) return;
+
+        // Spawns only touch their own room, so with area sharding they run per area in parallel
+        AreaShards.getInstance().forEach("events", due, s -> s.event.roomId(), scheduled -> {
             try {
                 scheduled.event.execute();
             } catch (Exception e) {
                 logger.error("[EventScheduler] Error executing event: {}", e.getMessage(), e);
             }
-            
-            // Re-schedule if recurring
+        });
+
+        // Re-schedule recurring events
+        for (ScheduledEvent scheduled : due) {
             if (scheduled.recurringId != null) {
                 RecurringEventConfig config = recurringEvents.get(scheduled.recurringId);
                 if (config != null) {
@@ -137,8 +143,6 @@ public class EventScheduler {
                     eventQueue.offer(new ScheduledEvent(config.event, nextExecute, scheduled.recurringId));
                 }
             }
-            
-            processed++;
         }
     }
     
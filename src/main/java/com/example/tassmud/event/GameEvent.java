@@ -9,4 +9,12 @@ public interface GameEvent {
      * Execute the event.
      */
     void execute();
+
+    /**
+     * Room this event acts in, so area-sharded mode can run it with the rest of that area's work.
+     * @return the room id, or null if the event isn't tied to one room
+     */
+    default Integer roomId() {
+        return null;
+    }
 }
@@ -0,0 +1,29 @@
+package com.example.tassmud.event;
+
+import com.example.tassmud.util.MobileRegistry;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The spawn-mapping UUIDs taken by one repop. Mobs only reach the {@link MobileRegistry} once
+ * their transaction commits, so within a batch the registry alone would report a UUID as missing
+ * to every spawn config for the same room and template; the batch hands each UUID out once.
+ */
+final class SpawnBatch {
+
+    private final Set<String> claimed = new HashSet<>();
+
+    /**
+     * @return the UUIDs with no live mob that no earlier spawn in this batch has taken, now taken
+     */
+    List<String> claimMissing(List<String> mappingUuids) {
+        MobileRegistry registry = MobileRegistry.getInstance();
+        List<String> missing = new ArrayList<>();
+        for (String uuid : mappingUuids) {
+            if (registry.getByOriginUuid(uuid) == null && claimed.add(uuid)) missing.add(uuid);
+        }
+        return missing;
+    }
+}
@@ -6,7 +6,13 @@ import com.example.tassmud.model.*;
 import com.example.tassmud.persistence.*;
 import com.example.tassmud.util.MobileRegistry;
 import com.example.tassmud.util.SpawnEventLogger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
@@ -25,19 +31,34 @@ public class SpawnEvent implements GameEvent {
         this.mobileDao = DaoProvider.mobiles();
     }
     
+    @Override
+    public Integer roomId() {
+        return config.roomId;
+    }
+
     @Override
     public void execute() {
         try {
-            if (config.type == SpawnConfig.SpawnType.ITEM) {
-                spawnItems();
-            } else if (config.type == SpawnConfig.SpawnType.MOB) {
-                spawnMobs();
-            }
+            spawn(new SpawnBatch());
         } catch (Exception e) {
             SpawnEventLogger.error("[SpawnEvent] Error executing spawn " + config.getSpawnId() + ": " + e.getMessage());
         }
     }
-    
+
+    /**
+     * Run this spawn, letting failures propagate. {@link AreaSpawnEvent} uses this to run a whole
+     * area's spawns in one transaction and roll them back together.
+     *
+     * @param batch the repop this spawn is part of, shared by all spawns in one transaction
+     */
+    void spawn(SpawnBatch batch) {
+        if (config.type == SpawnConfig.SpawnType.ITEM) {
+            spawnItems();
+        } else if (config.type == SpawnConfig.SpawnType.MOB) {
+            spawnMobs(batch);
+        }
+    }
+
     /**
      * Spawn items according to the config.
      */
@@ -84,22 +105,28 @@ public class SpawnEvent implements GameEvent {
     }
     
     /**
-     * Spawn mobs according to the config.
+     * Spawn mobs according to the config: one mob per spawn-mapping UUID that has no live instance.
+     *
+     * <p>All missing mobs, their equipment and inventory are written in one transaction with
+     * batched inserts (joining the caller's transaction if there is one). Mobs are registered and
+     * given their in-memory modifiers only once that transaction commits, so {@code batch} keeps
+     * other spawns for the same room and template from claiming the same UUIDs meanwhile.
      */
-    private void spawnMobs() {
+    private void spawnMobs(SpawnBatch batch) {
         // Clean up empty corpses in the room before spawning
         cleanupEmptyCorpses();
-        // Diagnostic: log spawn config being executed
-        // SpawnEventLogger.info("[SpawnEvent] Executing mob spawn config: " + config.toString());
         // Get configured mapping UUIDs for this spawn (one mapping per intended mob)
         List<String> mappingUuids = mobileDao.getSpawnMappingUUIDs(config.roomId, config.templateId);
-        // SpawnEventLogger.info("[SpawnEvent] Found " + (mappingUuids == null ? 0 : mappingUuids.size()) + " spawn mapping UUID(s) for template " + config.templateId + " in room " + config.roomId);
         if (mappingUuids == null || mappingUuids.isEmpty()) {
             // No canonical spawn mappings for this room/template - nothing to manage
             SpawnEventLogger.error("[SpawnEvent] No spawn mappings for template " + config.templateId + " in room " + config.roomId + "; skipping.");
             return;
         }
 
+        // Mappings whose mob is still alive somewhere in the world are left alone
+        List<String> missing = batch.claimMissing(mappingUuids);
+        if (missing.isEmpty()) return;
+
         // Ensure the template exists
         MobileTemplate template = mobileDao.getTemplateById(config.templateId);
         if (template == null) {
@@ -107,121 +134,157 @@ public class SpawnEvent implements GameEvent {
             return;
         }
 
-        // For each mapping UUID, check globally if a live instance exists for that UUID. If not, spawn it.
-        for (String uuid : mappingUuids) {
-            try {
-                Mobile existing = mobileDao.getInstanceByOriginUuid(uuid);
-                if (existing != null) continue; // already present somewhere
+        TransactionManager.runInTransaction(() -> {
+            List<SpawnedMob> spawned = insertMobs(template, missing);
+            TransactionManager.afterCommit(() -> {
+                for (SpawnedMob sm : spawned) activate(sm);
+            });
+        });
+    }
+
+    /** A mob inserted by {@link #insertMobs} and the item instances created for it. */
+    private static final class SpawnedMob {
+        final Mobile mob;
+        final List<Long> equipIds = new ArrayList<>();
+        final List<ItemTemplate> equipTemplates = new ArrayList<>();
+        final List<Long> inventoryIds = new ArrayList<>();
+        final Map<Integer, Long> containers = new HashMap<>();
+
+        SpawnedMob(Mobile mob) {
+            this.mob = mob;
+        }
+    }
+
+    /**
+     * Insert one mob per UUID plus the config's equipment and inventory for each, in three batches:
+     * the mobs, their equipment/containers/loose inventory, then the items that go inside the
+     * containers. Item vnums without a template are skipped (and logged) so one bad entry cannot
+     * fail the whole batch.
+     */
+    private List<SpawnedMob> insertMobs(MobileTemplate template, List<String> uuids) {
+        List<Integer> equipVnums = itemVnums(config.equipment, "equipment");
+        List<int[]> inventory = new ArrayList<>(); // {item vnum, container vnum or 0}
+        Set<Integer> containerVnums = new LinkedHashSet<>();
+        if (config.inventory != null) {
+            for (Map<String, Object> inv : config.inventory) {
+                Integer itemVnum = existingVnum(inv.get("item_vnum"), "inventory");
+                if (itemVnum == null) continue;
+                Integer containerVnum = existingVnum(inv.get("container_vnum"), "container");
+                if (containerVnum != null) containerVnums.add(containerVnum);
+                inventory.add(new int[] { itemVnum, containerVnum != null ? containerVnum : 0 });
+            }
+        }
 
-                Mobile spawned = mobileDao.spawnMobile(template, config.roomId, uuid);
-                if (spawned != null) {
-                    int randStat;
-                    for (int i=1; i<=spawned.getLevel(); i++) {
-                        randStat = ThreadLocalRandom.current().nextInt(3);
-                        switch (randStat) {
-                            case 0: spawned.addStat(Stat.FORTITUDE, 1); break;
-                            case 1: spawned.addStat(Stat.REFLEX, 1); break;
-                            case 2: spawned.addStat(Stat.WILL, 1); break;
-                        }
-                    }
-                    MobileRegistry.getInstance().register(spawned);
-                    SpawnEventLogger.info("[SpawnEvent] Spawned " + spawned.getName() + " (instance #" + spawned.getInstanceId() + ") in room " + config.roomId + " [uuid=" + uuid + "]");
-                    // If this spawn config includes equipment, create item instances and apply their effects to the mobile
-                    try {
-                        if (config.equipment != null && !config.equipment.isEmpty()) {
-                            for (java.util.Map<String,Object> eq : config.equipment) {
-                                Object iv = eq.get("item_vnum");
-                                if (iv == null) continue;
-                                int itemVnum = Integer.parseInt(iv.toString());
-                                long instId = itemDao.createInstance(itemVnum, null, null);
-                                if (instId > 0) {
-                                    // Persist marker linking this mobile instance to the item instance
-                                    try { mobileDao.addMobileItemMarker(spawned.getInstanceId(), instId, "equip"); } catch (Exception ignore) {}
-                                    ItemTemplate itmpl = itemDao.getTemplateById(itemVnum);
-                                    applyEquipmentToMobile(spawned, instId, itmpl);
-                                    SpawnEventLogger.info("[SpawnEvent] Equipped mob " + spawned.getName() + " with item " + itemVnum + " (instance #" + instId + ")");
-                                }
-                            }
-                        }
-                    } catch (Exception e) {
-                        SpawnEventLogger.error("[SpawnEvent] Failed to equip spawned mob: " + e.getMessage());
-                    }
+        List<SpawnedMob> spawned = new ArrayList<>();
+        for (Mobile mob : mobileDao.spawnMobiles(template, config.roomId, uuids)) {
+            spawned.add(new SpawnedMob(mob));
+        }
+        if (equipVnums.isEmpty() && inventory.isEmpty()) return spawned;
 
-                    // If the spawn config includes inventory entries (items given to the mob), create instances.
-                    // Support items that should be placed inside a container (inventory entry contains `container_vnum`).
-                    try {
-                        if (config.inventory != null && !config.inventory.isEmpty()) {
-                            // Map container template vnum -> created container instance id (one per container type per mob)
-                            java.util.Map<Integer, Long> createdContainers = new java.util.HashMap<>();
+        // Equipment, one container per container vnum, and inventory items not in a container
+        List<ItemDAO.NewInstance> topLevel = new ArrayList<>();
+        for (int i = 0; i < spawned.size(); i++) {
+            for (int vnum : equipVnums) topLevel.add(new ItemDAO.NewInstance(vnum, null));
+            for (int vnum : containerVnums) topLevel.add(new ItemDAO.NewInstance(vnum, null));
+            for (int[] inv : inventory) {
+                if (inv[1] == 0) topLevel.add(new ItemDAO.NewInstance(inv[0], null));
+            }
+        }
+        long[] topIds = itemDao.createInstances(topLevel);
+        Map<Long, List<MobileDAO.MobileItemMarker>> markers = new LinkedHashMap<>();
+        int next = 0;
+        for (SpawnedMob sm : spawned) {
+            List<MobileDAO.MobileItemMarker> mobMarkers = markers.computeIfAbsent(sm.mob.getInstanceId(), k -> new ArrayList<>());
+            for (int vnum : equipVnums) {
+                long id = topIds[next++];
+                sm.equipIds.add(id);
+                sm.equipTemplates.add(itemDao.getTemplateById(vnum));
+                mobMarkers.add(new MobileDAO.MobileItemMarker(id, "equip"));
+            }
+            for (int vnum : containerVnums) {
+                long id = topIds[next++];
+                sm.containers.put(vnum, id);
+                sm.inventoryIds.add(id);
+                mobMarkers.add(new MobileDAO.MobileItemMarker(id, "inventory"));
+            }
+            for (int[] inv : inventory) {
+                if (inv[1] != 0) continue;
+                long id = topIds[next++];
+                sm.inventoryIds.add(id);
+                mobMarkers.add(new MobileDAO.MobileItemMarker(id, "inventory"));
+            }
+        }
 
-                            for (java.util.Map<String,Object> inv : config.inventory) {
-                                Object iv = inv.get("item_vnum");
-                                if (iv == null) continue;
-                                int itemVnum = Integer.parseInt(iv.toString());
+        // Items that go inside the containers created above
+        List<ItemDAO.NewInstance> contained = new ArrayList<>();
+        for (SpawnedMob sm : spawned) {
+            for (int[] inv : inventory) {
+                if (inv[1] != 0) contained.add(new ItemDAO.NewInstance(inv[0], sm.containers.get(inv[1])));
+            }
+        }
+        long[] containedIds = itemDao.createInstances(contained);
+        next = 0;
+        for (SpawnedMob sm : spawned) {
+            for (int[] inv : inventory) {
+                if (inv[1] == 0) continue;
+                long id = containedIds[next++];
+                sm.inventoryIds.add(id);
+                markers.get(sm.mob.getInstanceId()).add(new MobileDAO.MobileItemMarker(id, "inventory"));
+            }
+        }
 
-                                // Does this inventory entry specify a container template vnum?
-                                Integer containerVnum = null;
-                                Object cv = inv.get("container_vnum");
-                                if (cv != null) {
-                                    try { containerVnum = Integer.parseInt(cv.toString()); } catch (Exception ignored) {}
-                                }
+        mobileDao.addMobileItemMarkers(markers);
+        return spawned;
+    }
 
-                                long containerInstanceId = -1L;
-                                if (containerVnum != null) {
-                                    // Create the container instance for this mob (one per container template)
-                                    if (!createdContainers.containsKey(containerVnum)) {
-                                        long cinst = itemDao.createInstance(containerVnum, null, null);
-                                        if (cinst > 0) {
-                                            // Attach container to mob as inventory marker so it'll move to corpse later
-                                            try {
-                                                // persist container marker
-                                                try { mobileDao.addMobileItemMarker(spawned.getInstanceId(), cinst, "inventory"); } catch (Exception ignore) {}
-                                                com.example.tassmud.model.Modifier cm = new com.example.tassmud.model.Modifier("inventory#" + cinst, com.example.tassmud.model.Stat.ATTACK_HIT_BONUS, com.example.tassmud.model.Modifier.Op.ADD, 0, 0L, 0);
-                                                java.util.UUID cmid = spawned.addModifier(cm);
-                                                spawned.addEquipModifier(cmid);
-                                                SpawnEventLogger.info("[SpawnEvent] Gave mob " + spawned.getName() + " container " + containerVnum + " (instance #" + cinst + ")");
-                                            } catch (Exception ex) {
-                                                SpawnEventLogger.error("[SpawnEvent] Failed to attach container marker to mob: " + ex.getMessage());
-                                            }
-                                            createdContainers.put(containerVnum, cinst);
-                                        } else {
-                                            SpawnEventLogger.error("[SpawnEvent] Failed to create container instance for template " + containerVnum + " for mob " + spawned.getName());
-                                        }
-                                    }
-                                    Long c = createdContainers.get(containerVnum);
-                                    if (c != null) containerInstanceId = c.longValue();
-                                }
+    /** Item vnums of the entries' {@code item_vnum}, skipping entries without a valid template. */
+    private List<Integer> itemVnums(List<Map<String, Object>> entries, String what) {
+        List<Integer> vnums = new ArrayList<>();
+        if (entries == null) return vnums;
+        for (Map<String, Object> entry : entries) {
+            Integer vnum = existingVnum(entry.get("item_vnum"), what);
+            if (vnum != null) vnums.add(vnum);
+        }
+        return vnums;
+    }
 
-                                long instId;
-                                if (containerInstanceId > 0) {
-                                    instId = itemDao.createInstance(itemVnum, null, null, containerInstanceId);
-                                } else {
-                                    instId = itemDao.createInstance(itemVnum, null, null);
-                                }
+    /** Parse an item vnum; null (logged if it was set) when missing, malformed or without a template. */
+    private Integer existingVnum(Object value, String what) {
+        if (value == null) return null;
+        try {
+            int vnum = Integer.parseInt(value.toString().trim());
+            if (itemDao.templateExists(vnum)) return vnum;
+        } catch (NumberFormatException ignored) {
+            // fall through to the error below
+        }
+        SpawnEventLogger.error("[SpawnEvent] Skipping " + what + " item " + value + " for mob spawn " + config.getSpawnId() + ": no such item template");
+        return null;
+    }
 
-                                if (instId > 0) {
-                                    // Track this instance on the mob by adding a harmless modifier with source inventory#<id>
-                                    try {
-                                        // persist inventory marker
-                                        try { mobileDao.addMobileItemMarker(spawned.getInstanceId(), instId, "inventory"); } catch (Exception ignore) {}
-                                        com.example.tassmud.model.Modifier m = new com.example.tassmud.model.Modifier("inventory#" + instId, com.example.tassmud.model.Stat.ATTACK_HIT_BONUS, com.example.tassmud.model.Modifier.Op.ADD, 0, 0L, 0);
-                                        java.util.UUID mid = spawned.addModifier(m);
-                                        spawned.addEquipModifier(mid);
-                                        SpawnEventLogger.info("[SpawnEvent] Gave mob " + spawned.getName() + " inventory item " + itemVnum + " (instance #" + instId + ")" + (containerInstanceId > 0 ? " inside container #" + containerInstanceId : ""));
-                                    } catch (Exception ex) {
-                                        SpawnEventLogger.error("[SpawnEvent] Failed to attach inventory marker to mob: " + ex.getMessage());
-                                    }
-                                }
-                            }
-                        }
-                    } catch (Exception e) {
-                        SpawnEventLogger.error("[SpawnEvent] Failed to give inventory to spawned mob: " + e.getMessage());
-                    }
-                }
-            } catch (Exception e) {
-                SpawnEventLogger.error("[SpawnEvent] Failed to spawn mapped mob: " + e.getMessage());
+    /** Bring a committed mob to life: roll its saves, apply item modifiers and register it. */
+    private void activate(SpawnedMob sm) {
+        Mobile spawned = sm.mob;
+        int randStat;
+        for (int i=1; i<=spawned.getLevel(); i++) {
+            randStat = ThreadLocalRandom.current().nextInt(3);
+            switch (randStat) {
+                case 0: spawned.addStat(Stat.FORTITUDE, 1); break;
+                case 1: spawned.addStat(Stat.REFLEX, 1); break;
+                case 2: spawned.addStat(Stat.WILL, 1); break;
             }
         }
+        for (int i = 0; i < sm.equipIds.size(); i++) {
+            applyEquipmentToMobile(spawned, sm.equipIds.get(i), sm.equipTemplates.get(i));
+        }
+        // Track inventory on the mob with harmless modifiers (source inventory#<id>) so it moves to the corpse
+        for (long instId : sm.inventoryIds) {
+            Modifier m = new Modifier("inventory#" + instId, Stat.ATTACK_HIT_BONUS, Modifier.Op.ADD, 0, 0L, 0);
+            java.util.UUID mid = spawned.addModifier(m);
+            spawned.addEquipModifier(mid);
+        }
+        MobileRegistry.getInstance().register(spawned);
+        SpawnEventLogger.info("[SpawnEvent] Spawned " + spawned.getName() + " (instance #" + spawned.getInstanceId() + ") in room " + config.roomId
+                + " [uuid=" + spawned.getOriginUuid() + "] with " + sm.equipIds.size() + " equipped and " + sm.inventoryIds.size() + " inventory item(s)");
     }
 
     /**
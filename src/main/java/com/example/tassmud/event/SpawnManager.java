@@ -10,8 +10,6 @@ import org.slf4j.LoggerFactory;
  */
 public class SpawnManager {
     
-    private static SpawnManager instance;
-    
     /** Spawn configs grouped by area ID */
     private final Map<Integer, List<SpawnConfig>> spawnsByArea;
     
@@ -21,8 +19,8 @@ public class SpawnManager {
     /** Base stagger delay between areas (in milliseconds) */
     private static final long AREA_STAGGER_MS = 5000; // 5 seconds between areas
     
-    /** Stagger delay within an area between different spawns */
-    private static final long SPAWN_STAGGER_MS = 500; // 0.5 seconds between spawns in same area
+    /** Stagger delay within an area between its repop groups (spawns with different periods) */
+    private static final long SPAWN_STAGGER_MS = 500; // 0.5 seconds between repop groups in same area
     
     private SpawnManager() {
         this.spawnsByArea = new HashMap<>();
@@ -30,11 +28,12 @@ public class SpawnManager {
     }
     private static final Logger logger = LoggerFactory.getLogger(SpawnManager.class);
     
-    public static synchronized SpawnManager getInstance() {
-        if (instance == null) {
-            instance = new SpawnManager();
-        }
-        return instance;
+    public static SpawnManager getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private static final class Holder {
+        static final SpawnManager INSTANCE = new SpawnManager();
     }
     
     /**
@@ -54,7 +53,8 @@ public class SpawnManager {
     
     /**
      * Schedule all registered spawns with the event scheduler.
-     * Staggers spawns by area to spread out the load.
+     * Each area's spawns are grouped by respawn period into one {@link AreaSpawnEvent}, so an area
+     * repops in a single transaction. Areas are staggered to spread out the load.
      */
     public void scheduleAllSpawns() {
         EventScheduler scheduler = EventScheduler.getInstance();
@@ -65,6 +65,7 @@ public class SpawnManager {
         
         int areaIndex = 0;
         int totalScheduled = 0;
+        int repopEvents = 0;
         
         for (Integer areaId : areaIds) {
             List<SpawnConfig> areaSpawns = spawnsByArea.get(areaId);
@@ -73,49 +74,56 @@ public class SpawnManager {
             // Calculate base delay for this area
             long areaBaseDelay = areaIndex * AREA_STAGGER_MS;
             
-            int spawnIndex = 0;
-            for (SpawnConfig config : areaSpawns) {
-                // Calculate initial delay for this spawn
-                long initialDelay = areaBaseDelay + (spawnIndex * SPAWN_STAGGER_MS);
+            int groupIndex = 0;
+            for (Map.Entry<Long, List<SpawnConfig>> group : groupByPeriod(areaSpawns).entrySet()) {
+                // Calculate initial delay for this group
+                long initialDelay = areaBaseDelay + (groupIndex * SPAWN_STAGGER_MS);
+                long periodMs = group.getKey();
                 
-                // Get the recurring period
-                long periodMs = config.getDelayMs();
+                AreaSpawnEvent event = new AreaSpawnEvent(areaId, group.getValue());
+                scheduler.scheduleRecurring("spawn-area" + areaId + "-every" + periodMs, event, initialDelay, periodMs);
                 
-                // Create and schedule the spawn event
-                SpawnEvent event = new SpawnEvent(config);
-                scheduler.scheduleRecurring(config.getSpawnId(), event, initialDelay, periodMs);
-                
-                spawnIndex++;
-                totalScheduled++;
+                groupIndex++;
+                repopEvents++;
+                totalScheduled += group.getValue().size();
             }
             
             areaIndex++;
         }
         
-        logger.info("[SpawnManager] Scheduled {} spawns across {} areas", totalScheduled, areaIds.size());
+        logger.info("[SpawnManager] Scheduled {} spawns as {} area repop events across {} areas", totalScheduled, repopEvents, areaIds.size());
+    }
+
+    /** An area's spawns grouped by respawn period, in registration order. */
+    private static Map<Long, List<SpawnConfig>> groupByPeriod(List<SpawnConfig> areaSpawns) {
+        Map<Long, List<SpawnConfig>> groups = new LinkedHashMap<>();
+        for (SpawnConfig config : areaSpawns) {
+            groups.computeIfAbsent(config.getDelayMs(), k -> new ArrayList<>()).add(config);
+        }
+        return groups;
     }
     
     /**
      * Trigger an immediate spawn check for all registered spawns.
-     * Useful for initial server startup to populate the world.
+     * Useful for initial server startup to populate the world. Each area is populated in one
+     * transaction.
      */
     public void triggerInitialSpawns() {
         logger.info("[SpawnManager] Triggering initial spawns...");
+        long start = System.currentTimeMillis();
         
         int total = 0;
-        for (List<SpawnConfig> areaSpawns : spawnsByArea.values()) {
-            for (SpawnConfig config : areaSpawns) {
-                try {
-                    SpawnEvent event = new SpawnEvent(config);
-                    event.execute();
-                    total++;
-                } catch (Exception e) {
-                    logger.warn("[SpawnManager] Error in initial spawn: {}", e.getMessage(), e);
-                }
+        for (Map.Entry<Integer, List<SpawnConfig>> area : spawnsByArea.entrySet()) {
+            if (area.getValue().isEmpty()) continue;
+            try {
+                new AreaSpawnEvent(area.getKey(), area.getValue()).execute();
+                total += area.getValue().size();
+            } catch (Exception e) {
+                logger.warn("[SpawnManager] Error in initial spawn of area {}: {}", area.getKey(), e.getMessage(), e);
             }
         }
         
-        logger.info("[SpawnManager] Completed {} initial spawn checks", total);
+        logger.info("[SpawnManager] Completed {} initial spawn checks in {}ms", total, System.currentTimeMillis() - start);
     }
     
     /**
@@ -1,4 +1,6 @@
 package com.example.tassmud.model;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.EnumSet;
@@ -7,6 +9,21 @@ import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 public class GameCharacter {
+    private static final VarHandle HP_CUR;
+    private static final VarHandle MP_CUR;
+    private static final VarHandle MV_CUR;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HP_CUR = lookup.findVarHandle(GameCharacter.class, "hpCur", int.class);
+            MP_CUR = lookup.findVarHandle(GameCharacter.class, "mpCur", int.class);
+            MV_CUR = lookup.findVarHandle(GameCharacter.class, "mvCur", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private final String name;
     private final int age;
     private final String description;
@@ -121,6 +138,26 @@ public class GameCharacter {
         }
     }
 
+    /**
+     * Add natural regeneration to current HP/MP/MV, each capped at its max and never lowered.
+     * Each pool is updated with compare-and-set, so damage or spending that lands on another
+     * thread meanwhile is kept rather than overwritten with a stale value.
+     */
+    public void regenerate(int hp, int mp, int mv) {
+        regenerate(HP_CUR, hp, hpMax);
+        regenerate(MP_CUR, mp, mpMax);
+        regenerate(MV_CUR, mv, mvMax);
+    }
+
+    private void regenerate(VarHandle pool, int amount, int max) {
+        if (amount <= 0) return;
+        for (;;) {
+            int cur = (int) pool.getVolatile(this);
+            if (cur >= max) return;
+            if (pool.compareAndSet(this, cur, Math.min(max, cur + amount))) return;
+        }
+    }
+
     public int getMpMax() { return mpMax; }
     public int getMpCur() { return mpCur; }
     public void setMpCur(int mpCur) { this.mpCur = Math.max(0, Math.min(mpCur, mpMax)); }
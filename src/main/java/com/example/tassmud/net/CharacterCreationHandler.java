@@ -71,7 +71,9 @@ public class CharacterCreationHandler {
         try {
             // brief pause to avoid socket output interleaving in some telnet clients
             Thread.sleep(50);
-        } catch (InterruptedException ignored) {
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
         }
 
         CharacterDAO dao = DaoProvider.characters();
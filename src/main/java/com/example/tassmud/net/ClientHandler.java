@@ -5,6 +5,7 @@ import com.example.tassmud.persistence.DaoProvider;
 import com.example.tassmud.combat.Combat;
 import com.example.tassmud.combat.CombatManager;
 import com.example.tassmud.combat.Combatant;
+import com.example.tassmud.combat.DeathHandler;
 import com.example.tassmud.model.Area;
 import com.example.tassmud.model.GameCharacter;
 import com.example.tassmud.model.ItemInstance;
@@ -19,10 +20,13 @@ import com.example.tassmud.net.commands.MovementCommandHandler;
 import com.example.tassmud.persistence.CharacterClassDAO;
 import com.example.tassmud.persistence.CharacterDAO;
 import com.example.tassmud.persistence.ItemDAO;
+import com.example.tassmud.util.AreaActivity;
 import com.example.tassmud.util.GameClock;
+import com.example.tassmud.util.GameLoop;
 import com.example.tassmud.util.RegenerationService;
 import com.example.tassmud.util.AllyManager;
 import com.example.tassmud.util.MobileRegistry;
+import com.example.tassmud.util.WorldScheduler;
 import com.example.tassmud.model.AllyBinding;
 import com.example.tassmud.model.Mobile;
 import org.slf4j.Logger;
@@ -43,17 +47,29 @@ import com.example.tassmud.persistence.CharacterDAO.CharacterRecord;
  */
 public class ClientHandler implements Runnable {
     private static final Logger logger = LoggerFactory.getLogger(ClientHandler.class);
-    private final Socket socket;
+    private final Socket socket;        // thread-per-connection mode (null in NIO mode)
+    private final NioConnection nio;    // NIO mode (null in thread-per-connection mode)
+    private final java.util.concurrent.atomic.AtomicBoolean sessionEnded = new java.util.concurrent.atomic.AtomicBoolean();
+    private volatile OutputQueue output;     // backs 'out'; drained by outputWriter or the NIO selector
+    private Thread outputWriter;            // thread-per-connection modes only
+    /** Commands this session may have queued for the world thread at once (single-writer mode). */
+    private final java.util.concurrent.Semaphore commandPermits = new java.util.concurrent.Semaphore(32);
     private final GameClock gameClock;
     // Registry of active sessions
     public static final Set<ClientHandler> sessions = ConcurrentHashMap.newKeySet();
     public static final ConcurrentHashMap<String, ClientHandler> nameToSession = new ConcurrentHashMap<>();
     public static final ConcurrentHashMap<Integer, ClientHandler> charIdToSession = new ConcurrentHashMap<>();
+    // Secondary indexes: roomId / areaId -> sessions currently there (maintained by setCurrentRoomId)
+    private static final ConcurrentHashMap<Integer, Set<ClientHandler>> sessionsByRoom = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Integer, Set<ClientHandler>> sessionsByArea = new ConcurrentHashMap<>();
 
     // Per-session state used for routing messages
     public volatile PrintWriter out = null;
     public volatile String playerName = null;
+    /** Read freely; assign only through {@link #setCurrentRoomId} so the room index stays in sync. */
     public volatile Integer currentRoomId = null;
+    private volatile Integer currentAreaId = null;
+    private final Object roomIndexLock = new Object();
     private volatile Integer characterId = null;
     private volatile String promptFormat = "<%h/%Hhp %m/%Mmp %v/%Vmv> ";
     public volatile boolean debugChannelEnabled = false;  // GM-only debug output
@@ -67,6 +83,7 @@ public class ClientHandler implements Runnable {
      */
     public volatile java.util.function.Consumer<String> pendingInputCallback = null;
     
+    /** @return the client socket, or null when the server runs in NIO mode (use {@link #disconnect()}) */
     public Socket getSocket() {
         return this.socket;
     }
@@ -85,6 +102,13 @@ public class ClientHandler implements Runnable {
 
     public ClientHandler(Socket socket, GameClock gameClock) {
         this.socket = socket;
+        this.nio = null;
+        this.gameClock = gameClock;
+    }
+
+    ClientHandler(NioConnection connection, GameClock gameClock) {
+        this.socket = null;
+        this.nio = connection;
         this.gameClock = gameClock;
     }
 
@@ -96,6 +120,7 @@ public class ClientHandler implements Runnable {
 
     private void unregisterSession() {
         sessions.remove(this);
+        setCurrentRoomId(null);
         if (playerName != null) nameToSession.remove(playerName.toLowerCase());
         if (characterId != null) {
             charIdToSession.remove(characterId);
@@ -104,6 +129,12 @@ public class ClientHandler implements Runnable {
         }
     }
 
+    /** @return queue depth and drop counters for this session's output, or null before it connects */
+    public OutputQueue.Stats outputStats() {
+        OutputQueue q = output;
+        return q == null ? null : q.stats();
+    }
+
     public void sendRaw(String msg) {
         try {
             PrintWriter o = out;
@@ -119,14 +150,8 @@ public class ClientHandler implements Runnable {
     }
 
     public static void broadcastArea(CharacterDAO dao, Integer areaId, String msg) {
-        if (areaId == null) return;
-        for (ClientHandler s : sessions) {
-            Integer rId = s.currentRoomId;
-            if (rId == null) continue;
-            Room r = DaoProvider.rooms().getRoomById(rId);
-            if (r != null && Integer.valueOf(r.getAreaId()).equals(areaId)) {
-                s.sendRaw(msg);
-            }
+        for (ClientHandler s : sessionsInArea(areaId)) {
+            s.sendRaw(msg);
         }
     }
 
@@ -135,7 +160,7 @@ public class ClientHandler implements Runnable {
             String pn = s.playerName;
             if (pn == null) continue;
             try {
-                if (dao.isCharacterFlagTrueByName(pn, "is_gm")) {
+                if (dao.isGm(pn)) {
                     s.sendRaw("[gm] " + fromName + ": " + msg);
                 }
             } catch (Exception ignored) {}
@@ -172,12 +197,60 @@ public class ClientHandler implements Runnable {
      * This is the shared iteration helper used by all room-scoped messaging methods.
      */
     public static void forEachInRoom(Integer roomId, java.util.function.Consumer<ClientHandler> action) {
-        if (roomId == null) return;
-        for (ClientHandler s : sessions) {
-            Integer r = s.currentRoomId;
-            if (r != null && r.equals(roomId)) {
-                action.accept(s);
+        for (ClientHandler s : sessionsInRoom(roomId)) {
+            action.accept(s);
+        }
+    }
+
+    /**
+     * Sessions currently in a room, served from the room index (O(occupants), not O(players)).
+     * The returned view is live and weakly consistent; do not modify it.
+     */
+    public static java.util.Collection<ClientHandler> sessionsInRoom(Integer roomId) {
+        if (roomId == null) return java.util.Collections.emptySet();
+        Set<ClientHandler> here = sessionsByRoom.get(roomId);
+        return here != null ? java.util.Collections.unmodifiableSet(here) : java.util.Collections.emptySet();
+    }
+
+    /** Sessions currently anywhere in an area; see {@link #sessionsInRoom}. */
+    public static java.util.Collection<ClientHandler> sessionsInArea(Integer areaId) {
+        if (areaId == null) return java.util.Collections.emptySet();
+        Set<ClientHandler> here = sessionsByArea.get(areaId);
+        return here != null ? java.util.Collections.unmodifiableSet(here) : java.util.Collections.emptySet();
+    }
+
+    /**
+     * Move this session to another room (null = nowhere), keeping the room and area
+     * indexes in step. All changes to {@link #currentRoomId} must go through here.
+     */
+    public void setCurrentRoomId(Integer roomId) {
+        synchronized (roomIndexLock) {
+            Integer oldRoom = this.currentRoomId;
+            Integer oldArea = this.currentAreaId;
+            Integer newArea = null;
+            if (roomId != null) {
+                Room r = DaoProvider.rooms().getRoomById(roomId);
+                if (r != null) newArea = r.getAreaId();
+            }
+            if (oldRoom != null && !oldRoom.equals(roomId)) removeFromIndex(sessionsByRoom, oldRoom);
+            if (oldArea != null && !oldArea.equals(newArea)) removeFromIndex(sessionsByArea, oldArea);
+            if (!java.util.Objects.equals(oldArea, newArea)) {
+                // Player presence is what keeps an area's mobs simulated
+                if (oldArea != null) AreaActivity.getInstance().playerLeft(oldArea);
+                if (newArea != null) AreaActivity.getInstance().playerEntered(newArea);
             }
+            this.currentRoomId = roomId;
+            this.currentAreaId = newArea;
+            if (roomId != null) sessionsByRoom.computeIfAbsent(roomId, k -> ConcurrentHashMap.newKeySet()).add(this);
+            if (newArea != null) sessionsByArea.computeIfAbsent(newArea, k -> ConcurrentHashMap.newKeySet()).add(this);
+        }
+    }
+
+    private void removeFromIndex(ConcurrentHashMap<Integer, Set<ClientHandler>> index, Integer key) {
+        Set<ClientHandler> set = index.get(key);
+        if (set != null) {
+            set.remove(this);
+            // Don't bother removing empty sets — same trade-off as MobileRegistry.byRoom.
         }
     }
 
@@ -254,43 +327,40 @@ public class ClientHandler implements Runnable {
         String lower = msg.toLowerCase();
         boolean isArrivalOrDeparture = lower.contains("arrive") || lower.contains("leave") || lower.contains("flees") || lower.contains("flee") || lower.contains("disappear") || lower.contains("vanish");
 
-        for (ClientHandler s : sessions) {
-            Integer r = s.currentRoomId;
-            if (r != null && r.equals(roomId)) {
-                // Skip the excluded character (usually the mover themselves)
-                if (excludeCharacterId != null && excludeCharacterId.equals(s.characterId)) {
-                    continue;
-                }
-
-                // Suppress arrival/departure lines for sleeping players
-                if (isArrivalOrDeparture && s.characterId != null) {
-                    try {
-                        Stance stance = RegenerationService.getInstance().getPlayerStance(s.characterId);
-                        if (stance == Stance.SLEEPING) {
-                            continue; // don't wake sleeping players with arrival/departure noise
-                        }
-                    } catch (Exception ignored) {}
-                }
+        for (ClientHandler s : sessionsInRoom(roomId)) {
+            // Skip the excluded character (usually the mover themselves)
+            if (excludeCharacterId != null && excludeCharacterId.equals(s.characterId)) {
+                continue;
+            }
 
-                // If the actor is invisible, check if this player can see invisible
-                if (!isVisible) {
-                    boolean canSeeInvis = com.example.tassmud.effect.EffectRegistry.canSeeInvisible(s.characterId);
-                    if (!canSeeInvis) {
-                        continue; // Can't see the invisible actor
+            // Suppress arrival/departure lines for sleeping players
+            if (isArrivalOrDeparture && s.characterId != null) {
+                try {
+                    Stance stance = RegenerationService.getInstance().getPlayerStance(s.characterId);
+                    if (stance == Stance.SLEEPING) {
+                        continue; // don't wake sleeping players with arrival/departure noise
                     }
-                    // Add (INVIS) indicator to the message for those who can see
-                    s.sendRaw(msg + " (INVIS)");
-                } else {
-                    s.sendRaw(msg);
-                }
+                } catch (Exception ignored) {}
+            }
 
-                // If this was an arrival/departure style announcement, send a prompt
-                // so the user's client shows the prompt again (useful for telnet-like clients).
-                if (isArrivalOrDeparture) {
-                    try {
-                        s.sendPrompt();
-                    } catch (Exception ignored) {}
+            // If the actor is invisible, check if this player can see invisible
+            if (!isVisible) {
+                boolean canSeeInvis = com.example.tassmud.effect.EffectRegistry.canSeeInvisible(s.characterId);
+                if (!canSeeInvis) {
+                    continue; // Can't see the invisible actor
                 }
+                // Add (INVIS) indicator to the message for those who can see
+                s.sendRaw(msg + " (INVIS)");
+            } else {
+                s.sendRaw(msg);
+            }
+
+            // If this was an arrival/departure style announcement, send a prompt
+            // so the user's client shows the prompt again (useful for telnet-like clients).
+            if (isArrivalOrDeparture) {
+                try {
+                    s.sendPrompt();
+                } catch (Exception ignored) {}
             }
         }
     }
@@ -398,7 +468,7 @@ public class ClientHandler implements Runnable {
         if (handler == null) return;
         
         // Update the handler's current room to the recall point
-        handler.currentRoomId = 3054;
+        handler.setCurrentRoomId(DeathHandler.RECALL_ROOM_ID);
         
         // Set the player's stance to SLEEPING via RegenerationService
         RegenerationService.getInstance().setPlayerStance(characterId, Stance.SLEEPING);
@@ -424,6 +494,14 @@ public class ClientHandler implements Runnable {
     public Integer getCurrentRoomId() {
         return this.currentRoomId;
     }
+
+    /**
+     * Get the character ID for this handler.
+     * @return the character ID, or null before login completes
+     */
+    public Integer getCharacterId() {
+        return this.characterId;
+    }
     
     /**
      * Build a Character object from a CharacterRecord for use in combat.
@@ -559,9 +637,7 @@ public class ClientHandler implements Runnable {
      */
     public static boolean isSneaking(Integer characterId) {
         if (characterId == null) return false;
-        CharacterDAO dao = DaoProvider.characters();
-        String sneakFlag = dao.getCharacterFlag(characterId, "is_sneaking");
-        return "true".equalsIgnoreCase(sneakFlag);
+        return DaoProvider.characters().isSneaking(characterId);
     }
     
     /**
@@ -667,164 +743,324 @@ public class ClientHandler implements Runnable {
      * Delegates to {@link CharacterCreationHandler} for the interactive login/creation flow,
      * then registers the resulting session state on this handler.
      *
-     * @return the CharacterDAO to use for the session, or null if the connection should close
+     * @return true if a character is now logged in, false if the connection should close
      */
-    private CharacterDAO runLogin(BufferedReader in, PrintWriter pw) throws Exception {
+    private boolean runLogin(BufferedReader in, PrintWriter pw) throws Exception {
         CharacterCreationHandler handler = new CharacterCreationHandler(pw);
         CharacterCreationHandler.LoginResult result = handler.runLogin(in);
 
         if (result == null) {
-            // Login failed or client disconnected — close socket
-            socket.close();
-            return DaoProvider.characters();
+            // Login failed or client disconnected
+            return false;
         }
 
         // Apply session state from the login result
         this.playerName = result.playerName();
         this.characterId = result.characterId();
-        this.currentRoomId = result.currentRoomId();
+        setCurrentRoomId(result.currentRoomId());
         nameToSession.put(result.playerName().toLowerCase(), this);
         if (this.characterId != null) {
+            // Serve this character's row from memory while online (written behind to the DB)
+            DaoProvider.characters().attachSessionState(this.characterId);
+            WorldScheduler.getInstance().arrived(WorldScheduler.Owner.character(this.characterId));
             charIdToSession.put(this.characterId, this);
             // Register with regeneration service for HP/MP/MV regen ticks
             RegenerationService.getInstance().registerPlayer(this.characterId);
         }
 
-        return DaoProvider.characters();
+        return true;
     }
-    
-    @Override
-    public void run() {
-            try (
-                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-                PrintWriter pw = new PrintWriter(socket.getOutputStream(), true)
-        ) {
-            this.out = pw;
-            registerSession();
-            CharacterDAO dao = runLogin(in, pw);
-            String name = this.playerName;
-            CharacterRecord rec = dao.findByName(name);
-            
-            // Monks use ki in their prompt instead of mp
-            if (rec != null && rec.currentClassId != null && rec.currentClassId == 8) {
-                this.promptFormat = "<%h/%Hhp %k/%Kki %v/%Vmv> ";
-                // Always recompute ki max from wisdom modifier (+ Perfect Self doubling)
-                int wisMod = (rec.getWisTotal() - 10) / 2;
-                int newKiMax = Math.max(1, wisMod);
-                // Check for Perfect Self (skill 709) — doubles ki pool
-                Integer charId = dao.getCharacterIdByName(name);
-                if (charId != null && DaoProvider.skills().hasSkill(charId, 709)) {
-                    newKiMax *= 2;
-                }
-                dao.saveKiByName(name, newKiMax, Math.min(rec.kiCur, newKiMax));
-                rec = dao.findByName(name); // refresh
+
+    /** One-time setup after login, before the first prompt. */
+    private void enterWorld() {
+        CharacterDAO dao = DaoProvider.characters();
+        String name = this.playerName;
+        CharacterRecord rec = dao.findByName(name);
+
+        // Monks use ki in their prompt instead of mp
+        if (rec != null && rec.currentClassId != null && rec.currentClassId == 8) {
+            this.promptFormat = "<%h/%Hhp %k/%Kki %v/%Vmv> ";
+            // Always recompute ki max from wisdom modifier (+ Perfect Self doubling)
+            int wisMod = (rec.getWisTotal() - 10) / 2;
+            int newKiMax = Math.max(1, wisMod);
+            // Check for Perfect Self (skill 709) — doubles ki pool
+            Integer charId = dao.getCharacterIdByName(name);
+            if (charId != null && DaoProvider.skills().hasSkill(charId, 709)) {
+                newKiMax *= 2;
             }
-            
-            while (true) {
-                // print blank line before prompt for cleaner separation
-                out.println();
-                // print formatted prompt (reload rec to get fresh vitals)
-                try {
-                    rec = dao.findByName(name);
-                    out.print(com.example.tassmud.util.Colors.prompt(formatPrompt(promptFormat, rec, dao)));
-                    out.flush();
-                } catch (Exception e) {
-                    out.print(com.example.tassmud.util.Colors.prompt("> ")); out.flush();
-                }
+            dao.saveKiByName(name, newKiMax, Math.min(rec.kiCur, newKiMax));
+        }
+    }
 
-                String line = in.readLine();
-                if (line == null) break;
-                line = line.trim();
-                if (line.isEmpty()) continue;
-
-                // Route to pending input callback if set (e.g. companion naming after Tame).
-                // One-shot: the callback is cleared before it is invoked.
-                if (pendingInputCallback != null) {
-                    java.util.function.Consumer<String> cb = pendingInputCallback;
-                    pendingInputCallback = null;
-                    cb.accept(line);
-                    continue;
-                }
+    /** Print the blank separator line and the formatted prompt that precede each input line. */
+    private void sendLoopPrompt() {
+        // print blank line before prompt for cleaner separation
+        out.println();
+        // print formatted prompt (reload rec to get fresh vitals)
+        try {
+            CharacterDAO dao = DaoProvider.characters();
+            CharacterRecord rec = dao.findByName(playerName);
+            out.print(com.example.tassmud.util.Colors.prompt(formatPrompt(promptFormat, rec, dao)));
+            out.flush();
+        } catch (Exception e) {
+            out.print(com.example.tassmud.util.Colors.prompt("> ")); out.flush();
+        }
+    }
 
-                Command cmd = CommandParser.parse(line);
-                if (cmd == null) {
-                    out.println("Unknown command.");
-                    continue;
-                }
+    /**
+     * Handle one line of player input (already read from the connection), then send the next
+     * prompt. The line is parsed on the calling thread; running it happens on the world thread
+     * in single-writer mode (see {@link GameLoop}) and inline otherwise.
+     */
+    private void processLine(String raw) {
+        String line = raw.trim();
+        Command cmd = line.isEmpty() ? null : CommandParser.parse(line);
+        // Bound how far one player can get ahead of the world thread. A session thread can just
+        // wait; an NIO worker is shared with other players, so there the line is refused instead.
+        if (nio == null) {
+            commandPermits.acquireUninterruptibly();
+        } else if (!commandPermits.tryAcquire()) {
+            out.println("The server is busy; that command was dropped. Try again in a moment.");
+            return;
+        }
+        GameLoop.getInstance().submit(() -> {
+            try {
+                if (!line.isEmpty()) executeLine(line, cmd);
+            } catch (Exception e) {
+                logger.error("Generic error: {}", e.getMessage(), e);
+            } finally {
+                commandPermits.release();
+            }
+            sendLoopPrompt();
+        });
+    }
 
-                String cmdName = cmd.getName().toLowerCase();
-                
-                // Combat lock: block non-combat commands when in combat
-                if (characterId != null) {
-                    Combat combat = CombatManager.getInstance().getCombatInRoom(currentRoomId);
-                    if (combat != null && combat.containsCharacter(characterId)) {
-                        CommandDefinition cmdDef = CommandRegistry.getCommand(cmdName);
-                        if (cmdDef != null && !cmdDef.isAllowedInCombat()) {
-                            out.println("You can't do that while fighting! (flee first)");
-                            continue;
-                        }
-                    }
-                }
-                
-                // Try to dispatch to category handlers first (reduces method size)
-                boolean isGmForDispatch = dao.isCharacterFlagTrueByName(name, "is_gm");
-                boolean inCombatForDispatch = characterId != null && 
-                    CombatManager.getInstance().getCombatForCharacter(characterId) != null;
-                CommandContext cmdCtx = new CommandContext(
-                    cmd, name, characterId, currentRoomId, rec, dao, out,
-                    isGmForDispatch, inCombatForDispatch, this
-                );
-                if (CommandDispatcher.dispatch(cmdCtx)) {
-                    // Command was handled by a category handler
-                    // Refresh rec in case it changed
-                    rec = dao.findByName(name);
-                    continue;
+    /** Run one non-empty input line; {@code cmd} is its parse, or null if it didn't parse. */
+    private void executeLine(String line, Command cmd) {
+        // Route to pending input callback if set (e.g. companion naming after Tame).
+        // One-shot: the callback is cleared before it is invoked.
+        if (pendingInputCallback != null) {
+            java.util.function.Consumer<String> cb = pendingInputCallback;
+            pendingInputCallback = null;
+            cb.accept(line);
+            return;
+        }
+
+        if (cmd == null) {
+            out.println("Unknown command.");
+            return;
+        }
+
+        String cmdName = cmd.getName().toLowerCase();
+
+        // Combat lock: block non-combat commands when in combat
+        if (characterId != null) {
+            Combat combat = CombatManager.getInstance().getCombatInRoom(currentRoomId);
+            if (combat != null && combat.containsCharacter(characterId)) {
+                CommandDefinition cmdDef = CommandRegistry.getCommand(cmdName);
+                if (cmdDef != null && !cmdDef.isAllowedInCombat()) {
+                    out.println("You can't do that while fighting! (flee first)");
+                    return;
                 }
             }
-        } catch (IOException e) {
-            if (isClientDisconnect(e)) {
-                String who = (playerName != null) ? playerName : socket.getRemoteSocketAddress().toString();
-                logger.info("Client disconnected: {} ({})", who, e.getMessage());
-            } else {
-                logger.warn("Client connection error: {}", e.getMessage(), e);
+        }
+
+        // Try to dispatch to category handlers first (reduces method size)
+        CharacterDAO dao = DaoProvider.characters();
+        String name = this.playerName;
+        CharacterRecord rec = dao.findByName(name);
+        boolean isGmForDispatch = dao.isGm(name);
+        boolean inCombatForDispatch = characterId != null &&
+            CombatManager.getInstance().getCombatForCharacter(characterId) != null;
+        CommandContext cmdCtx = new CommandContext(
+            cmd, name, characterId, currentRoomId, rec, dao, out,
+            isGmForDispatch, inCombatForDispatch, this
+        );
+        CommandDispatcher.dispatch(cmdCtx);
+    }
+
+    @Override
+    public void run() {
+        // Not try-with-resources: closing the reader closes the socket before queued output
+        // (e.g. "Invalid name") has been drained. closeConnection() closes it after the linger.
+        try {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+            PrintWriter pw = startOutputWriter();
+            this.out = pw;
+            registerSession();
+            if (!runLogin(in, pw)) return;
+            GameLoop.getInstance().runAndWait(() -> {
+                enterWorld();
+                sendLoopPrompt();
+            });
+
+            for (String line; (line = in.readLine()) != null; ) {
+                processLine(line);
             }
+        } catch (IOException e) {
+            logDisconnect(e);
         } catch (Exception e) {
             logger.error("Generic error: {}", e.getMessage(), e);
         } finally {
-            // Attempt to persist character state and modifiers on disconnect
-            try {
-                CharacterDAO dao = DaoProvider.characters();
-                if (characterId != null) {
-                    // Persist vitals/state
-                    CharacterDAO.CharacterRecord latest = dao.findById(characterId);
-                    if (latest != null) {
-                        dao.saveCharacterStateByName(latest.name, latest.hpCur, latest.mpCur, latest.mvCur, latest.kiCur, latest.currentRoom);
-                    }
+            endSession();
+        }
+    }
 
-                    // If in combat, try to persist modifiers from the combatant's Character instance
-                    com.example.tassmud.combat.CombatManager cm = com.example.tassmud.combat.CombatManager.getInstance();
-                    com.example.tassmud.combat.Combatant combatant = cm.getCombatantForCharacter(characterId);
-                    if (combatant != null) {
-                        GameCharacter ch = combatant.getAsCharacter();
-                        if (ch != null) {
-                            dao.saveModifiersForCharacter(characterId, ch);
-                        }
+    /**
+     * NIO mode entry point: run the (blocking) login dialogue on the calling thread, then hand
+     * the connection over to event-driven line dispatch so no thread is held while the player
+     * idles in game. See {@link NioTelnetServer}.
+     */
+    void runNioSession() {
+        try {
+            this.output = nio.output();
+            this.out = nio.writer();
+            registerSession();
+            if (!runLogin(nio.loginReader(), out)) {
+                endSession();
+                return;
+            }
+            GameLoop.getInstance().runAndWait(() -> {
+                enterWorld();
+                sendLoopPrompt();
+            });
+            nio.startEvents(this::processLine, this::endSession);
+        } catch (IOException e) {
+            logDisconnect(e);
+            endSession();
+        } catch (Exception e) {
+            logger.error("Generic error: {}", e.getMessage(), e);
+            endSession();
+        }
+    }
+
+    private void logDisconnect(IOException e) {
+        if (isClientDisconnect(e)) {
+            String who = (playerName != null) ? playerName : remoteAddress();
+            logger.info("Client disconnected: {} ({})", who, e.getMessage());
+        } else {
+            logger.warn("Client connection error: {}", e.getMessage(), e);
+        }
+    }
+
+    /** Persist state, unregister and close the connection. Runs once per session. */
+    private void endSession() {
+        if (!sessionEnded.compareAndSet(false, true)) return;
+        // In single-writer mode this also waits for the player's already queued commands
+        try {
+            GameLoop.getInstance().runAndWait(this::leaveWorld);
+        } catch (Exception e) {
+            logger.warn("Error ending session for {}: {}", playerName, e.getMessage(), e);
+        }
+        closeConnection();
+    }
+
+    private void leaveWorld() {
+        // Attempt to persist character state and modifiers on disconnect
+        try {
+            CharacterDAO dao = DaoProvider.characters();
+            if (characterId != null) {
+                // Flush pending vitals/state and stop caching the character
+                dao.releaseSessionState(characterId);
+
+                // If in combat, try to persist modifiers from the combatant's Character instance
+                com.example.tassmud.combat.CombatManager cm = com.example.tassmud.combat.CombatManager.getInstance();
+                com.example.tassmud.combat.Combatant combatant = cm.getCombatantForCharacter(characterId);
+                if (combatant != null) {
+                    GameCharacter ch = combatant.getAsCharacter();
+                    if (ch != null) {
+                        dao.saveModifiersForCharacter(characterId, ch);
                     }
                 }
-            } catch (Exception ignored) {}
+            }
+        } catch (Exception ignored) {}
 
-            // Unregister from regeneration service
-            if (characterId != null) {
-                RegenerationService.getInstance().unregisterPlayer(characterId);
+        // Unregister from regeneration service
+        if (characterId != null) {
+            RegenerationService.getInstance().unregisterPlayer(characterId);
+            // Stop timers tied to this character (auto-shots and the like)
+            WorldScheduler.getInstance().cancelAll(WorldScheduler.Owner.character(characterId));
+        }
+        // Unregister from session tracking
+        unregisterSession();
+    }
+
+    private void closeConnection() {
+        try {
+            if (nio != null) {
+                nio.close();
+            } else {
+                // Give the writer a moment to send what's queued, then cut the connection.
+                // Both are unset if the session failed before its output writer started.
+                OutputQueue q = output;
+                if (q != null) q.close();
+                if (outputWriter != null) outputWriter.join(OUTPUT_LINGER_MS);
+                socket.close();
             }
-            // Unregister from session tracking
-            unregisterSession();
+        } catch (IOException ignored) {
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            try { socket.close(); } catch (IOException ignored) {}
+        }
+    }
+
+    /** How long a closing session waits for queued output to reach the client. */
+    private static final long OUTPUT_LINGER_MS = 2000;
+
+    /**
+     * Set up this session's output queue and the virtual thread that drains it to the socket,
+     * coalescing everything queued since the previous write into a single write and flush.
+     */
+    private PrintWriter startOutputWriter() throws IOException {
+        java.io.OutputStream os = socket.getOutputStream();
+        OutputQueue q = new OutputQueue(() -> {}, this::dropSlowConsumer);
+        this.output = q;
+        this.outputWriter = Thread.ofVirtual().name("tassmud-out-" + socket.getPort()).start(() -> {
+            java.nio.charset.Charset cs = java.nio.charset.Charset.defaultCharset();
             try {
-                socket.close();
-            } catch (IOException ignored) {}
+                for (String batch; (batch = q.awaitAll()) != null; ) {
+                    os.write(batch.getBytes(cs));
+                    os.flush();
+                }
+            } catch (IOException e) {
+                // Client went away; the reader side notices and ends the session
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                // Queue closed (quit, logout, overflow) or write failed: either way we're done
+                try { socket.close(); } catch (IOException ignored) {}
+            }
+        });
+        return new PrintWriter(q, true);
+    }
+
+    /** Overflow policy "disconnect": this client is not keeping up with its output. */
+    private void dropSlowConsumer() {
+        logger.warn("Disconnecting {}: output queue overflowed ({} chars max)",
+                playerName != null ? playerName : remoteAddress(), OutputQueue.maxChars());
+        try {
+            if (nio == null) socket.close();
+        } catch (IOException ignored) {}
+    }
+
+    /**
+     * Close the connection after any queued output (e.g. "Goodbye!") has been sent.
+     * Session cleanup then runs as for any other disconnect.
+     */
+    public void disconnect() throws IOException {
+        if (nio != null) {
+            nio.closeAfterFlush();
+        } else {
+            // The output writer closes the socket once everything queued has been sent
+            output.close();
         }
     }
 
+    private String remoteAddress() {
+        if (nio != null) return nio.remoteAddress();
+        return String.valueOf(socket.getRemoteSocketAddress());
+    }
+
     /**
      * Returns true if the IOException is a routine client disconnect
      * (socket closed, connection reset, broken pipe, etc.) rather than
@@ -1128,7 +1364,7 @@ public class ClientHandler implements Runnable {
         // Update cached room and show new location
         Integer autofleeOldRoom = this.currentRoomId;
         rec = dao.findByName(playerName);
-        this.currentRoomId = rec != null ? rec.currentRoom : null;
+        setCurrentRoomId(rec != null ? rec.currentRoom : null);
         Room newRoom = DaoProvider.rooms().getRoomById(destRoomId);
 
         // Aura room-change: update recipient sets for sanctuary-like auras
@@ -1141,7 +1377,7 @@ public class ClientHandler implements Runnable {
         }
         
         if (newRoom != null && out != null) {
-            boolean isGmForDispatch = dao.isCharacterFlagTrueByName(playerName, "is_gm");
+            boolean isGmForDispatch = dao.isGm(playerName);
             boolean inCombatForDispatch = characterId != null &&  CombatManager.getInstance().getCombatForCharacter(characterId) != null;
             CommandContext cmdCtx = new CommandContext(null, playerName, characterId, currentRoomId, rec, dao, out, isGmForDispatch, inCombatForDispatch, this);
             MovementCommandHandler.showRoom(newRoom, destRoomId, cmdCtx);
@@ -175,6 +175,11 @@ public class CommandRegistry {
         registerGm("system", "Send a system-wide announcement");
         registerGm("checktemplate", "Check the validity of a template");
         registerGm("setweather", "Set the current weather (clear, partly_cloudy, overcast, windy, rainy, stormy, snowy, hurricane, earthquake, volcanic_ash)");
+        registerGm("rflag", "List or toggle flags on the current room");
+        registerGm("reloadworld", "Rebuild the in-memory world graph from the database");
+        registerGm("reloadtemplates", "Rebuild the in-memory item, mob, skill and spell catalogs from the database");
+        registerGm("netstat", "Show per-session output queue depth and drops");
+        registerGm("tickstats", "Show timing of each scheduled world tick task");
     }
     
     private static void register(String name, String description, Category category) {
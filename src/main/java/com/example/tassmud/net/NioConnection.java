@@ -0,0 +1,289 @@
+package com.example.tassmud.net;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * One client connection served by {@link NioTelnetServer}.
+ *
+ * <p>Input bytes arrive on the selector thread and are split into lines. During login the lines
+ * are queued for the blocking {@link #loginReader()} used by {@link CharacterCreationHandler};
+ * after {@link #startEvents} each line is handed to the session's line handler on the worker
+ * pool, one at a time and in order. Output written through {@link #writer()} goes to the
+ * session's {@link OutputQueue}; the selector thread takes everything queued, encodes it and
+ * writes it when the socket is writable, so no thread ever blocks on a slow client.
+ */
+final class NioConnection {
+
+    private static final Logger logger = LoggerFactory.getLogger(NioConnection.class);
+
+    /** Lines longer than this are cut (telnet clients don't legitimately send more). */
+    static final int MAX_LINE_BYTES = 8192;
+    /** Unprocessed input lines beyond this are dropped (input flood), before and after login. */
+    static final int MAX_PENDING_LINES = 256;
+
+    /** End-of-input marker for the login queue; compared by identity. */
+    @SuppressWarnings("StringOperationCanBeSimplified")
+    private static final String END = new String("<eof>");
+
+    private final SocketChannel channel;
+    private final NioTelnetServer server;
+    private final Executor workers;
+    private final Charset charset = Charset.defaultCharset();
+    private final String remoteAddress;
+
+    // ---- input (decoder state is touched only by the selector thread) ----
+    private final byte[] lineBytes = new byte[MAX_LINE_BYTES];
+    private int lineLength;
+    // One slot beyond the line limit is kept for the END marker
+    private final LinkedBlockingQueue<String> loginLines = new LinkedBlockingQueue<>(MAX_PENDING_LINES + 1);
+    private final Queue<String> inbox = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inboxSize = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean closeFired = new AtomicBoolean();
+    private volatile boolean eof;
+    private boolean loginFlooded;           // guarded by this
+    private Consumer<String> lineHandler;   // guarded by this
+    private Runnable closeHandler;
+
+    // ---- output ----
+    private final OutputQueue output;
+    private final PrintWriter writer;
+    private ByteBuffer sending;             // selector thread only
+    private volatile boolean closeAfterFlush;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    NioConnection(SocketChannel channel, NioTelnetServer server, Executor workers) {
+        this.channel = channel;
+        this.server = server;
+        this.workers = workers;
+        String addr;
+        try {
+            addr = String.valueOf(channel.getRemoteAddress());
+        } catch (IOException e) {
+            addr = "unknown";
+        }
+        this.remoteAddress = addr;
+        this.output = new OutputQueue(() -> server.requestWrite(this), this::abort);
+        this.writer = new PrintWriter(output, true);
+    }
+
+    SocketChannel channel() {
+        return channel;
+    }
+
+    String remoteAddress() {
+        return remoteAddress;
+    }
+
+    PrintWriter writer() {
+        return writer;
+    }
+
+    OutputQueue output() {
+        return output;
+    }
+
+    // ========================== Input ==========================
+
+    /** Decode bytes read by the selector thread into lines. */
+    void onBytes(ByteBuffer buf) {
+        while (buf.hasRemaining()) {
+            byte b = buf.get();
+            if (b == '\n') {
+                int len = lineLength;
+                lineLength = 0;
+                if (len > 0 && lineBytes[len - 1] == '\r') len--;
+                deliver(new String(lineBytes, 0, len, charset));
+            } else if (lineLength < MAX_LINE_BYTES) {
+                lineBytes[lineLength++] = b;
+            }
+        }
+    }
+
+    /** The peer closed the connection (or we did, after a final flush). */
+    void onEof() {
+        if (eof) return;
+        synchronized (this) {
+            eof = true;
+            if (lineHandler == null) {
+                loginLines.add(END);
+                return;
+            }
+        }
+        scheduleDrain();
+    }
+
+    private void deliver(String line) {
+        synchronized (this) {
+            if (lineHandler == null) {
+                if (loginLines.size() < MAX_PENDING_LINES) {
+                    loginLines.add(line);
+                } else if (!loginFlooded) {
+                    loginFlooded = true;
+                    logger.warn("Dropping login input from {}: more than {} lines pending",
+                            remoteAddress, MAX_PENDING_LINES);
+                }
+                return;
+            }
+        }
+        if (inboxSize.incrementAndGet() > MAX_PENDING_LINES) {
+            inboxSize.decrementAndGet();
+            return;
+        }
+        inbox.add(line);
+        scheduleDrain();
+    }
+
+    /** Blocking reader over the lines received so far, for the login dialogue. */
+    BufferedReader loginReader() {
+        return new BufferedReader(new LoginReader());
+    }
+
+    /**
+     * Switch from blocking login input to event dispatch. Lines already received but not read by
+     * the login dialogue are dispatched first. {@code onClose} runs once, after every pending
+     * line, when the connection ends.
+     */
+    void startEvents(Consumer<String> onLine, Runnable onClose) {
+        boolean pending;
+        synchronized (this) {
+            this.closeHandler = onClose;
+            for (String line; (line = loginLines.poll()) != null; ) {
+                if (line != END) {
+                    inbox.add(line);
+                    inboxSize.incrementAndGet();
+                }
+            }
+            this.lineHandler = onLine;
+            pending = !inbox.isEmpty() || eof;
+        }
+        if (pending) scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (scheduled.compareAndSet(false, true)) {
+            workers.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        Consumer<String> handler;
+        synchronized (this) {
+            handler = lineHandler;
+        }
+        try {
+            for (String line; (line = inbox.poll()) != null; ) {
+                inboxSize.decrementAndGet();
+                if (closed.get()) continue;
+                handler.accept(line);
+            }
+        } finally {
+            scheduled.set(false);
+        }
+        if (!inbox.isEmpty()) {
+            scheduleDrain();
+        } else if (eof && closeFired.compareAndSet(false, true)) {
+            closeHandler.run();
+        }
+    }
+
+    // ========================== Output ==========================
+
+    /**
+     * Next buffer the selector thread should write, or null when drained. Everything queued
+     * since the last call is coalesced into a single buffer.
+     */
+    ByteBuffer peekOutbound() {
+        if (sending == null || !sending.hasRemaining()) {
+            String batch = output.takeAll();
+            sending = batch == null ? null : ByteBuffer.wrap(batch.getBytes(charset));
+        }
+        return sending;
+    }
+
+    boolean isCloseAfterFlush() {
+        return closeAfterFlush;
+    }
+
+    /** Close once everything queued so far has been written. */
+    void closeAfterFlush() {
+        closeAfterFlush = true;
+        output.close();
+        server.requestWrite(this);
+    }
+
+    void close() throws IOException {
+        if (closed.compareAndSet(false, true)) {
+            output.close();
+            channel.close();
+        }
+    }
+
+    /** Drop the connection immediately (output overflow); the session then ends as usual. */
+    private void abort() {
+        logger.warn("Disconnecting {}: output queue overflowed ({} chars max)",
+                remoteAddress, OutputQueue.maxChars());
+        try {
+            close();
+        } catch (IOException ignored) {}
+        onEof();
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    /** Serves queued login lines to a BufferedReader; EOF once the connection ends. */
+    private final class LoginReader extends Reader {
+        private String current = "";
+        private int pos;
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            if (current == null) return -1;
+            if (len == 0) return 0;
+            if (pos >= current.length()) {
+                String next;
+                try {
+                    next = loginLines.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new java.io.InterruptedIOException("Interrupted waiting for input");
+                }
+                if (next == END) {
+                    // Leave the marker for startEvents and report EOF from now on
+                    loginLines.add(END);
+                    current = null;
+                    return -1;
+                }
+                current = next + "\n";
+                pos = 0;
+            }
+            int n = Math.min(len, current.length() - pos);
+            current.getChars(pos, pos + n, cbuf, off);
+            pos += n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+            // The channel is owned by the session
+        }
+    }
+}
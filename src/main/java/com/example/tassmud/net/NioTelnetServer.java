@@ -0,0 +1,170 @@
+package com.example.tassmud.net;
+
+import com.example.tassmud.util.GameClock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Selector-based telnet front end, enabled with {@code tassmud.net.mode=nio}
+ * (or {@code TASSMUD_NET_MODE=nio}).
+ *
+ * <p>A single selector thread accepts connections and does all socket reads and writes without
+ * blocking. Complete input lines from in-game players are dispatched on a small worker pool
+ * ({@code tassmud.net.nio.workers}, default one per core), serially per session, so idle
+ * players hold no thread at all. The interactive login/creation dialogue still reads input
+ * through a blocking reader and runs on its own virtual thread until the player enters the game,
+ * so a crowd of half-finished logins parks cheaply instead of pinning platform threads.
+ */
+public class NioTelnetServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(NioTelnetServer.class);
+    private static final int READ_BUFFER_SIZE = 4096;
+
+    private final int port;
+    private final GameClock gameClock;
+    private final int workerCount;
+    private final ExecutorService workers;
+    private final ExecutorService loginPool;
+    private final Queue<NioConnection> writeRequests = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+    private volatile Selector selector;
+    private volatile boolean running = true;
+
+    public NioTelnetServer(int port, GameClock gameClock) {
+        this.port = port;
+        this.gameClock = gameClock;
+        this.workerCount = Integer.getInteger("tassmud.net.nio.workers",
+                Math.max(2, Runtime.getRuntime().availableProcessors()));
+        this.workers = Executors.newFixedThreadPool(workerCount, namedThreads("tassmud-nio-worker"));
+        this.loginPool = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("tassmud-nio-login-", 0).factory());
+    }
+
+    private static java.util.concurrent.ThreadFactory namedThreads(String prefix) {
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /** Run the selector loop on the calling thread until {@link #close()} is called. */
+    public void run() throws IOException {
+        try (Selector sel = Selector.open();
+             ServerSocketChannel server = ServerSocketChannel.open()) {
+            this.selector = sel;
+            server.bind(new InetSocketAddress(port));
+            server.configureBlocking(false);
+            server.register(sel, SelectionKey.OP_ACCEPT);
+            logger.info("TassMUD server listening on port {} (nio, {} workers)", port, workerCount);
+
+            while (running) {
+                sel.select();
+                applyWriteRequests();
+                Iterator<SelectionKey> it = sel.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    if (!key.isValid()) continue;
+                    try {
+                        if (key.isAcceptable()) {
+                            accept(server, sel);
+                        } else {
+                            NioConnection conn = (NioConnection) key.attachment();
+                            if (key.isReadable()) read(key, conn);
+                            if (key.isValid() && key.isWritable()) write(key, conn);
+                        }
+                    } catch (IOException e) {
+                        Object att = key.attachment();
+                        if (att instanceof NioConnection conn) {
+                            hangUp(key, conn);
+                        } else {
+                            logger.warn("Accept failed: {}", e.getMessage());
+                        }
+                    }
+                }
+            }
+        } finally {
+            workers.shutdownNow();
+            loginPool.shutdownNow();
+        }
+    }
+
+    private void accept(ServerSocketChannel server, Selector sel) throws IOException {
+        SocketChannel ch = server.accept();
+        if (ch == null) return;
+        ch.configureBlocking(false);
+        NioConnection conn = new NioConnection(ch, this, workers);
+        ch.register(sel, SelectionKey.OP_READ, conn);
+        logger.info("Accepted connection from {}", conn.remoteAddress());
+        ClientHandler handler = new ClientHandler(conn, gameClock);
+        loginPool.execute(handler::runNioSession);
+    }
+
+    private void read(SelectionKey key, NioConnection conn) throws IOException {
+        readBuffer.clear();
+        int n = conn.channel().read(readBuffer);
+        if (n < 0) {
+            hangUp(key, conn);
+            return;
+        }
+        readBuffer.flip();
+        conn.onBytes(readBuffer);
+    }
+
+    private void write(SelectionKey key, NioConnection conn) throws IOException {
+        for (ByteBuffer buf; (buf = conn.peekOutbound()) != null; ) {
+            conn.channel().write(buf);
+            if (buf.hasRemaining()) return; // socket send buffer full; wait for OP_WRITE again
+        }
+        key.interestOps(SelectionKey.OP_READ);
+        if (conn.isCloseAfterFlush()) hangUp(key, conn);
+    }
+
+    /** Stop selecting the connection and let its session clean up. */
+    private static void hangUp(SelectionKey key, NioConnection conn) {
+        key.cancel();
+        try {
+            conn.close();
+        } catch (IOException ignored) {}
+        conn.onEof();
+    }
+
+    private void applyWriteRequests() {
+        for (NioConnection conn; (conn = writeRequests.poll()) != null; ) {
+            SelectionKey key = conn.channel().keyFor(selector);
+            if (key != null && key.isValid()) {
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            }
+        }
+    }
+
+    /** Ask the selector thread to write {@code conn}'s queued output. Callable from any thread. */
+    void requestWrite(NioConnection conn) {
+        writeRequests.add(conn);
+        Selector sel = selector;
+        if (sel != null) sel.wakeup();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        Selector sel = selector;
+        if (sel != null) sel.wakeup();
+    }
+}
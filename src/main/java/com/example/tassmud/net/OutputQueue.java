@@ -0,0 +1,194 @@
+package com.example.tassmud.net;
+
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded outbound text queue for one session, used as the {@code Writer} behind
+ * {@link ClientHandler#out}.
+ *
+ * <p>Writers (command threads, the tick thread, other players' broadcasts) only append to an
+ * in-memory buffer; each {@code flush()} turns the buffered text into a queued chunk and returns
+ * immediately. The session's drainer — a writer thread in thread-per-connection modes, the
+ * selector in NIO mode — takes every queued chunk at once and sends them as one write, so a slow
+ * client never blocks the thread that produced the output.
+ *
+ * <p>At most {@code tassmud.net.output.maxChars} characters (default 262144) may be queued.
+ * Beyond that the {@code tassmud.net.output.overflow} policy applies: {@code drop-oldest}
+ * (default) discards the oldest queued chunks, {@code disconnect} drops the connection.
+ */
+public final class OutputQueue extends Writer {
+
+    public enum OverflowPolicy {
+        DROP_OLDEST, DISCONNECT;
+
+        static OverflowPolicy parse(String s) {
+            if (s == null) return DROP_OLDEST;
+            return switch (s.trim().toLowerCase().replace('_', '-')) {
+                case "disconnect" -> DISCONNECT;
+                default -> DROP_OLDEST;
+            };
+        }
+    }
+
+    /** Queue depth and lifetime counters for one session. */
+    public record Stats(int queuedChars, int queuedChunks, int highWaterChars, long droppedChunks, long sentChars) {}
+
+    static final int DEFAULT_MAX_CHARS = Integer.getInteger("tassmud.net.output.maxChars", 256 * 1024);
+    static final OverflowPolicy DEFAULT_POLICY =
+            OverflowPolicy.parse(System.getProperty("tassmud.net.output.overflow"));
+
+    private static final AtomicLong totalDroppedChunks = new AtomicLong();
+    private static final AtomicLong totalOverflowDisconnects = new AtomicLong();
+
+    private final int maxChars;
+    private final OverflowPolicy policy;
+    private final Runnable onReady;
+    private final Runnable onOverflow;
+
+    // All guarded by lock, a private object: a PrintWriter over this queue synchronizes on the
+    // queue itself, and the callbacks below must not run under the lock the drainer needs
+    private final StringBuilder pending = new StringBuilder();
+    private final ArrayDeque<String> chunks = new ArrayDeque<>();
+    private int queuedChars;
+    private int highWaterChars;
+    private long droppedChunks;
+    private long sentChars;
+    private boolean closed;
+
+    /**
+     * @param onReady    called (outside the queue's lock) after output is queued, to wake the drainer
+     * @param onOverflow called once if the queue overflows under {@link OverflowPolicy#DISCONNECT}
+     */
+    OutputQueue(int maxChars, OverflowPolicy policy, Runnable onReady, Runnable onOverflow) {
+        super(new Object());
+        this.maxChars = maxChars;
+        this.policy = policy;
+        this.onReady = onReady;
+        this.onOverflow = onOverflow;
+    }
+
+    OutputQueue(Runnable onReady, Runnable onOverflow) {
+        this(DEFAULT_MAX_CHARS, DEFAULT_POLICY, onReady, onOverflow);
+    }
+
+    // ========================== Producer side ==========================
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+        synchronized (lock) {
+            if (!closed) pending.append(cbuf, off, len);
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) {
+        synchronized (lock) {
+            if (!closed) pending.append(str, off, off + len);
+        }
+    }
+
+    @Override
+    public void flush() {
+        boolean overflowed = false;
+        synchronized (lock) {
+            if (pending.isEmpty()) return;
+            String chunk = pending.toString();
+            pending.setLength(0);
+            if (closed) return;
+            if (queuedChars + chunk.length() > maxChars && !chunks.isEmpty()) {
+                if (policy == OverflowPolicy.DISCONNECT) {
+                    closed = true;
+                    chunks.clear();
+                    queuedChars = 0;
+                    overflowed = true;
+                } else {
+                    while (!chunks.isEmpty() && queuedChars + chunk.length() > maxChars) {
+                        queuedChars -= chunks.pollFirst().length();
+                        droppedChunks++;
+                        totalDroppedChunks.incrementAndGet();
+                    }
+                }
+            }
+            if (!overflowed) {
+                chunks.addLast(chunk);
+                queuedChars += chunk.length();
+                if (queuedChars > highWaterChars) highWaterChars = queuedChars;
+                lock.notifyAll();
+            }
+        }
+        if (overflowed) {
+            totalOverflowDisconnects.incrementAndGet();
+            onOverflow.run();
+        } else {
+            onReady.run();
+        }
+    }
+
+    /** Stop accepting output; anything already queued is still handed to the drainer. */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            pending.setLength(0);
+            lock.notifyAll();
+        }
+    }
+
+    // ========================== Drainer side ==========================
+
+    /** @return all queued output joined into one string, or null if nothing is queued */
+    String takeAll() {
+        synchronized (lock) {
+            if (chunks.isEmpty()) return null;
+            String batch;
+            if (chunks.size() == 1) {
+                batch = chunks.pollFirst();
+            } else {
+                StringBuilder sb = new StringBuilder(queuedChars);
+                for (String c; (c = chunks.pollFirst()) != null; ) sb.append(c);
+                batch = sb.toString();
+            }
+            queuedChars = 0;
+            sentChars += batch.length();
+            return batch;
+        }
+    }
+
+    /**
+     * Block until output is queued, then take all of it.
+     *
+     * @return the queued output, or null once the queue is closed and empty
+     */
+    String awaitAll() throws InterruptedException {
+        synchronized (lock) {
+            while (chunks.isEmpty() && !closed) lock.wait();
+            return takeAll();
+        }
+    }
+
+    // ========================== Metrics ==========================
+
+    public Stats stats() {
+        synchronized (lock) {
+            return new Stats(queuedChars, chunks.size(), highWaterChars, droppedChunks, sentChars);
+        }
+    }
+
+    public static long totalDroppedChunks() {
+        return totalDroppedChunks.get();
+    }
+
+    public static long totalOverflowDisconnects() {
+        return totalOverflowDisconnects.get();
+    }
+
+    public static int maxChars() {
+        return DEFAULT_MAX_CHARS;
+    }
+
+    public static OverflowPolicy policy() {
+        return DEFAULT_POLICY;
+    }
+}
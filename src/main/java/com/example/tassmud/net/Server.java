@@ -29,7 +29,15 @@ import java.util.concurrent.Executors;
 
 /**
  * Minimal telnet MUD server starter.
- * Listens on port 4000 and spawns a ClientHandler per connection.
+ * Listens on port 4003 (TASSMUD_PORT / tassmud.port) and spawns a ClientHandler per
+ * connection, or serves all connections from a {@link NioTelnetServer} selector when
+ * TASSMUD_NET_MODE / tassmud.net.mode is "nio".
+ *
+ * <p>In "virtual" mode each ClientHandler runs on its own virtual thread, so an idle player
+ * costs a parked continuation rather than a platform thread. The blocking paths a session
+ * touches are safe to park on: socket reads and writes, {@code Thread.sleep}, the connection
+ * pool's semaphore and (since JDK 24) {@code synchronized} blocks, including those inside the
+ * H2 driver, all unmount the virtual thread instead of pinning its carrier.
  */
 public class Server {
     private static final int DEFAULT_PORT = 4003;
@@ -53,7 +61,46 @@ public class Server {
         }
         PORT = portVal;
     }
-    private final ExecutorService pool = Executors.newCachedThreadPool();
+    /**
+     * Network front end: "thread" (one platform thread per connection, default), "virtual" (one
+     * virtual thread per connection) or "nio" (selector).
+     */
+    private static final String NET_MODE;
+
+    static {
+        String mode = System.getenv("TASSMUD_NET_MODE");
+        if (mode == null || mode.isEmpty()) {
+            mode = System.getProperty("tassmud.net.mode", "thread");
+        }
+        NET_MODE = mode.trim().toLowerCase();
+    }
+    /**
+     * "single" runs every player command on the tick thread (see {@link GameLoop}); "sharded" does
+     * too, and also spreads per-area tick work over TASSMUD_WORLD_SHARDS / tassmud.world.shards
+     * workers (see {@link AreaShards}).
+     */
+    private static final String WORLD_LOOP;
+    private static final int WORLD_SHARDS;
+
+    static {
+        String loop = System.getenv("TASSMUD_WORLD_LOOP");
+        if (loop == null || loop.isEmpty()) {
+            loop = System.getProperty("tassmud.world.loop", "concurrent");
+        }
+        WORLD_LOOP = loop.trim().toLowerCase();
+
+        int shards = Runtime.getRuntime().availableProcessors();
+        try {
+            String env = System.getenv("TASSMUD_WORLD_SHARDS");
+            String val = env != null && !env.isEmpty() ? env : System.getProperty("tassmud.world.shards");
+            if (val != null && !val.isEmpty()) shards = Integer.parseInt(val.trim());
+        } catch (NumberFormatException e) {
+            // fallback to one per core
+        }
+        WORLD_SHARDS = Math.max(1, shards);
+    }
+    private final ExecutorService pool = newClientExecutor(NET_MODE);
+    private volatile NioTelnetServer nioServer;
     private static final Logger logger = LoggerFactory.getLogger(Server.class);
 
     public void start() throws IOException {
@@ -67,8 +114,17 @@ public class Server {
         // Ensure database table(s) exist before accepting players
         CharacterDAO dao = DaoProvider.characters();
         dao.ensureTable();
+        // Cross-table schema changes (indexes) once every DAO has created its tables
+        MigrationManager.applyVersionedMigrations();
+        SchemaReport.logReport();
         // Load default data from resources (idempotent)
         DataLoader.loadDefaults(dao);
+        // Serve room/area/door/flag reads from memory from here on
+        DaoProvider.rooms().loadWorld();
+        // ...and item/mobile/skill/spell template reads
+        DataLoader.loadTemplateCatalogs();
+        // Periodically write online characters' cached state back to the characters table
+        CharacterStateCache.getInstance().start();
         // Debug: report registered spawn count after data load
         com.example.tassmud.event.SpawnManager smDebug = com.example.tassmud.event.SpawnManager.getInstance();
         logger.info("[startup] SpawnManager registered spawns={}", smDebug.getSpawnCount());
@@ -102,7 +158,7 @@ public class Server {
         // Start tick service for world updates
         TickService tickService = new TickService();
         // sample world tick: harmless heartbeat that touches the DB to keep it warm
-        tickService.scheduleAtFixedRate("world-heartbeat", () -> {
+        tickService.scheduleAtFixedRate("world-heartbeat", TickService.Lane.BACKGROUND, () -> {
                 try {
                 int anyRoom = dao.getAnyRoomId();
                 logger.debug("[tick] world heartbeat, anyRoom={} ts={}", anyRoom, System.currentTimeMillis());
@@ -110,6 +166,16 @@ public class Server {
                 logger.error("[tick] world heartbeat error", t);
             }
         }, 0, 3000);
+        // Delayed and repeating work for effects and skills runs on the same thread
+        WorldScheduler.getInstance().initialize(tickService);
+        // Areas without players go dormant; waking catch-up runs on the tick thread
+        AreaActivity.getInstance().initialize(tickService);
+        if ("single".equals(WORLD_LOOP) || "sharded".equals(WORLD_LOOP)) {
+            GameLoop.getInstance().initialize(tickService);
+        }
+        if ("sharded".equals(WORLD_LOOP)) {
+            AreaShards.getInstance().initialize(WORLD_SHARDS);
+        }
 
         // Start the in-game clock that persists the date on day rollover
         GameClock gameClock = new GameClock(tickService, dao);
@@ -227,11 +293,22 @@ public class Server {
             try { combatManagerRef.shutdown(); } catch (Exception ignored) {}
             try { gameClockRef.shutdown(); } catch (Exception ignored) {}
             try { tickService.shutdown(); } catch (Exception ignored) {}
+            try { AreaShards.getInstance().shutdown(); } catch (Exception ignored) {}
             try { pool.shutdownNow(); } catch (Exception ignored) {}
+            try { if (nioServer != null) nioServer.close(); } catch (Exception ignored) {}
+            try { CharacterStateCache.getInstance().shutdown(); } catch (Exception ignored) {}
+            try { TransactionManager.shutdown(); } catch (Exception ignored) {}
         }));
 
+        if ("nio".equals(NET_MODE)) {
+            nioServer = new NioTelnetServer(PORT, gameClock);
+            nioServer.run();
+            return;
+        }
+
         try (ServerSocket serverSocket = new ServerSocket(PORT)) {
-            logger.info("TassMUD server listening on port {}", PORT);
+            logger.info("TassMUD server listening on port {} ({} threads)", PORT,
+                    "virtual".equals(NET_MODE) ? "virtual" : "platform");
             while (true) {
                 Socket client = serverSocket.accept();
                 logger.info("Accepted connection from {}", client.getRemoteSocketAddress());
@@ -240,6 +317,14 @@ public class Server {
         }
     }
 
+    /** Executor that runs one ClientHandler per task, for the thread-per-connection modes. */
+    static ExecutorService newClientExecutor(String mode) {
+        if ("virtual".equals(mode)) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("tassmud-client-", 0).factory());
+        }
+        return Executors.newCachedThreadPool();
+    }
+
     private void pingDatabase() {
         // Use an in-memory H2 database for now; keeps DB "spun up" inside the JVM.
         String url = "jdbc:h2:mem:tassmud;DB_CLOSE_DELAY=-1";
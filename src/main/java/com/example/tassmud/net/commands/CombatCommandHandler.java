@@ -320,7 +320,7 @@ public class CombatCommandHandler implements CommandHandler {
 
         // Update cached room and show new location
         rec = dao.findByName(name);
-        ctx.handler.currentRoomId = rec != null ? rec.currentRoom : null;
+        ctx.handler.setCurrentRoomId(rec != null ? rec.currentRoom : null);
         Room newRoom = DaoProvider.rooms().getRoomById(destRoomId);
 
         // Aura room-change: update recipient sets for sanctuary-like auras
@@ -56,11 +56,9 @@ private static final Set<String> SUPPORTED_COMMANDS = CommandRegistry.getCommand
                     if (rec == null || rec.currentRoom == null) { out.println("You are nowhere to say that."); return true; }
                     Integer roomId = rec.currentRoom;
                     if (roomId == null) return true;
-                    for (ClientHandler s : ClientHandler.sessions) {
-                        if (s.currentRoomId != null && s.currentRoomId.equals(roomId)) {
-                            if (s == ctx.handler) s.sendRaw("You say: " + text);
-                            else s.sendRaw(ctx.handler.playerName + " says: " + text);
-                        }
+                    for (ClientHandler s : ClientHandler.sessionsInRoom(roomId)) {
+                        if (s == ctx.handler) s.sendRaw("You say: " + text);
+                        else s.sendRaw(ctx.handler.playerName + " says: " + text);
                     }
                     return true;
                 }
@@ -91,21 +89,16 @@ private static final Set<String> SUPPORTED_COMMANDS = CommandRegistry.getCommand
                     if (roomObj == null) { out.println("You are nowhere to yell from."); return true; }
                     int areaId = roomObj.getAreaId();
                     String yellMsg = "[yell] " + ctx.handler.playerName + ": " + t;
-                    for (ClientHandler s : ClientHandler.sessions) {
-                        Integer rId = s.currentRoomId;
-                        if (rId == null) continue;
-                        Room r = DaoProvider.rooms().getRoomById(rId);
-                        if (r != null && Integer.valueOf(r.getAreaId()).equals(areaId)) {
-                            // Skip players who have muted the yell channel (but not the sender)
-                            if (s != ctx.handler) {
-                                Integer sCharId = dao.getCharacterIdByName(s.playerName);
-                                if (sCharId != null) {
-                                    CharacterDAO.CharacterRecord sRec = dao.findById(sCharId);
-                                    if (sRec != null && sRec.deafYell) continue;
-                                }
+                    for (ClientHandler s : ClientHandler.sessionsInArea(areaId)) {
+                        // Skip players who have muted the yell channel (but not the sender)
+                        if (s != ctx.handler) {
+                            Integer sCharId = dao.getCharacterIdByName(s.playerName);
+                            if (sCharId != null) {
+                                CharacterDAO.CharacterRecord sRec = dao.findById(sCharId);
+                                if (sRec != null && sRec.deafYell) continue;
                             }
-                            s.sendRaw(yellMsg);
                         }
+                        s.sendRaw(yellMsg);
                     }
                     return true;
                 }
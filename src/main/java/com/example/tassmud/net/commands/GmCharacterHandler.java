@@ -32,7 +32,7 @@ class GmCharacterHandler {
         String name = ctx.playerName;
 
         // GM-only: RESTORE [character] - restore HP/MP/MV to full
-        if (!dao.isCharacterFlagTrueByName(name, "is_gm")) {
+        if (!dao.isGm(name)) {
             out.println("You do not have permission to use restore.");
             return true;
         }
@@ -88,7 +88,7 @@ class GmCharacterHandler {
 
         // GM-only: PROMOTE <char> [level_target]
         // Levels up a character. If level_target specified, levels them up to that level.
-        if (!dao.isCharacterFlagTrueByName(name, "is_gm")) {
+        if (!dao.isGm(name)) {
             out.println("You do not have permission to use promote.");
             return true;
         }
@@ -510,7 +510,7 @@ class GmCharacterHandler {
 
         if (rec == null) { out.println("No character record found."); return false; }
         try {
-            if (!dao.isCharacterFlagTrueByName(name, "is_gm")) {
+            if (!dao.isGm(name)) {
                 out.println("You do not have permission to use GM commands.");
                 return false;
             }
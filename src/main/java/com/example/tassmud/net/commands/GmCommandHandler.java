@@ -44,7 +44,8 @@ import org.slf4j.LoggerFactory;
  * Delegates GM commands to ClientHandler.handleGmCommand
  * NOTE: Only list commands that are actually implemented in handleGmCommand().
  * Handled commands include cflag, cset, cskill, cspell, dbinfo, debug, genmap, gmchat,
- * gminvis, goto, ifind, ilist, istat, mstat, peace, promote, restore, slay, spawn, system.
+ * gminvis, goto, ifind, ilist, istat, mstat, peace, promote, reloadtemplates, reloadworld, restore,
+ * rflag, slay, spawn, system.
  */
 public class GmCommandHandler implements CommandHandler {
 
@@ -86,8 +87,13 @@ private static final Set<String> SUPPORTED_COMMANDS = CommandRegistry.getCommand
             case "peace": return worldHandler.handlePeaceCommand(ctx);
             case "goto": return worldHandler.handleGotoCommand(ctx);
             case "setweather": return worldHandler.handleSetWeatherCommand(ctx);
+            case "rflag": return worldHandler.handleRflagCommand(ctx);
+            case "reloadworld": return worldHandler.handleReloadWorldCommand(ctx);
+            case "reloadtemplates": return worldHandler.handleReloadTemplatesCommand(ctx);
             // Info & lookup
             case "dbinfo": return infoHandler.handleDbinfoCommand(ctx);
+            case "netstat": return infoHandler.handleNetstatCommand(ctx);
+            case "tickstats": return infoHandler.handleTickstatsCommand(ctx);
             case "debug": return infoHandler.handleDebugCommand(ctx);
             case "genmap": return infoHandler.handleGenmapCommand(ctx);
             case "gmchat": return infoHandler.handleGmchatCommand(ctx);
@@ -9,17 +9,24 @@ import com.example.tassmud.model.MobileBehavior;
 import com.example.tassmud.model.MobileTemplate;
 import com.example.tassmud.model.Room;
 import com.example.tassmud.net.ClientHandler;
+import com.example.tassmud.net.OutputQueue;
 import com.example.tassmud.persistence.CharacterDAO;
+import com.example.tassmud.persistence.ConnectionPool;
 import com.example.tassmud.persistence.CharacterDAO.CharacterRecord;
 import com.example.tassmud.persistence.DaoProvider;
 import com.example.tassmud.persistence.ItemDAO;
 import com.example.tassmud.persistence.MobileDAO;
+import com.example.tassmud.persistence.TransactionManager;
+import com.example.tassmud.util.AreaActivity;
+import com.example.tassmud.util.AreaShards;
+import com.example.tassmud.util.GameLoop;
+import com.example.tassmud.util.TickProfiler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Delegate for GM informational/lookup commands extracted from GmCommandHandler.
- * Contains: mstat, istat, ilist, mlist, mfind, ifind, gmchat, genmap, debug, dbinfo.
+ * Contains: mstat, istat, ilist, mlist, mfind, ifind, gmchat, genmap, debug, dbinfo, netstat, tickstats.
  */
 class GmInfoHandler {
 
@@ -570,6 +577,20 @@ class GmInfoHandler {
         try { DaoProvider.items(); } catch (Exception ignored) {}
 
         String targs = ctx.getArgs();
+        if (targs != null && targs.trim().equalsIgnoreCase("pool")) {
+            ConnectionPool.Stats ps = TransactionManager.getPoolStats();
+            out.println("Connection pool:");
+            out.println("  Active/Idle/Max:   " + ps.active() + " / " + ps.idle() + " / " + ps.maxSize());
+            out.println("  Borrows:           " + ps.borrows());
+            out.println("  Created/Destroyed: " + ps.created() + " / " + ps.destroyed());
+            out.println("  Wait avg/max:      " + "%.3f".formatted(ps.avgWaitMs()) + "ms / " + ps.maxWaitMs() + "ms");
+            out.println("  Timeouts:          " + ps.timeouts());
+            out.println("  Failed validation: " + ps.validationFailures());
+            out.println("  Leaks detected:    " + ps.leaksDetected());
+            out.println("  Stmt cache hit/miss/evict: " + ps.statementHits() + " / " + ps.statementMisses()
+                    + " / " + ps.statementEvictions() + " (" + "%.1f".formatted(ps.statementHitRatio() * 100) + "% hits)");
+            return true;
+        }
         String[] tables;
         if (targs == null || targs.trim().isEmpty()) {
             tables = new String[] { "item_template", "item_instance", "character_equipment" };
@@ -588,6 +609,67 @@ class GmInfoHandler {
         return true;
     }
 
+    boolean handleNetstatCommand(CommandContext ctx) {
+        PrintWriter out = ctx.out;
+        // GM-only: per-session output queue metrics
+        if (!ensureGm(ctx)) return true;
+        out.println("Output queues (max " + OutputQueue.maxChars() + " chars, overflow "
+                + OutputQueue.policy().name().toLowerCase().replace('_', '-') + "):");
+        out.println("  %-16s %8s %6s %8s %8s %10s".formatted("Session", "Queued", "Chunks", "Peak", "Dropped", "Sent"));
+        int count = 0;
+        for (ClientHandler s : ClientHandler.sessions) {
+            OutputQueue.Stats st = s.outputStats();
+            if (st == null) continue;
+            String who = s.playerName != null ? s.playerName : "<login>";
+            out.println("  %-16s %8d %6d %8d %8d %10d".formatted(ClientHandler.truncate(who, 16),
+                    st.queuedChars(), st.queuedChunks(), st.highWaterChars(), st.droppedChunks(), st.sentChars()));
+            count++;
+        }
+        out.println(count + " session(s). Total dropped chunks: " + OutputQueue.totalDroppedChunks()
+                + ", overflow disconnects: " + OutputQueue.totalOverflowDisconnects());
+        GameLoop.Stats gl = GameLoop.getInstance().stats();
+        if (gl.enabled()) {
+            out.println("Command queue (single-writer loop): " + gl.queued() + " queued, " + gl.executed()
+                    + " run, " + gl.failed() + " failed, wait avg/max " + "%.2f".formatted(gl.avgWaitMs())
+                    + "ms / " + gl.maxWaitMs() + "ms, longest drain " + gl.maxDrainMs() + "ms");
+        }
+        AreaShards.Stats as = AreaShards.getInstance().stats();
+        if (as.enabled()) {
+            out.println("Area shards: " + as.shards() + " worker(s), " + as.phases() + " phases, "
+                    + as.areaRuns() + " area runs, " + as.handoffs() + " handoffs, " + as.failures()
+                    + " failed, longest phase " + as.maxPhaseMs() + "ms");
+        }
+        return true;
+    }
+
+    boolean handleTickstatsCommand(CommandContext ctx) {
+        PrintWriter out = ctx.out;
+        // GM-only: per-task tick timing
+        if (!ensureGm(ctx)) return true;
+        TickProfiler profiler = TickProfiler.getInstance();
+        String args = ctx.getArgs();
+        if (args != null && args.trim().equalsIgnoreCase("reset")) {
+            profiler.reset();
+            out.println("Tick task counters reset.");
+            return true;
+        }
+        out.println("Tick tasks (slowest p99 first; times in ms):");
+        out.println("  %-20s %-10s %6s %8s %7s %7s %6s %5s %5s %5s %4s".formatted(
+                "Task", "Lane", "Period", "Runs", "p50", "p99", "Max", "Over", "Late", "Skip", "Err"));
+        for (TickProfiler.TaskStats s : profiler.snapshot()) {
+            out.println("  %-20s %-10s %6d %8d %7.2f %7.2f %6d %5d %5d %5d %4d".formatted(
+                    ClientHandler.truncate(s.name(), 20), s.lane().name().toLowerCase(), s.periodMs(), s.runs(),
+                    s.p50Ms(), s.p99Ms(), s.maxRunMs(), s.overruns(), s.lateRuns(), s.skippedRuns(), s.exceptions()));
+        }
+        AreaActivity.Stats aa = AreaActivity.getInstance().stats();
+        if (aa.enabled()) {
+            out.println("Dormant areas: " + aa.occupiedAreas() + " area(s) occupied, " + aa.skipped()
+                    + " mob updates skipped, " + aa.wakes() + " wake(s); dormant " + aa.dormantAfterMs() / 1000
+                    + "s after the last player leaves");
+        }
+        return true;
+    }
+
     // --- Utility ---
 
     static boolean ensureGm(CommandContext ctx) {
@@ -598,7 +680,7 @@ class GmInfoHandler {
 
         if (rec == null) { out.println("No character record found."); return false; }
         try {
-            if (!dao.isCharacterFlagTrueByName(name, "is_gm")) {
+            if (!dao.isGm(name)) {
                 out.println("You do not have permission to use GM commands.");
                 return false;
             }
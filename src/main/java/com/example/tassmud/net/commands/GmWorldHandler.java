@@ -8,7 +8,9 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
 
 import com.example.tassmud.combat.Combat;
 import com.example.tassmud.combat.CombatManager;
@@ -18,13 +20,18 @@ import com.example.tassmud.model.ItemTemplate;
 import com.example.tassmud.model.Mobile;
 import com.example.tassmud.model.MobileTemplate;
 import com.example.tassmud.model.Room;
+import com.example.tassmud.model.RoomFlag;
 import com.example.tassmud.model.Stat;
 import com.example.tassmud.net.ClientHandler;
 import com.example.tassmud.persistence.CharacterClassDAO;
 import com.example.tassmud.persistence.CharacterDAO;
 import com.example.tassmud.persistence.CharacterDAO.CharacterRecord;
+import com.example.tassmud.persistence.DataLoader;
 import com.example.tassmud.persistence.ItemDAO;
 import com.example.tassmud.persistence.MobileDAO;
+import com.example.tassmud.persistence.RoomDAO;
+import com.example.tassmud.persistence.TemplateCatalog;
+import com.example.tassmud.persistence.WorldGraph;
 import com.example.tassmud.util.LootGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,7 +47,7 @@ class GmWorldHandler {
     boolean handleCheckTemplateCommand(CommandContext ctx) {
         PrintWriter out = ctx.out;
         CharacterDAO dao = ctx.dao;
-        if (!dao.isCharacterFlagTrueByName(ctx.playerName, "is_gm")) {
+        if (!dao.isGm(ctx.playerName)) {
             out.println("You do not have permission to use checktemplate.");
             return true;
         }
@@ -78,7 +85,7 @@ class GmWorldHandler {
     boolean handleSeedTemplatesCommand(CommandContext ctx) {
         PrintWriter out = ctx.out;
         CharacterDAO dao = ctx.dao;
-        if (!dao.isCharacterFlagTrueByName(ctx.playerName, "is_gm")) {
+        if (!dao.isGm(ctx.playerName)) {
             out.println("You do not have permission to use seedtemplates.");
             return true;
         }
@@ -106,7 +113,7 @@ class GmWorldHandler {
             out.println("You will not appear in the who list, room descriptions, or be visible to mobs.");
             // Notify other GMs
             for (ClientHandler s : ClientHandler.sessions) {
-                if (s != ctx.handler && s.playerName != null && dao.isCharacterFlagTrueByName(s.playerName, "is_gm")) {
+                if (s != ctx.handler && s.playerName != null && dao.isGm(s.playerName)) {
                     s.sendRaw("[GM] " + ctx.playerName + " has gone GM-invisible.");
                 }
             }
@@ -115,7 +122,7 @@ class GmWorldHandler {
             out.println("GM Invisibility is now OFF.");
             // Notify other GMs
             for (ClientHandler s : ClientHandler.sessions) {
-                if (s != ctx.handler && s.playerName != null && dao.isCharacterFlagTrueByName(s.playerName, "is_gm")) {
+                if (s != ctx.handler && s.playerName != null && dao.isGm(s.playerName)) {
                     s.sendRaw("[GM] " + ctx.playerName + " is no longer GM-invisible.");
                 }
             }
@@ -138,7 +145,7 @@ class GmWorldHandler {
         String name = ctx.playerName;
         Integer characterId = ctx.characterId;
         // GM-only: SPAWN ITEM <template_id> [level]   or   SPAWN MOB <mob_id> [room_id]   or   SPAWN GOLD <amount>
-        if (!dao.isCharacterFlagTrueByName(name, "is_gm")) {
+        if (!dao.isGm(name)) {
             out.println("You do not have permission to use spawn.");
             return true;
         }
@@ -303,7 +310,7 @@ class GmWorldHandler {
         Integer charId = ctx.characterId;
 
         // GM-only: SLAY <target> - instantly kill a mob
-        if (!dao.isCharacterFlagTrueByName(name, "is_gm")) {
+        if (!dao.isGm(name)) {
             out.println("You do not have permission to use slay.");
             return true;
         }
@@ -458,7 +465,7 @@ class GmWorldHandler {
         CharacterRecord rec = ctx.character;
         String name = ctx.playerName;
         // GM-only: End all combat in the current room
-        if (!dao.isCharacterFlagTrueByName(name, "is_gm")) {
+        if (!dao.isGm(name)) {
             out.println("You do not have permission to use peace.");
             return true;
         }
@@ -527,7 +534,7 @@ class GmWorldHandler {
         if (!ctx.handler.gmInvisible) { ClientHandler.roomAnnounce(oldRoom, ClientHandler.makeDepartureMessage(name, null), charId, true); }
 
         dao.updateCharacterRoom(name, gotoRoomId);
-        ctx.handler.currentRoomId = gotoRoomId;
+        ctx.handler.setCurrentRoomId(gotoRoomId);
         rec = dao.findByName(name);
 
         // Aura room-change: update recipient sets for sanctuary-like auras
@@ -543,6 +550,79 @@ class GmWorldHandler {
         return true;
     }
 
+    /**
+     * Handle the rflag command - list or toggle flags on the current room.
+     * The change is written to the database and published to the in-memory world graph.
+     * Usage: rflag [flag]
+     */
+    boolean handleRflagCommand(CommandContext ctx) {
+        PrintWriter out = ctx.out;
+        CharacterDAO.CharacterRecord rec = ctx.character;
+        if (!ensureGm(ctx)) return true;
+        if (rec == null || rec.currentRoom == null) { out.println("You are not in a room."); return true; }
+        int roomId = rec.currentRoom;
+        RoomDAO roomDao = DaoProvider.rooms();
+
+        String args = ctx.getArgs();
+        if (args == null || args.trim().isEmpty()) {
+            Set<RoomFlag> flags = roomDao.getRoomFlags(roomId);
+            out.println("Room #" + roomId + " flags: " + (flags.isEmpty() ? "(none)"
+                    : flags.stream().map(RoomFlag::getKey).collect(Collectors.joining(", "))));
+            out.println("Usage: RFLAG <flag>   (toggles the flag on this room)");
+            return true;
+        }
+        RoomFlag flag = RoomFlag.fromKey(args.trim());
+        if (flag == null) {
+            out.println("Unknown room flag '" + args.trim() + "'. Valid flags: "
+                    + java.util.Arrays.stream(RoomFlag.values()).map(RoomFlag::getKey).collect(Collectors.joining(", ")));
+            return true;
+        }
+        boolean had = roomDao.hasRoomFlag(roomId, flag);
+        boolean ok = had ? roomDao.removeRoomFlag(roomId, flag) : roomDao.addRoomFlag(roomId, flag);
+        if (!ok) { out.println("Failed to update room flags."); return true; }
+        out.println("Room #" + roomId + ": " + flag.getKey() + (had ? " removed." : " set."));
+        return true;
+    }
+
+    /**
+     * Handle the reloadworld command - rebuild the in-memory world graph from the database.
+     * Only needed after editing room/door/flag tables outside the game.
+     */
+    boolean handleReloadWorldCommand(CommandContext ctx) {
+        PrintWriter out = ctx.out;
+        if (!ensureGm(ctx)) return true;
+        WorldGraph graph = DaoProvider.rooms().loadWorld();
+        if (graph == null) {
+            out.println("World reload failed; room lookups are using the database directly. See server log.");
+        } else {
+            out.println("World graph reloaded: " + graph.areas().size() + " areas, " + graph.roomCount() + " rooms.");
+        }
+        return true;
+    }
+
+    /**
+     * Handle the reloadtemplates command - rebuild the in-memory item, mobile, skill and spell
+     * catalogs from the database. Only needed after editing template tables outside the game.
+     */
+    boolean handleReloadTemplatesCommand(CommandContext ctx) {
+        PrintWriter out = ctx.out;
+        if (!ensureGm(ctx)) return true;
+        boolean ok = DataLoader.loadTemplateCatalogs();
+        out.println("Template catalogs reloaded: "
+                + catalogSize(DaoProvider.items().getTemplateCatalog()) + " items, "
+                + catalogSize(DaoProvider.mobiles().getTemplateCatalog()) + " mobs, "
+                + catalogSize(DaoProvider.skills().getSkillCatalog()) + " skills, "
+                + catalogSize(DaoProvider.spells().getSpellCatalog()) + " spells.");
+        if (!ok) {
+            out.println("Some catalogs failed to load; those lookups are using the database directly. See server log.");
+        }
+        return true;
+    }
+
+    private static String catalogSize(TemplateCatalog<?> catalog) {
+        return catalog != null ? String.valueOf(catalog.size()) : "?";
+    }
+
     /**
      * Handle the setweather command - forcibly change the weather.
      * Usage: setweather <weather_type>
@@ -721,7 +801,7 @@ class GmWorldHandler {
 
         if (rec == null) { out.println("No character record found."); return false; }
         try {
-            if (!dao.isCharacterFlagTrueByName(name, "is_gm")) {
+            if (!dao.isGm(name)) {
                 out.println("You do not have permission to use GM commands.");
                 return false;
             }
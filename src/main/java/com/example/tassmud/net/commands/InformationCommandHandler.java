@@ -1077,7 +1077,7 @@ public class InformationCommandHandler implements CommandHandler {
         CharacterDAO dao = ctx.dao;
         String args = ctx.getArgs();
 
-        boolean isGm = dao.isCharacterFlagTrueByName(ctx.playerName, "is_gm");
+        boolean isGm = dao.isGm(ctx.playerName);
         if (args == null || args.trim().isEmpty()) {
             // Display categorized command list
             displayHelpCommandList(isGm, out);
@@ -1176,7 +1176,7 @@ public class InformationCommandHandler implements CommandHandler {
         } catch (Exception ignored) {}
         
         // Check if I'm a GM (for seeing GM-invisible players)
-        boolean iAmGm = dao.isCharacterFlagTrueByName(name, "is_gm");
+        boolean iAmGm = dao.isGm(name);
         
         int count = 0;
         for (ClientHandler session : ClientHandler.sessions) {
@@ -1652,7 +1652,7 @@ public class InformationCommandHandler implements CommandHandler {
         // Players in this area
         boolean any = false;
         out.println("\u001B[33mPlayers:\u001B[0m");
-        for (ClientHandler s : ClientHandler.sessions) {
+        for (ClientHandler s : ClientHandler.sessionsInArea(areaId)) {
             if (s.playerName == null) continue;
             Integer sRoomId = s.currentRoomId;
             if (sRoomId == null) continue;
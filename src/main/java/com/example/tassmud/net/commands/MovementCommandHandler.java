@@ -254,7 +254,7 @@ public class MovementCommandHandler implements CommandHandler {
         }
         
         // Check room flags - PRISON and NO_RECALL prevent recall
-        boolean isGm = dao.isCharacterFlagTrueByName(name, "is_gm");
+        boolean isGm = dao.isGm(name);
         Integer currentRoomId = rec.currentRoom;
         if (currentRoomId != null && !isGm) {
             if (DaoProvider.rooms().isRoomPrison(currentRoomId)) {
@@ -288,7 +288,7 @@ public class MovementCommandHandler implements CommandHandler {
         
         // Teleport the character
         dao.updateCharacterRoom(name, TEMPLE_OF_MIDGAARD);
-        ctx.handler.currentRoomId = TEMPLE_OF_MIDGAARD;
+        ctx.handler.setCurrentRoomId(TEMPLE_OF_MIDGAARD);
         rec = dao.findByName(name);
 
         // Aura room-change: update recipient sets for sanctuary-like auras
@@ -435,12 +435,10 @@ public class MovementCommandHandler implements CommandHandler {
 
                 String searchTerm = lookArgs.trim().toLowerCase();
                 boolean found = false;
-                for (ClientHandler s : ClientHandler.sessions) {
+                for (ClientHandler s : ClientHandler.sessionsInRoom(lookRoomId)) {
                     if (s == ctx.handler) continue;
                     String otherName = s.playerName;
                     if (otherName == null) continue;
-                    Integer otherRoomId = s.currentRoomId;
-                    if (otherRoomId == null || !otherRoomId.equals(lookRoomId)) continue;
                     if (otherName.toLowerCase().startsWith(searchTerm)) {
                         CharacterRecord otherRec = dao.findByName(otherName);
                         out.println(otherName);
@@ -867,7 +865,8 @@ public class MovementCommandHandler implements CommandHandler {
                 String directionName = null;
                 com.example.tassmud.model.Direction moveDir = com.example.tassmud.model.Direction.fromString(cmdName);
                 if (moveDir != null) {
-                    destId = curRoom.getExit(moveDir);
+                    // Null for no exit and for an exit into a missing room (broken world)
+                    destId = DaoProvider.rooms().getExitTarget(curRoomId, moveDir);
                     directionName = moveDir.fullName();
                 }
 
@@ -876,14 +875,6 @@ public class MovementCommandHandler implements CommandHandler {
                     return true;
                 }
 
-                // If the destination room id refers to a missing room (broken world), block movement.
-                // fixExits() on startup should have already NULLed these, but guard here as a safety net.
-                Room maybeDest = (destId == null) ? null : DaoProvider.rooms().getRoomById(destId);
-                if (destId != null && maybeDest == null) {
-                    out.println("You can't go that way.");
-                    return true;
-                }
-
                 // Check door state for player movement (block if closed/locked/blocked/hidden)
                 com.example.tassmud.model.Door door = DaoProvider.rooms().getDoor(curRoomId, directionName);
                 if (door != null) {
@@ -906,7 +897,7 @@ public class MovementCommandHandler implements CommandHandler {
                 }
 
                 // Check room flags
-                boolean isGm = dao.isCharacterFlagTrueByName(name, "is_gm");
+                boolean isGm = dao.isGm(name);
                 
                 // PRISON check - cannot leave by normal movement (only GM teleport)
                 if (DaoProvider.rooms().isRoomPrison(curRoomId) && !isGm) {
@@ -974,7 +965,7 @@ public class MovementCommandHandler implements CommandHandler {
 
                 // Refresh character record and show new room
                 rec = dao.findByName(name);
-                ctx.handler.currentRoomId = rec != null ? rec.currentRoom : null;
+                ctx.handler.setCurrentRoomId(rec != null ? rec.currentRoom : null);
                 Room newRoom = DaoProvider.rooms().getRoomById(destId);
                 if (newRoom == null) {
                     out.println("You arrive at an unknown place.");
@@ -1051,14 +1042,12 @@ public class MovementCommandHandler implements CommandHandler {
         out.println();
         // Other players in this room (before mobs and items)
         CharacterDAO visDao = DaoProvider.characters();
-        boolean iAmGm = name != null && visDao.isCharacterFlagTrueByName(name, "is_gm");
-        for (ClientHandler s : ClientHandler.sessions) {
-            // Skip self, skip sessions without a character, skip sessions not in this room
+        boolean iAmGm = name != null && visDao.isGm(name);
+        for (ClientHandler s : ClientHandler.sessionsInRoom(roomId)) {
+            // Skip self and sessions without a character
             if (s == ctx.handler) continue;
             String otherName = s.playerName;
             if (otherName == null) continue;
-            Integer otherRoomId = s.currentRoomId;
-            if (otherRoomId == null || !otherRoomId.equals(roomId)) continue;
             
             // Check GM invisibility - only other GMs can see GM-invisible players
             if (s.gmInvisible && !iAmGm) {
@@ -1124,13 +1113,10 @@ public class MovementCommandHandler implements CommandHandler {
      */
     private int countNonGmPlayersInRoom(int roomId, CharacterDAO dao) {
         int count = 0;
-        for (ClientHandler session : ClientHandler.sessions) {
-            Integer sessionRoom = session.currentRoomId;
-            if (sessionRoom != null && sessionRoom == roomId) {
-                String playerName = session.playerName;
-                if (playerName != null && !dao.isCharacterFlagTrueByName(playerName, "is_gm")) {
-                    count++;
-                }
+        for (ClientHandler session : ClientHandler.sessionsInRoom(roomId)) {
+            String playerName = session.playerName;
+            if (playerName != null && !dao.isGm(playerName)) {
+                count++;
             }
         }
         return count;
@@ -1230,7 +1216,7 @@ public class MovementCommandHandler implements CommandHandler {
             }
 
             // Update handler state
-            followerHandler.currentRoomId = toRoomId;
+            followerHandler.setCurrentRoomId(toRoomId);
 
             // Aura room-change: update recipient sets for sanctuary-like auras
             com.example.tassmud.effect.AuraManager.getInstance()
@@ -1027,7 +1027,7 @@ class RogueSkillHandler {
         dao.updateCharacterRoom(ctx.playerName, targetRoomId);
         
         // Update client handler's current room
-        ctx.handler.currentRoomId = targetRoomId;
+        ctx.handler.setCurrentRoomId(targetRoomId);
         
         // Announce arrival
         out.println("...and emerge from the darkness.");
@@ -277,14 +277,11 @@ class SpellCastHandler {
         java.util.List<Integer> targets = new java.util.ArrayList<>();
         Spell.SpellTarget ttype = matchedSpell.getTarget();
         if (ttype == Spell.SpellTarget.ALL_ALLIES) {
-            for (ClientHandler s : ClientHandler.sessions) {
+            for (ClientHandler s : ClientHandler.sessionsInRoom(ctx.handler.currentRoomId)) {
                 if (s == ctx.handler) continue;
                 Integer otherCharId = ClientHandler.getCharacterIdByName(s.playerName);
                 if (otherCharId == null) continue;
-                Integer otherRoom = s.currentRoomId;
-                if (otherRoom != null && otherRoom.equals(ctx.handler.currentRoomId)) {
-                    targets.add(otherCharId);
-                }
+                targets.add(otherCharId);
             }
             targets.add(charId);
         } else if (ttype == Spell.SpellTarget.SELF) {
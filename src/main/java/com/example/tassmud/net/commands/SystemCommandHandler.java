@@ -142,7 +142,7 @@ public class SystemCommandHandler implements CommandHandler {
         PrintWriter out = ctx.out;
         out.println("Goodbye!");
         try {
-            ctx.handler.getSocket().close();
+            ctx.handler.disconnect();
         } catch (IOException e) {
             // Socket may already be closed; log and move on
             logger.debug("Error closing socket on quit: {}", e.getMessage());
@@ -183,7 +183,7 @@ public class SystemCommandHandler implements CommandHandler {
             String[] ma = margs.trim().split("\\s+", 2);
             String verb = ma[0].toLowerCase();
             if (verb.equals("set")) {
-                if (!dao.isCharacterFlagTrueByName(name, "is_gm")) { out.println("You do not have permission to set the MOTD."); return true; }
+                if (!dao.isGm(name)) { out.println("You do not have permission to set the MOTD."); return true; }
                 String val = ma.length > 1 ? ma[1] : "";
                 // support literal "\n" sequences for multi-line MOTD
                 try {
@@ -194,7 +194,7 @@ public class SystemCommandHandler implements CommandHandler {
                 boolean ok = DaoProvider.settings().setSetting("motd", val == null ? "" : val);
                 if (ok) out.println("MOTD updated (\n sequences allowed for newlines)."); else out.println("Failed to update MOTD.");
             } else if (verb.equals("clear") || verb.equals("remove")) {
-                if (!dao.isCharacterFlagTrueByName(name, "is_gm")) { out.println("You do not have permission to clear the MOTD."); return true; }
+                if (!dao.isGm(name)) { out.println("You do not have permission to clear the MOTD."); return true; }
                 boolean ok = DaoProvider.settings().setSetting("motd", "");
                 if (ok) out.println("MOTD cleared."); else out.println("Failed to clear MOTD.");
             } else {
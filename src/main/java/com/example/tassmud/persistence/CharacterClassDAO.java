@@ -214,6 +214,7 @@ public class CharacterClassDAO {
                 ps.setInt(6, classId);
                 ps.executeUpdate();
             }
+            LoadoutChanges.changed(characterId);
         } catch (SQLException e) {
             logger.warn("Failed to set character current class: {}", e.getMessage(), e);
         }
@@ -314,6 +315,7 @@ public class CharacterClassDAO {
             logger.warn("Failed to add XP: {}", e.getMessage(), e);
             return false;
         }
+        if (leveledUp) LoadoutChanges.changed(characterId);
         
         return leveledUp;
     }
@@ -10,12 +10,18 @@ import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class CharacterDAO {
 
     private static final Logger logger = LoggerFactory.getLogger(CharacterDAO.class);
+
+    /** Online characters are served from, and written behind through, this cache. */
+    private final CharacterStateCache stateCache = CharacterStateCache.getInstance();
+
     public CharacterDAO() {
         // Ensure character-related tables/migrations run only once per JVM startup
         MigrationManager.ensureMigration("CharacterDAO", this::ensureTable);
@@ -143,21 +149,40 @@ public class CharacterDAO {
     }
 
     // --- Character flag accessors ---
+    // Online characters' flags are mirrored in their CharacterStateCache entry (loaded at login,
+    // written through by setCharacterFlag), so flag checks for them are map lookups.
+
+    /** Game master flag. */
+    public static final String FLAG_GM = "is_gm";
+    /** Set while a rogue is sneaking; suppresses arrival/departure messages. */
+    public static final String FLAG_SNEAKING = "is_sneaking";
+
     public boolean setCharacterFlag(int characterId, String key, String value) {
         String sql = "MERGE INTO character_flag (character_id, k, v) KEY (character_id, k) VALUES (?, ?, ?)";
+        String stored = value == null ? "" : value;
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setInt(1, characterId);
             ps.setString(2, key);
-            ps.setString(3, value == null ? "" : value);
+            ps.setString(3, stored);
             ps.executeUpdate();
-            return true;
         } catch (SQLException e) {
             return false;
         }
+        CharacterStateCache.State state = stateCache.get(characterId);
+        if (state != null && key != null) {
+            TransactionManager.afterCommit(() -> state.flags.put(key, stored));
+        }
+        return true;
     }
 
     public String getCharacterFlag(int characterId, String key) {
+        CharacterStateCache.State state = stateCache.get(characterId);
+        if (state != null) return key == null ? null : state.flags.get(key);
+        return queryCharacterFlag(characterId, key);
+    }
+
+    private String queryCharacterFlag(int characterId, String key) {
         String sql = "SELECT v FROM character_flag WHERE character_id = ? AND k = ?";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
@@ -185,7 +210,24 @@ public class CharacterDAO {
     }
 
     public boolean isCharacterFlagTrueByName(String name, String key) {
-        String v = getCharacterFlagByName(name, key);
+        return isTruthy(getCharacterFlagByName(name, key));
+    }
+
+    public boolean isCharacterFlagTrue(int characterId, String key) {
+        return isTruthy(getCharacterFlag(characterId, key));
+    }
+
+    /** @return true if the named character has the GM flag */
+    public boolean isGm(String name) {
+        return name != null && isCharacterFlagTrueByName(name, FLAG_GM);
+    }
+
+    /** @return true if the character is currently sneaking */
+    public boolean isSneaking(int characterId) {
+        return isCharacterFlagTrue(characterId, FLAG_SNEAKING);
+    }
+
+    private static boolean isTruthy(String v) {
         if (v == null) return false;
         // Accept a few common truthy values for flag checks so both '1' and 'true'
         // (or 'yes', 'on') work regardless of how they were set elsewhere.
@@ -193,6 +235,25 @@ public class CharacterDAO {
         return tv.equals("1") || tv.equals("true") || tv.equals("yes") || tv.equals("on");
     }
 
+    /** Read all flags for a character from the database. */
+    private java.util.Map<String, String> queryCharacterFlags(int characterId) {
+        java.util.Map<String, String> flags = new java.util.HashMap<>();
+        String sql = "SELECT k, v FROM character_flag WHERE character_id = ?";
+        try (Connection c = TransactionManager.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setInt(1, characterId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String v = rs.getString("v");
+                    if (v != null) flags.put(rs.getString("k"), v);
+                }
+            }
+        } catch (SQLException e) {
+            logger.warn("Failed to load flags for character {}: {}", characterId, e.getMessage());
+        }
+        return flags;
+    }
+
     // Return list of columns for a given table (name case-insensitive)
     public java.util.List<String> listTableColumns(String tableName) {
         java.util.List<String> cols = new java.util.ArrayList<>();
@@ -212,6 +273,8 @@ public class CharacterDAO {
     }
 
     public Integer getCharacterIdByName(String name) {
+        CharacterStateCache.State state = stateCache.get(name);
+        if (state != null) return state.id;
         String sql = "SELECT id FROM characters WHERE name = ?";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
@@ -233,10 +296,11 @@ public class CharacterDAO {
             if (classId == null) ps.setNull(1, Types.INTEGER); else ps.setInt(1, classId);
             ps.setInt(2, characterId);
             ps.executeUpdate();
-            return true;
         } catch (SQLException e) {
             return false;
         }
+        mirrorWrittenState(characterId, (r, b) -> b.currentClassId(classId));
+        return true;
     }
 
     public boolean updateCharacterClassByName(String name, Integer classId) {
@@ -246,6 +310,8 @@ public class CharacterDAO {
     }
 
     public CharacterRecord findByName(String name) {
+        CharacterStateCache.State state = stateCache.get(name);
+        if (state != null) return state.record();
         String sql = "SELECT name, password_hash, salt, age, description, hp_max, hp_cur, mp_max, mp_cur, mv_max, mv_cur, str, dex, con, intel, wis, cha, armor, fortitude, reflex, will, armor_equip_bonus, fortitude_equip_bonus, reflex_equip_bonus, will_equip_bonus, current_room, current_class_id, autoflee, talent_points, trained_str, trained_dex, trained_con, trained_int, trained_wis, trained_cha, gold_pieces, autoloot, autogold, autosac, autojunk, autoassist, ki_max, ki_cur, title, deaf_chat, deaf_yell FROM characters WHERE name = ?";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
@@ -265,6 +331,13 @@ public class CharacterDAO {
      * Find a character by their ID.
      */
     public CharacterRecord findById(int characterId) {
+        CharacterStateCache.State state = stateCache.get(characterId);
+        if (state != null) return state.record();
+        return queryById(characterId);
+    }
+
+    /** Read a character row from the database, bypassing the session state cache. */
+    private CharacterRecord queryById(int characterId) {
         String sql = "SELECT name, password_hash, salt, age, description, hp_max, hp_cur, mp_max, mp_cur, mv_max, mv_cur, str, dex, con, intel, wis, cha, armor, fortitude, reflex, will, armor_equip_bonus, fortitude_equip_bonus, reflex_equip_bonus, will_equip_bonus, current_room, current_class_id, autoflee, talent_points, trained_str, trained_dex, trained_con, trained_int, trained_wis, trained_cha, gold_pieces, autoloot, autogold, autosac, autojunk, autoassist, ki_max, ki_cur, title, deaf_chat, deaf_yell FROM characters WHERE id = ?";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
@@ -287,6 +360,71 @@ public class CharacterDAO {
         return findById(characterId);
     }
 
+    // --- Session state (see CharacterStateCache) ---
+
+    /**
+     * Load a character that is coming online into the session state cache. From now on its
+     * reads are served from memory and its frequently changing columns are written behind.
+     *
+     * @return the cached record, or null if the character does not exist
+     */
+    public CharacterRecord attachSessionState(int characterId) {
+        CharacterStateCache.State existing = stateCache.get(characterId);
+        if (existing != null) return existing.record();
+        CharacterRecord rec = queryById(characterId);
+        if (rec == null) return null;
+        return stateCache.attach(characterId, rec, queryCharacterFlags(characterId)).record();
+    }
+
+    /** Flush a character's pending state and stop caching it (logout). */
+    public void releaseSessionState(int characterId) {
+        stateCache.detach(characterId);
+    }
+
+    /** Write a character's pending state to the database now (e.g. after death). */
+    public void flushSessionState(int characterId) {
+        stateCache.flush(characterId);
+    }
+
+    /**
+     * Apply a change to a character's state. Offline characters are updated with {@code sql}
+     * directly. Online characters are updated in memory and flushed later, unless a transaction
+     * is active: then {@code sql} runs on the transaction's connection and the cache follows
+     * once it commits. The committed change is applied to the cache without {@code condition}:
+     * {@code sql} has already checked it, and skipping the change would let the next flush
+     * overwrite it.
+     *
+     * @param condition optional guard evaluated against the cached record (e.g. enough MV)
+     * @return whether the change was applied
+     */
+    private boolean writeState(CharacterStateCache.State state, Predicate<CharacterRecord> condition,
+                               CharacterStateCache.Change change, BooleanSupplier sql) {
+        if (state == null) return sql.getAsBoolean();
+        if (TransactionManager.isInTransaction()) {
+            stateCache.syncForTransaction(state);
+            boolean ok = sql.getAsBoolean();
+            if (ok) TransactionManager.afterCommit(() -> state.apply(null, change, true));
+            return ok;
+        }
+        switch (state.apply(condition, change, true)) {
+            case APPLIED: return true;
+            case REJECTED: return false;
+            default: return sql.getAsBoolean(); // logged out meanwhile
+        }
+    }
+
+    private boolean writeState(int characterId, CharacterStateCache.Change change, BooleanSupplier sql) {
+        return writeState(stateCache.get(characterId), null, change, sql);
+    }
+
+    /** Mirror a value that has already been written through to the database. */
+    void mirrorWrittenState(int characterId, CharacterStateCache.Change change) {
+        CharacterStateCache.State state = stateCache.get(characterId);
+        if (state != null) {
+            TransactionManager.afterCommit(() -> state.apply(null, change, false));
+        }
+    }
+
     /**
      * Load all modifiers for a character.
      */
@@ -433,34 +571,39 @@ public class CharacterDAO {
     }
 
     public boolean updateCharacterRoom(String name, Integer roomId) {
-        String sql = "UPDATE characters SET current_room = ? WHERE name = ?";
-        try (Connection c = TransactionManager.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-            if (roomId == null) ps.setNull(1, Types.INTEGER); else ps.setInt(1, roomId);
-            ps.setString(2, name);
-            ps.executeUpdate();
-            return true;
-        } catch (SQLException e) {
-            return false;
-        }
+        return writeState(stateCache.get(name), null, (r, b) -> b.currentRoom(roomId), () -> {
+            String sql = "UPDATE characters SET current_room = ? WHERE name = ?";
+            try (Connection c = TransactionManager.getConnection();
+                 PreparedStatement ps = c.prepareStatement(sql)) {
+                if (roomId == null) ps.setNull(1, Types.INTEGER); else ps.setInt(1, roomId);
+                ps.setString(2, name);
+                ps.executeUpdate();
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        });
     }
 
     // Persist mutable character state: current HP/MP/MV/KI and room
     public boolean saveCharacterStateByName(String name, int hpCur, int mpCur, int mvCur, int kiCur, Integer currentRoom) {
-        String sql = "UPDATE characters SET hp_cur = ?, mp_cur = ?, mv_cur = ?, ki_cur = ?, current_room = ? WHERE name = ?";
-        try (Connection c = TransactionManager.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setInt(1, hpCur);
-            ps.setInt(2, mpCur);
-            ps.setInt(3, mvCur);
-            ps.setInt(4, kiCur);
-            if (currentRoom == null) ps.setNull(5, Types.INTEGER); else ps.setInt(5, currentRoom);
-            ps.setString(6, name);
-            ps.executeUpdate();
-            return true;
-        } catch (SQLException e) {
-            return false;
-        }
+        return writeState(stateCache.get(name), null,
+                (r, b) -> b.hpCur(hpCur).mpCur(mpCur).mvCur(mvCur).kiCur(kiCur).currentRoom(currentRoom), () -> {
+            String sql = "UPDATE characters SET hp_cur = ?, mp_cur = ?, mv_cur = ?, ki_cur = ?, current_room = ? WHERE name = ?";
+            try (Connection c = TransactionManager.getConnection();
+                 PreparedStatement ps = c.prepareStatement(sql)) {
+                ps.setInt(1, hpCur);
+                ps.setInt(2, mpCur);
+                ps.setInt(3, mvCur);
+                ps.setInt(4, kiCur);
+                if (currentRoom == null) ps.setNull(5, Types.INTEGER); else ps.setInt(5, currentRoom);
+                ps.setString(6, name);
+                ps.executeUpdate();
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        });
     }
 
     /** @deprecated Use the overload that includes kiCur. */
@@ -473,17 +616,19 @@ public class CharacterDAO {
      * Update a character's ki pool max and current values.
      */
     public boolean saveKiByName(String name, int kiMax, int kiCur) {
-        String sql = "UPDATE characters SET ki_max = ?, ki_cur = ? WHERE name = ?";
-        try (Connection c = TransactionManager.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setInt(1, kiMax);
-            ps.setInt(2, kiCur);
-            ps.setString(3, name);
-            ps.executeUpdate();
-            return true;
-        } catch (SQLException e) {
-            return false;
-        }
+        return writeState(stateCache.get(name), null, (r, b) -> b.kiMax(kiMax).kiCur(kiCur), () -> {
+            String sql = "UPDATE characters SET ki_max = ?, ki_cur = ? WHERE name = ?";
+            try (Connection c = TransactionManager.getConnection();
+                 PreparedStatement ps = c.prepareStatement(sql)) {
+                ps.setInt(1, kiMax);
+                ps.setInt(2, kiCur);
+                ps.setString(3, name);
+                ps.executeUpdate();
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        });
     }
     
     /**
@@ -491,17 +636,19 @@ public class CharacterDAO {
      * @return true if successful, false if failed or insufficient points
      */
     public boolean deductMovementPoints(String name, int cost) {
-        String sql = "UPDATE characters SET mv_cur = mv_cur - ? WHERE name = ? AND mv_cur >= ?";
-        try (Connection c = TransactionManager.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setInt(1, cost);
-            ps.setString(2, name);
-            ps.setInt(3, cost);
-            int rows = ps.executeUpdate();
-            return rows > 0;
-        } catch (SQLException e) {
-            return false;
-        }
+        return writeState(stateCache.get(name), r -> r.mvCur >= cost, (r, b) -> b.mvCur(r.mvCur - cost), () -> {
+            String sql = "UPDATE characters SET mv_cur = mv_cur - ? WHERE name = ? AND mv_cur >= ?";
+            try (Connection c = TransactionManager.getConnection();
+                 PreparedStatement ps = c.prepareStatement(sql)) {
+                ps.setInt(1, cost);
+                ps.setString(2, name);
+                ps.setInt(3, cost);
+                int rows = ps.executeUpdate();
+                return rows > 0;
+            } catch (SQLException e) {
+                return false;
+            }
+        });
     }
     
     /**
@@ -509,17 +656,19 @@ public class CharacterDAO {
      * @return true if successful, false if failed or insufficient mana
      */
     public boolean deductManaPoints(String name, int cost) {
-        String sql = "UPDATE characters SET mp_cur = mp_cur - ? WHERE name = ? AND mp_cur >= ?";
-        try (Connection c = TransactionManager.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setInt(1, cost);
-            ps.setString(2, name);
-            ps.setInt(3, cost);
-            int rows = ps.executeUpdate();
-            return rows > 0;
-        } catch (SQLException e) {
-            return false;
-        }
+        return writeState(stateCache.get(name), r -> r.mpCur >= cost, (r, b) -> b.mpCur(r.mpCur - cost), () -> {
+            String sql = "UPDATE characters SET mp_cur = mp_cur - ? WHERE name = ? AND mp_cur >= ?";
+            try (Connection c = TransactionManager.getConnection();
+                 PreparedStatement ps = c.prepareStatement(sql)) {
+                ps.setInt(1, cost);
+                ps.setString(2, name);
+                ps.setInt(3, cost);
+                int rows = ps.executeUpdate();
+                return rows > 0;
+            } catch (SQLException e) {
+                return false;
+            }
+        });
     }
     
     /**
@@ -527,40 +676,79 @@ public class CharacterDAO {
      * Increases both max and current by the specified amounts.
      */
     public boolean addVitals(int characterId, int hpAdd, int mpAdd, int mvAdd) {
-        String sql = "UPDATE characters SET hp_max = hp_max + ?, hp_cur = hp_cur + ?, " +
-                     "mp_max = mp_max + ?, mp_cur = mp_cur + ?, " +
-                     "mv_max = mv_max + ?, mv_cur = mv_cur + ? WHERE id = ?";
-        try (Connection c = TransactionManager.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setInt(1, hpAdd);
-            ps.setInt(2, hpAdd);
-            ps.setInt(3, mpAdd);
-            ps.setInt(4, mpAdd);
-            ps.setInt(5, mvAdd);
-            ps.setInt(6, mvAdd);
-            ps.setInt(7, characterId);
-            ps.executeUpdate();
-            return true;
-        } catch (SQLException e) {
-            logger.warn("Failed to add vitals: {}", e.getMessage());
-            return false;
-        }
+        return writeState(characterId, (r, b) -> b.hpMax(r.hpMax + hpAdd).hpCur(r.hpCur + hpAdd)
+                .mpMax(r.mpMax + mpAdd).mpCur(r.mpCur + mpAdd)
+                .mvMax(r.mvMax + mvAdd).mvCur(r.mvCur + mvAdd), () -> {
+            String sql = "UPDATE characters SET hp_max = hp_max + ?, hp_cur = hp_cur + ?, " +
+                         "mp_max = mp_max + ?, mp_cur = mp_cur + ?, " +
+                         "mv_max = mv_max + ?, mv_cur = mv_cur + ? WHERE id = ?";
+            try (Connection c = TransactionManager.getConnection();
+                 PreparedStatement ps = c.prepareStatement(sql)) {
+                ps.setInt(1, hpAdd);
+                ps.setInt(2, hpAdd);
+                ps.setInt(3, mpAdd);
+                ps.setInt(4, mpAdd);
+                ps.setInt(5, mvAdd);
+                ps.setInt(6, mvAdd);
+                ps.setInt(7, characterId);
+                ps.executeUpdate();
+                return true;
+            } catch (SQLException e) {
+                logger.warn("Failed to add vitals: {}", e.getMessage());
+                return false;
+            }
+        });
     }
     
+    /**
+     * Natural regeneration: raise current HP/MP/MV by {@code percent} of their max (at least 1),
+     * capped at max and never lowered. Applied as a delta against the current value, so damage
+     * or spending that lands meanwhile is not overwritten.
+     */
+    public boolean regenerateVitals(int characterId, int percent) {
+        return writeState(characterId, (r, b) -> b.hpCur(regenerated(r.hpCur, r.hpMax, percent))
+                .mpCur(regenerated(r.mpCur, r.mpMax, percent))
+                .mvCur(regenerated(r.mvCur, r.mvMax, percent)), () -> {
+            String sql = "UPDATE characters SET " +
+                         "hp_cur = CASE WHEN hp_cur >= hp_max THEN hp_cur ELSE LEAST(hp_max, hp_cur + GREATEST(1, hp_max * ? / 100)) END, " +
+                         "mp_cur = CASE WHEN mp_cur >= mp_max THEN mp_cur ELSE LEAST(mp_max, mp_cur + GREATEST(1, mp_max * ? / 100)) END, " +
+                         "mv_cur = CASE WHEN mv_cur >= mv_max THEN mv_cur ELSE LEAST(mv_max, mv_cur + GREATEST(1, mv_max * ? / 100)) END " +
+                         "WHERE id = ?";
+            try (Connection c = TransactionManager.getConnection();
+                 PreparedStatement ps = c.prepareStatement(sql)) {
+                ps.setInt(1, percent);
+                ps.setInt(2, percent);
+                ps.setInt(3, percent);
+                ps.setInt(4, characterId);
+                return ps.executeUpdate() > 0;
+            } catch (SQLException e) {
+                logger.warn("Failed to regenerate vitals: {}", e.getMessage());
+                return false;
+            }
+        });
+    }
+
+    private static int regenerated(int cur, int max, int percent) {
+        if (cur >= max) return cur;
+        return Math.min(max, cur + Math.max(1, (max * percent) / 100));
+    }
+
     /**
      * Restore a character to full HP/MP/MV (set current = max).
      */
     public boolean restoreVitals(int characterId) {
-        String sql = "UPDATE characters SET hp_cur = hp_max, mp_cur = mp_max, mv_cur = mv_max WHERE id = ?";
-        try (Connection c = TransactionManager.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setInt(1, characterId);
-            ps.executeUpdate();
-            return true;
-        } catch (SQLException e) {
-            logger.warn("Failed to restore vitals: {}", e.getMessage());
-            return false;
-        }
+        return writeState(characterId, (r, b) -> b.hpCur(r.hpMax).mpCur(r.mpMax).mvCur(r.mvMax), () -> {
+            String sql = "UPDATE characters SET hp_cur = hp_max, mp_cur = mp_max, mv_cur = mv_max WHERE id = ?";
+            try (Connection c = TransactionManager.getConnection();
+                 PreparedStatement ps = c.prepareStatement(sql)) {
+                ps.setInt(1, characterId);
+                ps.executeUpdate();
+                return true;
+            } catch (SQLException e) {
+                logger.warn("Failed to restore vitals: {}", e.getMessage());
+                return false;
+            }
+        });
     }
     
     /**
@@ -571,44 +759,47 @@ public class CharacterDAO {
      * @param mv The MV to set (or null to leave unchanged)
      */
     public boolean setVitals(int characterId, Integer hp, Integer mp, Integer mv) {
-        StringBuilder sql = new StringBuilder("UPDATE characters SET ");
-        List<Integer> params = new ArrayList<>();
-        boolean first = true;
+        return writeState(characterId, (r, b) -> b.hpCur(hp != null ? hp : r.hpCur)
+                .mpCur(mp != null ? mp : r.mpCur).mvCur(mv != null ? mv : r.mvCur), () -> {
+            StringBuilder sql = new StringBuilder("UPDATE characters SET ");
+            List<Integer> params = new ArrayList<>();
+            boolean first = true;
         
-        if (hp != null) {
-            sql.append("hp_cur = ?");
-            params.add(hp);
-            first = false;
-        }
-        if (mp != null) {
-            if (!first) sql.append(", ");
-            sql.append("mp_cur = ?");
-            params.add(mp);
-            first = false;
-        }
-        if (mv != null) {
-            if (!first) sql.append(", ");
-            sql.append("mv_cur = ?");
-            params.add(mv);
-        }
+            if (hp != null) {
+                sql.append("hp_cur = ?");
+                params.add(hp);
+                first = false;
+            }
+            if (mp != null) {
+                if (!first) sql.append(", ");
+                sql.append("mp_cur = ?");
+                params.add(mp);
+                first = false;
+            }
+            if (mv != null) {
+                if (!first) sql.append(", ");
+                sql.append("mv_cur = ?");
+                params.add(mv);
+            }
         
-        if (params.isEmpty()) return true; // Nothing to update
+            if (params.isEmpty()) return true; // Nothing to update
         
-        sql.append(" WHERE id = ?");
+            sql.append(" WHERE id = ?");
         
-        try (Connection c = TransactionManager.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql.toString())) {
-            int idx = 1;
-            for (Integer p : params) {
-                ps.setInt(idx++, p);
+            try (Connection c = TransactionManager.getConnection();
+                 PreparedStatement ps = c.prepareStatement(sql.toString())) {
+                int idx = 1;
+                for (Integer p : params) {
+                    ps.setInt(idx++, p);
+                }
+                ps.setInt(idx, characterId);
+                ps.executeUpdate();
+                return true;
+            } catch (SQLException e) {
+                logger.warn("Failed to set vitals: {}", e.getMessage());
+                return false;
             }
-            ps.setInt(idx, characterId);
-            ps.executeUpdate();
-            return true;
-        } catch (SQLException e) {
-            logger.warn("Failed to set vitals: {}", e.getMessage());
-            return false;
-        }
+        });
     }
 
     public boolean verifyPassword(String name, char[] password) {
@@ -681,6 +872,29 @@ public class CharacterDAO {
         /** Creates a new builder for constructing CharacterRecord instances. */
         public static Builder builder() { return new Builder(); }
 
+        /** Creates a builder pre-populated with this record's values. */
+        public Builder toBuilder() {
+            return builder()
+                .name(name).passwordHashBase64(passwordHashBase64).saltBase64(saltBase64)
+                .age(age).description(description)
+                .hpMax(hpMax).hpCur(hpCur).mpMax(mpMax).mpCur(mpCur).mvMax(mvMax).mvCur(mvCur)
+                .str(baseStats.str()).dex(baseStats.dex()).con(baseStats.con())
+                .intel(baseStats.intel()).wis(baseStats.wis()).cha(baseStats.cha())
+                .armor(baseStats.armor()).fortitude(baseStats.fortitude())
+                .reflex(baseStats.reflex()).will(baseStats.will())
+                .armorEquipBonus(armorEquipBonus).fortitudeEquipBonus(fortitudeEquipBonus)
+                .reflexEquipBonus(reflexEquipBonus).willEquipBonus(willEquipBonus)
+                .currentRoom(currentRoom).currentClassId(currentClassId)
+                .autoflee(autoflee).talentPoints(talentPoints)
+                .trainedStr(trainedStr).trainedDex(trainedDex).trainedCon(trainedCon)
+                .trainedInt(trainedInt).trainedWis(trainedWis).trainedCha(trainedCha)
+                .goldPieces(goldPieces)
+                .autoloot(autoloot).autogold(autogold).autosac(autosac).autojunk(autojunk)
+                .autoassist(autoassist)
+                .kiMax(kiMax).kiCur(kiCur).title(title)
+                .deafChat(deafChat).deafYell(deafYell);
+        }
+
         CharacterRecord(String name, String passwordHashBase64, String saltBase64,
                                int age, String description,
                                int hpMax, int hpCur,
@@ -866,6 +1080,8 @@ public class CharacterDAO {
      * Get character name by their ID.
      */
     public String getCharacterNameById(int characterId) {
+        CharacterStateCache.State state = stateCache.get(characterId);
+        if (state != null) return state.name;
         String sql = "SELECT name FROM characters WHERE id = ?";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
@@ -889,18 +1105,20 @@ public class CharacterDAO {
      */
     public boolean setAutoflee(int characterId, int autoflee) {
         // Clamp to valid range
-        autoflee = Math.max(0, Math.min(100, autoflee));
+        int clamped = Math.max(0, Math.min(100, autoflee));
         
-        String sql = "UPDATE characters SET autoflee = ? WHERE id = ?";
-        try (Connection c = TransactionManager.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setInt(1, autoflee);
-            ps.setInt(2, characterId);
-            return ps.executeUpdate() > 0;
-        } catch (SQLException e) {
-            logger.warn("Failed to set autoflee: {}", e.getMessage());
-            return false;
-        }
+        return writeState(characterId, (r, b) -> b.autoflee(clamped), () -> {
+            String sql = "UPDATE characters SET autoflee = ? WHERE id = ?";
+            try (Connection c = TransactionManager.getConnection();
+                 PreparedStatement ps = c.prepareStatement(sql)) {
+                ps.setInt(1, clamped);
+                ps.setInt(2, characterId);
+                return ps.executeUpdate() > 0;
+            } catch (SQLException e) {
+                logger.warn("Failed to set autoflee: {}", e.getMessage());
+                return false;
+            }
+        });
     }
     
     /**
@@ -909,6 +1127,8 @@ public class CharacterDAO {
      * @return the autoflee percentage (0-100), or 0 if not found
      */
     public int getAutoflee(int characterId) {
+        CharacterStateCache.State state = stateCache.get(characterId);
+        if (state != null) return state.record().autoflee;
         String sql = "SELECT autoflee FROM characters WHERE id = ?";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
@@ -925,6 +1145,8 @@ public class CharacterDAO {
     }
     
     public String getTitle(int characterId) {
+        CharacterStateCache.State state = stateCache.get(characterId);
+        if (state != null) return state.record().title;
         String sql = "SELECT title FROM characters WHERE id = ?";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
@@ -939,16 +1161,18 @@ public class CharacterDAO {
     }
 
     public boolean setTitle(int characterId, String title) {
-        String sql = "UPDATE characters SET title = ? WHERE id = ?";
-        try (Connection c = TransactionManager.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setString(1, title != null ? title : "");
-            ps.setInt(2, characterId);
-            return ps.executeUpdate() > 0;
-        } catch (SQLException e) {
-            logger.warn("Failed to set title: {}", e.getMessage());
-            return false;
-        }
+        return writeState(characterId, (r, b) -> b.title(title != null ? title : ""), () -> {
+            String sql = "UPDATE characters SET title = ? WHERE id = ?";
+            try (Connection c = TransactionManager.getConnection();
+                 PreparedStatement ps = c.prepareStatement(sql)) {
+                ps.setString(1, title != null ? title : "");
+                ps.setInt(2, characterId);
+                return ps.executeUpdate() > 0;
+            } catch (SQLException e) {
+                logger.warn("Failed to set title: {}", e.getMessage());
+                return false;
+            }
+        });
     }
     
     /**
@@ -984,6 +1208,8 @@ public class CharacterDAO {
      * @return the number of unspent talent points
      */
     public int getTalentPoints(int characterId) {
+        CharacterStateCache.State state = stateCache.get(characterId);
+        if (state != null) return state.record().talentPoints;
         String sql = "SELECT talent_points FROM characters WHERE id = ?";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
@@ -1006,16 +1232,18 @@ public class CharacterDAO {
      * @return true if successful
      */
     public boolean setTalentPoints(int characterId, int points) {
-        String sql = "UPDATE characters SET talent_points = ? WHERE id = ?";
-        try (Connection c = TransactionManager.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setInt(1, Math.max(0, points));
-            ps.setInt(2, characterId);
-            return ps.executeUpdate() > 0;
-        } catch (SQLException e) {
-            logger.warn("Failed to set talent points: {}", e.getMessage());
-            return false;
-        }
+        return writeState(characterId, (r, b) -> b.talentPoints(Math.max(0, points)), () -> {
+            String sql = "UPDATE characters SET talent_points = ? WHERE id = ?";
+            try (Connection c = TransactionManager.getConnection();
+                 PreparedStatement ps = c.prepareStatement(sql)) {
+                ps.setInt(1, Math.max(0, points));
+                ps.setInt(2, characterId);
+                return ps.executeUpdate() > 0;
+            } catch (SQLException e) {
+                logger.warn("Failed to set talent points: {}", e.getMessage());
+                return false;
+            }
+        });
     }
     
     /**
@@ -1025,16 +1253,18 @@ public class CharacterDAO {
      * @return true if successful
      */
     public boolean addTalentPoints(int characterId, int points) {
-        String sql = "UPDATE characters SET talent_points = talent_points + ? WHERE id = ?";
-        try (Connection c = TransactionManager.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setInt(1, points);
-            ps.setInt(2, characterId);
-            return ps.executeUpdate() > 0;
-        } catch (SQLException e) {
-            logger.warn("Failed to add talent points: {}", e.getMessage());
-            return false;
-        }
+        return writeState(characterId, (r, b) -> b.talentPoints(r.talentPoints + points), () -> {
+            String sql = "UPDATE characters SET talent_points = talent_points + ? WHERE id = ?";
+            try (Connection c = TransactionManager.getConnection();
+                 PreparedStatement ps = c.prepareStatement(sql)) {
+                ps.setInt(1, points);
+                ps.setInt(2, characterId);
+                return ps.executeUpdate() > 0;
+            } catch (SQLException e) {
+                logger.warn("Failed to add talent points: {}", e.getMessage());
+                return false;
+            }
+        });
     }
     
     /**
@@ -1046,6 +1276,8 @@ public class CharacterDAO {
     public int getTrainedAbility(int characterId, String ability) {
         String column = getTrainedAbilityColumn(ability);
         if (column == null) return 0;
+        CharacterStateCache.State state = stateCache.get(characterId);
+        if (state != null) return trainedValue(state.record(), column);
         
         String sql = "SELECT " + column + " FROM characters WHERE id = ?";
         try (Connection c = TransactionManager.getConnection();
@@ -1073,16 +1305,18 @@ public class CharacterDAO {
         String column = getTrainedAbilityColumn(ability);
         if (column == null) return false;
         
-        String sql = "UPDATE characters SET " + column + " = ? WHERE id = ?";
-        try (Connection c = TransactionManager.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setInt(1, Math.max(0, bonus));
-            ps.setInt(2, characterId);
-            return ps.executeUpdate() > 0;
-        } catch (SQLException e) {
-            logger.warn("Failed to set trained ability: {}", e.getMessage());
-            return false;
-        }
+        return writeState(characterId, (r, b) -> withTrained(b, column, Math.max(0, bonus)), () -> {
+            String sql = "UPDATE characters SET " + column + " = ? WHERE id = ?";
+            try (Connection c = TransactionManager.getConnection();
+                 PreparedStatement ps = c.prepareStatement(sql)) {
+                ps.setInt(1, Math.max(0, bonus));
+                ps.setInt(2, characterId);
+                return ps.executeUpdate() > 0;
+            } catch (SQLException e) {
+                logger.warn("Failed to set trained ability: {}", e.getMessage());
+                return false;
+            }
+        });
     }
     
     /**
@@ -1095,15 +1329,17 @@ public class CharacterDAO {
         String column = getTrainedAbilityColumn(ability);
         if (column == null) return false;
         
-        String sql = "UPDATE characters SET " + column + " = " + column + " + 1 WHERE id = ?";
-        try (Connection c = TransactionManager.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setInt(1, characterId);
-            return ps.executeUpdate() > 0;
-        } catch (SQLException e) {
-            logger.warn("Failed to increment trained ability: {}", e.getMessage());
-            return false;
-        }
+        return writeState(characterId, (r, b) -> withTrained(b, column, trainedValue(r, column) + 1), () -> {
+            String sql = "UPDATE characters SET " + column + " = " + column + " + 1 WHERE id = ?";
+            try (Connection c = TransactionManager.getConnection();
+                 PreparedStatement ps = c.prepareStatement(sql)) {
+                ps.setInt(1, characterId);
+                return ps.executeUpdate() > 0;
+            } catch (SQLException e) {
+                logger.warn("Failed to increment trained ability: {}", e.getMessage());
+                return false;
+            }
+        });
     }
     
     /**
@@ -1121,6 +1357,28 @@ public class CharacterDAO {
             default: return null;
         }
     }
+
+    private static int trainedValue(CharacterRecord r, String column) {
+        switch (column) {
+            case "trained_str": return r.trainedStr;
+            case "trained_dex": return r.trainedDex;
+            case "trained_con": return r.trainedCon;
+            case "trained_int": return r.trainedInt;
+            case "trained_wis": return r.trainedWis;
+            default: return r.trainedCha;
+        }
+    }
+
+    private static CharacterRecord.Builder withTrained(CharacterRecord.Builder b, String column, int value) {
+        switch (column) {
+            case "trained_str": return b.trainedStr(value);
+            case "trained_dex": return b.trainedDex(value);
+            case "trained_con": return b.trainedCon(value);
+            case "trained_int": return b.trainedInt(value);
+            case "trained_wis": return b.trainedWis(value);
+            default: return b.trainedCha(value);
+        }
+    }
     
     /**
      * Calculate the talent point cost to train an ability from its current total to the next point.
@@ -1144,6 +1402,8 @@ public class CharacterDAO {
      * @return the amount of gold pieces, or 0 if not found
      */
     public long getGold(int characterId) {
+        CharacterStateCache.State state = stateCache.get(characterId);
+        if (state != null) return state.record().goldPieces;
         String sql = "SELECT gold_pieces FROM characters WHERE id = ?";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
@@ -1170,17 +1430,19 @@ public class CharacterDAO {
             logger.warn("Attempted to set negative gold for character {}", characterId);
             return false;
         }
-        String sql = "UPDATE characters SET gold_pieces = ? WHERE id = ?";
-        try (Connection c = TransactionManager.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setLong(1, amount);
-            ps.setInt(2, characterId);
-            int rows = ps.executeUpdate();
-            return rows > 0;
-        } catch (SQLException e) {
-            logger.warn("Error setting gold for character {}: {}", characterId, e.getMessage());
-        }
-        return false;
+        return writeState(characterId, (r, b) -> b.goldPieces(amount), () -> {
+            String sql = "UPDATE characters SET gold_pieces = ? WHERE id = ?";
+            try (Connection c = TransactionManager.getConnection();
+                 PreparedStatement ps = c.prepareStatement(sql)) {
+                ps.setLong(1, amount);
+                ps.setInt(2, characterId);
+                int rows = ps.executeUpdate();
+                return rows > 0;
+            } catch (SQLException e) {
+                logger.warn("Error setting gold for character {}: {}", characterId, e.getMessage());
+            }
+            return false;
+        });
     }
 
     /**
@@ -1190,17 +1452,19 @@ public class CharacterDAO {
      * @return true if successful, false otherwise
      */
     public boolean addGold(int characterId, long amount) {
-        String sql = "UPDATE characters SET gold_pieces = gold_pieces + ? WHERE id = ?";
-        try (Connection c = TransactionManager.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setLong(1, amount);
-            ps.setInt(2, characterId);
-            int rows = ps.executeUpdate();
-            return rows > 0;
-        } catch (SQLException e) {
-            logger.warn("Error adding gold for character {}: {}", characterId, e.getMessage());
-        }
-        return false;
+        return writeState(characterId, (r, b) -> b.goldPieces(r.goldPieces + amount), () -> {
+            String sql = "UPDATE characters SET gold_pieces = gold_pieces + ? WHERE id = ?";
+            try (Connection c = TransactionManager.getConnection();
+                 PreparedStatement ps = c.prepareStatement(sql)) {
+                ps.setLong(1, amount);
+                ps.setInt(2, characterId);
+                int rows = ps.executeUpdate();
+                return rows > 0;
+            } catch (SQLException e) {
+                logger.warn("Error adding gold for character {}: {}", characterId, e.getMessage());
+            }
+            return false;
+        });
     }
     
     /**
@@ -1219,7 +1483,6 @@ public class CharacterDAO {
         if (attribute == null || value == null) {
             return "Attribute and value are required.";
         }
-        
         String attr = attribute.toLowerCase().trim();
         
         // Handle special attributes first
@@ -1254,7 +1517,10 @@ public class CharacterDAO {
                         ps.setInt(1, level);
                         ps.setInt(2, characterId);
                         ps.setInt(3, classId);
-                        if (ps.executeUpdate() > 0) return "Level set to " + level;
+                        if (ps.executeUpdate() > 0) {
+                            LoadoutChanges.changed(characterId);
+                            return "Level set to " + level;
+                        }
                     }
                     return "Failed to set level.";
                 } catch (Exception e) { return "Invalid level value: " + value; }
@@ -1267,7 +1533,10 @@ public class CharacterDAO {
                          PreparedStatement ps = c.prepareStatement(sql)) {
                         ps.setInt(1, classId);
                         ps.setInt(2, characterId);
-                        if (ps.executeUpdate() > 0) return "Class ID set to " + classId;
+                        if (ps.executeUpdate() > 0) {
+                            mirrorWrittenState(characterId, (r, b) -> b.currentClassId(classId));
+                            return "Class ID set to " + classId;
+                        }
                     }
                     return "Failed to set class.";
                 } catch (Exception e) { return "Invalid class ID: " + value; }
@@ -1278,7 +1547,10 @@ public class CharacterDAO {
                      PreparedStatement ps = c.prepareStatement(sql)) {
                     ps.setString(1, value);
                     ps.setInt(2, characterId);
-                    if (ps.executeUpdate() > 0) return "Description set.";
+                    if (ps.executeUpdate() > 0) {
+                        mirrorWrittenState(characterId, (r, b) -> b.description(value));
+                        return "Description set.";
+                    }
                 } catch (SQLException e) { return "Failed to set description: " + e.getMessage(); }
                 return "Failed to set description.";
             }
@@ -1337,25 +1609,84 @@ public class CharacterDAO {
         }
         
         // Parse and update
-        String sql = "UPDATE characters SET " + column + " = ? WHERE id = ?";
-        try (Connection c = TransactionManager.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-            if (isLong) {
-                long longVal = Long.parseLong(value);
-                ps.setLong(1, longVal);
-            } else {
-                int intVal = Integer.parseInt(value);
-                ps.setInt(1, intVal);
-            }
-            ps.setInt(2, characterId);
-            if (ps.executeUpdate() > 0) {
-                return attr.toUpperCase() + " set to " + value;
-            }
-            return "Failed to update " + attr + ".";
+        long parsed;
+        try {
+            parsed = isLong ? Long.parseLong(value) : Integer.parseInt(value);
         } catch (NumberFormatException e) {
             return "Invalid numeric value: " + value;
-        } catch (SQLException e) {
-            return "Database error: " + e.getMessage();
+        }
+        final long newValue = parsed;
+        final String col = column;
+        final boolean longColumn = isLong;
+        CharacterStateCache.Change change = (r, b) -> withColumn(b, col, newValue);
+        String[] error = new String[1];
+        BooleanSupplier sqlWrite = () -> {
+            String sql = "UPDATE characters SET " + col + " = ? WHERE id = ?";
+            try (Connection c = TransactionManager.getConnection();
+                 PreparedStatement ps = c.prepareStatement(sql)) {
+                if (longColumn) ps.setLong(1, newValue); else ps.setInt(1, (int) newValue);
+                ps.setInt(2, characterId);
+                return ps.executeUpdate() > 0;
+            } catch (SQLException e) {
+                error[0] = e.getMessage();
+                return false;
+            }
+        };
+        // Write-behind columns of an online character change in the cache like any other update;
+        // the rest go to the row and the cached record follows without being marked dirty.
+        boolean ok;
+        if (WRITE_BEHIND_COLUMNS.contains(col)) {
+            ok = writeState(characterId, change, sqlWrite);
+        } else {
+            ok = sqlWrite.getAsBoolean();
+            if (ok) mirrorWrittenState(characterId, change);
+        }
+        if (ok) return attr.toUpperCase() + " set to " + value;
+        if (error[0] != null) return "Database error: " + error[0];
+        return "Failed to update " + attr + ".";
+    }
+
+    /** {@code characters} columns settable by CSET that {@link CharacterStateCache} writes behind. */
+    private static final Set<String> WRITE_BEHIND_COLUMNS = Set.of(
+            "hp_cur", "hp_max", "mp_cur", "mp_max", "mv_cur", "mv_max", "current_room", "autoflee",
+            "talent_points", "gold_pieces", "trained_str", "trained_dex", "trained_con",
+            "trained_int", "trained_wis", "trained_cha");
+
+    private static CharacterRecord.Builder withColumn(CharacterRecord.Builder b, String column, long v) {
+        int i = (int) v;
+        switch (column) {
+            case "hp_cur": return b.hpCur(i);
+            case "hp_max": return b.hpMax(i);
+            case "mp_cur": return b.mpCur(i);
+            case "mp_max": return b.mpMax(i);
+            case "mv_cur": return b.mvCur(i);
+            case "mv_max": return b.mvMax(i);
+            case "str": return b.str(i);
+            case "dex": return b.dex(i);
+            case "con": return b.con(i);
+            case "intel": return b.intel(i);
+            case "wis": return b.wis(i);
+            case "cha": return b.cha(i);
+            case "trained_str": return b.trainedStr(i);
+            case "trained_dex": return b.trainedDex(i);
+            case "trained_con": return b.trainedCon(i);
+            case "trained_int": return b.trainedInt(i);
+            case "trained_wis": return b.trainedWis(i);
+            case "trained_cha": return b.trainedCha(i);
+            case "armor": return b.armor(i);
+            case "fortitude": return b.fortitude(i);
+            case "reflex": return b.reflex(i);
+            case "will": return b.will(i);
+            case "armor_equip_bonus": return b.armorEquipBonus(i);
+            case "fortitude_equip_bonus": return b.fortitudeEquipBonus(i);
+            case "reflex_equip_bonus": return b.reflexEquipBonus(i);
+            case "will_equip_bonus": return b.willEquipBonus(i);
+            case "age": return b.age(i);
+            case "current_room": return b.currentRoom(i);
+            case "autoflee": return b.autoflee(i);
+            case "talent_points": return b.talentPoints(i);
+            case "gold_pieces": return b.goldPieces(v);
+            default: throw new IllegalArgumentException("Unsupported column: " + column);
         }
     }
     
@@ -1387,15 +1718,29 @@ public class CharacterDAO {
             logger.warn("Invalid auto-flag column: {}", flagColumn);
             return false;
         }
-        String sql = "UPDATE characters SET " + flagColumn + " = ? WHERE id = ?";
-        try (Connection c = TransactionManager.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setBoolean(1, value);
-            ps.setInt(2, characterId);
-            return ps.executeUpdate() > 0;
-        } catch (SQLException e) {
-            logger.warn("Failed to set {}: {}", flagColumn, e.getMessage());
-            return false;
+        return writeState(characterId, (r, b) -> withAutoFlag(b, flagColumn, value), () -> {
+            String sql = "UPDATE characters SET " + flagColumn + " = ? WHERE id = ?";
+            try (Connection c = TransactionManager.getConnection();
+                 PreparedStatement ps = c.prepareStatement(sql)) {
+                ps.setBoolean(1, value);
+                ps.setInt(2, characterId);
+                return ps.executeUpdate() > 0;
+            } catch (SQLException e) {
+                logger.warn("Failed to set {}: {}", flagColumn, e.getMessage());
+                return false;
+            }
+        });
+    }
+
+    private static CharacterRecord.Builder withAutoFlag(CharacterRecord.Builder b, String flagColumn, boolean value) {
+        switch (flagColumn) {
+            case "autoloot": return b.autoloot(value);
+            case "autogold": return b.autogold(value);
+            case "autosac": return b.autosac(value);
+            case "autojunk": return b.autojunk(value);
+            case "autoassist": return b.autoassist(value);
+            case "deaf_chat": return b.deafChat(value);
+            default: return b.deafYell(value);
         }
     }
 
@@ -0,0 +1,428 @@
+package com.example.tassmud.persistence;
+
+import com.example.tassmud.persistence.CharacterDAO.CharacterRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Authoritative in-memory copy of the {@code characters} row for every online player.
+ *
+ * <p>While a character is attached (between login and logout), {@link CharacterDAO} answers
+ * reads from the cached {@link CharacterRecord} and applies changes to frequently written
+ * columns — vitals, ki, room, gold, auto-toggles, autoflee, title, talent points and trained
+ * abilities — to the cache only, bumping a per-character version. A daemon flusher writes every
+ * dirty record back in a single batched transaction every {@code tassmud.state.flushIntervalMs}
+ * milliseconds (default 5000). Records are also flushed on logout ({@link #detach}), on death
+ * and at shutdown ({@link #shutdown}). If the logout flush fails, the record stays attached and
+ * the background flusher finishes the logout once it has written it.
+ *
+ * <p>Each entry also mirrors the character's {@code character_flag} rows, loaded at attach time
+ * and written through by {@link CharacterDAO#setCharacterFlag}.
+ *
+ * <p>Writes made inside {@link TransactionManager#runInTransaction} still go to the database on
+ * the transaction's connection so they commit or roll back with the surrounding work; the cache
+ * is only updated once the transaction commits (see {@link TransactionManager#afterCommit}).
+ *
+ * <p>No lock is held while a flush talks to the database, since the rows it updates may be
+ * locked by an open transaction that is itself about to touch the cache. Instead, a flush claims
+ * each record it writes, so two flushes never write the same character at once; the background
+ * flusher skips records another flush has claimed. Writes on a transaction's connection never
+ * mark a record clean, because the transaction may still roll back.
+ */
+public final class CharacterStateCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CharacterStateCache.class);
+
+    /** Columns owned by the write-behind path; everything else is written through. */
+    static final String FLUSH_SQL = "UPDATE characters SET hp_max = ?, hp_cur = ?, mp_max = ?, mp_cur = ?, " +
+            "mv_max = ?, mv_cur = ?, ki_max = ?, ki_cur = ?, current_room = ?, gold_pieces = ?, " +
+            "autoflee = ?, title = ?, talent_points = ?, trained_str = ?, trained_dex = ?, trained_con = ?, " +
+            "trained_int = ?, trained_wis = ?, trained_cha = ?, autoloot = ?, autogold = ?, autosac = ?, " +
+            "autojunk = ?, autoassist = ?, deaf_chat = ?, deaf_yell = ? WHERE id = ?";
+
+    /** A change to one character's record, given its current values and a builder seeded from them. */
+    @FunctionalInterface
+    interface Change {
+        CharacterRecord.Builder apply(CharacterRecord current, CharacterRecord.Builder builder);
+    }
+
+    /** Result of applying a change to a cached record. */
+    enum Outcome { APPLIED, REJECTED, DETACHED }
+
+    /** Cached state of one online character. All access is synchronized on the instance. */
+    static final class State {
+        final int id;
+        final String name;
+        /** Mirror of this character's {@code character_flag} rows (key to value). */
+        final Map<String, String> flags = new ConcurrentHashMap<>();
+        private CharacterRecord record;
+        private long version;
+        private long flushedVersion;
+        private boolean detached;
+        /** True while a flush is writing this record. */
+        private boolean writing;
+        /** True once the character has logged out but its last flush has not succeeded yet. */
+        private boolean releasing;
+
+        State(int id, CharacterRecord record) {
+            this.id = id;
+            this.name = record.name;
+            this.record = record;
+        }
+
+        synchronized CharacterRecord record() {
+            return record;
+        }
+
+        synchronized boolean isDirty() {
+            return version != flushedVersion;
+        }
+
+        /**
+         * Apply {@code change} if {@code condition} (may be null) holds for the current record.
+         * A {@code dirty} change is queued for the flusher; a clean one mirrors a value that has
+         * already been written to the database.
+         */
+        synchronized Outcome apply(Predicate<CharacterRecord> condition,
+                                   Change change, boolean dirty) {
+            if (detached) return Outcome.DETACHED;
+            if (condition != null && !condition.test(record)) return Outcome.REJECTED;
+            record = change.apply(record, record.toBuilder()).build();
+            if (dirty) version++;
+            return Outcome.APPLIED;
+        }
+
+        synchronized void markFlushed(long flushed) {
+            if (flushed > flushedVersion) flushedVersion = flushed;
+        }
+
+        /** Claim the record for a flush. @return false if another flush is writing it now */
+        synchronized boolean tryClaim() {
+            if (writing) return false;
+            writing = true;
+            return true;
+        }
+
+        /** Claim the record for a flush, waiting for one already writing it to finish. */
+        synchronized void claim() {
+            boolean interrupted = false;
+            while (writing) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            writing = true;
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+
+        synchronized void release() {
+            writing = false;
+            notifyAll();
+        }
+    }
+
+    /** A dirty record captured for writing, with the version it represents. */
+    record Pending(State state, CharacterRecord record, long version) {}
+
+    /** Opens the connection a flush writes on. */
+    @FunctionalInterface
+    interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+
+    /** Point-in-time counters for diagnostics. */
+    public record Stats(int online, int dirty, long flushes, long rowsWritten, long failures, long lastFlushMs) {}
+
+    private static final CharacterStateCache INSTANCE = new CharacterStateCache();
+
+    private final ConnectionSource connections;
+    private final ConcurrentHashMap<Integer, State> byId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, State> byName = new ConcurrentHashMap<>();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile long lastFlushMs;
+    private ScheduledExecutorService flusher;
+
+    CharacterStateCache() {
+        this(TransactionManager::getConnection);
+    }
+
+    CharacterStateCache(ConnectionSource connections) {
+        this.connections = connections;
+    }
+
+    public static CharacterStateCache getInstance() {
+        return INSTANCE;
+    }
+
+    /** Start the periodic background flush. Safe to call more than once. */
+    public synchronized void start() {
+        if (flusher != null) return;
+        long interval = Long.getLong("tassmud.state.flushIntervalMs", 5_000);
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "tassmud-state-flush");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(() -> {
+            try {
+                flushAll();
+            } catch (Throwable t) {
+                logger.warn("[CharacterStateCache] Background flush failed: {}", t.getMessage(), t);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+        logger.info("[CharacterStateCache] Write-behind flush every {}ms", interval);
+    }
+
+    /** Stop the background flusher and write out everything still dirty. */
+    public void shutdown() {
+        ScheduledExecutorService stopped;
+        synchronized (this) {
+            stopped = flusher;
+            flusher = null;
+        }
+        if (stopped != null) {
+            stopped.shutdownNow();
+            // A flush still running holds claims that the final flush would skip
+            try {
+                stopped.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int rows = flushAll();
+        logger.info("[CharacterStateCache] Shutdown flush wrote {} character(s)", rows);
+        for (State state : byId.values()) {
+            if (state.isDirty()) {
+                logger.error("[CharacterStateCache] Giving up on unsaved state for {} (id {})", state.name, state.id);
+            }
+        }
+    }
+
+    // ========================== Membership ==========================
+
+    /**
+     * Start serving {@code record} from memory. If the character is already attached (a second
+     * session for the same character) the existing, possibly newer, state is kept.
+     */
+    State attach(int characterId, CharacterRecord record, Map<String, String> flags) {
+        State state = byId.computeIfAbsent(characterId, id -> {
+            State fresh = new State(id, record);
+            fresh.flags.putAll(flags);
+            return fresh;
+        });
+        synchronized (state) {
+            // Logging back in before a failed logout flush was retried: keep serving the state
+            state.releasing = false;
+        }
+        byName.put(state.name, state);
+        return state;
+    }
+
+    /**
+     * Flush the character's pending changes and stop caching it. If the write fails the state
+     * stays attached, still dirty, and {@link #flushAll} completes the logout once it is written.
+     */
+    void detach(int characterId) {
+        State state = byId.get(characterId);
+        if (state == null) return;
+        // The write runs without the state's lock, so repeat it until no change slipped in meanwhile.
+        // Once detached, further changes go straight to the database.
+        while (true) {
+            synchronized (state) {
+                if (!state.isDirty()) {
+                    state.detached = true;
+                    break;
+                }
+            }
+            if (!flushOne(state)) {
+                synchronized (state) {
+                    state.releasing = true;
+                }
+                logger.warn("[CharacterStateCache] Logout flush failed for {} (id {}); will retry",
+                        state.name, characterId);
+                return;
+            }
+        }
+        remove(state);
+    }
+
+    private void remove(State state) {
+        byId.remove(state.id, state);
+        byName.remove(state.name, state);
+    }
+
+    /** Detach logged-out characters whose retried flush has now gone through. */
+    private void completeReleases() {
+        for (State state : byId.values()) {
+            synchronized (state) {
+                if (!state.releasing || state.writing || state.isDirty()) continue;
+                state.detached = true;
+            }
+            remove(state);
+        }
+    }
+
+    State get(int characterId) {
+        return byId.get(characterId);
+    }
+
+    State get(String name) {
+        return name == null ? null : byName.get(name);
+    }
+
+    Collection<State> states() {
+        return byId.values();
+    }
+
+    // ========================== Flushing ==========================
+
+    /** Write one character's pending changes now (e.g. after death). */
+    void flush(int characterId) {
+        State state = byId.get(characterId);
+        if (state != null) flushOne(state);
+    }
+
+    /**
+     * @return true if the record is now written and clean; false if the write failed, or ran on
+     *         the caller's transaction and so leaves the record dirty
+     */
+    private boolean flushOne(State state) {
+        if (TransactionManager.isInTransaction()) {
+            syncForTransaction(state);
+            return false;
+        }
+        state.claim();
+        try {
+            Pending p = pending(state);
+            return p == null || write(List.of(p), true);
+        } finally {
+            state.release();
+        }
+    }
+
+    /**
+     * Write a dirty record on the caller's connection without marking it clean. Used before a
+     * transactional SQL write so the statement sees the cached values; if the transaction rolls
+     * back the record simply stays dirty.
+     */
+    void syncForTransaction(State state) {
+        Pending p = pending(state);
+        if (p != null) write(List.of(p), false);
+    }
+
+    /**
+     * Write every dirty record in one batch. Records another flush is writing are left for the
+     * next round. Characters whose logout flush failed are detached once written.
+     * @return number of characters written
+     */
+    public int flushAll() {
+        List<Pending> batch = new ArrayList<>();
+        for (State state : byId.values()) {
+            if (!state.tryClaim()) continue;
+            Pending p = pending(state);
+            if (p != null) batch.add(p); else state.release();
+        }
+        int written = 0;
+        if (!batch.isEmpty()) {
+            try {
+                if (write(batch, true)) written = batch.size();
+            } finally {
+                for (Pending p : batch) p.state().release();
+            }
+        }
+        completeReleases();
+        return written;
+    }
+
+    private static Pending pending(State state) {
+        synchronized (state) {
+            if (!state.isDirty()) return null;
+            return new Pending(state, state.record, state.version);
+        }
+    }
+
+    private boolean write(List<Pending> batch, boolean markFlushed) {
+        long start = System.nanoTime();
+        boolean inTx = TransactionManager.isInTransaction();
+        try (Connection c = inTx ? TransactionManager.getConnection() : connections.get();
+             PreparedStatement ps = c.prepareStatement(FLUSH_SQL)) {
+            if (!inTx) c.setAutoCommit(false);
+            for (Pending p : batch) {
+                bind(ps, p.state().id, p.record());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            if (!inTx) c.commit();
+        } catch (SQLException e) {
+            failures.incrementAndGet();
+            logger.warn("[CharacterStateCache] Failed to flush {} character(s): {}", batch.size(), e.getMessage());
+            return false;
+        }
+        if (markFlushed && !inTx) {
+            for (Pending p : batch) p.state().markFlushed(p.version());
+        }
+        flushes.incrementAndGet();
+        rowsWritten.addAndGet(batch.size());
+        lastFlushMs = (System.nanoTime() - start) / 1_000_000;
+        logger.debug("[CharacterStateCache] Flushed {} character(s) in {}ms", batch.size(), lastFlushMs);
+        return true;
+    }
+
+    private static void bind(PreparedStatement ps, int id, CharacterRecord r) throws SQLException {
+        int i = 1;
+        ps.setInt(i++, r.hpMax);
+        ps.setInt(i++, r.hpCur);
+        ps.setInt(i++, r.mpMax);
+        ps.setInt(i++, r.mpCur);
+        ps.setInt(i++, r.mvMax);
+        ps.setInt(i++, r.mvCur);
+        ps.setInt(i++, r.kiMax);
+        ps.setInt(i++, r.kiCur);
+        if (r.currentRoom == null) ps.setNull(i++, Types.INTEGER); else ps.setInt(i++, r.currentRoom);
+        ps.setLong(i++, r.goldPieces);
+        ps.setInt(i++, r.autoflee);
+        ps.setString(i++, r.title);
+        ps.setInt(i++, r.talentPoints);
+        ps.setInt(i++, r.trainedStr);
+        ps.setInt(i++, r.trainedDex);
+        ps.setInt(i++, r.trainedCon);
+        ps.setInt(i++, r.trainedInt);
+        ps.setInt(i++, r.trainedWis);
+        ps.setInt(i++, r.trainedCha);
+        ps.setBoolean(i++, r.autoloot);
+        ps.setBoolean(i++, r.autogold);
+        ps.setBoolean(i++, r.autosac);
+        ps.setBoolean(i++, r.autojunk);
+        ps.setBoolean(i++, r.autoassist);
+        ps.setBoolean(i++, r.deafChat);
+        ps.setBoolean(i++, r.deafYell);
+        ps.setInt(i, id);
+    }
+
+    public Stats stats() {
+        int dirty = 0;
+        for (State s : byId.values()) {
+            if (s.isDirty()) dirty++;
+        }
+        return new Stats(byId.size(), dirty, flushes.get(), rowsWritten.get(), failures.get(), lastFlushMs);
+    }
+}
@@ -0,0 +1,507 @@
+package com.example.tassmud.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Small bounded JDBC connection pool used by {@link TransactionManager}.
+ *
+ * <p>Physical connections are opened lazily up to {@link Config#maxSize} and handed out
+ * as proxies whose {@code close()} returns the connection to the pool instead of closing it,
+ * so existing DAO try-with-resources blocks work unchanged. Idle connections are kept in
+ * LIFO order so the warmest connection is reused first.
+ *
+ * <p>Each physical connection also keeps a small LRU cache of {@link PreparedStatement}s keyed
+ * by SQL text. DAOs keep calling {@code c.prepareStatement(sql)} and closing the result as usual;
+ * the pool hands back the already-parsed statement and turns {@code close()} into a
+ * parameter reset, so H2 parses and plans each constant query once per connection.
+ *
+ * <p>A daemon housekeeping thread evicts connections idle longer than
+ * {@link Config#idleTimeoutMs} (down to {@link Config#minIdle}). With leak detection enabled
+ * ({@link Config#leakThresholdMs} above 0; off by default) it also logs a warning with the
+ * borrow site for any connection held longer than the threshold.
+ *
+ * <p>Configuration comes from system properties (see {@link Config#fromSystemProperties()}).
+ */
+public final class ConnectionPool implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPool.class);
+
+    /** Pool tuning. All values are read once when the pool is created. */
+    public record Config(int maxSize,
+                         int minIdle,
+                         long borrowTimeoutMs,
+                         long idleTimeoutMs,
+                         long validateAfterIdleMs,
+                         int validationTimeoutSec,
+                         long leakThresholdMs,
+                         long housekeepingIntervalMs,
+                         int statementCacheSize) {
+
+        /**
+         * Build a config from {@code tassmud.db.pool.*} system properties:
+         * {@code size} (10), {@code minIdle} (2), {@code borrowTimeoutMs} (5000),
+         * {@code idleTimeoutMs} (300000), {@code validateAfterIdleMs} (30000),
+         * {@code validationTimeoutSec} (2), {@code leakThresholdMs} (0 = off; when set, every
+         * borrow records its stack trace, so enable it only to hunt a leak),
+         * {@code housekeepingIntervalMs} (30000), {@code statementCacheSize} (64, 0 disables).
+         */
+        public static Config fromSystemProperties() {
+            int size = Math.max(1, intProp("tassmud.db.pool.size", 10));
+            return new Config(
+                    size,
+                    Math.min(size, Math.max(0, intProp("tassmud.db.pool.minIdle", 2))),
+                    longProp("tassmud.db.pool.borrowTimeoutMs", 5_000),
+                    longProp("tassmud.db.pool.idleTimeoutMs", 300_000),
+                    longProp("tassmud.db.pool.validateAfterIdleMs", 30_000),
+                    intProp("tassmud.db.pool.validationTimeoutSec", 2),
+                    longProp("tassmud.db.pool.leakThresholdMs", 0),
+                    longProp("tassmud.db.pool.housekeepingIntervalMs", 30_000),
+                    Math.max(0, intProp("tassmud.db.pool.statementCacheSize", 64)));
+        }
+
+        private static int intProp(String key, int def) {
+            try { return Integer.parseInt(System.getProperty(key, Integer.toString(def)).trim()); }
+            catch (NumberFormatException e) { return def; }
+        }
+
+        private static long longProp(String key, long def) {
+            try { return Long.parseLong(System.getProperty(key, Long.toString(def)).trim()); }
+            catch (NumberFormatException e) { return def; }
+        }
+    }
+
+    /** Point-in-time pool metrics, suitable for GM display or logging. */
+    public record Stats(int maxSize,
+                        int active,
+                        int idle,
+                        long borrows,
+                        long created,
+                        long destroyed,
+                        long timeouts,
+                        long validationFailures,
+                        long leaksDetected,
+                        double avgWaitMs,
+                        long maxWaitMs,
+                        long statementHits,
+                        long statementMisses,
+                        long statementEvictions) {
+
+        /** @return fraction of prepareStatement calls served from the statement cache */
+        public double statementHitRatio() {
+            long total = statementHits + statementMisses;
+            return total == 0 ? 0.0 : statementHits / (double) total;
+        }
+    }
+
+    private final String url;
+    private final String user;
+    private final String pass;
+    private final Config config;
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed = false;
+
+    private final AtomicLong borrows = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong destroyed = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong validationFailures = new AtomicLong();
+    private final AtomicLong leaksDetected = new AtomicLong();
+    private final AtomicLong waitNanosTotal = new AtomicLong();
+    private final AtomicLong waitNanosMax = new AtomicLong();
+    private final AtomicLong statementHits = new AtomicLong();
+    private final AtomicLong statementMisses = new AtomicLong();
+    private final AtomicLong statementEvictions = new AtomicLong();
+
+    public ConnectionPool(String url, String user, String pass, Config config) {
+        this.url = url;
+        this.user = user;
+        this.pass = pass;
+        this.config = config;
+        this.permits = new Semaphore(config.maxSize(), true);
+        if (config.housekeepingIntervalMs() > 0) {
+            this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "tassmud-db-pool");
+                t.setDaemon(true);
+                return t;
+            });
+            this.housekeeper.scheduleWithFixedDelay(this::housekeep,
+                    config.housekeepingIntervalMs(), config.housekeepingIntervalMs(), TimeUnit.MILLISECONDS);
+        } else {
+            this.housekeeper = null;
+        }
+        logger.info("[db-pool] Created pool for {} (max={}, minIdle={}, idleTimeout={}ms, leakThreshold={}ms)",
+                url, config.maxSize(), config.minIdle(), config.idleTimeoutMs(), config.leakThresholdMs());
+    }
+
+    /**
+     * Borrow a connection, blocking up to {@link Config#borrowTimeoutMs} if the pool is exhausted.
+     * The returned connection must be closed to give it back.
+     *
+     * @throws SQLTimeoutException if no connection became available in time
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) throw new SQLException("Connection pool is closed");
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(config.borrowTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                timeouts.incrementAndGet();
+                throw new SQLTimeoutException("Timed out after " + config.borrowTimeoutMs()
+                        + "ms waiting for a database connection (active=" + borrowed.size()
+                        + ", max=" + config.maxSize() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        recordWait(System.nanoTime() - start);
+
+        try {
+            PooledConnection pc = takeIdleOrCreate();
+            pc.borrowedAt = System.currentTimeMillis();
+            pc.borrowThread = Thread.currentThread().getName();
+            pc.borrowSite = config.leakThresholdMs() > 0 ? new Throwable("Connection borrowed here") : null;
+            pc.leakReported = false;
+            borrowed.add(pc);
+            borrows.incrementAndGet();
+            return pc.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledConnection takeIdleOrCreate() throws SQLException {
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) {
+            if (isUsable(pc)) return pc;
+            validationFailures.incrementAndGet();
+            destroy(pc);
+        }
+        Connection physical = DriverManager.getConnection(url, user, pass);
+        created.incrementAndGet();
+        return new PooledConnection(physical);
+    }
+
+    private boolean isUsable(PooledConnection pc) {
+        try {
+            if (pc.physical.isClosed()) return false;
+            long idleFor = System.currentTimeMillis() - pc.lastReturnedAt;
+            if (idleFor < config.validateAfterIdleMs()) return true;
+            return pc.physical.isValid(config.validationTimeoutSec());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /** Called by a handle's {@code close()}. Resets connection state and returns it to the idle deque. */
+    private void release(PooledConnection pc) {
+        if (!borrowed.remove(pc)) return;
+        try {
+            boolean reusable = !closed && !pc.physical.isClosed();
+            if (reusable && !pc.physical.getAutoCommit()) {
+                // A caller left a transaction open — never leak uncommitted work to the next borrower
+                pc.physical.rollback();
+                pc.physical.setAutoCommit(true);
+            }
+            if (reusable) {
+                pc.lastReturnedAt = System.currentTimeMillis();
+                pc.borrowSite = null;
+                idle.offerFirst(pc);
+            } else {
+                destroy(pc);
+            }
+        } catch (SQLException e) {
+            logger.debug("[db-pool] Discarding connection that failed reset: {}", e.getMessage());
+            destroy(pc);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void destroy(PooledConnection pc) {
+        destroyed.incrementAndGet();
+        pc.statements.clear(); // closing the physical connection closes its statements
+        try {
+            pc.physical.close();
+        } catch (SQLException e) {
+            logger.debug("[db-pool] Error closing physical connection: {}", e.getMessage());
+        }
+    }
+
+    private void recordWait(long nanos) {
+        waitNanosTotal.addAndGet(nanos);
+        waitNanosMax.accumulateAndGet(nanos, Math::max);
+    }
+
+    /** Evict long-idle connections and report suspected leaks. Runs on the housekeeping thread. */
+    void housekeep() {
+        try {
+            long now = System.currentTimeMillis();
+            // Oldest idle connections sit at the tail of the deque
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext() && idle.size() > config.minIdle()) {
+                PooledConnection pc = it.next();
+                if (now - pc.lastReturnedAt >= config.idleTimeoutMs() && idle.remove(pc)) {
+                    destroy(pc);
+                }
+            }
+
+            if (config.leakThresholdMs() > 0) {
+                for (PooledConnection pc : borrowed) {
+                    long heldFor = now - pc.borrowedAt;
+                    if (!pc.leakReported && heldFor >= config.leakThresholdMs()) {
+                        pc.leakReported = true;
+                        leaksDetected.incrementAndGet();
+                        logger.warn("[db-pool] Possible connection leak: held {}ms by thread '{}'",
+                                heldFor, pc.borrowThread, pc.borrowSite);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("[db-pool] Housekeeping failed: {}", e.getMessage(), e);
+        }
+    }
+
+    public Stats stats() {
+        long n = borrows.get();
+        double avgWaitMs = n == 0 ? 0.0 : (waitNanosTotal.get() / (double) n) / 1_000_000.0;
+        return new Stats(config.maxSize(), borrowed.size(), idle.size(), n,
+                created.get(), destroyed.get(), timeouts.get(), validationFailures.get(),
+                leaksDetected.get(), avgWaitMs, TimeUnit.NANOSECONDS.toMillis(waitNanosMax.get()),
+                statementHits.get(), statementMisses.get(), statementEvictions.get());
+    }
+
+    public Config getConfig() {
+        return config;
+    }
+
+    /** Close all idle connections and stop housekeeping. Borrowed connections are closed when returned. */
+    @Override
+    public void close() {
+        closed = true;
+        if (housekeeper != null) housekeeper.shutdownNow();
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) {
+            destroy(pc);
+        }
+        logger.info("[db-pool] Closed (borrows={}, created={}, leaks={})",
+                borrows.get(), created.get(), leaksDetected.get());
+    }
+
+    /**
+     * One physical connection plus its bookkeeping. Each borrow gets a fresh handle proxy so
+     * that a stale handle closed twice cannot return the connection to the pool a second time.
+     */
+    private final class PooledConnection {
+        final Connection physical;
+        /** LRU statement cache; only touched by the thread currently holding this connection. */
+        final LinkedHashMap<String, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                if (size() <= config.statementCacheSize()) return false;
+                statementEvictions.incrementAndGet();
+                eldest.getValue().evict();
+                return true;
+            }
+        };
+        volatile long lastReturnedAt = System.currentTimeMillis();
+        volatile long borrowedAt;
+        volatile String borrowThread;
+        volatile Throwable borrowSite;
+        volatile boolean leakReported;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        /**
+         * Return the cached statement for {@code key}, preparing it on first use. If the cached
+         * statement is still open by an outer caller (e.g. a nested DAO call while iterating a
+         * ResultSet in a transaction), a plain uncached statement is returned instead so the
+         * outer ResultSet is not clobbered.
+         */
+        PreparedStatement prepareCached(String key, String sql, boolean generatedKeys, Connection owner) throws SQLException {
+            CachedStatement cached = statements.get(key);
+            if (cached != null && cached.inUse) {
+                statementMisses.incrementAndGet();
+                return (PreparedStatement) ownedBy(generatedKeys
+                        ? physical.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                        : physical.prepareStatement(sql), owner);
+            }
+            if (cached != null && !cached.physical.isClosed()) {
+                statementHits.incrementAndGet();
+            } else {
+                statementMisses.incrementAndGet();
+                PreparedStatement ps = generatedKeys
+                        ? physical.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                        : physical.prepareStatement(sql);
+                cached = new CachedStatement(ps);
+                statements.put(key, cached);
+            }
+            cached.inUse = true;
+            return cached.newHandle(owner);
+        }
+
+        Connection newHandle() {
+            final boolean[] handleClosed = { false };
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class },
+                    (proxy, method, args) -> {
+                        String name = method.getName();
+                        if ("close".equals(name)) {
+                            if (!handleClosed[0]) {
+                                handleClosed[0] = true;
+                                release(this);
+                            }
+                            return null;
+                        }
+                        if ("isClosed".equals(name)) {
+                            return handleClosed[0] || physical.isClosed();
+                        }
+                        if (handleClosed[0]) {
+                            throw new SQLException("Connection has been returned to the pool");
+                        }
+                        if ("prepareStatement".equals(name) && config.statementCacheSize() > 0
+                                && args != null && args[0] instanceof String sql) {
+                            Connection owner = (Connection) proxy;
+                            if (args.length == 1) return prepareCached(sql, sql, false, owner);
+                            if (args.length == 2 && args[1] instanceof Integer keys) {
+                                // Key generation changes the physical statement, so cache it separately
+                                return prepareCached(keys + "\u0000" + sql, sql, keys == Statement.RETURN_GENERATED_KEYS, owner);
+                            }
+                        }
+                        Object result;
+                        try {
+                            result = method.invoke(physical, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                        return result instanceof Statement st ? ownedBy(st, (Connection) proxy) : result;
+                    });
+        }
+    }
+
+    /**
+     * Wrap an uncached statement so {@code getConnection()} returns the pooled handle rather than
+     * the physical connection; closing that would otherwise close the connection under the pool.
+     */
+    private static Statement ownedBy(Statement physical, Connection owner) {
+        Class<?> type = physical instanceof CallableStatement ? CallableStatement.class
+                : physical instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        return (Statement) Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    if ("getConnection".equals(method.getName())) {
+                        return owner;
+                    }
+                    try {
+                        return method.invoke(physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    /**
+     * A physical prepared statement owned by a pooled connection's cache. Handles returned to
+     * DAOs turn {@code close()} into a parameter reset; the statement is really closed only when
+     * it is evicted from the LRU or its connection is destroyed.
+     */
+    private static final class CachedStatement {
+        final PreparedStatement physical;
+        boolean inUse;
+        boolean evicted;
+
+        CachedStatement(PreparedStatement physical) {
+            this.physical = physical;
+        }
+
+        void evict() {
+            evicted = true;
+            if (!inUse) closeQuietly();
+        }
+
+        void release() {
+            inUse = false;
+            if (evicted) {
+                closeQuietly();
+                return;
+            }
+            try {
+                physical.clearParameters();
+                physical.clearBatch();
+            } catch (SQLException e) {
+                // A statement that cannot be reset is not safe to hand out again
+                evicted = true;
+                closeQuietly();
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                physical.close();
+            } catch (SQLException ignored) {
+            }
+        }
+
+        PreparedStatement newHandle(Connection owner) {
+            final boolean[] handleClosed = { false };
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class },
+                    (proxy, method, args) -> {
+                        String name = method.getName();
+                        if ("close".equals(name)) {
+                            if (!handleClosed[0]) {
+                                handleClosed[0] = true;
+                                release();
+                            }
+                            return null;
+                        }
+                        if ("isClosed".equals(name)) {
+                            return handleClosed[0] || physical.isClosed();
+                        }
+                        if (handleClosed[0]) {
+                            throw new SQLException("Statement is closed");
+                        }
+                        if ("getConnection".equals(name)) {
+                            return owner;
+                        }
+                        try {
+                            return method.invoke(physical, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -27,6 +27,12 @@ public class DataLoader {
 
     // Mapping from MERC-specified area id -> persisted DB area id when importing MERC dirs
     private static final Map<Integer,Integer> mercAreaIdMap = new HashMap<>();
+    // Settings key holding "<import version>:<resource hash>" of the last complete world import into this DB
+    private static final String WORLD_IMPORT_SETTING = "world.import.hash";
+    // Bump when the world import writes different rows for the same resources, forcing one full re-import
+    private static final int WORLD_IMPORT_VERSION = 1;
+    // Parsed world resources for the load in progress (see WorldSnapshot)
+    private static WorldSnapshot world;
     // Simple CSV loader for initial data. Files are in classpath under /data/
     // - skills.csv: name,description
     // - spells.csv: name,description
@@ -35,67 +41,269 @@ public class DataLoader {
     // Room exits reference room `key` values (resolved after insertion)
 
     public static void loadDefaults(CharacterDAO dao) {
+        PhaseTimes times = new PhaseTimes();
         loadSkills(dao);
+        times.lap("skills");
         loadSpells(dao);
+        times.lap("spells");
         // Load effects definitions (custom effect engine)
         try {
             loadEffects();
         } catch (Exception e) {
             logger.warn("Failed to load effects.yaml: {}", e.getMessage());
         }
-        Map<String,Integer> areaMap = loadAreas(dao);
-        Map<String,Integer> roomKeyToId = loadRoomsFirstPass(dao, areaMap);
-        loadRoomsSecondPass(dao, roomKeyToId);
-        // Nullify exits pointing to nonexistent rooms (MERC fix_exits equivalent)
-        int fixedExits = DaoProvider.rooms().fixExits();
-        if (fixedExits > 0) {
-            logger.warn("[DataLoader] fix_exits: nullified {} dangling room exit(s)", fixedExits);
-        } else {
-            logger.info("[DataLoader] fix_exits: all room exits are valid");
+        times.lap("effects");
+        world = openWorldSnapshot();
+        times.lap("snapshot");
+        String imported = world.hash() != null ? WORLD_IMPORT_VERSION + ":" + world.hash() : null;
+        boolean persist = imported == null || Boolean.getBoolean("tassmud.world.reimport")
+            || !imported.equals(DaoProvider.settings().getSetting(WORLD_IMPORT_SETTING));
+        if (!persist) {
+            logger.info("[DataLoader] World resources unchanged since the last import; only resetting doors");
         }
-        // Load item templates from YAML resource into item_template table
-        ItemDAO itemDao = null;
+        boolean importOk = true;
         try {
-            itemDao = DaoProvider.items();
-            itemDao.loadTemplatesFromYamlResource("/data/items.yaml");
-            // Also load any MERC-area-specific item template files under /data/MERC/*/items.yaml
-            List<String> mercDirs = listMercAreaDirs();
-            for (String dir : mercDirs) {
-                String mercItemsPath = "/data/MERC/" + dir + "/items.yaml";
-                try (InputStream in = DataLoader.class.getResourceAsStream(mercItemsPath)) {
-                    if (in == null) continue;
-                    itemDao.loadTemplatesFromYamlResource(mercItemsPath);
-                    logger.info("[DataLoader] Loaded MERC items from {}", mercItemsPath);
+            parseWorldDocuments(world, persist);
+            times.lap("parse");
+            // Each write phase below commits once, in resource order
+            Map<String,Integer> areaMap = TransactionManager.runInTransaction(() -> loadAreas(dao, persist));
+            times.lap("areas");
+            Map<String,Integer> roomKeyToId = TransactionManager.runInTransaction(() -> loadRoomsFirstPass(dao, areaMap, persist));
+            times.lap("rooms");
+            // Always runs: doors are opened, closed and locked in play, and start from their YAML state
+            TransactionManager.runInTransaction(() -> loadRoomsSecondPass(dao, roomKeyToId, persist));
+            // Nullify exits pointing to nonexistent rooms (MERC fix_exits equivalent)
+            int fixedExits = DaoProvider.rooms().fixExits();
+            if (fixedExits > 0) {
+                logger.warn("[DataLoader] fix_exits: nullified {} dangling room exit(s)", fixedExits);
+            } else {
+                logger.info("[DataLoader] fix_exits: all room exits are valid");
+            }
+            times.lap("exits");
+            // Load item templates from YAML resource into item_template table
+            ItemDAO itemDao = null;
+            try {
+                itemDao = DaoProvider.items();
+                if (persist) {
+                    loadItemTemplates(itemDao, "/data/items.yaml");
+                    // Also load any MERC-area-specific item template files under /data/MERC/*/items.yaml
+                    List<String> mercDirs = listMercAreaDirs();
+                    for (String dir : mercDirs) {
+                        String mercItemsPath = "/data/MERC/" + dir + "/items.yaml";
+                        try {
+                            if (loadItemTemplates(itemDao, mercItemsPath)) {
+                                logger.info("[DataLoader] Loaded MERC items from {}", mercItemsPath);
+                            }
+                        } catch (Exception e) {
+                            importOk = false;
+                            logger.warn("[DataLoader] Failed to load MERC items from {}: {}", mercItemsPath, e.getMessage());
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                importOk = false;
+                logger.warn("Failed to load items.yaml: {}", e.getMessage());
+            }
+            times.lap("items");
+            // Load character classes from YAML resource
+            try {
+                CharacterClassDAO classDao = DaoProvider.classes();
+                classDao.loadClassesFromYamlResource("/data/classes.yaml");
+            } catch (Exception e) {
+                logger.warn("Failed to load classes.yaml: {}", e.getMessage());
+            }
+            times.lap("classes");
+            // Load mobile templates from YAML resource
+            if (persist) {
+                try {
+                    loadMobileTemplates();
                 } catch (Exception e) {
-                    logger.warn("[DataLoader] Failed to load MERC items from {}: {}", mercItemsPath, e.getMessage());
+                    importOk = false;
+                    logger.warn("Failed to load mobiles.yaml: {}", e.getMessage());
                 }
             }
-        } catch (Exception e) {
-            logger.warn("Failed to load items.yaml: {}", e.getMessage());
+            times.lap("mobiles");
+            // Load shop menus from YAML resource
+            try {
+                ShopDAO.loadFromYamlResource("/data/shops.yaml");
+            } catch (Exception e) {
+                logger.warn("Failed to load shops.yaml: {}", e.getMessage());
+            }
+            times.lap("shops");
+            // Spawn permanent room items (e.g., tutorial containers)
+            if (itemDao != null) {
+                spawnPermanentRoomItems(itemDao);
+            }
+            times.lap("room items");
+            if (persist && importOk && imported != null) {
+                DaoProvider.settings().setSetting(WORLD_IMPORT_SETTING, imported);
+            }
+            saveWorldSnapshot(world);
+            times.lap("snapshot write");
+        } finally {
+            world = null;
+        }
+        logger.info("[DataLoader] Loaded defaults in {}ms: {}", times.totalMs(), times);
+    }
+
+    /** Wall time of each load phase, for the startup summary. */
+    private static final class PhaseTimes {
+        private final StringBuilder summary = new StringBuilder();
+        private final long start = System.nanoTime();
+        private long last = start;
+
+        /** Record the time since the previous lap (or the start) under {@code phase}. */
+        void lap(String phase) {
+            long now = System.nanoTime();
+            if (summary.length() > 0) summary.append(", ");
+            summary.append(phase).append('=').append((now - last) / 1_000_000).append("ms");
+            last = now;
+        }
+
+        long totalMs() {
+            return (System.nanoTime() - start) / 1_000_000;
+        }
+
+        @Override
+        public String toString() {
+            return summary.toString();
         }
-        // Load character classes from YAML resource
+    }
+
+    /**
+     * Parse the world documents the import is about to read into {@code snapshot}, one fork-join
+     * task per MERC area (see {@link #parseDocuments}). The import then reads the documents from
+     * the snapshot in its usual order, which keeps the DB writes sequential. Documents already in
+     * the snapshot are not parsed again.
+     *
+     * <p>Parallelism comes from {@code tassmud.loader.threads} (default: available processors);
+     * 1 leaves parsing to the import itself.
+     */
+    private static void parseWorldDocuments(WorldSnapshot snapshot, boolean persist) {
+        int threads = Integer.getInteger("tassmud.loader.threads", Runtime.getRuntime().availableProcessors());
+        if (threads <= 1) return;
+        // Without an import only areas and rooms are read (to register spawns)
+        List<String> files = persist
+            ? List.of("areas.yaml", "rooms.yaml", "items.yaml", "mobiles.yaml")
+            : List.of("areas.yaml", "rooms.yaml");
+        List<List<String>> groups = new ArrayList<>();
+        if (persist) {
+            groups.add(List.of("/data/items.yaml"));
+            groups.add(List.of("/data/mobiles.yaml"));
+        }
+        for (String dir : listMercAreaDirs()) {
+            List<String> group = new ArrayList<>();
+            for (String name : files) group.add("/data/MERC/" + dir + "/" + name);
+            groups.add(group);
+        }
+        parseDocuments(snapshot, groups, threads);
+    }
+
+    /**
+     * Parse each group of world resources into {@code snapshot}: one fork-join task per group on
+     * {@code threads} workers, or group by group on the caller when {@code threads} is 1. A
+     * resource that fails to parse is left out of the snapshot, so the import parses it again
+     * and reports the failure; the rest of its group is still parsed.
+     */
+    static void parseDocuments(WorldSnapshot snapshot, List<List<String>> groups, int threads) {
+        if (threads <= 1) {
+            for (List<String> group : groups) parseGroup(snapshot, group);
+            return;
+        }
+        java.util.concurrent.ForkJoinPool pool = new java.util.concurrent.ForkJoinPool(threads);
         try {
-            CharacterClassDAO classDao = DaoProvider.classes();
-            classDao.loadClassesFromYamlResource("/data/classes.yaml");
-        } catch (Exception e) {
-            logger.warn("Failed to load classes.yaml: {}", e.getMessage());
+            List<java.util.concurrent.ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (List<String> group : groups) {
+                tasks.add(pool.submit(() -> parseGroup(snapshot, group)));
+            }
+            for (java.util.concurrent.ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+        } finally {
+            pool.shutdown();
         }
-        // Load mobile templates from YAML resource
+    }
+
+    private static void parseGroup(WorldSnapshot snapshot, List<String> group) {
+        // SnakeYAML instances are not thread-safe: one per group
+        org.yaml.snakeyaml.Yaml yaml = new org.yaml.snakeyaml.Yaml();
+        for (String path : group) {
+            try {
+                if (path.endsWith("/mobiles.yaml")) {
+                    snapshot.document(path, text -> parseMobileYaml(yaml, text));
+                } else {
+                    snapshot.document(path, yaml::load);
+                }
+            } catch (Exception e) {
+                logger.debug("[DataLoader] Parallel parse of {} failed: {}", path, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Hash the world resources and open the matching snapshot file, or an empty snapshot that
+     * records documents as they are parsed.
+     */
+    private static WorldSnapshot openWorldSnapshot() {
+        String hash;
         try {
-            loadMobileTemplates();
+            hash = WorldSnapshot.contentHash(worldResourcePaths());
         } catch (Exception e) {
-            logger.warn("Failed to load mobiles.yaml: {}", e.getMessage());
+            logger.warn("[DataLoader] Could not hash world resources, importing without a snapshot: {}", e.getMessage());
+            return WorldSnapshot.empty(null);
         }
-        // Load shop menus from YAML resource
+        java.nio.file.Path file = WorldSnapshot.configuredPath();
+        if (file != null) {
+            long start = System.currentTimeMillis();
+            WorldSnapshot snapshot = WorldSnapshot.read(file, hash);
+            if (snapshot != null) {
+                logger.info("[DataLoader] Loaded world snapshot {} ({} documents) in {}ms",
+                    file, snapshot.documentCount(), System.currentTimeMillis() - start);
+                return snapshot;
+            }
+        }
+        return WorldSnapshot.empty(hash);
+    }
+
+    private static void saveWorldSnapshot(WorldSnapshot snapshot) {
+        java.nio.file.Path file = WorldSnapshot.configuredPath();
+        if (file == null || snapshot.hash() == null || !snapshot.isDirty()) return;
         try {
-            ShopDAO.loadFromYamlResource("/data/shops.yaml");
+            snapshot.write(file);
+            logger.info("[DataLoader] Wrote world snapshot {} ({} documents)", file, snapshot.documentCount());
         } catch (Exception e) {
-            logger.warn("Failed to load shops.yaml: {}", e.getMessage());
+            logger.warn("[DataLoader] Could not write world snapshot {}: {}", file, e.getMessage());
         }
-        // Spawn permanent room items (e.g., tutorial containers)
-        if (itemDao != null) {
-            spawnPermanentRoomItems(itemDao);
+    }
+
+    /** Every resource whose contents feed the world import, i.e. what the snapshot hash covers. */
+    private static List<String> worldResourcePaths() {
+        List<String> paths = new ArrayList<>(List.of("/data/areas.yaml", "/data/rooms.yaml", "/data/items.yaml", "/data/mobiles.yaml"));
+        for (String dir : listMercAreaDirs()) {
+            for (String name : List.of("areas.yaml", "rooms.yaml", "items.yaml", "mobiles.yaml")) {
+                paths.add("/data/MERC/" + dir + "/" + name);
+            }
         }
+        return paths;
+    }
+
+    /** Parsed YAML for a world resource, from the open snapshot when there is one; null if the resource is missing. */
+    private static Object worldDocument(String resourcePath) throws java.io.IOException {
+        return worldDocument(resourcePath, text -> new org.yaml.snakeyaml.Yaml().load(text));
+    }
+
+    private static Object worldDocument(String resourcePath, java.util.function.Function<String, Object> parser) throws java.io.IOException {
+        WorldSnapshot snapshot = world;
+        return snapshot != null ? snapshot.document(resourcePath, parser) : WorldSnapshot.parseResource(resourcePath, parser);
+    }
+
+    /** @return false if the resource does not exist */
+    @SuppressWarnings("unchecked")
+    private static boolean loadItemTemplates(ItemDAO itemDao, String resourcePath) throws java.io.IOException {
+        Map<String, Object> data = (Map<String, Object>) worldDocument(resourcePath);
+        if (data == null) return false;
+        itemDao.loadTemplatesFromYaml(data, resourcePath);
+        return true;
     }
 
     /**
@@ -143,6 +351,21 @@ public class DataLoader {
         return out.toString();
     }
 
+    /**
+     * Build the in-memory item, mobile, skill and spell catalogs from the template tables. Run
+     * once the YAML import is done; template reads use SQL until then, and again after any later
+     * template write until this is called.
+     *
+     * @return true if every catalog loaded
+     */
+    public static boolean loadTemplateCatalogs() {
+        boolean items = DaoProvider.items().loadTemplateCatalog() != null;
+        boolean mobiles = DaoProvider.mobiles().loadTemplateCatalog() != null;
+        boolean skills = DaoProvider.skills().loadSkillCatalog() != null;
+        boolean spells = DaoProvider.spells().loadSpellCatalog() != null;
+        return items && mobiles && skills && spells;
+    }
+
     /**
      * Seed item and mobile templates (including MERC files) into the currently-configured DB
      * without modifying character or runtime instance tables. After loading templates this
@@ -176,6 +399,9 @@ public class DataLoader {
             logger.warn("[DataLoader] Failed to load mobile templates: {}", e.getMessage());
         }
 
+        // The imports above dropped the template catalogs; rebuild them before spawning
+        loadTemplateCatalogs();
+
         // Trigger initial spawns if any spawns were registered earlier
         try {
             com.example.tassmud.event.SpawnManager.getInstance().triggerInitialSpawns();
@@ -218,35 +444,39 @@ public class DataLoader {
     }
     
     /**
-     * Load mobile templates from YAML resource.
+     * Parse a mobiles YAML file. Mobile files may carry Python-style template_json flow maps,
+     * which are sanitized into block scalars when the plain parse fails.
+     */
+    private static Object parseMobileYaml(org.yaml.snakeyaml.Yaml yaml, String content) {
+        try {
+            return yaml.load(content);
+        } catch (Exception parseEx) {
+            logger.warn("[DataLoader] YAML parse failed, attempting sanitizer: {}", parseEx.getMessage(), parseEx);
+            // Attempt to sanitize Python-style flow dicts for template_json into block scalars
+            String sanitized = sanitizeTemplateJsonFlowMaps(content);
+            try {
+                Object parsed = yaml.load(sanitized);
+                logger.info("[DataLoader] YAML parse succeeded after sanitizing template_json flow maps");
+                return parsed;
+            } catch (Exception parseEx2) {
+                logger.warn("[DataLoader] Sanitized parse also failed: {}", parseEx2.getMessage(), parseEx2);
+                throw new RuntimeException(parseEx2);
+            }
+        }
+    }
+
+    /**
+     * Load mobile templates from YAML resource. Each file's upserts commit as one transaction.
      */
     private static void loadMobileTemplates() {
         MobileDAO mobileDao = DaoProvider.mobiles();
         java.util.concurrent.atomic.AtomicInteger totalLoaded = new java.util.concurrent.atomic.AtomicInteger(0);
-        // Helper to load a list from an InputStream
+        java.util.function.Function<String, Object> parser = content -> parseMobileYaml(new org.yaml.snakeyaml.Yaml(), content);
+        // Helper to load a parsed mobile list
         @SuppressWarnings("unchecked")
-        java.util.function.Consumer<InputStream> loader = (InputStream in) -> {
-            if (in == null) return;
+        java.util.function.Consumer<Object> loader = (Object document) -> {
             try {
-                String content = new String(in.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);
-                org.yaml.snakeyaml.Yaml yaml = new org.yaml.snakeyaml.Yaml();
-
-                List<Map<String, Object>> mobileList = null;
-                try {
-                    mobileList = (List<Map<String, Object>>) yaml.load(content);
-                } catch (Exception parseEx) {
-                    logger.warn("[DataLoader] YAML parse failed, attempting sanitizer: {}", parseEx.getMessage(), parseEx);
-                    // Attempt to sanitize Python-style flow dicts for template_json into block scalars
-                    String sanitized = sanitizeTemplateJsonFlowMaps(content);
-                    try {
-                        mobileList = (List<Map<String, Object>>) yaml.load(sanitized);
-                        logger.info("[DataLoader] YAML parse succeeded after sanitizing template_json flow maps");
-                    } catch (Exception parseEx2) {
-                        logger.warn("[DataLoader] Sanitized parse also failed: {}", parseEx2.getMessage(), parseEx2);
-                        throw new RuntimeException(parseEx2);
-                    }
-                }
-
+                List<Map<String, Object>> mobileList = (List<Map<String, Object>>) document;
                 if (mobileList == null) return;
                 for (Map<String,Object> mobData : mobileList) {
                         int id = getInt(mobData, "id", -1);
@@ -329,8 +559,9 @@ public class DataLoader {
         };
 
         // Load the primary mobiles.yaml
-        try (InputStream in = DataLoader.class.getResourceAsStream("/data/mobiles.yaml")) {
-            if (in != null) loader.accept(in);
+        try {
+            Object document = worldDocument("/data/mobiles.yaml", parser);
+            if (document != null) TransactionManager.runInTransaction(() -> loader.accept(document));
             else logger.info("No mobiles.yaml found");
         } catch (Exception e) {
             logger.warn("[DataLoader] Failed to load /data/mobiles.yaml: {}", e.getMessage(), e);
@@ -340,9 +571,10 @@ public class DataLoader {
         List<String> mercDirs = listMercAreaDirs();
         for (String dir : mercDirs) {
             String path = "/data/MERC/" + dir + "/mobiles.yaml";
-            try (InputStream in = DataLoader.class.getResourceAsStream(path)) {
-                if (in != null) {
-                    loader.accept(in);
+            try {
+                Object document = worldDocument(path, parser);
+                if (document != null) {
+                    TransactionManager.runInTransaction(() -> loader.accept(document));
                     logger.info("[DataLoader] Loaded MERC mobiles from {}", path);
                 }
             } catch (Exception e) {
@@ -773,12 +1005,17 @@ public class DataLoader {
         return key;
     }
 
-    private static Map<String,Integer> loadAreas(CharacterDAO dao) {
+    private static Map<String,Integer> loadAreas(CharacterDAO dao, boolean persist) {
+        // A skipped import maps areas to the ids the last full import stored them under
+        Map<String,Integer> persisted = new HashMap<>();
+        if (!persist) {
+            for (Area a : DaoProvider.rooms().getAllAreas()) persisted.put(a.getName(), a.getId());
+        }
         // Prefer MERC-format areas under /data/MERC/*/areas.yaml, then regular YAML, then CSV
-        Map<String,Integer> map = loadAreasFromMercDirs(dao);
+        Map<String,Integer> map = loadAreasFromMercDirs(dao, persist, persisted);
         if (!map.isEmpty()) return map;
 
-        map = loadAreasFromYaml(dao);
+        map = loadAreasFromYaml(dao, persist, persisted);
         if (map.isEmpty()) {
             map = loadAreasFromCsv(dao);
         }
@@ -788,19 +1025,20 @@ public class DataLoader {
     /**
      * Discover MERC subdirectories under /data/MERC and attempt to load any areas.yaml files there.
      * Supports running from the filesystem during development and from a shaded JAR at runtime.
+     * With {@code persist} false the areas are already in the DB and are only mapped, by name, to
+     * the ids in {@code persisted}.
      */
     @SuppressWarnings("unchecked")
-    private static Map<String,Integer> loadAreasFromMercDirs(CharacterDAO dao) {
+    private static Map<String,Integer> loadAreasFromMercDirs(CharacterDAO dao, boolean persist,
+                                                             Map<String,Integer> persisted) {
         Map<String,Integer> map = new HashMap<>();
         List<String> dirs = listMercAreaDirs();
         if (dirs.isEmpty()) return map;
 
         for (String dir : dirs) {
             String resourcePath = "/data/MERC/" + dir + "/areas.yaml";
-            try (InputStream in = DataLoader.class.getResourceAsStream(resourcePath)) {
-                if (in == null) continue;
-                org.yaml.snakeyaml.Yaml yaml = new org.yaml.snakeyaml.Yaml();
-                Map<String, Object> root = yaml.load(in);
+            try {
+                Map<String, Object> root = (Map<String, Object>) worldDocument(resourcePath);
                 if (root == null) continue;
                 List<Map<String, Object>> areaList = (List<Map<String, Object>>) root.get("areas");
                 if (areaList == null) continue;
@@ -812,7 +1050,8 @@ public class DataLoader {
                     SectorType sectorType = SectorType.fromString(sectorStr);
                     String levelRange = getString(areaData, "level_range", null);
                     if (id < 0 || name.isEmpty()) continue;
-                    int used = DaoProvider.rooms().addAreaWithId(id, name, desc, sectorType, levelRange);
+                    int used = persist ? DaoProvider.rooms().addAreaWithId(id, name, desc, sectorType, levelRange)
+                            : persistedAreaId(persisted, id, name);
                     if (used > 0) {
                         map.put(name, used);
                         // record mapping from MERC area id -> actual persisted id (may differ if name conflict)
@@ -827,6 +1066,19 @@ public class DataLoader {
         return map;
     }
 
+    /**
+     * The id an earlier import stored area {@code name} under; it differs from the YAML id when
+     * {@link RoomDAO#addAreaWithId} hit a name conflict. @return -1 if the area is not in the DB
+     */
+    private static int persistedAreaId(Map<String,Integer> persisted, int yamlId, String name) {
+        Integer used = persisted.get(name);
+        if (used == null) {
+            logger.warn("[DataLoader] Area {} ({}) is missing from the database; skipping it", yamlId, name);
+            return -1;
+        }
+        return used;
+    }
+
     /**
      * List subdirectories directly under /data/MERC/ by inspecting the resource URL.
      * Works when resources are files on disk or packaged inside a JAR.
@@ -878,17 +1130,17 @@ public class DataLoader {
         } catch (Exception e) {
             // ignore
         }
+        // Directory and JAR listings come in no particular order; import areas in a stable one
+        Collections.sort(out);
         return out;
     }
     
     @SuppressWarnings("unchecked")
-    private static Map<String,Integer> loadAreasFromYaml(CharacterDAO dao) {
+    private static Map<String,Integer> loadAreasFromYaml(CharacterDAO dao, boolean persist,
+                                                         Map<String,Integer> persisted) {
         Map<String,Integer> map = new HashMap<>();
-        try (InputStream in = DataLoader.class.getResourceAsStream("/data/areas.yaml")) {
-            if (in == null) return map;
-            
-            org.yaml.snakeyaml.Yaml yaml = new org.yaml.snakeyaml.Yaml();
-            Map<String, Object> root = yaml.load(in);
+        try {
+            Map<String, Object> root = (Map<String, Object>) worldDocument("/data/areas.yaml");
             if (root == null) return map;
             
             List<Map<String, Object>> areaList = (List<Map<String, Object>>) root.get("areas");
@@ -905,7 +1157,8 @@ public class DataLoader {
                 
                 if (id < 0 || name.isEmpty()) continue;
                 
-                int used = DaoProvider.rooms().addAreaWithId(id, name, desc, sectorType, levelRange);
+                int used = persist ? DaoProvider.rooms().addAreaWithId(id, name, desc, sectorType, levelRange)
+                        : persistedAreaId(persisted, id, name);
                 if (used > 0) {
                     map.put(name, used);
                     count++;
@@ -963,7 +1216,7 @@ public class DataLoader {
         List<String> flags = new ArrayList<>();  // Room flags (dark, no_mob, safe, etc.)
     }
 
-    private static Map<String,Integer> loadRoomsFirstPass(CharacterDAO dao, Map<String,Integer> areaMap) {
+    private static Map<String,Integer> loadRoomsFirstPass(CharacterDAO dao, Map<String,Integer> areaMap, boolean persist) {
         // Prefer MERC-format room templates under /data/MERC/*/rooms.yaml, then regular YAML, then CSV
         List<RoomTemplate> templates = loadRoomTemplatesFromMercDirs(areaMap);
         if (templates.isEmpty()) {
@@ -972,7 +1225,7 @@ public class DataLoader {
         if (templates.isEmpty()) {
             templates = loadRoomTemplatesFromCsv(areaMap, dao);
         }
-        return insertRoomTemplates(dao, templates);
+        return insertRoomTemplates(dao, templates, persist);
     }
 
     @SuppressWarnings("unchecked")
@@ -983,10 +1236,8 @@ public class DataLoader {
 
         for (String dir : dirs) {
             String resourcePath = "/data/MERC/" + dir + "/rooms.yaml";
-            try (InputStream in = DataLoader.class.getResourceAsStream(resourcePath)) {
-                if (in == null) continue;
-                org.yaml.snakeyaml.Yaml yaml = new org.yaml.snakeyaml.Yaml();
-                Map<String, Object> root = yaml.load(in);
+            try {
+                Map<String, Object> root = (Map<String, Object>) worldDocument(resourcePath);
                 if (root == null) continue;
                 List<Map<String, Object>> roomList = (List<Map<String, Object>>) root.get("rooms");
                 if (roomList == null) continue;
@@ -1053,11 +1304,8 @@ public class DataLoader {
     @SuppressWarnings("unchecked")
     private static List<RoomTemplate> loadRoomTemplatesFromYaml(Map<String,Integer> areaMap) {
         List<RoomTemplate> templates = new ArrayList<>();
-        try (InputStream in = DataLoader.class.getResourceAsStream("/data/rooms.yaml")) {
-            if (in == null) return templates;
-            
-            org.yaml.snakeyaml.Yaml yaml = new org.yaml.snakeyaml.Yaml();
-            Map<String, Object> root = yaml.load(in);
+        try {
+            Map<String, Object> root = (Map<String, Object>) worldDocument("/data/rooms.yaml");
             if (root == null) return templates;
             
             List<Map<String, Object>> roomList = (List<Map<String, Object>>) root.get("rooms");
@@ -1215,7 +1463,12 @@ public class DataLoader {
         return templates;
     }
     
-    private static Map<String,Integer> insertRoomTemplates(CharacterDAO dao, List<RoomTemplate> templates) {
+    /**
+     * Insert rooms and their flags, and register their spawns. With {@code persist} false the
+     * rooms are already in the DB: rooms with an explicit id are only mapped and have their spawns
+     * registered; rooms without one are still inserted, as their id comes from the insert.
+     */
+    private static Map<String,Integer> insertRoomTemplates(CharacterDAO dao, List<RoomTemplate> templates, boolean persist) {
         Map<String,Integer> keyToId = new HashMap<>();
         Map<Integer,Integer> areaCounters = new HashMap<>();
         SpawnManager spawnManager = SpawnManager.getInstance();
@@ -1224,7 +1477,9 @@ public class DataLoader {
         
         for (RoomTemplate t : templates) {
             int roomId;
-            if (t.explicitId >= 0) {
+            if (t.explicitId >= 0 && !persist) {
+                roomId = t.explicitId;
+            } else if (t.explicitId >= 0) {
                 // Ensure the referenced area exists; if not, attempt to create it so FK won't fail
                 if (t.areaId > 0) {
                     try {
@@ -1265,7 +1520,7 @@ public class DataLoader {
                 keyToId.put(t.key, roomId);
                 
                 // Insert room flags into the room_flag table
-                if (t.flags != null && !t.flags.isEmpty()) {
+                if (persist && t.flags != null && !t.flags.isEmpty()) {
                     for (String flagKey : t.flags) {
                         DaoProvider.rooms().addRoomFlag(roomId, flagKey);
                     }
@@ -1299,77 +1554,64 @@ public class DataLoader {
         return keyToId;
     }
 
-    private static void loadRoomsSecondPass(CharacterDAO dao, Map<String,Integer> keyToId) {
+    /**
+     * Second pass over the MERC rooms.yaml files: exits, doors and extras. With {@code persist}
+     * false the world tables are already up to date, so only the doors are written, to reset
+     * whatever state play left them in to the one the YAML gives.
+     */
+    private static void loadRoomsSecondPass(CharacterDAO dao, Map<String,Integer> keyToId, boolean persist) {
         // Second pass: process MERC-specific rooms.yaml files under /data/MERC/* first,
         // then fall back to the global /data/rooms.yaml if present.
         List<String> mercDirs = listMercAreaDirs();
         if (!mercDirs.isEmpty()) {
             for (String dir : mercDirs) {
                 String resourcePath = "/data/MERC/" + dir + "/rooms.yaml";
-                try (InputStream in = DataLoader.class.getResourceAsStream(resourcePath)) {
-                    if (in == null) continue;
-                    try {
-                        org.yaml.snakeyaml.Yaml yaml = new org.yaml.snakeyaml.Yaml();
-                        Map<String, Object> root = yaml.load(in);
-                        if (root == null) continue;
-                        @SuppressWarnings("unchecked")
-                        List<Map<String, Object>> roomList = (List<Map<String, Object>>) root.get("rooms");
-                        if (roomList == null) continue;
-                        for (Map<String, Object> roomData : roomList) {
-                            String key = getString(roomData, "key", "");
-                            if (key.isEmpty()) continue;
-                            Integer roomId = keyToId.get(key);
-                            if (roomId == null) continue;
-
-                            // Exits
-                            Object exitsObj = roomData.get("exits");
-                            if (exitsObj instanceof Map) {
-                                @SuppressWarnings("unchecked")
-                                Map<String, Object> exits = (Map<String, Object>) exitsObj;
-                                Integer exitN = resolveExitTokenFromYaml(exits.get("north"), keyToId);
-                                Integer exitE = resolveExitTokenFromYaml(exits.get("east"), keyToId);
-                                Integer exitS = resolveExitTokenFromYaml(exits.get("south"), keyToId);
-                                Integer exitW = resolveExitTokenFromYaml(exits.get("west"), keyToId);
-                                Integer exitU = resolveExitTokenFromYaml(exits.get("up"), keyToId);
-                                Integer exitD = resolveExitTokenFromYaml(exits.get("down"), keyToId);
-                                DaoProvider.rooms().updateRoomExits(roomId, exitN, exitE, exitS, exitW, exitU, exitD);
-                            }
+                try {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> root = (Map<String, Object>) worldDocument(resourcePath);
+                    if (root == null) continue;
+                    @SuppressWarnings("unchecked")
+                    List<Map<String, Object>> roomList = (List<Map<String, Object>>) root.get("rooms");
+                    if (roomList == null) continue;
+                    for (Map<String, Object> roomData : roomList) {
+                        String key = getString(roomData, "key", "");
+                        if (key.isEmpty()) continue;
+                        Integer roomId = keyToId.get(key);
+                        if (roomId == null) continue;
 
-                            // Doors
-                            Object doorsObj = roomData.get("doors");
-                            if (doorsObj instanceof Map) {
-                                @SuppressWarnings("unchecked")
-                                Map<String, Object> doors = (Map<String, Object>) doorsObj;
-                                for (Map.Entry<String, Object> e : doors.entrySet()) {
-                                    String doorDir = e.getKey();
-                                    Object v = e.getValue();
-                                    Integer toId = null;
-                                    String state = "OPEN";
-                                    boolean locked = false, hidden = false, blocked = false;
-                                    Integer keyItem = null;
-
-                                    if (v instanceof Map) {
-                                        @SuppressWarnings("unchecked")
-                                        Map<String, Object> props = (Map<String, Object>) v;
-                                        Object toToken = props.get("to");
-                                        toId = resolveExitTokenFromYaml(toToken, keyToId);
-                                        if (toId == null) {
-                                            Object exitsObj2 = roomData.get("exits");
-                                            if (exitsObj2 instanceof Map) {
-                                                @SuppressWarnings("unchecked")
-                                                Map<String, Object> exits2 = (Map<String, Object>) exitsObj2;
-                                                toId = resolveExitTokenFromYaml(exits2.get(doorDir), keyToId);
-                                            }
-                                        }
-                                        state = getString(props, "state", state).toUpperCase();
-                                        locked = getBoolean(props, "locked", false);
-                                        hidden = getBoolean(props, "hidden", false);
-                                        blocked = getBoolean(props, "blocked", false);
-                                        keyItem = getInt(props, "key", 0);
-                                        String doorDesc = getString(props, "description", "");
-                                        if (keyItem != null && keyItem == 0) keyItem = null;
-                                        DaoProvider.rooms().upsertDoor(roomId, doorDir, toId, state, locked, hidden, blocked, keyItem, doorDesc);
-                                    } else {
+                        // Exits
+                        Object exitsObj = roomData.get("exits");
+                        if (persist && exitsObj instanceof Map) {
+                            @SuppressWarnings("unchecked")
+                            Map<String, Object> exits = (Map<String, Object>) exitsObj;
+                            Integer exitN = resolveExitTokenFromYaml(exits.get("north"), keyToId);
+                            Integer exitE = resolveExitTokenFromYaml(exits.get("east"), keyToId);
+                            Integer exitS = resolveExitTokenFromYaml(exits.get("south"), keyToId);
+                            Integer exitW = resolveExitTokenFromYaml(exits.get("west"), keyToId);
+                            Integer exitU = resolveExitTokenFromYaml(exits.get("up"), keyToId);
+                            Integer exitD = resolveExitTokenFromYaml(exits.get("down"), keyToId);
+                            DaoProvider.rooms().updateRoomExits(roomId, exitN, exitE, exitS, exitW, exitU, exitD);
+                        }
+
+                        // Doors
+                        Object doorsObj = roomData.get("doors");
+                        if (doorsObj instanceof Map) {
+                            @SuppressWarnings("unchecked")
+                            Map<String, Object> doors = (Map<String, Object>) doorsObj;
+                            for (Map.Entry<String, Object> e : doors.entrySet()) {
+                                String doorDir = e.getKey();
+                                Object v = e.getValue();
+                                Integer toId = null;
+                                String state = "OPEN";
+                                boolean locked = false, hidden = false, blocked = false;
+                                Integer keyItem = null;
+
+                                if (v instanceof Map) {
+                                    @SuppressWarnings("unchecked")
+                                    Map<String, Object> props = (Map<String, Object>) v;
+                                    Object toToken = props.get("to");
+                                    toId = resolveExitTokenFromYaml(toToken, keyToId);
+                                    if (toId == null) {
                                         Object exitsObj2 = roomData.get("exits");
                                         if (exitsObj2 instanceof Map) {
                                             @SuppressWarnings("unchecked")
@@ -1377,34 +1619,45 @@ public class DataLoader {
                                             toId = resolveExitTokenFromYaml(exits2.get(doorDir), keyToId);
                                         }
                                     }
-                                    if (!(v instanceof Map)) {
-                                        DaoProvider.rooms().upsertDoor(roomId, doorDir, toId, state, locked, hidden, blocked, keyItem, null);
+                                    state = getString(props, "state", state).toUpperCase();
+                                    locked = getBoolean(props, "locked", false);
+                                    hidden = getBoolean(props, "hidden", false);
+                                    blocked = getBoolean(props, "blocked", false);
+                                    keyItem = getInt(props, "key", 0);
+                                    String doorDesc = getString(props, "description", "");
+                                    if (keyItem != null && keyItem == 0) keyItem = null;
+                                    DaoProvider.rooms().upsertDoor(roomId, doorDir, toId, state, locked, hidden, blocked, keyItem, doorDesc);
+                                } else {
+                                    Object exitsObj2 = roomData.get("exits");
+                                    if (exitsObj2 instanceof Map) {
+                                        @SuppressWarnings("unchecked")
+                                        Map<String, Object> exits2 = (Map<String, Object>) exitsObj2;
+                                        toId = resolveExitTokenFromYaml(exits2.get(doorDir), keyToId);
                                     }
                                 }
+                                if (!(v instanceof Map)) {
+                                    DaoProvider.rooms().upsertDoor(roomId, doorDir, toId, state, locked, hidden, blocked, keyItem, null);
+                                }
                             }
+                        }
 
-                            // Extras
-                            Object extrasObj = roomData.get("extras");
-                            if (extrasObj instanceof Map) {
-                                @SuppressWarnings("unchecked")
-                                Map<String, Object> extras = (Map<String, Object>) extrasObj;
-                                for (Map.Entry<String, Object> ex : extras.entrySet()) {
-                                    String exKey = ex.getKey();
-                                    Object exVal = ex.getValue();
-                                    String exDesc = exVal == null ? "" : exVal.toString();
-                                    DaoProvider.rooms().upsertRoomExtra(roomId, exKey, exDesc);
-                                }
+                        // Extras
+                        Object extrasObj = roomData.get("extras");
+                        if (persist && extrasObj instanceof Map) {
+                            @SuppressWarnings("unchecked")
+                            Map<String, Object> extras = (Map<String, Object>) extrasObj;
+                            for (Map.Entry<String, Object> ex : extras.entrySet()) {
+                                String exKey = ex.getKey();
+                                Object exVal = ex.getValue();
+                                String exDesc = exVal == null ? "" : exVal.toString();
+                                DaoProvider.rooms().upsertRoomExtra(roomId, exKey, exDesc);
                             }
                         }
-                    
-                    } catch (Exception e) {
-                        logger.warn("Failed to process doors from {}: {}", resourcePath, e.getMessage(), e);
                     }
+                
+                } catch (Exception e) {
+                    logger.warn("Failed to process doors from {}: {}", resourcePath, e.getMessage(), e);
                 }
-            
-            catch (Exception e) {
-                logger.warn("[DataLoader] Failed to load MERC rooms from {}: {}", resourcePath, e.getMessage(), e);
-            }
             }
         } 
     }
@@ -54,6 +54,7 @@ public class EquipmentDAO {
             ps.setInt(2, slotId);
             if (itemInstanceId == null) ps.setNull(3, Types.BIGINT); else ps.setLong(3, itemInstanceId);
             ps.executeUpdate();
+            LoadoutChanges.changed(characterId);
             return true;
         } catch (SQLException e) {
             return false;
@@ -118,6 +119,7 @@ public class EquipmentDAO {
              PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setInt(1, characterId);
             ps.executeUpdate();
+            LoadoutChanges.changed(characterId);
         } catch (SQLException e) {
             logger.warn("Failed to clear equipment: {}", e.getMessage());
         }
@@ -239,10 +241,12 @@ public class EquipmentDAO {
             ps.setInt(4, willBonus);
             ps.setInt(5, characterId);
             ps.executeUpdate();
-            return true;
         } catch (SQLException e) {
             return false;
         }
+        DaoProvider.characters().mirrorWrittenState(characterId, (r, b) -> b.armorEquipBonus(armorBonus)
+                .fortitudeEquipBonus(fortBonus).reflexEquipBonus(reflexBonus).willEquipBonus(willBonus));
+        return true;
     }
 
     public boolean recalculateEquipmentBonusesByName(String name, ItemDAO itemDao) {
@@ -11,9 +11,19 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * DAO for item templates and item instances.
+ *
+ * <p>Once {@link #loadTemplateCatalog()} has run, template reads are served from an immutable
+ * {@link TemplateCatalog}. A YAML template import drops the catalog, so reads fall back to SQL
+ * until it is loaded again. Item instances are always read from the database.
+ */
 public class ItemDAO {
     private static final Logger logger = LoggerFactory.getLogger(ItemDAO.class);
 
+    /** Item templates by id and template_key; null until {@link #loadTemplateCatalog()} succeeds. */
+    private static volatile TemplateCatalog<ItemTemplate> catalog;
+
     /** Build a non-null spell effect list from individual column values. */
     static List<String> buildSpellEffectList(String... values) {
         List<String> list = new ArrayList<>();
@@ -209,191 +219,200 @@ public class ItemDAO {
     }
 
     public void loadTemplatesFromYamlResource(String resourcePath) throws Exception {
-        // Prepare a list to collect parsed items for batched DB insertion
-        java.util.List<java.util.Map<String,Object>> batchedItems = new java.util.ArrayList<>();
+        Map<String, Object> data;
         try (InputStream is = getClass().getResourceAsStream(resourcePath)) {
             if (is == null) {
                 logger.warn("[ItemDAO] Resource not found: {}", resourcePath);
                 return;
             }
-            Yaml yaml = new Yaml();
-            Map<String, Object> data = yaml.load(is);
-            if (data == null || !data.containsKey("items")) {
-                logger.warn("[ItemDAO] No 'items' key in YAML: {}", resourcePath);
-                return;
-            }
-            Object itemsObj = data.get("items");
-            if (!(itemsObj instanceof List)) {
-                logger.warn("[ItemDAO] 'items' is not a list in: {}", resourcePath);
-                return;
-            }
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> items = (List<Map<String, Object>>) itemsObj;
-            logger.debug("[ItemDAO] Parsing {} items from {}", items.size(), resourcePath);
-            for (Map<String, Object> item : items) {
-                int id = parseIntSafe(item.get("id"));
-                String name = str(item.get("name"));
-                String rawKey = str(item.get("key"));
-                String keyBase = (rawKey == null || rawKey.isBlank()) ? name : rawKey;
-                String key = makeTemplateKey(keyBase, id);
-                String desc = str(item.get("description"));
-                double weight = parseDoubleSafe(item.get("weight"));
-                int value = parseIntSafe(item.get("value"));
-                // traits and keywords may be lists in the YAML/JSON
-                java.util.List<String> traits = new java.util.ArrayList<>();
-                java.util.List<String> keywords = new java.util.ArrayList<>();
-                Object tObj = item.get("traits");
-                if (tObj instanceof java.util.List<?> list) {
-                    for (Object o : list) if (o != null) traits.add(o.toString());
-                } else if (tObj != null) traits.add(tObj.toString());
-                Object kObj = item.get("keywords");
-                if (kObj instanceof java.util.List<?> list) {
-                    for (Object o : list) if (o != null) keywords.add(o.toString());
-                } else if (kObj != null) keywords.add(kObj.toString());
+            data = new Yaml().load(is);
+        }
+        loadTemplatesFromYaml(data, resourcePath);
+    }
 
-                // Support both "type" (single) and "types" (list)
-                // "types" list takes precedence if present
-                java.util.List<String> types = new java.util.ArrayList<>();
-                Object typesObj = item.get("types");
-                if (typesObj instanceof java.util.List<?> list) {
-                    for (Object o : list) {
-                        if (o != null && !o.toString().isBlank()) {
-                            types.add(o.toString().trim().toLowerCase());
-                        }
+    /**
+     * Import item templates from an already-parsed items document (a map with an {@code items} list).
+     *
+     * @param source where the document came from, for log messages
+     */
+    public void loadTemplatesFromYaml(Map<String, Object> data, String source) {
+        // Prepare a list to collect parsed items for batched DB insertion
+        java.util.List<java.util.Map<String,Object>> batchedItems = new java.util.ArrayList<>();
+        if (data == null || !data.containsKey("items")) {
+            logger.warn("[ItemDAO] No 'items' key in YAML: {}", source);
+            return;
+        }
+        Object itemsObj = data.get("items");
+        if (!(itemsObj instanceof List)) {
+            logger.warn("[ItemDAO] 'items' is not a list in: {}", source);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> items = (List<Map<String, Object>>) itemsObj;
+        logger.debug("[ItemDAO] Parsing {} items from {}", items.size(), source);
+        for (Map<String, Object> item : items) {
+            int id = parseIntSafe(item.get("id"));
+            String name = str(item.get("name"));
+            String rawKey = str(item.get("key"));
+            String keyBase = (rawKey == null || rawKey.isBlank()) ? name : rawKey;
+            String key = makeTemplateKey(keyBase, id);
+            String desc = str(item.get("description"));
+            double weight = parseDoubleSafe(item.get("weight"));
+            int value = parseIntSafe(item.get("value"));
+            // traits and keywords may be lists in the YAML/JSON
+            java.util.List<String> traits = new java.util.ArrayList<>();
+            java.util.List<String> keywords = new java.util.ArrayList<>();
+            Object tObj = item.get("traits");
+            if (tObj instanceof java.util.List<?> list) {
+                for (Object o : list) if (o != null) traits.add(o.toString());
+            } else if (tObj != null) traits.add(tObj.toString());
+            Object kObj = item.get("keywords");
+            if (kObj instanceof java.util.List<?> list) {
+                for (Object o : list) if (o != null) keywords.add(o.toString());
+            } else if (kObj != null) keywords.add(kObj.toString());
+
+            // Support both "type" (single) and "types" (list)
+            // "types" list takes precedence if present
+            java.util.List<String> types = new java.util.ArrayList<>();
+            Object typesObj = item.get("types");
+            if (typesObj instanceof java.util.List<?> list) {
+                for (Object o : list) {
+                    if (o != null && !o.toString().isBlank()) {
+                        types.add(o.toString().trim().toLowerCase());
                     }
                 }
-                // Fall back to single "type" if "types" not provided
-                if (types.isEmpty()) {
-                    String singleType = str(item.get("type"));
-                    if (singleType != null && !singleType.isBlank()) {
-                        types.add(singleType.trim().toLowerCase());
-                    }
+            }
+            // Fall back to single "type" if "types" not provided
+            if (types.isEmpty()) {
+                String singleType = str(item.get("type"));
+                if (singleType != null && !singleType.isBlank()) {
+                    types.add(singleType.trim().toLowerCase());
                 }
-                // For DB storage, join types with comma (backwards compat with "type" column)
-                String type = types.isEmpty() ? null : String.join(",", types);
-                String subtype = str(item.get("subtype"));
-                // slot may be expressed as equip_slot_id or slot key
-                String slot = null;
-                Object es = item.get("equip_slot_id");
-                if (es != null) slot = es.toString();
-                if (slot == null) slot = str(item.get("slot"));
-                int capacity = parseIntSafe(item.get("capacity"));
-                int handCount = parseIntSafe(item.get("hand_count"));
-                boolean indestructable = parseBooleanSafe(item.get("indestructable"));
-                boolean magical = parseBooleanSafe(item.get("magical"));
-                int maxItems = parseIntSafe(item.get("max_items"));
-                int maxWeight = parseIntSafe(item.get("max_weight"));
-                int armorSaveBonus = parseIntSafe(item.get("armor_save_bonus"));
-                int fortSaveBonus = parseIntSafe(item.get("fort_save_bonus"));
-                int refSaveBonus = parseIntSafe(item.get("ref_save_bonus"));
-                int willSaveBonus = parseIntSafe(item.get("will_save_bonus"));
-                int baseDie = parseIntSafe(item.get("base_die"));
-                int multiplier = parseIntSafe(item.get("multiplier"));
-                int hands = parseIntSafe(item.get("hands"));
-                String abilityScore = str(item.get("ability_score"));
-                double abilityMultiplier = parseDoubleSafe(item.get("ability_multiplier"));
-                List<String> spellEffectIds = buildSpellEffectList(
-                    str(item.get("spell_effect_id_1")),
-                    str(item.get("spell_effect_id_2")),
-                    str(item.get("spell_effect_id_3")),
-                    str(item.get("spell_effect_id_4"))
-                );
-                
-                // Weapon categorization
-                String weaponCategoryStr = str(item.get("weapon_category"));
-                String weaponFamilyStr = str(item.get("weapon_family"));
-                
-                // Armor categorization
-                String armorCategoryStr = str(item.get("armor_category"));
+            }
+            // For DB storage, join types with comma (backwards compat with "type" column)
+            String type = types.isEmpty() ? null : String.join(",", types);
+            String subtype = str(item.get("subtype"));
+            // slot may be expressed as equip_slot_id or slot key
+            String slot = null;
+            Object es = item.get("equip_slot_id");
+            if (es != null) slot = es.toString();
+            if (slot == null) slot = str(item.get("slot"));
+            int capacity = parseIntSafe(item.get("capacity"));
+            int handCount = parseIntSafe(item.get("hand_count"));
+            boolean indestructable = parseBooleanSafe(item.get("indestructable"));
+            boolean magical = parseBooleanSafe(item.get("magical"));
+            int maxItems = parseIntSafe(item.get("max_items"));
+            int maxWeight = parseIntSafe(item.get("max_weight"));
+            int armorSaveBonus = parseIntSafe(item.get("armor_save_bonus"));
+            int fortSaveBonus = parseIntSafe(item.get("fort_save_bonus"));
+            int refSaveBonus = parseIntSafe(item.get("ref_save_bonus"));
+            int willSaveBonus = parseIntSafe(item.get("will_save_bonus"));
+            int baseDie = parseIntSafe(item.get("base_die"));
+            int multiplier = parseIntSafe(item.get("multiplier"));
+            int hands = parseIntSafe(item.get("hands"));
+            String abilityScore = str(item.get("ability_score"));
+            double abilityMultiplier = parseDoubleSafe(item.get("ability_multiplier"));
+            List<String> spellEffectIds = buildSpellEffectList(
+                str(item.get("spell_effect_id_1")),
+                str(item.get("spell_effect_id_2")),
+                str(item.get("spell_effect_id_3")),
+                str(item.get("spell_effect_id_4"))
+            );
+            
+            // Weapon categorization
+            String weaponCategoryStr = str(item.get("weapon_category"));
+            String weaponFamilyStr = str(item.get("weapon_family"));
+            
+            // Armor categorization
+            String armorCategoryStr = str(item.get("armor_category"));
 
-                // Item level range (for potions, scrolls, etc.)
-                int minItemLevel = parseIntSafe(item.get("min_item_level"));
-                int maxItemLevel = parseIntSafe(item.get("max_item_level"));
-                // Default to 1 if not specified
-                if (minItemLevel <= 0) minItemLevel = 1;
-                if (maxItemLevel <= 0) maxItemLevel = minItemLevel;
-                // Ensure max >= min
-                if (maxItemLevel < minItemLevel) maxItemLevel = minItemLevel;
-                
-                // Item usage system - on-use spells
-                java.util.List<Integer> onUseSpellIds = new java.util.ArrayList<>();
-                Object useObj = item.get("on_use_spell_ids");
-                if (useObj instanceof java.util.List<?> list) {
-                    for (Object o : list) {
-                        if (o != null) {
-                            try { onUseSpellIds.add(Integer.parseInt(o.toString().trim())); } catch (Exception ignored) {}
-                        }
+            // Item level range (for potions, scrolls, etc.)
+            int minItemLevel = parseIntSafe(item.get("min_item_level"));
+            int maxItemLevel = parseIntSafe(item.get("max_item_level"));
+            // Default to 1 if not specified
+            if (minItemLevel <= 0) minItemLevel = 1;
+            if (maxItemLevel <= 0) maxItemLevel = minItemLevel;
+            // Ensure max >= min
+            if (maxItemLevel < minItemLevel) maxItemLevel = minItemLevel;
+            
+            // Item usage system - on-use spells
+            java.util.List<Integer> onUseSpellIds = new java.util.ArrayList<>();
+            Object useObj = item.get("on_use_spell_ids");
+            if (useObj instanceof java.util.List<?> list) {
+                for (Object o : list) {
+                    if (o != null) {
+                        try { onUseSpellIds.add(Integer.parseInt(o.toString().trim())); } catch (Exception ignored) {}
                     }
-                } else if (useObj != null) {
-                    try { onUseSpellIds.add(Integer.parseInt(useObj.toString().trim())); } catch (Exception ignored) {}
                 }
-                int uses = parseIntSafe(item.get("uses"));
-                
-                // On-equip effect IDs
-                java.util.List<String> onEquipEffectIds = new java.util.ArrayList<>();
-                Object equipObj = item.get("on_equip_effect_ids");
-                if (equipObj instanceof java.util.List<?> list) {
-                    for (Object o : list) {
-                        if (o != null) onEquipEffectIds.add(o.toString().trim());
-                    }
-                } else if (equipObj != null) {
-                    onEquipEffectIds.add(equipObj.toString().trim());
+            } else if (useObj != null) {
+                try { onUseSpellIds.add(Integer.parseInt(useObj.toString().trim())); } catch (Exception ignored) {}
+            }
+            int uses = parseIntSafe(item.get("uses"));
+            
+            // On-equip effect IDs
+            java.util.List<String> onEquipEffectIds = new java.util.ArrayList<>();
+            Object equipObj = item.get("on_equip_effect_ids");
+            if (equipObj instanceof java.util.List<?> list) {
+                for (Object o : list) {
+                    if (o != null) onEquipEffectIds.add(o.toString().trim());
                 }
-                
-                // Convert lists to comma-separated strings for DB storage
-                String onUseSpellIdsStr = onUseSpellIds.isEmpty() ? null : 
-                    onUseSpellIds.stream().map(String::valueOf).collect(java.util.stream.Collectors.joining(","));
-                String onEquipEffectIdsStr = onEquipEffectIds.isEmpty() ? null : String.join(",", onEquipEffectIds);
+            } else if (equipObj != null) {
+                onEquipEffectIds.add(equipObj.toString().trim());
+            }
+            
+            // Convert lists to comma-separated strings for DB storage
+            String onUseSpellIdsStr = onUseSpellIds.isEmpty() ? null : 
+                onUseSpellIds.stream().map(String::valueOf).collect(java.util.stream.Collectors.joining(","));
+            String onEquipEffectIdsStr = onEquipEffectIds.isEmpty() ? null : String.join(",", onEquipEffectIds);
 
-                // Serialize the original map into a compact YAML/JSON string for storage
-                String templateJson = null;
-                try {
-                    Yaml dumper = new Yaml();
-                    templateJson = dumper.dump(item);
-                } catch (Exception e) { templateJson = null; }
+            // Serialize the original map into a compact YAML/JSON string for storage
+            String templateJson = null;
+            try {
+                Yaml dumper = new Yaml();
+                templateJson = dumper.dump(item);
+            } catch (Exception e) { templateJson = null; }
 
-                // Batch insertion handled below using a single connection
-                // Data for this item has been prepared above; add to in-memory list for batching
-                java.util.Map<String, Object> prepared = new java.util.HashMap<>();
-                prepared.put("id", id);
-                prepared.put("actualIdCandidateKey", key);
-                prepared.put("name", name);
-                prepared.put("desc", desc);
-                prepared.put("weight", weight);
-                prepared.put("value", value);
-                prepared.put("type", type);
-                prepared.put("subtype", subtype);
-                prepared.put("slot", slot);
-                prepared.put("capacity", capacity);
-                prepared.put("handCount", handCount);
-                prepared.put("indestructable", indestructable);
-                prepared.put("magical", magical);
-                prepared.put("maxItems", maxItems);
-                prepared.put("maxWeight", maxWeight);
-                prepared.put("armorSaveBonus", armorSaveBonus);
-                prepared.put("fortSaveBonus", fortSaveBonus);
-                prepared.put("refSaveBonus", refSaveBonus);
-                prepared.put("willSaveBonus", willSaveBonus);
-                prepared.put("baseDie", baseDie);
-                prepared.put("multiplier", multiplier);
-                prepared.put("hands", hands);
-                prepared.put("abilityScore", abilityScore);
-                prepared.put("abilityMultiplier", abilityMultiplier);
-                prepared.put("spellEffectIds", spellEffectIds);
-                prepared.put("traits", String.join(",", traits));
-                prepared.put("keywords", String.join(",", keywords));
-                prepared.put("templateJson", templateJson);
-                prepared.put("weaponCategoryStr", weaponCategoryStr);
-                prepared.put("weaponFamilyStr", weaponFamilyStr);
-                prepared.put("armorCategoryStr", armorCategoryStr);
-                prepared.put("minItemLevel", minItemLevel);
-                prepared.put("maxItemLevel", maxItemLevel);
-                prepared.put("onUseSpellIdsStr", onUseSpellIdsStr);
-                prepared.put("uses", uses);
-                prepared.put("onEquipEffectIdsStr", onEquipEffectIdsStr);
-                // store into a temporary list for later batching
-                batchedItems.add(prepared);
-            }
+            // Batch insertion handled below using a single connection
+            // Data for this item has been prepared above; add to in-memory list for batching
+            java.util.Map<String, Object> prepared = new java.util.HashMap<>();
+            prepared.put("id", id);
+            prepared.put("actualIdCandidateKey", key);
+            prepared.put("name", name);
+            prepared.put("desc", desc);
+            prepared.put("weight", weight);
+            prepared.put("value", value);
+            prepared.put("type", type);
+            prepared.put("subtype", subtype);
+            prepared.put("slot", slot);
+            prepared.put("capacity", capacity);
+            prepared.put("handCount", handCount);
+            prepared.put("indestructable", indestructable);
+            prepared.put("magical", magical);
+            prepared.put("maxItems", maxItems);
+            prepared.put("maxWeight", maxWeight);
+            prepared.put("armorSaveBonus", armorSaveBonus);
+            prepared.put("fortSaveBonus", fortSaveBonus);
+            prepared.put("refSaveBonus", refSaveBonus);
+            prepared.put("willSaveBonus", willSaveBonus);
+            prepared.put("baseDie", baseDie);
+            prepared.put("multiplier", multiplier);
+            prepared.put("hands", hands);
+            prepared.put("abilityScore", abilityScore);
+            prepared.put("abilityMultiplier", abilityMultiplier);
+            prepared.put("spellEffectIds", spellEffectIds);
+            prepared.put("traits", String.join(",", traits));
+            prepared.put("keywords", String.join(",", keywords));
+            prepared.put("templateJson", templateJson);
+            prepared.put("weaponCategoryStr", weaponCategoryStr);
+            prepared.put("weaponFamilyStr", weaponFamilyStr);
+            prepared.put("armorCategoryStr", armorCategoryStr);
+            prepared.put("minItemLevel", minItemLevel);
+            prepared.put("maxItemLevel", maxItemLevel);
+            prepared.put("onUseSpellIdsStr", onUseSpellIdsStr);
+            prepared.put("uses", uses);
+            prepared.put("onEquipEffectIdsStr", onEquipEffectIdsStr);
+            // store into a temporary list for later batching
+            batchedItems.add(prepared);
         }
 
         // Perform batched DB upsert of all prepared templates
@@ -481,6 +500,7 @@ public class ItemDAO {
             } catch (SQLException e) {
                 logger.warn("Warning: failed to batch insert item templates: {}", e.getMessage(), e);
             }
+            invalidateTemplateCatalog();
         }
     }
 
@@ -516,17 +536,7 @@ public class ItemDAO {
 
 
     public long createInstance(int templateId, Integer roomId, Integer characterId) {
-        // Get template to determine item level range
-        ItemTemplate template = getTemplateById(templateId);
-        int itemLevel = 1;
-        if (template != null) {
-            int min = template.minItemLevel;
-            int max = template.maxItemLevel;
-            if (min > 0 && max >= min) {
-                itemLevel = min + ThreadLocalRandom.current().nextInt(max - min + 1);
-            }
-        }
-        
+        int itemLevel = rollItemLevel(templateId);
         long now = System.currentTimeMillis();
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement("INSERT INTO item_instance (template_id, location_room_id, owner_character_id, created_at, item_level) VALUES (?,?,?,?,?)", Statement.RETURN_GENERATED_KEYS)) {
@@ -545,17 +555,7 @@ public class ItemDAO {
 
     // New overload allowing creation inside a container
     public long createInstance(int templateId, Integer roomId, Integer characterId, Long containerInstanceId) {
-        // Get template to determine item level range
-        ItemTemplate template = getTemplateById(templateId);
-        int itemLevel = 1;
-        if (template != null) {
-            int min = template.minItemLevel;
-            int max = template.maxItemLevel;
-            if (min > 0 && max >= min) {
-                itemLevel = min + ThreadLocalRandom.current().nextInt(max - min + 1);
-            }
-        }
-        
+        int itemLevel = rollItemLevel(templateId);
         long now = System.currentTimeMillis();
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement("INSERT INTO item_instance (template_id, location_room_id, owner_character_id, container_instance_id, created_at, item_level) VALUES (?,?,?,?,?,?)", Statement.RETURN_GENERATED_KEYS)) {
@@ -573,6 +573,64 @@ public class ItemDAO {
         return -1;
     }
 
+    /** Random item level within the template's min/max range, or 1 if it has none. */
+    private int rollItemLevel(int templateId) {
+        ItemTemplate template = getTemplateById(templateId);
+        if (template != null) {
+            int min = template.minItemLevel;
+            int max = template.maxItemLevel;
+            if (min > 0 && max >= min) {
+                return min + ThreadLocalRandom.current().nextInt(max - min + 1);
+            }
+        }
+        return 1;
+    }
+
+    /** An item instance to create with {@link #createInstances}: its template and optional container. */
+    public static class NewInstance {
+        public final int templateId;
+        public final Long containerInstanceId;
+        public NewInstance(int templateId, Long containerInstanceId) {
+            this.templateId = templateId;
+            this.containerInstanceId = containerInstanceId;
+        }
+    }
+
+    /**
+     * Create many item instances with one batched INSERT. Each is placed in its container, or
+     * nowhere (no room or owner) if it has none, as for items handed to a freshly spawned mob.
+     *
+     * @return the new instance ids, in {@code items} order
+     */
+    public long[] createInstances(List<NewInstance> items) {
+        long[] ids = new long[items.size()];
+        if (items.isEmpty()) return ids;
+        long now = System.currentTimeMillis();
+        try (Connection c = TransactionManager.getConnection();
+             PreparedStatement ps = c.prepareStatement("INSERT INTO item_instance (template_id, location_room_id, owner_character_id, container_instance_id, created_at, item_level) VALUES (?,?,?,?,?,?)", Statement.RETURN_GENERATED_KEYS)) {
+            for (NewInstance item : items) {
+                ps.setInt(1, item.templateId);
+                ps.setNull(2, Types.INTEGER);
+                ps.setNull(3, Types.INTEGER);
+                if (item.containerInstanceId == null) ps.setNull(4, Types.BIGINT); else ps.setLong(4, item.containerInstanceId);
+                ps.setLong(5, now);
+                ps.setInt(6, rollItemLevel(item.templateId));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            int n = 0;
+            try (ResultSet rs = ps.getGeneratedKeys()) {
+                while (n < ids.length && rs.next()) ids[n++] = rs.getLong(1);
+            }
+            if (n != ids.length) {
+                throw new IllegalStateException("Batch insert returned " + n + " keys for " + ids.length + " item instances");
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to create item instances: " + e.getMessage(), e);
+        }
+        return ids;
+    }
+
     /**
      * Create a dynamically generated item instance with stat overrides.
      * Used by LootGenerator for mob drops with randomized stats.
@@ -867,6 +925,7 @@ public class ItemDAO {
         String sql = "DELETE FROM item_instance WHERE instance_id = ?";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
+            notifyEquippedBy(c, instanceId);
             ps.setLong(1, instanceId);
             return ps.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -913,7 +972,42 @@ public class ItemDAO {
     }
 
     // --- Equipment-related helpers ---
+
+    /**
+     * Report a change to an equipped instance as a loadout change of whoever wears it, so cached
+     * combat profiles drop the old weapon or armor once the change commits.
+     */
+    private static void notifyEquippedBy(Connection c, long instanceId) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(
+                "SELECT character_id FROM character_equipment WHERE item_instance_id = ?")) {
+            ps.setLong(1, instanceId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) LoadoutChanges.changed(rs.getInt(1));
+            }
+        }
+    }
+
+    /**
+     * The template's type as the equipment helpers read the raw {@code type} column: only an item
+     * with exactly one type counts (e.g. "armor", not "armor,container"). Null otherwise.
+     */
+    private static String soleType(ItemTemplate t) {
+        return t.types.size() == 1 ? t.types.get(0) : null;
+    }
+
     public EquipmentSlot getTemplateEquipmentSlot(int templateId) {
+        TemplateCatalog<ItemTemplate> cat = catalog;
+        if (cat != null) {
+            ItemTemplate t = cat.byId(templateId);
+            String type = t != null ? soleType(t) : null;
+            if (type == null) return null;
+            switch (type) {
+                case "armor": return EquipmentSlot.fromKey(t.slot);
+                case "shield": return EquipmentSlot.OFF_HAND;
+                case "weapon": return EquipmentSlot.MAIN_HAND;
+                default: return null;
+            }
+        }
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement("SELECT type, slot FROM item_template WHERE id = ?")) {
             ps.setInt(1, templateId);
@@ -951,6 +1045,12 @@ public class ItemDAO {
      * Returns true for weapons with hands=2.
      */
     public boolean isTemplateTwoHanded(int templateId) {
+        TemplateCatalog<ItemTemplate> cat = catalog;
+        if (cat != null) {
+            ItemTemplate t = cat.byId(templateId);
+            String type = t != null ? soleType(t) : null;
+            return ("weapon".equals(type) || "held".equals(type)) && t.hands >= 2;
+        }
         String sql = "SELECT type, hands FROM item_template WHERE id = ?";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
@@ -972,6 +1072,11 @@ public class ItemDAO {
      * Check if a template is a shield type item.
      */
     public boolean isTemplateShield(int templateId) {
+        TemplateCatalog<ItemTemplate> cat = catalog;
+        if (cat != null) {
+            ItemTemplate t = cat.byId(templateId);
+            return t != null && "shield".equals(soleType(t));
+        }
         String sql = "SELECT type FROM item_template WHERE id = ?";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
@@ -990,6 +1095,7 @@ public class ItemDAO {
     public void moveInstanceToRoom(long instanceId, int roomId) {
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement("UPDATE item_instance SET location_room_id = ?, owner_character_id = NULL, container_instance_id = NULL WHERE instance_id = ?")) {
+            notifyEquippedBy(c, instanceId);
             ps.setInt(1, roomId);
             ps.setLong(2, instanceId);
             ps.executeUpdate();
@@ -999,6 +1105,7 @@ public class ItemDAO {
     public void moveInstanceToCharacter(long instanceId, int characterId) {
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement("UPDATE item_instance SET owner_character_id = ?, location_room_id = NULL, container_instance_id = NULL WHERE instance_id = ?")) {
+            notifyEquippedBy(c, instanceId);
             ps.setInt(1, characterId);
             ps.setLong(2, instanceId);
             ps.executeUpdate();
@@ -1008,6 +1115,7 @@ public class ItemDAO {
     public void moveInstanceToContainer(long instanceId, long containerInstanceId) {
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement("UPDATE item_instance SET container_instance_id = ?, owner_character_id = NULL, location_room_id = NULL WHERE instance_id = ?")) {
+            notifyEquippedBy(c, instanceId);
             ps.setLong(1, containerInstanceId);
             ps.setLong(2, instanceId);
             ps.executeUpdate();
@@ -1026,14 +1134,55 @@ public class ItemDAO {
     public void updateUsesRemaining(long instanceId, int usesRemaining) {
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement("UPDATE item_instance SET uses_remaining = ? WHERE instance_id = ?")) {
+            notifyEquippedBy(c, instanceId);
             ps.setInt(1, usesRemaining);
             ps.setLong(2, instanceId);
             ps.executeUpdate();
         } catch (SQLException e) { throw new RuntimeException(e); }
     }
 
+    /**
+     * Build the template catalog from item_template and publish it. Called at startup after the
+     * YAML import, after {@code seedtemplates} and by the GM {@code reloadtemplates} command.
+     *
+     * @return the published catalog, or null if it could not be built (reads stay on SQL)
+     */
+    public TemplateCatalog<ItemTemplate> loadTemplateCatalog() {
+        synchronized (ItemDAO.class) {
+            long start = System.currentTimeMillis();
+            List<ItemTemplate> templates = new ArrayList<>();
+            try (Connection c = TransactionManager.getConnection();
+                 PreparedStatement ps = c.prepareStatement("SELECT * FROM item_template");
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    templates.add(extractItemTemplate(rs, "id"));
+                }
+                catalog = TemplateCatalog.build(templates, t -> t.id, t -> t.key);
+                logger.info("[ItemDAO] Template catalog loaded: {} item templates in {}ms", catalog.size(), System.currentTimeMillis() - start);
+                return catalog;
+            } catch (SQLException | IllegalArgumentException e) {
+                logger.warn("[ItemDAO] Failed to load template catalog, template reads stay on SQL: {}", e.getMessage(), e);
+                catalog = null;
+                return null;
+            }
+        }
+    }
+
+    /** @return the current template catalog, or null if it is not loaded */
+    public TemplateCatalog<ItemTemplate> getTemplateCatalog() {
+        return catalog;
+    }
+
+    private static void invalidateTemplateCatalog() {
+        synchronized (ItemDAO.class) {
+            catalog = null;
+        }
+    }
+
     // Retrieve a template by its numeric ID
     public ItemTemplate getTemplateById(int id) {
+        TemplateCatalog<ItemTemplate> cat = catalog;
+        if (cat != null) return cat.byId(id);
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement("SELECT * FROM item_template WHERE id = ?")) {
             ps.setInt(1, id);
@@ -1048,6 +1197,8 @@ public class ItemDAO {
 
     // Check if a template with given ID exists
     public boolean templateExists(int id) {
+        TemplateCatalog<ItemTemplate> cat = catalog;
+        if (cat != null) return cat.contains(id);
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement("SELECT 1 FROM item_template WHERE id = ?")) {
             ps.setInt(1, id);
@@ -1064,6 +1215,8 @@ public class ItemDAO {
      * Used by LootGenerator to find equipment templates.
      */
     public List<Integer> getTemplateIdsInRange(int minId, int maxId) {
+        TemplateCatalog<ItemTemplate> cat = catalog;
+        if (cat != null) return cat.idsInRange(minId, maxId);
         List<Integer> ids = new ArrayList<>();
         String sql = "SELECT id FROM item_template WHERE id >= ? AND id <= ? ORDER BY id";
         try (Connection c = TransactionManager.getConnection();
@@ -1092,89 +1245,55 @@ public class ItemDAO {
         }
     }
 
-    // Get all item instances in a room, joined with their templates
-    public List<RoomItem> getItemsInRoom(int roomId) {
-        List<RoomItem> result = new ArrayList<>();
-        String sql = "SELECT i.*, " +
+    /** Template columns for the instance/template join, with the template id aliased to "tid". */
+    private static final String JOINED_TEMPLATE_COLUMNS =
                      "t.id as tid, t.template_key, t.name, t.description, t.weight, t.template_value, t.type, t.subtype, t.slot, " +
                      "t.capacity, t.hand_count, t.indestructable, t.magical, t.max_items, t.max_weight, " +
                      "t.armor_save_bonus, t.fort_save_bonus, t.ref_save_bonus, t.will_save_bonus, " +
                      "t.base_die, t.multiplier, t.hands, t.ability_score, t.ability_multiplier, " +
                      "t.spell_effect_id_1, t.spell_effect_id_2, t.spell_effect_id_3, t.spell_effect_id_4, " +
                      "t.traits, t.keywords, t.template_json, t.weapon_category, t.weapon_family, t.armor_category, " +
-                     "t.min_item_level, t.max_item_level, t.on_use_spell_ids, t.uses, t.on_equip_effect_ids " +
-                     "FROM item_instance i JOIN item_template t ON i.template_id = t.id " +
-                     "WHERE i.location_room_id = ?";
-        try (Connection c = TransactionManager.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setInt(1, roomId);
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    ItemInstance inst = extractItemInstance(rs);
-                    ItemTemplate tmpl = extractItemTemplate(rs, "tid");
-                    result.add(new RoomItem(inst, tmpl));
-                }
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to get items in room: " + e.getMessage(), e);
-        }
-        return result;
+                     "t.min_item_level, t.max_item_level, t.on_use_spell_ids, t.uses, t.on_equip_effect_ids ";
+
+    // Get all item instances in a room, joined with their templates
+    public List<RoomItem> getItemsInRoom(int roomId) {
+        return queryRoomItems("i.location_room_id", roomId, "items in room");
     }
 
     // Get all item instances owned by a character (inventory), joined with their templates
     public List<RoomItem> getItemsByCharacter(int characterId) {
-        List<RoomItem> result = new ArrayList<>();
-        String sql = "SELECT i.*, " +
-                     "t.id as tid, t.template_key, t.name, t.description, t.weight, t.template_value, t.type, t.subtype, t.slot, " +
-                     "t.capacity, t.hand_count, t.indestructable, t.magical, t.max_items, t.max_weight, " +
-                     "t.armor_save_bonus, t.fort_save_bonus, t.ref_save_bonus, t.will_save_bonus, " +
-                     "t.base_die, t.multiplier, t.hands, t.ability_score, t.ability_multiplier, " +
-                     "t.spell_effect_id_1, t.spell_effect_id_2, t.spell_effect_id_3, t.spell_effect_id_4, " +
-                     "t.traits, t.keywords, t.template_json, t.weapon_category, t.weapon_family, t.armor_category, " +
-                     "t.min_item_level, t.max_item_level, t.on_use_spell_ids, t.uses, t.on_equip_effect_ids " +
-                     "FROM item_instance i JOIN item_template t ON i.template_id = t.id " +
-                     "WHERE i.owner_character_id = ?";
-        try (Connection c = TransactionManager.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setInt(1, characterId);
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    ItemInstance inst = extractItemInstance(rs);
-                    ItemTemplate tmpl = extractItemTemplate(rs, "tid");
-                    result.add(new RoomItem(inst, tmpl));
-                }
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to get items for character: " + e.getMessage(), e);
-        }
-        return result;
+        return queryRoomItems("i.owner_character_id", characterId, "items for character");
     }
 
     // Get all item instances inside a container, joined with their templates
     public List<RoomItem> getItemsInContainer(long containerInstanceId) {
+        return queryRoomItems("i.container_instance_id", containerInstanceId, "items in container");
+    }
+
+    /**
+     * Instances with {@code column = value}, each paired with its template. With the template
+     * catalog loaded only item_instance is queried and templates come from memory; instances whose
+     * template is missing are skipped, as the SQL join would.
+     */
+    private List<RoomItem> queryRoomItems(String column, long value, String what) {
         List<RoomItem> result = new ArrayList<>();
-        String sql = "SELECT i.*, " +
-                     "t.id as tid, t.template_key, t.name, t.description, t.weight, t.template_value, t.type, t.subtype, t.slot, " +
-                     "t.capacity, t.hand_count, t.indestructable, t.magical, t.max_items, t.max_weight, " +
-                     "t.armor_save_bonus, t.fort_save_bonus, t.ref_save_bonus, t.will_save_bonus, " +
-                     "t.base_die, t.multiplier, t.hands, t.ability_score, t.ability_multiplier, " +
-                     "t.spell_effect_id_1, t.spell_effect_id_2, t.spell_effect_id_3, t.spell_effect_id_4, " +
-                     "t.traits, t.keywords, t.template_json, t.weapon_category, t.weapon_family, t.armor_category, " +
-                     "t.min_item_level, t.max_item_level, t.on_use_spell_ids, t.uses, t.on_equip_effect_ids " +
-                     "FROM item_instance i JOIN item_template t ON i.template_id = t.id " +
-                     "WHERE i.container_instance_id = ?";
+        TemplateCatalog<ItemTemplate> cat = catalog;
+        String sql = cat != null
+                ? "SELECT i.* FROM item_instance i WHERE " + column + " = ?"
+                : "SELECT i.*, " + JOINED_TEMPLATE_COLUMNS +
+                  "FROM item_instance i JOIN item_template t ON i.template_id = t.id WHERE " + column + " = ?";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setLong(1, containerInstanceId);
+            ps.setLong(1, value);
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
                     ItemInstance inst = extractItemInstance(rs);
-                    ItemTemplate tmpl = extractItemTemplate(rs, "tid");
-                    result.add(new RoomItem(inst, tmpl));
+                    ItemTemplate tmpl = cat != null ? cat.byId(inst.templateId) : extractItemTemplate(rs, "tid");
+                    if (tmpl != null) result.add(new RoomItem(inst, tmpl));
                 }
             }
         } catch (SQLException e) {
-            throw new RuntimeException("Failed to get items in container: " + e.getMessage(), e);
+            throw new RuntimeException("Failed to get " + what + ": " + e.getMessage(), e);
         }
         return result;
     }
@@ -1186,6 +1305,14 @@ public class ItemDAO {
     public java.util.List<ItemTemplate> searchItemTemplates(String searchStr) {
         java.util.List<ItemTemplate> results = new java.util.ArrayList<>();
         if (searchStr == null || searchStr.trim().isEmpty()) return results;
+        TemplateCatalog<ItemTemplate> cat = catalog;
+        if (cat != null) {
+            String needle = searchStr.trim().toLowerCase();
+            for (ItemTemplate t : cat.all()) {
+                if (t.name != null && t.name.toLowerCase().contains(needle)) results.add(t);
+            }
+            return results;
+        }
         String pattern = "%" + searchStr.trim().toLowerCase() + "%";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(
@@ -0,0 +1,41 @@
+package com.example.tassmud.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntConsumer;
+
+/**
+ * Tells in-memory snapshots that a character's combat loadout changed: an equipment slot, an
+ * equipped item instance, a skill proficiency or their current class level.
+ *
+ * <p>The DAOs that write those tables call {@link #changed}; listeners run once the write is
+ * committed (see {@link TransactionManager#afterCommit}), with the character id.
+ */
+public final class LoadoutChanges {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadoutChanges.class);
+
+    private static final List<IntConsumer> listeners = new CopyOnWriteArrayList<>();
+
+    private LoadoutChanges() {}
+
+    public static void addListener(IntConsumer listener) {
+        listeners.add(listener);
+    }
+
+    static void changed(int characterId) {
+        if (listeners.isEmpty()) return;
+        TransactionManager.afterCommit(() -> {
+            for (IntConsumer listener : listeners) {
+                try {
+                    listener.accept(characterId);
+                } catch (RuntimeException e) {
+                    logger.warn("[LoadoutChanges] Listener failed for character {}: {}", characterId, e.getMessage(), e);
+                }
+            }
+        });
+    }
+}
@@ -1,5 +1,15 @@
 package com.example.tassmud.persistence;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -7,11 +17,52 @@ import java.util.concurrent.ConcurrentHashMap;
  * Simple manager to ensure expensive migration/setup tasks run only once per key
  * during JVM startup. DAOs can delegate their per-class ensureTables() calls
  * to this manager to avoid repeated checks when multiple instances are created.
+ *
+ * <p>It also applies numbered schema migrations ({@link #applyVersionedMigrations()}): changes
+ * that span several DAOs' tables, run once per database and recorded in {@code schema_version}.
+ * They run at startup after every DAO has created its tables.
  */
 public final class MigrationManager {
 
+    private static final Logger logger = LoggerFactory.getLogger(MigrationManager.class);
+
     private static final Set<String> executed = ConcurrentHashMap.newKeySet();
 
+    /** A numbered schema change. Never edit one that has shipped; add a new version instead. */
+    static final class Migration {
+        final int version;
+        final String description;
+        final List<String> statements;
+
+        Migration(int version, String description, String... statements) {
+            this.version = version;
+            this.description = description;
+            this.statements = List.of(statements);
+        }
+    }
+
+    /** All versioned migrations, in ascending version order. */
+    static final List<Migration> MIGRATIONS = List.of(
+        // Plain lookup indexes rather than covering ones: H2 has no INCLUDE columns, and these DAO
+        // queries read whole rows (SELECT *), so each match still reads the row from the table.
+        new Migration(1, "Indexes on hot item_instance and mobile_instance lookup columns",
+            // ItemDAO.getItemsInRoom / getItemsByCharacter / getItemsInContainer
+            "CREATE INDEX IF NOT EXISTS idx_item_instance_room ON item_instance(location_room_id)",
+            "CREATE INDEX IF NOT EXISTS idx_item_instance_owner ON item_instance(owner_character_id)",
+            "CREATE INDEX IF NOT EXISTS idx_item_instance_container ON item_instance(container_instance_id)",
+            // ItemDAO.findInstancesByTemplateId / deleteEmptyCorpsesInRoom (template_id AND location_room_id)
+            "CREATE INDEX IF NOT EXISTS idx_item_instance_template_room ON item_instance(template_id, location_room_id)",
+            // MobileDAO.getInstanceByOriginUuid / findInstancesByTemplateId / getMobilesInRoom
+            "CREATE INDEX IF NOT EXISTS idx_mobile_instance_origin ON mobile_instance(orig_uuid, is_dead)",
+            "CREATE INDEX IF NOT EXISTS idx_mobile_instance_template ON mobile_instance(template_id)",
+            "CREATE INDEX IF NOT EXISTS idx_mobile_instance_room ON mobile_instance(current_room_id, is_dead)",
+            // Clearing a moved item's marker looks it up by item, not by the (mobile, item) key
+            "CREATE INDEX IF NOT EXISTS idx_mobile_instance_item_item ON mobile_instance_item(item_instance_id)"),
+        new Migration(2, "Index character_equipment by item instance",
+            // ItemDAO looks up who wears an instance before deleting, moving or updating it
+            "CREATE INDEX IF NOT EXISTS idx_character_equipment_item ON character_equipment(item_instance_id)")
+    );
+
     private MigrationManager() { }
 
     /**
@@ -28,4 +79,60 @@ public final class MigrationManager {
             executed.add(key);
         }
     }
+
+    /**
+     * Apply every versioned migration the database has not recorded yet. A failed migration is
+     * logged and stops the run (later versions may depend on it); it is retried on the next start.
+     *
+     * @return the highest applied version, or -1 if the version table could not be read
+     */
+    public static int applyVersionedMigrations() {
+        try (Connection c = TransactionManager.getConnection()) {
+            return applyVersionedMigrations(c, MIGRATIONS);
+        } catch (SQLException e) {
+            logger.warn("[MigrationManager] Could not apply schema migrations: {}", e.getMessage(), e);
+            return -1;
+        }
+    }
+
+    static synchronized int applyVersionedMigrations(Connection c, List<Migration> migrations) throws SQLException {
+        try (Statement s = c.createStatement()) {
+            s.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                "version INT PRIMARY KEY, description VARCHAR(255), applied_at BIGINT)");
+        }
+        Set<Integer> applied = new HashSet<>();
+        int current = 0;
+        try (Statement s = c.createStatement();
+             ResultSet rs = s.executeQuery("SELECT version FROM schema_version")) {
+            while (rs.next()) {
+                applied.add(rs.getInt(1));
+                current = Math.max(current, rs.getInt(1));
+            }
+        }
+
+        for (Migration m : migrations) {
+            if (applied.contains(m.version)) continue;
+            long start = System.currentTimeMillis();
+            try (Statement s = c.createStatement()) {
+                for (String sql : m.statements) {
+                    s.execute(sql);
+                }
+                try (PreparedStatement ps = c.prepareStatement(
+                        "INSERT INTO schema_version (version, description, applied_at) VALUES (?, ?, ?)")) {
+                    ps.setInt(1, m.version);
+                    ps.setString(2, m.description);
+                    ps.setLong(3, System.currentTimeMillis());
+                    ps.executeUpdate();
+                }
+            } catch (SQLException e) {
+                logger.warn("[MigrationManager] Schema migration v{} ({}) failed, stopping at v{}: {}",
+                        m.version, m.description, current, e.getMessage(), e);
+                return current;
+            }
+            current = Math.max(current, m.version);
+            logger.info("[MigrationManager] Applied schema migration v{}: {} in {}ms",
+                    m.version, m.description, System.currentTimeMillis() - start);
+        }
+        return current;
+    }
 }
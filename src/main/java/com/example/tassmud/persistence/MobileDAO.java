@@ -12,15 +12,27 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Data Access Object for mobile templates and instances.
+ *
+ * <p>Once {@link #loadTemplateCatalog()} has run, template reads are served from an immutable
+ * {@link TemplateCatalog}. {@link #upsertTemplate} drops the catalog, so reads fall back to SQL
+ * until it is loaded again.
  */
 public class MobileDAO {
     private static final Logger logger = LoggerFactory.getLogger(MobileDAO.class);
+
+    /** Mobile templates by id and template_key; null until {@link #loadTemplateCatalog()} succeeds. */
+    private static volatile TemplateCatalog<MobileTemplate> catalog;
+
+    /** spawn_mapping UUIDs per (room, template); rows are only added, by {@link #ensureSpawnMappings}. */
+    private static final Map<Long, List<String>> spawnMappings = new ConcurrentHashMap<>();
+
     public MobileDAO() {
         // Run migrations/ensureTables once per DAO class to avoid repeating expensive
         // schema checks for every DAO instance during startup.
@@ -185,15 +197,56 @@ public class MobileDAO {
                 // Note: if we changed targetId above we already set it into slot 1
                 ps.executeUpdate();
             }
+            invalidateTemplateCatalog();
         } catch (SQLException e) {
             throw new RuntimeException("Failed to upsert mobile template", e);
         }
     }
     
+    /**
+     * Build the template catalog from mobile_template and publish it. Called at startup after the
+     * YAML import and by the GM {@code reloadtemplates} command.
+     *
+     * @return the published catalog, or null if it could not be built (reads stay on SQL)
+     */
+    public TemplateCatalog<MobileTemplate> loadTemplateCatalog() {
+        synchronized (MobileDAO.class) {
+            long start = System.currentTimeMillis();
+            List<MobileTemplate> templates = new ArrayList<>();
+            try (Connection c = TransactionManager.getConnection();
+                 PreparedStatement ps = c.prepareStatement("SELECT * FROM mobile_template");
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    templates.add(templateFromResultSet(rs));
+                }
+                catalog = TemplateCatalog.build(templates, MobileTemplate::getId, MobileTemplate::getKey);
+                logger.info("[MobileDAO] Template catalog loaded: {} mobile templates in {}ms", catalog.size(), System.currentTimeMillis() - start);
+                return catalog;
+            } catch (SQLException | IllegalArgumentException e) {
+                logger.warn("[MobileDAO] Failed to load template catalog, template reads stay on SQL: {}", e.getMessage(), e);
+                catalog = null;
+                return null;
+            }
+        }
+    }
+
+    /** @return the current template catalog, or null if it is not loaded */
+    public TemplateCatalog<MobileTemplate> getTemplateCatalog() {
+        return catalog;
+    }
+
+    private static void invalidateTemplateCatalog() {
+        synchronized (MobileDAO.class) {
+            catalog = null;
+        }
+    }
+
     /**
      * Get a mobile template by ID.
      */
     public MobileTemplate getTemplateById(int id) {
+        TemplateCatalog<MobileTemplate> cat = catalog;
+        if (cat != null) return cat.byId(id);
         String sql = "SELECT * FROM mobile_template WHERE id = ?";
         try (Connection c = TransactionManager.getConnection();
                PreparedStatement ps = c.prepareStatement(sql)) {
@@ -220,6 +273,8 @@ public class MobileDAO {
      * Return a list of all template ids (ordered). Useful for diagnostics.
      */
     public List<Integer> getAllTemplateIds() {
+        TemplateCatalog<MobileTemplate> cat = catalog;
+        if (cat != null) return cat.idsInRange(0, Integer.MAX_VALUE);
         List<Integer> ids = new ArrayList<>();
         String sql = "SELECT id FROM mobile_template ORDER BY id";
         try (Connection c = TransactionManager.getConnection();
@@ -239,6 +294,15 @@ public class MobileDAO {
      */
     public Map<Integer, Integer> getTemplateLevels(Set<Integer> ids) {
         if (ids == null || ids.isEmpty()) return Collections.emptyMap();
+        TemplateCatalog<MobileTemplate> cat = catalog;
+        if (cat != null) {
+            Map<Integer, Integer> levels = new HashMap<>();
+            for (int id : ids) {
+                MobileTemplate t = cat.byId(id);
+                if (t != null) levels.put(id, t.getLevel());
+            }
+            return levels;
+        }
         String placeholders = ids.stream().map(i -> "?").collect(Collectors.joining(", "));
         String sql = "SELECT id, level FROM mobile_template WHERE id IN (" + placeholders + ")";
         Map<Integer, Integer> result = new HashMap<>();
@@ -263,6 +327,8 @@ public class MobileDAO {
      * Get a mobile template by key.
      */
     public MobileTemplate getTemplateByKey(String key) {
+        TemplateCatalog<MobileTemplate> cat = catalog;
+        if (cat != null) return cat.byKey(key);
         String sql = "SELECT * FROM mobile_template WHERE template_key = ?";
            try (Connection c = TransactionManager.getConnection();
                PreparedStatement ps = c.prepareStatement(sql)) {
@@ -284,6 +350,14 @@ public class MobileDAO {
     public List<MobileTemplate> searchTemplates(String searchStr) {
         List<MobileTemplate> results = new ArrayList<>();
         if (searchStr == null || searchStr.trim().isEmpty()) return results;
+        TemplateCatalog<MobileTemplate> cat = catalog;
+        if (cat != null) {
+            String needle = searchStr.toLowerCase();
+            for (MobileTemplate t : cat.all()) {
+                if (t.getName() != null && t.getName().toLowerCase().contains(needle)) results.add(t);
+            }
+            return results;
+        }
         
         String sql = "SELECT * FROM mobile_template WHERE LOWER(name) LIKE ? ORDER BY id";
         try (Connection c = TransactionManager.getConnection();
@@ -304,6 +378,8 @@ public class MobileDAO {
      * Get all mobile templates.
      */
     public List<MobileTemplate> getAllTemplates() {
+        TemplateCatalog<MobileTemplate> cat = catalog;
+        if (cat != null) return new ArrayList<>(cat.all());
         List<MobileTemplate> results = new ArrayList<>();
         String sql = "SELECT * FROM mobile_template ORDER BY id";
            try (Connection c = TransactionManager.getConnection();
@@ -463,6 +539,96 @@ public class MobileDAO {
         return null;
     }
     
+    /**
+     * Spawn one instance of {@code template} in {@code roomId} per origin UUID with a single batched
+     * INSERT. Callers are expected to have checked that none of the UUIDs has a live instance (see
+     * {@code MobileRegistry.getByOriginUuid}). The returned mobiles are built from the template and
+     * the inserted values, exactly as {@link #getInstanceById} would load them, without reading
+     * them back.
+     *
+     * @return the spawned mobiles, in {@code originUuids} order
+     */
+    public List<Mobile> spawnMobiles(MobileTemplate template, int roomId, List<String> originUuids) {
+        List<Mobile> spawned = new ArrayList<>(originUuids.size());
+        if (originUuids.isEmpty()) return spawned;
+        String sql = "INSERT INTO mobile_instance (template_id, current_room_id, spawn_room_id, " +
+            "hp_cur, mp_cur, mv_cur, is_dead, spawned_at, died_at, orig_uuid) VALUES (?,?,?,?,?,?,?,?,?,?)";
+
+        long now = System.currentTimeMillis();
+        int[] hpCur = new int[originUuids.size()];
+        try (Connection c = TransactionManager.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < originUuids.size(); i++) {
+                hpCur[i] = computeSpawnHp(template);
+                ps.setInt(1, template.getId());
+                ps.setInt(2, roomId);
+                ps.setInt(3, roomId);
+                ps.setInt(4, hpCur[i]);
+                ps.setInt(5, template.getMpMax());
+                ps.setInt(6, template.getMvMax());
+                ps.setBoolean(7, false);
+                ps.setLong(8, now);
+                ps.setLong(9, 0);
+                ps.setString(10, originUuids.get(i));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                for (int i = 0; i < originUuids.size() && keys.next(); i++) {
+                    spawned.add(newInstance(keys.getLong(1), template, roomId, hpCur[i], originUuids.get(i), now));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to batch spawn mobiles", e);
+        }
+        if (spawned.size() != originUuids.size()) {
+            throw new IllegalStateException("Batch spawn of template " + template.getId() + " returned "
+                    + spawned.size() + " keys for " + originUuids.size() + " rows");
+        }
+        return spawned;
+    }
+
+    /** The Mobile that {@link #mobileFromResultSet} would load for a freshly inserted row. */
+    private static Mobile newInstance(long instanceId, MobileTemplate template, int roomId, int hpCur,
+                                      String originUuid, long spawnedAt) {
+        List<String> keywords = new ArrayList<>();
+        for (String k : template.getKeywords()) {
+            String t = k.trim();
+            if (!t.isEmpty()) keywords.add(t);
+        }
+        List<MobileBehavior> behaviors = template.getBehaviors().isEmpty()
+            ? List.of(MobileBehavior.PASSIVE) : template.getBehaviors();
+        return Mobile.dbBuilder()
+            .instanceId(instanceId)
+            .templateId(template.getId())
+            .level(template.getLevel())
+            .name(template.getName())
+            .description(template.getLongDesc())
+            .hpMax(template.getHpMax()).hpCur(hpCur)
+            .mpMax(template.getMpMax()).mpCur(template.getMpMax())
+            .mvMax(template.getMvMax()).mvCur(template.getMvMax())
+            .currentRoom(roomId)
+            .spawnRoomId(roomId)
+            .str(template.getStr()).dex(template.getDex()).con(template.getCon())
+            .intel(template.getIntel()).wis(template.getWis()).cha(template.getCha())
+            .armor(template.getArmor()).fortitude(template.getFortitude())
+            .reflex(template.getReflex()).will(template.getWill())
+            .keywords(keywords).shortDesc(template.getShortDesc()).behaviors(new ArrayList<>(behaviors))
+            .experienceValue(template.getExperienceValue())
+            .damageCount(template.getDamageCount())
+            .baseDamage(template.getBaseDamage())
+            .damageBonus(template.getDamageBonus())
+            .attackBonus(template.getAttackBonus())
+            .autoflee(template.getAutoflee())
+            .specFun(template.getSpecFun())
+            .mobType(template.getMobType())
+            .originUuid(originUuid)
+            .spawnedAt(spawnedAt)
+            .isDead(false)
+            .diedAt(0)
+            .build();
+    }
+
     /**
      * Get a mobile instance by ID.
      */
@@ -618,6 +784,9 @@ public class MobileDAO {
      * Get all configured spawn mapping UUIDs for a room/template.
      */
     public List<String> getSpawnMappingUUIDs(int roomId, int templateId) {
+        long key = spawnMappingKey(roomId, templateId);
+        List<String> cached = spawnMappings.get(key);
+        if (cached != null) return cached;
         List<String> uuids = new ArrayList<>();
         String sql = "SELECT orig_uuid FROM spawn_mapping WHERE room_id = ? AND template_id = ? ORDER BY orig_uuid";
         try (Connection c = TransactionManager.getConnection();
@@ -632,7 +801,14 @@ public class MobileDAO {
         } catch (SQLException e) {
             throw new RuntimeException("Failed to get spawn mappings", e);
         }
-        return uuids;
+        // Cache only outside a transaction, so a rolled-back ensureSpawnMappings is never cached
+        List<String> result = Collections.unmodifiableList(uuids);
+        if (!TransactionManager.isInTransaction()) spawnMappings.put(key, result);
+        return result;
+    }
+
+    private static long spawnMappingKey(int roomId, int templateId) {
+        return ((long) roomId << 32) | (templateId & 0xffffffffL);
     }
 
     /**
@@ -681,6 +857,7 @@ public class MobileDAO {
                 ps.addBatch();
             }
             ps.executeBatch();
+            spawnMappings.remove(spawnMappingKey(roomId, templateId));
             logger.info("MobileDAO: added {} spawn mapping(s) for template {} in room {}", need, templateId, roomId);
         } catch (SQLException e) {
             throw new RuntimeException("Failed to ensure spawn mappings", e);
@@ -703,6 +880,30 @@ public class MobileDAO {
         }
     }
 
+    /**
+     * Persist the item markers of many mobiles with one batched MERGE.
+     *
+     * @param markersByMobile mobile instance id -> markers for that mobile
+     */
+    public void addMobileItemMarkers(Map<Long, List<MobileItemMarker>> markersByMobile) {
+        if (markersByMobile.isEmpty()) return;
+        String sql = "MERGE INTO mobile_instance_item (mobile_instance_id, item_instance_id, kind) KEY (mobile_instance_id, item_instance_id) VALUES (?,?,?)";
+        try (Connection c = TransactionManager.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            for (Map.Entry<Long, List<MobileItemMarker>> e : markersByMobile.entrySet()) {
+                for (MobileItemMarker m : e.getValue()) {
+                    ps.setLong(1, e.getKey());
+                    ps.setLong(2, m.itemInstanceId);
+                    ps.setString(3, m.kind == null ? "inventory" : m.kind);
+                    ps.addBatch();
+                }
+            }
+            ps.executeBatch();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to add mobile item markers", e);
+        }
+    }
+
     /** Simple marker record returned when loading markers. */
     public static class MobileItemMarker { public final long itemInstanceId; public final String kind; public MobileItemMarker(long itemInstanceId, String kind) { this.itemInstanceId = itemInstanceId; this.kind = kind; } }
 
@@ -1,6 +1,7 @@
 package com.example.tassmud.persistence;
 
 import com.example.tassmud.model.Area;
+import com.example.tassmud.model.Direction;
 import com.example.tassmud.model.Door;
 import com.example.tassmud.model.Room;
 import com.example.tassmud.model.RoomFlag;
@@ -19,6 +20,11 @@ import org.slf4j.LoggerFactory;
 /**
  * DAO for room, area, door, room_extra, and room_flag tables.
  * Extracted from CharacterDAO to separate spatial/world concerns from character data.
+ *
+ * <p>Once {@link #loadWorld()} has run (at server startup, after the YAML import), all reads are
+ * served from an immutable in-memory {@link WorldGraph}. Writes go to the database first and,
+ * on success, publish a new snapshot with the change applied, so the graph never runs ahead of
+ * a failed write. Before the world is loaded (during the import itself) reads fall through to SQL.
  */
 public class RoomDAO {
 
@@ -26,6 +32,9 @@ public class RoomDAO {
 
     private static final String URL = System.getProperty("tassmud.db.url",
             "jdbc:h2:file:./data/tassmud;AUTO_SERVER=TRUE;DB_CLOSE_DELAY=-1");
+    /** Current world snapshot; null until {@link #loadWorld()} succeeds. */
+    private static volatile WorldGraph world;
+
     public RoomDAO() {
         MigrationManager.ensureMigration("RoomDAO", this::ensureTable);
     }
@@ -122,6 +131,133 @@ public class RoomDAO {
         }
     }
 
+    // ========================== World Snapshot ==========================
+
+    /**
+     * Build the in-memory world graph from the area, room, door, room_flag and room_extra tables
+     * and publish it atomically. Safe to call again at runtime to pick up out-of-band DB edits.
+     *
+     * @return the published snapshot, or null if the world could not be loaded (reads stay on SQL)
+     */
+    public WorldGraph loadWorld() {
+        synchronized (RoomDAO.class) {
+            long start = System.currentTimeMillis();
+            try {
+                List<Area> areas = queryAllAreas();
+                List<Room> rooms = new ArrayList<>();
+                try (Connection c = TransactionManager.getConnection();
+                     PreparedStatement ps = c.prepareStatement(
+                             "SELECT id, area_id, name, short_desc, long_desc, exit_n, exit_e, exit_s, exit_w, exit_u, exit_d, move_cost, sector_type FROM room");
+                     ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) rooms.add(extractRoom(rs));
+                }
+                Map<Integer, List<Door>> doors = new HashMap<>();
+                try (Connection c = TransactionManager.getConnection();
+                     PreparedStatement ps = c.prepareStatement(
+                             "SELECT from_room_id, direction, to_room_id, state, locked, hidden, blocked, key_item_id, description FROM door");
+                     ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        int from = rs.getInt("from_room_id");
+                        doors.computeIfAbsent(from, k -> new ArrayList<>()).add(extractDoor(rs, from, rs.getString("direction")));
+                    }
+                }
+                Map<Integer, Set<RoomFlag>> flags = new HashMap<>();
+                try (Connection c = TransactionManager.getConnection();
+                     PreparedStatement ps = c.prepareStatement("SELECT room_id, flag FROM room_flag");
+                     ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        RoomFlag flag = RoomFlag.fromKey(rs.getString("flag"));
+                        if (flag != null) {
+                            flags.computeIfAbsent(rs.getInt("room_id"), k -> EnumSet.noneOf(RoomFlag.class)).add(flag);
+                        }
+                    }
+                }
+                Map<Integer, Map<String, String>> extras = new HashMap<>();
+                try (Connection c = TransactionManager.getConnection();
+                     PreparedStatement ps = c.prepareStatement("SELECT room_id, k, v FROM room_extra");
+                     ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        extras.computeIfAbsent(rs.getInt("room_id"), k -> new HashMap<>()).put(rs.getString("k"), rs.getString("v"));
+                    }
+                }
+
+                WorldGraph graph = WorldGraph.build(areas, rooms, doors, flags, extras);
+                world = graph;
+                logger.info("[RoomDAO] World graph loaded: {} areas, {} rooms, {} rooms with doors in {}ms",
+                        areas.size(), graph.roomCount(), doors.size(), System.currentTimeMillis() - start);
+                return graph;
+            } catch (SQLException | IllegalArgumentException e) {
+                logger.warn("[RoomDAO] Failed to load world graph, room reads stay on SQL: {}", e.getMessage(), e);
+                world = null;
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Apply a change to the current snapshot and publish the result. Serialized so that two
+     * concurrent writers (e.g. players opening different doors) cannot lose each other's update.
+     * Inside a transaction the change is only published once it commits, so a rollback never
+     * leaves the snapshot ahead of the database.
+     */
+    private static void publish(java.util.function.UnaryOperator<WorldGraph> change) {
+        TransactionManager.afterCommit(() -> {
+            synchronized (RoomDAO.class) {
+                WorldGraph current = world;
+                if (current != null) world = change.apply(current);
+            }
+        });
+    }
+
+    /** Re-read one room row and publish it into the snapshot. */
+    private void publishRoom(int roomId) {
+        if (world == null || !world.canIndex(roomId)) return;
+        Room r = queryRoomById(roomId);
+        if (r != null) publish(w -> w.withRoom(r));
+    }
+
+    /** Re-read one area row and publish it into the snapshot. */
+    private void publishArea(int areaId) {
+        if (world == null || !world.canIndex(areaId)) return;
+        Area a = queryAreaById(areaId);
+        if (a != null) publish(w -> w.withArea(a));
+    }
+
+    private static Room extractRoom(ResultSet rs) throws SQLException {
+        Integer exitN = rs.getObject("exit_n") == null ? null : rs.getInt("exit_n");
+        Integer exitE = rs.getObject("exit_e") == null ? null : rs.getInt("exit_e");
+        Integer exitS = rs.getObject("exit_s") == null ? null : rs.getInt("exit_s");
+        Integer exitW = rs.getObject("exit_w") == null ? null : rs.getInt("exit_w");
+        Integer exitU = rs.getObject("exit_u") == null ? null : rs.getInt("exit_u");
+        Integer exitD = rs.getObject("exit_d") == null ? null : rs.getInt("exit_d");
+        Integer moveCost = rs.getObject("move_cost") == null ? null : rs.getInt("move_cost");
+        String stStr = rs.getString("sector_type");
+        SectorType sectorType = (stStr != null) ? SectorType.fromString(stStr) : null;
+        return new Room(rs.getInt("id"), rs.getInt("area_id"), rs.getString("name"),
+                rs.getString("short_desc"), rs.getString("long_desc"),
+                exitN, exitE, exitS, exitW, exitU, exitD, moveCost, sectorType);
+    }
+
+    private static Area extractArea(ResultSet rs) throws SQLException {
+        String sectorStr = rs.getString("sector_type");
+        SectorType sectorType = SectorType.fromString(sectorStr);
+        String levelRange = rs.getString("level_range");
+        return new Area(rs.getInt("id"), rs.getString("name"), rs.getString("description"), sectorType,
+                (levelRange != null && !levelRange.isEmpty()) ? levelRange : null);
+    }
+
+    private static Door extractDoor(ResultSet rs, int fromRoomId, String direction) throws SQLException {
+        Integer to = rs.getObject("to_room_id") == null ? null : rs.getInt("to_room_id");
+        String state = rs.getString("state");
+        boolean locked = rs.getBoolean("locked");
+        boolean hidden = rs.getBoolean("hidden");
+        boolean blocked = rs.getBoolean("blocked");
+        Integer keyId = rs.getObject("key_item_id") == null ? null : rs.getInt("key_item_id");
+        String desc = "";
+        try { desc = rs.getString("description"); } catch (Exception ignored) {}
+        return new Door(fromRoomId, direction, to, state, locked, hidden, blocked, keyId, desc);
+    }
+
     // ========================== Area Methods ==========================
 
     public int addArea(String name, String description) {
@@ -132,7 +268,11 @@ public class RoomDAO {
             ps.setString(2, description);
             ps.executeUpdate();
             try (ResultSet rs = ps.getGeneratedKeys()) {
-                if (rs.next()) return rs.getInt(1);
+                if (rs.next()) {
+                    int id = rs.getInt(1);
+                    publishArea(id);
+                    return id;
+                }
             }
         } catch (SQLException e) {
             logger.warn("[RoomDAO] addArea (auto id) failed for name={}: {}", name, e.getMessage(), e);
@@ -150,6 +290,12 @@ public class RoomDAO {
     }
 
     public int addAreaWithId(int id, String name, String description, SectorType sectorType, String levelRange) {
+        int used = mergeArea(id, name, description, sectorType, levelRange);
+        if (used >= 0) publishArea(used);
+        return used;
+    }
+
+    private int mergeArea(int id, String name, String description, SectorType sectorType, String levelRange) {
         String sql = "MERGE INTO area (id, name, description, sector_type, level_range) KEY(id) VALUES (?, ?, ?, ?, ?)";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
@@ -186,17 +332,19 @@ public class RoomDAO {
     }
 
     public Area getAreaById(int id) {
+        WorldGraph w = world;
+        if (w != null) return w.area(id);
+        return queryAreaById(id);
+    }
+
+    private Area queryAreaById(int id) {
         String sql = "SELECT id, name, description, sector_type, level_range FROM area WHERE id = ?";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setInt(1, id);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    String sectorStr = rs.getString("sector_type");
-                    SectorType sectorType = SectorType.fromString(sectorStr);
-                    String levelRange = rs.getString("level_range");
-                    return new Area(rs.getInt("id"), rs.getString("name"), rs.getString("description"), sectorType,
-                            (levelRange != null && !levelRange.isEmpty()) ? levelRange : null);
+                    return extractArea(rs);
                 }
             }
         } catch (SQLException e) {
@@ -206,20 +354,25 @@ public class RoomDAO {
     }
 
     public List<Area> getAllAreas() {
+        WorldGraph w = world;
+        if (w != null) return new ArrayList<>(w.areas());
+        try {
+            return queryAllAreas();
+        } catch (SQLException e) {
+            logger.warn("Failed to get all areas: {}", e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private List<Area> queryAllAreas() throws SQLException {
         String sql = "SELECT id, name, description, sector_type, level_range FROM area ORDER BY id";
         List<Area> areas = new ArrayList<>();
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql);
              ResultSet rs = ps.executeQuery()) {
             while (rs.next()) {
-                String sectorStr = rs.getString("sector_type");
-                SectorType sectorType = SectorType.fromString(sectorStr);
-                String levelRange = rs.getString("level_range");
-                areas.add(new Area(rs.getInt("id"), rs.getString("name"), rs.getString("description"), sectorType,
-                        (levelRange != null && !levelRange.isEmpty()) ? levelRange : null));
+                areas.add(extractArea(rs));
             }
-        } catch (SQLException e) {
-            logger.warn("Failed to get all areas: {}", e.getMessage());
         }
         return areas;
     }
@@ -243,7 +396,11 @@ public class RoomDAO {
             if (exitD == null) ps.setNull(10, Types.INTEGER); else ps.setInt(10, exitD);
             ps.executeUpdate();
             try (ResultSet rs = ps.getGeneratedKeys()) {
-                if (rs.next()) return rs.getInt(1);
+                if (rs.next()) {
+                    int id = rs.getInt(1);
+                    publishRoom(id);
+                    return id;
+                }
             }
         } catch (SQLException e) {
             logger.warn("[RoomDAO] addRoom (auto id) failed for areaId={} name={}: {}", areaId, name, e.getMessage(), e);
@@ -276,6 +433,7 @@ public class RoomDAO {
             if (exitD == null) ps.setNull(11, Types.INTEGER); else ps.setInt(11, exitD);
             if (sectorType == null) ps.setNull(12, Types.VARCHAR); else ps.setString(12, sectorType.name());
             ps.executeUpdate();
+            publishRoom(id);
             return id;
         } catch (SQLException e) {
             logger.warn("[RoomDAO] addRoomWithId failed for id={}: {}", id, e.getMessage(), e);
@@ -284,24 +442,19 @@ public class RoomDAO {
     }
 
     public Room getRoomById(int id) {
+        WorldGraph w = world;
+        if (w != null) return w.room(id);
+        return queryRoomById(id);
+    }
+
+    private Room queryRoomById(int id) {
         String sql = "SELECT id, area_id, name, short_desc, long_desc, exit_n, exit_e, exit_s, exit_w, exit_u, exit_d, move_cost, sector_type FROM room WHERE id = ?";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setInt(1, id);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    Integer exitN = rs.getObject("exit_n") == null ? null : rs.getInt("exit_n");
-                    Integer exitE = rs.getObject("exit_e") == null ? null : rs.getInt("exit_e");
-                    Integer exitS = rs.getObject("exit_s") == null ? null : rs.getInt("exit_s");
-                    Integer exitW = rs.getObject("exit_w") == null ? null : rs.getInt("exit_w");
-                    Integer exitU = rs.getObject("exit_u") == null ? null : rs.getInt("exit_u");
-                    Integer exitD = rs.getObject("exit_d") == null ? null : rs.getInt("exit_d");
-                    Integer moveCost = rs.getObject("move_cost") == null ? null : rs.getInt("move_cost");
-                    String stStr = rs.getString("sector_type");
-                    SectorType sectorType = (stStr != null) ? SectorType.fromString(stStr) : null;
-                    return new Room(rs.getInt("id"), rs.getInt("area_id"), rs.getString("name"),
-                            rs.getString("short_desc"), rs.getString("long_desc"),
-                            exitN, exitE, exitS, exitW, exitU, exitD, moveCost, sectorType);
+                    return extractRoom(rs);
                 }
             }
         } catch (SQLException e) {
@@ -310,11 +463,36 @@ public class RoomDAO {
         return null;
     }
 
+    /**
+     * Where the exit {@code dir} from {@code roomId} leads. Served from the world graph's
+     * pre-resolved exit targets once it is loaded.
+     *
+     * @return the destination room id, or null if there is no exit that way or it leads to a
+     *         room that does not exist
+     */
+    public Integer getExitTarget(int roomId, Direction dir) {
+        WorldGraph w = world;
+        if (w != null) {
+            WorldGraph.RoomNode n = w.node(roomId);
+            if (n == null) return null;
+            int to = n.exitTarget(dir);
+            return to < 0 ? null : to;
+        }
+        Room room = queryRoomById(roomId);
+        Integer to = room == null ? null : room.getExit(dir);
+        return to != null && queryRoomById(to) != null ? to : null;
+    }
+
     /**
      * Get the effective sector type for a room.
      * Returns the room's own sector type if set, otherwise falls back to the area's sector type.
      */
     public SectorType getSectorTypeForRoom(int roomId) {
+        WorldGraph w = world;
+        if (w != null) {
+            WorldGraph.RoomNode n = w.node(roomId);
+            return n == null ? SectorType.FIELD : n.sectorType();
+        }
         Room room = getRoomById(roomId);
         if (room == null) return SectorType.FIELD;
         if (room.getSectorType() != null) return room.getSectorType();
@@ -329,6 +507,11 @@ public class RoomDAO {
      * @return movement cost in movement points
      */
     public int getMoveCostForRoom(int roomId) {
+        WorldGraph w = world;
+        if (w != null) {
+            WorldGraph.RoomNode n = w.node(roomId);
+            return n == null ? 1 : n.moveCost();
+        }
         Room room = getRoomById(roomId);
         if (room == null) return 1;
 
@@ -354,6 +537,7 @@ public class RoomDAO {
             if (exitD == null) ps.setNull(6, Types.INTEGER); else ps.setInt(6, exitD);
             ps.setInt(7, roomId);
             ps.executeUpdate();
+            publishRoom(roomId);
             return true;
         } catch (SQLException e) {
             return false;
@@ -364,6 +548,8 @@ public class RoomDAO {
      * Get the id of any room in the database (used for fallback room assignment).
      */
     public int getAnyRoomId() {
+        WorldGraph w = world;
+        if (w != null && w.anyRoomId() >= 0) return w.anyRoomId();
         String sql = "SELECT id FROM room LIMIT 1";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql);
@@ -381,18 +567,23 @@ public class RoomDAO {
     public boolean upsertDoor(int fromRoomId, String direction, Integer toRoomId, String state,
                               boolean locked, boolean hidden, boolean blocked, Integer keyItemId, String description) {
         String sql = "MERGE INTO door (from_room_id, direction, to_room_id, state, locked, hidden, blocked, key_item_id, description) KEY(from_room_id, direction) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String dir = direction == null ? "" : direction.toLowerCase();
+        String doorState = state == null ? "OPEN" : state;
+        String desc = description == null ? "" : description;
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setInt(1, fromRoomId);
-            ps.setString(2, direction == null ? "" : direction.toLowerCase());
+            ps.setString(2, dir);
             if (toRoomId == null) ps.setNull(3, Types.INTEGER); else ps.setInt(3, toRoomId);
-            ps.setString(4, state == null ? "OPEN" : state);
+            ps.setString(4, doorState);
             ps.setBoolean(5, locked);
             ps.setBoolean(6, hidden);
             ps.setBoolean(7, blocked);
             if (keyItemId == null) ps.setNull(8, Types.INTEGER); else ps.setInt(8, keyItemId);
-            if (description == null) ps.setString(9, ""); else ps.setString(9, description);
+            ps.setString(9, desc);
             ps.executeUpdate();
+            Door door = new Door(fromRoomId, dir, toRoomId, doorState, locked, hidden, blocked, keyItemId, desc);
+            publish(w -> w.withDoor(door));
             return true;
         } catch (SQLException e) {
             logger.warn("Failed to upsert door for room {} dir {}: {}", fromRoomId, direction, e.getMessage());
@@ -401,6 +592,8 @@ public class RoomDAO {
     }
 
     public List<Door> getDoorsForRoom(int fromRoomId) {
+        WorldGraph w = world;
+        if (w != null) return new ArrayList<>(w.doors(fromRoomId));
         List<Door> out = new ArrayList<>();
         String sql = "SELECT direction, to_room_id, state, locked, hidden, blocked, key_item_id FROM door WHERE from_room_id = ?";
         try (Connection c = TransactionManager.getConnection();
@@ -408,16 +601,7 @@ public class RoomDAO {
             ps.setInt(1, fromRoomId);
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    String dir = rs.getString("direction");
-                    Integer to = rs.getObject("to_room_id") == null ? null : rs.getInt("to_room_id");
-                    String state = rs.getString("state");
-                    boolean locked = rs.getBoolean("locked");
-                    boolean hidden = rs.getBoolean("hidden");
-                    boolean blocked = rs.getBoolean("blocked");
-                    Integer keyId = rs.getObject("key_item_id") == null ? null : rs.getInt("key_item_id");
-                    String desc = "";
-                    try { desc = rs.getString("description"); } catch (Exception ignored) {}
-                    out.add(new Door(fromRoomId, dir, to, state, locked, hidden, blocked, keyId, desc));
+                    out.add(extractDoor(rs, fromRoomId, rs.getString("direction")));
                 }
             }
         } catch (SQLException e) {
@@ -427,6 +611,8 @@ public class RoomDAO {
     }
 
     public Door getDoor(int fromRoomId, String direction) {
+        WorldGraph w = world;
+        if (w != null) return w.door(fromRoomId, direction);
         String sql = "SELECT direction, to_room_id, state, locked, hidden, blocked, key_item_id, description FROM door WHERE from_room_id = ? AND direction = ?";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
@@ -434,15 +620,7 @@ public class RoomDAO {
             ps.setString(2, direction == null ? "" : direction.toLowerCase());
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    Integer to = rs.getObject("to_room_id") == null ? null : rs.getInt("to_room_id");
-                    String state = rs.getString("state");
-                    boolean locked = rs.getBoolean("locked");
-                    boolean hidden = rs.getBoolean("hidden");
-                    boolean blocked = rs.getBoolean("blocked");
-                    Integer keyId = rs.getObject("key_item_id") == null ? null : rs.getInt("key_item_id");
-                    String desc = "";
-                    try { desc = rs.getString("description"); } catch (Exception ignored) {}
-                    return new Door(fromRoomId, direction, to, state, locked, hidden, blocked, keyId, desc);
+                    return extractDoor(rs, fromRoomId, direction);
                 }
             }
         } catch (SQLException e) {
@@ -461,6 +639,9 @@ public class RoomDAO {
             ps.setString(2, key == null ? "" : key);
             ps.setString(3, value == null ? "" : value);
             ps.executeUpdate();
+            String k = key == null ? "" : key;
+            String v = value == null ? "" : value;
+            publish(w -> w.withExtra(roomId, k, v));
             return true;
         } catch (SQLException e) {
             return false;
@@ -468,6 +649,11 @@ public class RoomDAO {
     }
 
     public Map<String, String> getRoomExtras(int roomId) {
+        WorldGraph w = world;
+        if (w != null) {
+            WorldGraph.RoomNode n = w.node(roomId);
+            return n == null ? new HashMap<>() : new HashMap<>(n.extras);
+        }
         Map<String, String> out = new HashMap<>();
         String sql = "SELECT k, v FROM room_extra WHERE room_id = ?";
         try (Connection c = TransactionManager.getConnection();
@@ -485,6 +671,11 @@ public class RoomDAO {
     }
 
     public String getRoomExtra(int roomId, String key) {
+        WorldGraph w = world;
+        if (w != null) {
+            WorldGraph.RoomNode n = w.node(roomId);
+            return n == null ? null : n.extras.get(key == null ? "" : key);
+        }
         String sql = "SELECT v FROM room_extra WHERE room_id = ? AND k = ?";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
@@ -520,6 +711,8 @@ public class RoomDAO {
             ps.setInt(1, roomId);
             ps.setString(2, flagKey.toLowerCase().trim());
             ps.executeUpdate();
+            RoomFlag flag = RoomFlag.fromKey(flagKey);
+            if (flag != null) publish(w -> w.withFlags(roomId, withFlag(w, roomId, flag, true)));
             return true;
         } catch (SQLException e) {
             logger.warn("Failed to add room flag {} to room {}: {}", flagKey, roomId, e.getMessage());
@@ -542,6 +735,8 @@ public class RoomDAO {
             ps.setInt(1, roomId);
             ps.setString(2, flagKey.toLowerCase().trim());
             ps.executeUpdate();
+            RoomFlag flag = RoomFlag.fromKey(flagKey);
+            if (flag != null) publish(w -> w.withFlags(roomId, withFlag(w, roomId, flag, false)));
             return true;
         } catch (SQLException e) {
             logger.warn("Failed to remove room flag {} from room {}: {}", flagKey, roomId, e.getMessage());
@@ -549,15 +744,36 @@ public class RoomDAO {
         }
     }
 
+    private static Set<RoomFlag> withFlag(WorldGraph w, int roomId, RoomFlag flag, boolean present) {
+        WorldGraph.RoomNode n = w.node(roomId);
+        Set<RoomFlag> flags = EnumSet.noneOf(RoomFlag.class);
+        if (n != null) flags.addAll(n.flags);
+        if (present) flags.add(flag); else flags.remove(flag);
+        return flags;
+    }
+
     /** Check if a room has a specific flag. */
     public boolean hasRoomFlag(int roomId, RoomFlag flag) {
         if (flag == null) return false;
+        WorldGraph w = world;
+        if (w != null) {
+            WorldGraph.RoomNode n = w.node(roomId);
+            return n != null && n.hasFlag(flag);
+        }
         return hasRoomFlag(roomId, flag.getKey());
     }
 
     /** Check if a room has a specific flag by key string. */
     public boolean hasRoomFlag(int roomId, String flagKey) {
         if (flagKey == null || flagKey.trim().isEmpty()) return false;
+        WorldGraph w = world;
+        if (w != null) {
+            RoomFlag flag = RoomFlag.fromKey(flagKey);
+            if (flag != null) {
+                WorldGraph.RoomNode n = w.node(roomId);
+                return n != null && n.hasFlag(flag);
+            }
+        }
         String sql = "SELECT 1 FROM room_flag WHERE room_id = ? AND flag = ?";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
@@ -574,6 +790,12 @@ public class RoomDAO {
     /** Get all flags for a room. */
     public Set<RoomFlag> getRoomFlags(int roomId) {
         Set<RoomFlag> flags = EnumSet.noneOf(RoomFlag.class);
+        WorldGraph w = world;
+        if (w != null) {
+            WorldGraph.RoomNode n = w.node(roomId);
+            if (n != null) flags.addAll(n.flags);
+            return flags;
+        }
         String sql = "SELECT flag FROM room_flag WHERE room_id = ?";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
@@ -612,6 +834,8 @@ public class RoomDAO {
                     ps.executeBatch();
                 }
             }
+            Set<RoomFlag> published = flags == null ? EnumSet.noneOf(RoomFlag.class) : flags;
+            publish(w -> w.withFlags(roomId, published));
             return true;
         } catch (SQLException e) {
             logger.warn("Failed to set room flags for room {}: {}", roomId, e.getMessage());
@@ -679,6 +903,7 @@ public class RoomDAO {
         } catch (Exception e) {
             throw new RuntimeException("fixExits failed", e);
         }
+        if (total > 0 && world != null) loadWorld();
         return total;
     }
 }
@@ -0,0 +1,118 @@
+package com.example.tassmud.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Logs the size and indexing of the instance tables at startup, so a slow room or spawn lookup
+ * can be traced to a missing index from the log alone.
+ *
+ * <p>H2 keeps no per-index usage counters, so "usage" here is the planner's choice: each hot
+ * lookup is run through {@code EXPLAIN} and the index it would use is logged, with a warning
+ * when it falls back to a table scan.
+ */
+public final class SchemaReport {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaReport.class);
+
+    static final List<String> TABLES = List.of(
+        "item_instance", "mobile_instance", "mobile_instance_item", "spawn_mapping");
+
+    /** A named hot query; literal arguments stand in for the DAO's bind parameters. */
+    static final class AccessPath {
+        final String name;
+        final String sql;
+
+        AccessPath(String name, String sql) {
+            this.name = name;
+            this.sql = sql;
+        }
+    }
+
+    static final List<AccessPath> ACCESS_PATHS = List.of(
+        new AccessPath("items in room", "SELECT * FROM item_instance WHERE location_room_id = 0"),
+        new AccessPath("items carried", "SELECT * FROM item_instance WHERE owner_character_id = 0"),
+        new AccessPath("items in container", "SELECT * FROM item_instance WHERE container_instance_id = 0"),
+        new AccessPath("items by template", "SELECT * FROM item_instance WHERE template_id = 0"),
+        new AccessPath("mob by origin uuid", "SELECT * FROM mobile_instance WHERE orig_uuid = '' AND is_dead = FALSE"),
+        new AccessPath("mobs by template", "SELECT * FROM mobile_instance WHERE template_id = 0"),
+        new AccessPath("mobs in room", "SELECT * FROM mobile_instance WHERE current_room_id = 0 AND is_dead = FALSE"),
+        new AccessPath("mob item markers by item", "SELECT * FROM mobile_instance_item WHERE item_instance_id = 0")
+    );
+
+    private SchemaReport() { }
+
+    /** Log the report using a pooled connection. Failures are logged, never thrown. */
+    public static void logReport() {
+        try (Connection c = TransactionManager.getConnection()) {
+            logReport(c);
+        } catch (SQLException e) {
+            logger.warn("[SchemaReport] Could not report schema: {}", e.getMessage(), e);
+        }
+    }
+
+    /** @return the number of hot lookups that would scan their whole table */
+    static int logReport(Connection c) throws SQLException {
+        for (String table : TABLES) {
+            logger.info("[SchemaReport] {}: {} rows, {} indexes",
+                    table, rowCount(c, table), indexCount(c, table));
+        }
+        int scans = 0;
+        for (AccessPath path : ACCESS_PATHS) {
+            String plan = planIndex(c, path.sql);
+            if (plan == null || plan.endsWith(".tableScan")) {
+                scans++;
+                logger.warn("[SchemaReport] {} scans the whole table ({})", path.name, plan);
+            } else {
+                logger.info("[SchemaReport] {} uses {}", path.name, plan);
+            }
+        }
+        return scans;
+    }
+
+    private static long rowCount(Connection c, String table) throws SQLException {
+        try (Statement s = c.createStatement();
+             ResultSet rs = s.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    private static int indexCount(Connection c, String table) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = ?")) {
+            ps.setString(1, table.toUpperCase(Locale.ROOT));
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * @return the index named in the plan's first {@code /* ... *}{@code /} comment, e.g.
+     *         {@code PUBLIC.IDX_ITEM_INSTANCE_ROOM} or {@code PUBLIC.ITEM_INSTANCE.tableScan}
+     */
+    static String planIndex(Connection c, String sql) throws SQLException {
+        try (Statement s = c.createStatement();
+             ResultSet rs = s.executeQuery("EXPLAIN " + sql)) {
+            return rs.next() ? parsePlanIndex(rs.getString(1)) : null;
+        }
+    }
+
+    static String parsePlanIndex(String plan) {
+        if (plan == null) return null;
+        int open = plan.indexOf("/*");
+        if (open < 0) return null;
+        int close = plan.indexOf("*/", open);
+        String comment = plan.substring(open + 2, close < 0 ? plan.length() : close).trim();
+        int colon = comment.indexOf(':');
+        return colon < 0 ? comment : comment.substring(0, colon).trim();
+    }
+}
@@ -7,7 +7,10 @@ import com.example.tassmud.model.SkillTrait;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -16,6 +19,10 @@ import org.slf4j.LoggerFactory;
 /**
  * DAO for skilltb and character_skill tables.
  * Extracted from CharacterDAO to separate skill/proficiency concerns from character data.
+ *
+ * <p>Once {@link #loadSkillCatalog()} has run, skill definition reads are served from an
+ * immutable {@link TemplateCatalog}. Writes to skilltb drop the catalog, so reads fall back to
+ * SQL until it is loaded again.
  */
 public class SkillDAO {
 
@@ -23,6 +30,11 @@ public class SkillDAO {
 
     private static final String URL = System.getProperty("tassmud.db.url",
             "jdbc:h2:file:./data/tassmud;AUTO_SERVER=TRUE;DB_CLOSE_DELAY=-1");
+    private static final String SKILL_COLUMNS = "id, skill_key, name, description, progression, traits, cooldown, duration, effect_ids";
+
+    /** Skill definitions by id and skill_key; null until {@link #loadSkillCatalog()} succeeds. */
+    private static volatile TemplateCatalog<Skill> catalog;
+
     public SkillDAO() {
         MigrationManager.ensureMigration("SkillDAO", this::ensureTable);
     }
@@ -80,6 +92,7 @@ public class SkillDAO {
         try (Connection c = TransactionManager.getConnection();
              Statement s = c.createStatement()) {
             int deleted = s.executeUpdate("DELETE FROM skilltb");
+            invalidateSkillCatalog();
             logger.info("Cleared {} stale skill definitions before YAML reload", deleted);
         } catch (SQLException e) {
             logger.warn("Failed to clear skill definitions: {}", e.getMessage());
@@ -93,6 +106,7 @@ public class SkillDAO {
             ps.setString(1, name);
             ps.setString(2, description);
             ps.executeUpdate();
+            invalidateSkillCatalog();
             return true;
         } catch (SQLException e) {
             return false;
@@ -124,6 +138,7 @@ public class SkillDAO {
             ps.setDouble(10, duration);
             ps.setString(11, effectStr);
             ps.executeUpdate();
+            invalidateSkillCatalog();
             return true;
         } catch (SQLException e) {
             logger.warn("Failed to add skill {} ({}): {}", id, name, e.getMessage());
@@ -131,11 +146,55 @@ public class SkillDAO {
         }
     }
 
+    /**
+     * Build the skill catalog from skilltb and publish it. Called at startup after the YAML import
+     * and by the GM {@code reloadtemplates} command.
+     *
+     * @return the published catalog, or null if it could not be built (reads stay on SQL)
+     */
+    public TemplateCatalog<Skill> loadSkillCatalog() {
+        synchronized (SkillDAO.class) {
+            long start = System.currentTimeMillis();
+            List<Skill> skills = new ArrayList<>();
+            Map<Integer, String> keys = new HashMap<>();
+            try (Connection c = TransactionManager.getConnection();
+                 PreparedStatement ps = c.prepareStatement("SELECT " + SKILL_COLUMNS + " FROM skilltb");
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Skill skill = mapSkillFromResultSet(rs);
+                    skills.add(skill);
+                    String key = rs.getString("skill_key");
+                    if (key != null) keys.put(skill.getId(), key);
+                }
+                catalog = TemplateCatalog.build(skills, Skill::getId, s -> keys.get(s.getId()));
+                logger.info("[SkillDAO] Skill catalog loaded: {} skills in {}ms", catalog.size(), System.currentTimeMillis() - start);
+                return catalog;
+            } catch (SQLException | IllegalArgumentException e) {
+                logger.warn("[SkillDAO] Failed to load skill catalog, skill reads stay on SQL: {}", e.getMessage(), e);
+                catalog = null;
+                return null;
+            }
+        }
+    }
+
+    /** @return the current skill catalog, or null if it is not loaded */
+    public TemplateCatalog<Skill> getSkillCatalog() {
+        return catalog;
+    }
+
+    private static void invalidateSkillCatalog() {
+        synchronized (SkillDAO.class) {
+            catalog = null;
+        }
+    }
+
     /**
      * Get a skill by its key (e.g., "simple_weapons").
      */
     public Skill getSkillByKey(String key) {
-        String sql = "SELECT id, skill_key, name, description, progression, traits, cooldown, duration, effect_ids FROM skilltb WHERE skill_key = ?";
+        TemplateCatalog<Skill> cat = catalog;
+        if (cat != null) return cat.byKey(key);
+        String sql = "SELECT " + SKILL_COLUMNS + " FROM skilltb WHERE skill_key = ?";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setString(1, key);
@@ -151,7 +210,9 @@ public class SkillDAO {
     }
 
     public Skill getSkillById(int id) {
-        String sql = "SELECT id, skill_key, name, description, progression, traits, cooldown, duration, effect_ids FROM skilltb WHERE id = ?";
+        TemplateCatalog<Skill> cat = catalog;
+        if (cat != null) return cat.byId(id);
+        String sql = "SELECT " + SKILL_COLUMNS + " FROM skilltb WHERE id = ?";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setInt(1, id);
@@ -167,11 +228,17 @@ public class SkillDAO {
     }
 
     /**
-     * Get all skills from the database.
+     * Get all skills from the database, ordered by name.
      */
     public List<Skill> getAllSkills() {
+        TemplateCatalog<Skill> cat = catalog;
+        if (cat != null) {
+            List<Skill> skills = new ArrayList<>(cat.all());
+            skills.sort(Comparator.comparing(Skill::getName, Comparator.nullsFirst(Comparator.naturalOrder())));
+            return skills;
+        }
         List<Skill> skills = new ArrayList<>();
-        String sql = "SELECT id, skill_key, name, description, progression, traits, cooldown, duration, effect_ids FROM skilltb ORDER BY name";
+        String sql = "SELECT " + SKILL_COLUMNS + " FROM skilltb ORDER BY name";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql);
              ResultSet rs = ps.executeQuery()) {
@@ -228,6 +295,7 @@ public class SkillDAO {
             ps.setInt(2, skillId);
             ps.setInt(3, level);
             ps.executeUpdate();
+            LoadoutChanges.changed(characterId);
             return true;
         } catch (SQLException e) {
             return false;
@@ -7,7 +7,9 @@ import com.example.tassmud.model.SpellTrait;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -16,6 +18,10 @@ import org.slf4j.LoggerFactory;
 /**
  * DAO for spelltb and character_spell tables.
  * Extracted from CharacterDAO to separate spell/proficiency concerns from character data.
+ *
+ * <p>Once {@link #loadSpellCatalog()} has run, spell definition reads are served from an
+ * immutable {@link TemplateCatalog}. Writes to spelltb drop the catalog, so reads fall back to
+ * SQL until it is loaded again.
  */
 public class SpellDAO {
 
@@ -23,6 +29,17 @@ public class SpellDAO {
 
     private static final String URL = System.getProperty("tassmud.db.url",
             "jdbc:h2:file:./data/tassmud;AUTO_SERVER=TRUE;DB_CLOSE_DELAY=-1");
+    private static final String SPELL_COLUMNS = "id, name, description, school, level, casting_time, target, progression, effect_ids, traits, cooldown, duration, mp_cost";
+
+    /** Orders spells the way getAllSpells' SQL does: school, level, name. */
+    private static final Comparator<Spell> SCHOOL_LEVEL_NAME = Comparator
+            .comparing((Spell sp) -> sp.getSchool().name())
+            .thenComparingInt(Spell::getLevel)
+            .thenComparing(Spell::getName, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    /** Spell definitions by id and upper-cased name; null until {@link #loadSpellCatalog()} succeeds. */
+    private static volatile TemplateCatalog<Spell> catalog;
+
     public SpellDAO() {
         MigrationManager.ensureMigration("SpellDAO", this::ensureTable);
     }
@@ -85,6 +102,7 @@ public class SpellDAO {
         try (Connection c = TransactionManager.getConnection();
              Statement s = c.createStatement()) {
             int deleted = s.executeUpdate("DELETE FROM spelltb");
+            invalidateSpellCatalog();
             logger.info("Cleared {} stale spell definitions before YAML reload", deleted);
         } catch (SQLException e) {
             logger.warn("Failed to clear spell definitions: {}", e.getMessage());
@@ -98,6 +116,7 @@ public class SpellDAO {
             ps.setString(1, name);
             ps.setString(2, description);
             ps.executeUpdate();
+            invalidateSpellCatalog();
             return true;
         } catch (SQLException e) {
             return false;
@@ -128,6 +147,7 @@ public class SpellDAO {
             ps.setDouble(12, spell.getDuration());
             ps.setInt(13, spell.getMpCost());
             ps.executeUpdate();
+            invalidateSpellCatalog();
             return true;
         } catch (SQLException e) {
             logger.warn("Failed to add spell {}: {}", spell.getName(), e.getMessage());
@@ -135,8 +155,53 @@ public class SpellDAO {
         }
     }
 
+    /**
+     * Build the spell catalog from spelltb and publish it. Called at startup after the YAML import
+     * and by the GM {@code reloadtemplates} command.
+     *
+     * @return the published catalog, or null if it could not be built (reads stay on SQL)
+     */
+    public TemplateCatalog<Spell> loadSpellCatalog() {
+        synchronized (SpellDAO.class) {
+            long start = System.currentTimeMillis();
+            List<Spell> spells = new ArrayList<>();
+            try (Connection c = TransactionManager.getConnection();
+                 PreparedStatement ps = c.prepareStatement("SELECT " + SPELL_COLUMNS + " FROM spelltb");
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    spells.add(mapSpellFromResultSet(rs));
+                }
+                catalog = TemplateCatalog.build(spells, Spell::getId, SpellDAO::nameKey);
+                logger.info("[SpellDAO] Spell catalog loaded: {} spells in {}ms", catalog.size(), System.currentTimeMillis() - start);
+                return catalog;
+            } catch (SQLException | IllegalArgumentException e) {
+                logger.warn("[SpellDAO] Failed to load spell catalog, spell reads stay on SQL: {}", e.getMessage(), e);
+                catalog = null;
+                return null;
+            }
+        }
+    }
+
+    /** @return the current spell catalog, or null if it is not loaded */
+    public TemplateCatalog<Spell> getSpellCatalog() {
+        return catalog;
+    }
+
+    private static void invalidateSpellCatalog() {
+        synchronized (SpellDAO.class) {
+            catalog = null;
+        }
+    }
+
+    /** Case-insensitive lookup key for a spell name, matching the UPPER(name) = UPPER(?) query. */
+    private static String nameKey(Spell spell) {
+        return spell.getName() != null ? spell.getName().toUpperCase(Locale.ROOT) : null;
+    }
+
     public Spell getSpellById(int id) {
-        String sql = "SELECT id, name, description, school, level, casting_time, target, progression, effect_ids, traits, cooldown, duration, mp_cost FROM spelltb WHERE id = ?";
+        TemplateCatalog<Spell> cat = catalog;
+        if (cat != null) return cat.byId(id);
+        String sql = "SELECT " + SPELL_COLUMNS + " FROM spelltb WHERE id = ?";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setInt(1, id);
@@ -152,7 +217,9 @@ public class SpellDAO {
     }
 
     public Spell getSpellByName(String name) {
-        String sql = "SELECT id, name, description, school, level, casting_time, target, progression, effect_ids, traits, cooldown, duration, mp_cost FROM spelltb WHERE UPPER(name) = UPPER(?)";
+        TemplateCatalog<Spell> cat = catalog;
+        if (cat != null) return name != null ? cat.byKey(name.toUpperCase(Locale.ROOT)) : null;
+        String sql = "SELECT " + SPELL_COLUMNS + " FROM spelltb WHERE UPPER(name) = UPPER(?)";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setString(1, name);
@@ -168,8 +235,14 @@ public class SpellDAO {
     }
 
     public List<Spell> getAllSpells() {
+        TemplateCatalog<Spell> cat = catalog;
+        if (cat != null) {
+            List<Spell> spells = new ArrayList<>(cat.all());
+            spells.sort(SCHOOL_LEVEL_NAME);
+            return spells;
+        }
         List<Spell> spells = new ArrayList<>();
-        String sql = "SELECT id, name, description, school, level, casting_time, target, progression, effect_ids, traits, cooldown, duration, mp_cost FROM spelltb ORDER BY school, level, name";
+        String sql = "SELECT " + SPELL_COLUMNS + " FROM spelltb ORDER BY school, level, name";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql);
              ResultSet rs = ps.executeQuery()) {
@@ -183,8 +256,17 @@ public class SpellDAO {
     }
 
     public List<Spell> getSpellsBySchool(Spell.SpellSchool school) {
+        TemplateCatalog<Spell> cat = catalog;
+        if (cat != null) {
+            List<Spell> spells = new ArrayList<>();
+            for (Spell spell : cat.all()) {
+                if (spell.getSchool() == school) spells.add(spell);
+            }
+            spells.sort(SCHOOL_LEVEL_NAME);
+            return spells;
+        }
         List<Spell> spells = new ArrayList<>();
-        String sql = "SELECT id, name, description, school, level, casting_time, target, progression, effect_ids, traits, cooldown, duration, mp_cost FROM spelltb WHERE school = ? ORDER BY level, name";
+        String sql = "SELECT " + SPELL_COLUMNS + " FROM spelltb WHERE school = ? ORDER BY level, name";
         try (Connection c = TransactionManager.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setString(1, school.name());
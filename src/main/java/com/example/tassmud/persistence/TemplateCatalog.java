@@ -0,0 +1,106 @@
+package com.example.tassmud.persistence;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Immutable in-memory snapshot of one template table (item, mobile, skill or spell definitions).
+ *
+ * <p>Templates are stored in a dense array indexed by id, so a lookup is a bounds check and an
+ * array read, plus a hash map from an optional lookup key (template key, skill key, spell name).
+ * The owning DAO builds a catalog from a full table read and serves its reads from it; any write
+ * to the table drops the catalog until the next explicit load, so it never shows stale rows.
+ *
+ * @param <T> template type
+ */
+public final class TemplateCatalog<T> {
+
+    private final Object[] byId;
+    private final Map<String, T> byKey;
+    private final List<T> all;
+
+    private TemplateCatalog(Object[] byId, Map<String, T> byKey, List<T> all) {
+        this.byId = byId;
+        this.byKey = byKey;
+        this.all = all;
+    }
+
+    /**
+     * Build a catalog. Templates with a null key are only reachable by id; when two templates
+     * share a key the one with the lower id wins.
+     *
+     * @param id  extracts the template id
+     * @param key extracts the lookup key, or null to index by id only
+     * @throws IllegalArgumentException if an id cannot be indexed densely
+     */
+    static <T> TemplateCatalog<T> build(Collection<T> templates, ToIntFunction<T> id, Function<T, String> key) {
+        List<T> sorted = new ArrayList<>(templates);
+        sorted.sort(Comparator.comparingInt(id));
+        int maxId = sorted.isEmpty() ? -1 : checkId(id.applyAsInt(sorted.get(sorted.size() - 1)));
+        Object[] byId = new Object[maxId + 1];
+        Map<String, T> byKey = new HashMap<>();
+        for (T t : sorted) {
+            byId[checkId(id.applyAsInt(t))] = t;
+            String k = key != null ? key.apply(t) : null;
+            if (k != null) byKey.putIfAbsent(k, t);
+        }
+        List<T> unique = new ArrayList<>(sorted.size());
+        for (Object o : byId) {
+            if (o != null) unique.add(cast(o));
+        }
+        return new TemplateCatalog<>(byId, byKey, Collections.unmodifiableList(unique));
+    }
+
+    private static int checkId(int id) {
+        if (id < 0 || id >= WorldGraph.MAX_DENSE_ID) {
+            throw new IllegalArgumentException("Template id " + id + " cannot be indexed densely");
+        }
+        return id;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object o) {
+        return (T) o;
+    }
+
+    /** @return the template with this id, or null */
+    public T byId(int id) {
+        return id >= 0 && id < byId.length ? cast(byId[id]) : null;
+    }
+
+    /** @return the template with this key (exact match), or null */
+    public T byKey(String key) {
+        return key != null ? byKey.get(key) : null;
+    }
+
+    public boolean contains(int id) {
+        return byId(id) != null;
+    }
+
+    /** @return every template, ordered by id */
+    public List<T> all() {
+        return all;
+    }
+
+    /** @return ids of the templates with {@code minId <= id <= maxId}, ascending */
+    public List<Integer> idsInRange(int minId, int maxId) {
+        List<Integer> ids = new ArrayList<>();
+        int from = Math.max(0, minId);
+        int to = Math.min(byId.length - 1, maxId);
+        for (int i = from; i <= to; i++) {
+            if (byId[i] != null) ids.add(i);
+        }
+        return ids;
+    }
+
+    public int size() {
+        return all.size();
+    }
+}
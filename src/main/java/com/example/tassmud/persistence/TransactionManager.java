@@ -6,15 +6,16 @@ import org.slf4j.LoggerFactory;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Proxy;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Supplier;
 
 /**
  * Central database connection provider with transaction support.
  *
- * <p>Normal mode: each call to {@link #getConnection()} returns a fresh auto-commit connection
- * (same behavior as the old per-method {@code DriverManager.getConnection()} pattern).
+ * <p>Normal mode: each call to {@link #getConnection()} borrows an auto-commit connection from
+ * the shared {@link ConnectionPool}; closing it returns it to the pool.
  *
  * <p>Transaction mode: {@link #runInTransaction(Supplier)} sets a thread-local connection with
  * auto-commit disabled. All DAO methods called from that thread will share the same connection.
@@ -34,20 +35,42 @@ public final class TransactionManager {
     static final String PASS = "";
 
     private static final ThreadLocal<Connection> TX_CONNECTION = new ThreadLocal<>();
+    private static final ThreadLocal<List<Runnable>> AFTER_COMMIT = new ThreadLocal<>();
 
     private TransactionManager() {} // utility class
 
+    /** Lazily created so that {@code tassmud.db.url} / pool properties set at startup are honoured. */
+    private static final class PoolHolder {
+        static final ConnectionPool POOL = new ConnectionPool(URL, USER, PASS,
+                ConnectionPool.Config.fromSystemProperties());
+    }
+
+    /** @return the shared connection pool backing all DAO connections */
+    public static ConnectionPool pool() {
+        return PoolHolder.POOL;
+    }
+
+    /** @return current pool metrics */
+    public static ConnectionPool.Stats getPoolStats() {
+        return pool().stats();
+    }
+
+    /** Close idle pooled connections; called from the server shutdown hook. */
+    public static void shutdown() {
+        pool().close();
+    }
+
     /**
      * Get a database connection. If a transaction is active on this thread,
      * returns a non-closing wrapper around the shared transaction connection.
-     * Otherwise, returns a fresh auto-commit connection.
+     * Otherwise, borrows an auto-commit connection from the pool.
      */
     public static Connection getConnection() throws SQLException {
         Connection txConn = TX_CONNECTION.get();
         if (txConn != null) {
             return wrapNonClosing(txConn);
         }
-        return DriverManager.getConnection(URL, USER, PASS);
+        return pool().borrow();
     }
 
     /**
@@ -92,13 +115,16 @@ public final class TransactionManager {
 
         Connection conn = null;
         try {
-            conn = DriverManager.getConnection(URL, USER, PASS);
+            conn = pool().borrow();
             conn.setAutoCommit(false);
             TX_CONNECTION.set(conn);
+            AFTER_COMMIT.set(new ArrayList<>());
 
             T result = action.get();
 
             conn.commit();
+            TX_CONNECTION.remove(); // hooks must not run on the finished transaction's connection
+            runAfterCommitHooks();
             return result;
         } catch (Exception e) {
             if (conn != null) {
@@ -113,10 +139,15 @@ public final class TransactionManager {
             throw new RuntimeException("Transaction failed", e);
         } finally {
             TX_CONNECTION.remove();
+            AFTER_COMMIT.remove();
             if (conn != null) {
                 try {
                     conn.setAutoCommit(true);
-                    conn.close();
+                } catch (SQLException resetEx) {
+                    logger.warn("[tx] Failed to restore auto-commit: {}", resetEx.getMessage());
+                }
+                try {
+                    conn.close(); // returns the connection to the pool
                 } catch (SQLException closeEx) {
                     logger.warn("[tx] Connection close failed: {}", closeEx.getMessage());
                 }
@@ -124,6 +155,35 @@ public final class TransactionManager {
         }
     }
 
+    private static void runAfterCommitHooks() {
+        List<Runnable> hooks = AFTER_COMMIT.get();
+        AFTER_COMMIT.remove();
+        if (hooks == null) return;
+        for (Runnable hook : hooks) {
+            try {
+                hook.run();
+            } catch (RuntimeException e) {
+                logger.warn("[tx] After-commit hook failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Run {@code hook} once the current transaction commits; it is discarded if the transaction
+     * rolls back. Outside a transaction the hook runs immediately.
+     *
+     * <p>Used to keep in-memory state (e.g. {@link CharacterStateCache}) in step with committed
+     * database state.
+     */
+    public static void afterCommit(Runnable hook) {
+        List<Runnable> hooks = AFTER_COMMIT.get();
+        if (hooks != null) {
+            hooks.add(hook);
+        } else {
+            hook.run();
+        }
+    }
+
     /**
      * Void variant of {@link #runInTransaction(Supplier)}.
      */
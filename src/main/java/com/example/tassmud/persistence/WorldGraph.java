@@ -0,0 +1,282 @@
+package com.example.tassmud.persistence;
+
+import com.example.tassmud.model.Area;
+import com.example.tassmud.model.Direction;
+import com.example.tassmud.model.Door;
+import com.example.tassmud.model.Room;
+import com.example.tassmud.model.RoomFlag;
+import com.example.tassmud.model.SectorType;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable in-memory snapshot of the static world: areas, rooms, exits, doors, room flags
+ * and room extras.
+ *
+ * <p>Rooms and areas are stored in dense arrays indexed by their database id, so a lookup is a
+ * bounds check and an array read. Exit targets are pre-resolved to room ids that are known to
+ * exist, and each room's effective sector type and movement cost are computed once at build
+ * time. A room update re-resolves that room's exits, and adding a room re-resolves the exits
+ * that pointed at it.
+ *
+ * <p>Snapshots are never mutated. {@link RoomDAO} publishes a new snapshot (via the
+ * {@code with*} copy-on-write methods or a full rebuild) after every successful write, so
+ * readers always see a consistent world without locking.
+ */
+public final class WorldGraph {
+
+    /** Room/area ids above this are not stored densely; the DAO falls back to SQL for such worlds. */
+    static final int MAX_DENSE_ID = 1 << 22;
+
+    private static final int NO_EXIT = -1;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /** Everything known about one room, resolved against the rest of the snapshot. */
+    public static final class RoomNode {
+        final Room room;
+        final Set<RoomFlag> flags;
+        final Map<String, Door> doors;
+        final Map<String, String> extras;
+        final int[] exitTargets;
+        final SectorType sectorType;
+        final int moveCost;
+
+        RoomNode(Room room, Set<RoomFlag> flags, Map<String, Door> doors, Map<String, String> extras,
+                 int[] exitTargets, SectorType sectorType, int moveCost) {
+            this.room = room;
+            this.flags = flags;
+            this.doors = doors;
+            this.extras = extras;
+            this.exitTargets = exitTargets;
+            this.sectorType = sectorType;
+            this.moveCost = moveCost;
+        }
+
+        public Room room() { return room; }
+        public SectorType sectorType() { return sectorType; }
+        public int moveCost() { return moveCost; }
+        public boolean hasFlag(RoomFlag flag) { return flags.contains(flag); }
+
+        /** @return destination room id for {@code dir}, or -1 if there is no (valid) exit */
+        public int exitTarget(Direction dir) { return exitTargets[dir.ordinal()]; }
+    }
+
+    private final Area[] areas;
+    private final RoomNode[] rooms;
+    private final int roomCount;
+    private final int anyRoomId;
+
+    private WorldGraph(Area[] areas, RoomNode[] rooms) {
+        this.areas = areas;
+        this.rooms = rooms;
+        int count = 0;
+        int any = -1;
+        for (RoomNode n : rooms) {
+            if (n == null) continue;
+            if (any < 0) any = n.room.getId();
+            count++;
+        }
+        this.roomCount = count;
+        this.anyRoomId = any;
+    }
+
+    /**
+     * Build a snapshot from raw table contents.
+     *
+     * @throws IllegalArgumentException if an id is negative or too large to index densely
+     */
+    static WorldGraph build(Collection<Area> areaList, Collection<Room> roomList,
+                            Map<Integer, List<Door>> doorsByRoom,
+                            Map<Integer, Set<RoomFlag>> flagsByRoom,
+                            Map<Integer, Map<String, String>> extrasByRoom) {
+        int maxArea = -1;
+        for (Area a : areaList) maxArea = Math.max(maxArea, checkId(a.getId()));
+        int maxRoom = -1;
+        for (Room r : roomList) maxRoom = Math.max(maxRoom, checkId(r.getId()));
+
+        Area[] areas = new Area[maxArea + 1];
+        for (Area a : areaList) areas[a.getId()] = a;
+
+        Room[] raw = new Room[maxRoom + 1];
+        for (Room r : roomList) raw[r.getId()] = r;
+
+        RoomNode[] nodes = new RoomNode[maxRoom + 1];
+        for (Room r : roomList) {
+            int id = r.getId();
+            nodes[id] = resolve(r, areas, raw,
+                    flagsByRoom.getOrDefault(id, Collections.emptySet()),
+                    doorMap(doorsByRoom.getOrDefault(id, Collections.emptyList())),
+                    extrasByRoom.getOrDefault(id, Collections.emptyMap()));
+        }
+        return new WorldGraph(areas, nodes);
+    }
+
+    private static int checkId(int id) {
+        if (id < 0 || id >= MAX_DENSE_ID) {
+            throw new IllegalArgumentException("World id " + id + " cannot be indexed densely");
+        }
+        return id;
+    }
+
+    private static RoomNode resolve(Room r, Area[] areas, Room[] raw, Set<RoomFlag> flags,
+                                    Map<String, Door> doors, Map<String, String> extras) {
+        int[] exits = new int[DIRECTIONS.length];
+        for (Direction d : DIRECTIONS) {
+            Integer to = r.getExit(d);
+            exits[d.ordinal()] = (to != null && to >= 0 && to < raw.length && raw[to] != null) ? to : NO_EXIT;
+        }
+        Area area = r.getAreaId() >= 0 && r.getAreaId() < areas.length ? areas[r.getAreaId()] : null;
+        SectorType sector = r.getSectorType() != null ? r.getSectorType()
+                : (area != null && area.getSectorType() != null ? area.getSectorType() : SectorType.FIELD);
+        int moveCost = r.hasCustomMoveCost() ? r.getMoveCost() : (area != null ? area.getMoveCost() : 1);
+        Set<RoomFlag> flagCopy = flags.isEmpty() ? EnumSet.noneOf(RoomFlag.class) : EnumSet.copyOf(flags);
+        return new RoomNode(r, Collections.unmodifiableSet(flagCopy), doors,
+                Collections.unmodifiableMap(new HashMap<>(extras)), exits, sector, moveCost);
+    }
+
+    private static Map<String, Door> doorMap(List<Door> doors) {
+        if (doors.isEmpty()) return Collections.emptyMap();
+        Map<String, Door> m = new HashMap<>();
+        for (Door d : doors) m.put(d.direction, d);
+        return Collections.unmodifiableMap(m);
+    }
+
+    // ========================== Reads ==========================
+
+    public RoomNode node(int roomId) {
+        return roomId >= 0 && roomId < rooms.length ? rooms[roomId] : null;
+    }
+
+    public Room room(int roomId) {
+        RoomNode n = node(roomId);
+        return n == null ? null : n.room;
+    }
+
+    public Area area(int areaId) {
+        return areaId >= 0 && areaId < areas.length ? areas[areaId] : null;
+    }
+
+    /** @return all areas ordered by id */
+    public List<Area> areas() {
+        return Arrays.stream(areas).filter(a -> a != null).toList();
+    }
+
+    public Door door(int roomId, String direction) {
+        RoomNode n = node(roomId);
+        if (n == null || direction == null) return null;
+        return n.doors.get(direction.toLowerCase());
+    }
+
+    public Collection<Door> doors(int roomId) {
+        RoomNode n = node(roomId);
+        return n == null ? Collections.emptyList() : n.doors.values();
+    }
+
+    public int roomCount() {
+        return roomCount;
+    }
+
+    public int anyRoomId() {
+        return anyRoomId;
+    }
+
+    // ========================== Copy-on-write updates ==========================
+
+    boolean canIndex(int id) {
+        return id >= 0 && id < MAX_DENSE_ID;
+    }
+
+    /** @return a snapshot with {@code room} added or replaced, its exits re-resolved */
+    WorldGraph withRoom(Room room) {
+        int id = room.getId();
+        RoomNode[] nodes = rooms.length > id ? rooms.clone() : Arrays.copyOf(rooms, id + 1);
+        Room[] raw = rawRooms(nodes);
+        raw[id] = room;
+        RoomNode old = node(id);
+        nodes[id] = resolve(room, areas, raw,
+                old != null ? old.flags : Collections.emptySet(),
+                old != null ? old.doors : Collections.emptyMap(),
+                old != null ? old.extras : Collections.emptyMap());
+        if (old == null) {
+            // A new room may turn previously dangling exits elsewhere into valid ones
+            for (int i = 0; i < nodes.length; i++) {
+                RoomNode n = nodes[i];
+                if (n != null && i != id && pointsTo(n.room, id)) {
+                    nodes[i] = resolve(n.room, areas, raw, n.flags, n.doors, n.extras);
+                }
+            }
+        }
+        return new WorldGraph(areas, nodes);
+    }
+
+    private static Room[] rawRooms(RoomNode[] nodes) {
+        Room[] raw = new Room[nodes.length];
+        for (int i = 0; i < nodes.length; i++) raw[i] = nodes[i] == null ? null : nodes[i].room;
+        return raw;
+    }
+
+    private static boolean pointsTo(Room r, int id) {
+        for (Integer to : r.getExits().values()) {
+            if (to != null && to == id) return true;
+        }
+        return false;
+    }
+
+    /** @return a snapshot with {@code area} added or replaced; rooms in it get new sector/move cost */
+    WorldGraph withArea(Area area) {
+        int id = area.getId();
+        Area[] newAreas = areas.length > id ? areas.clone() : Arrays.copyOf(areas, id + 1);
+        newAreas[id] = area;
+        RoomNode[] nodes = rooms.clone();
+        Room[] raw = rawRooms(nodes);
+        for (int i = 0; i < nodes.length; i++) {
+            RoomNode n = nodes[i];
+            if (n != null && n.room.getAreaId() == id) {
+                nodes[i] = resolve(n.room, newAreas, raw, n.flags, n.doors, n.extras);
+            }
+        }
+        return new WorldGraph(newAreas, nodes);
+    }
+
+    /** @return a snapshot with {@code door} added or replaced on its from-room (no-op if the room is unknown) */
+    WorldGraph withDoor(Door door) {
+        RoomNode n = node(door.fromRoomId);
+        if (n == null) return this;
+        Map<String, Door> doors = new HashMap<>(n.doors);
+        doors.put(door.direction, door);
+        return replace(new RoomNode(n.room, n.flags, Collections.unmodifiableMap(doors), n.extras,
+                n.exitTargets, n.sectorType, n.moveCost));
+    }
+
+    /** @return a snapshot where {@code roomId} has exactly {@code flags} */
+    WorldGraph withFlags(int roomId, Set<RoomFlag> flags) {
+        RoomNode n = node(roomId);
+        if (n == null) return this;
+        Set<RoomFlag> copy = flags.isEmpty() ? EnumSet.noneOf(RoomFlag.class) : EnumSet.copyOf(flags);
+        return replace(new RoomNode(n.room, Collections.unmodifiableSet(copy), n.doors, n.extras,
+                n.exitTargets, n.sectorType, n.moveCost));
+    }
+
+    /** @return a snapshot with extra {@code key} set to {@code value} on {@code roomId} */
+    WorldGraph withExtra(int roomId, String key, String value) {
+        RoomNode n = node(roomId);
+        if (n == null) return this;
+        Map<String, String> extras = new HashMap<>(n.extras);
+        extras.put(key, value);
+        return replace(new RoomNode(n.room, n.flags, n.doors, Collections.unmodifiableMap(extras),
+                n.exitTargets, n.sectorType, n.moveCost));
+    }
+
+    private WorldGraph replace(RoomNode node) {
+        RoomNode[] nodes = rooms.clone();
+        nodes[node.room.getId()] = node;
+        return new WorldGraph(areas, nodes);
+    }
+}
@@ -0,0 +1,358 @@
+package com.example.tassmud.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Compiled form of the world YAML resources (areas, rooms, items, mobiles), so a restart does not
+ * have to run SnakeYAML over several megabytes of unchanged data.
+ *
+ * <p>The snapshot holds each resource's parsed document tree (maps, lists and scalars) exactly as
+ * SnakeYAML produced it, so {@link DataLoader} imports the same values whichever source they came
+ * from. It is keyed by a SHA-256 of the resource contents: a file written for other resources, or
+ * by another format version, is ignored and rebuilt. Documents missing from the file are parsed
+ * from YAML on demand and the snapshot is rewritten with them.
+ *
+ * <p>File layout: magic, format version, content hash, document count, then per document its
+ * resource path and value tree. Strings are stored once and referenced by index afterwards.
+ */
+public final class WorldSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorldSnapshot.class);
+
+    static final int MAGIC = 0x544D5753; // "TMWS"
+    /** Bump whenever the encoding below changes. */
+    static final int FORMAT_VERSION = 1;
+
+    private static final int T_NULL = 0;
+    private static final int T_TRUE = 1;
+    private static final int T_FALSE = 2;
+    private static final int T_INT = 3;
+    private static final int T_LONG = 4;
+    private static final int T_BIGINT = 5;
+    private static final int T_DOUBLE = 6;
+    private static final int T_STRING = 7;
+    private static final int T_STRING_REF = 8;
+    private static final int T_LIST = 9;
+    private static final int T_MAP = 10;
+
+    private final String hash;
+    private final Map<String, Object> documents;
+    private boolean dirty;
+
+    private WorldSnapshot(String hash, Map<String, Object> documents) {
+        this.hash = hash;
+        this.documents = documents;
+    }
+
+    /** An empty snapshot for resources with this content hash, filled as documents are parsed. */
+    public static WorldSnapshot empty(String hash) {
+        return new WorldSnapshot(hash, new HashMap<>());
+    }
+
+    /**
+     * Snapshot file location from {@code tassmud.world.snapshot} (default next to the database);
+     * {@code none} or an empty value disables it.
+     *
+     * @return the file, or null when snapshots are disabled
+     */
+    public static Path configuredPath() {
+        String p = System.getProperty("tassmud.world.snapshot", "./data/world.snapshot").trim();
+        if (p.isEmpty() || p.equalsIgnoreCase("none")) return null;
+        return Path.of(p);
+    }
+
+    /**
+     * SHA-256 over the path and contents of every listed classpath resource that exists.
+     *
+     * @return lowercase hex digest
+     */
+    public static String contentHash(List<String> resourcePaths) throws IOException {
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        for (String path : resourcePaths.stream().sorted().toList()) {
+            byte[] bytes = readResource(path);
+            if (bytes == null) continue;
+            md.update(path.getBytes(StandardCharsets.UTF_8));
+            md.update(ByteBuffer.allocate(Long.BYTES + 1).put((byte) 0).putLong(bytes.length).array());
+            md.update(bytes);
+        }
+        return HexFormat.of().formatHex(md.digest());
+    }
+
+    public String hash() {
+        return hash;
+    }
+
+    /** @return true if documents were parsed since the snapshot was read, so it should be written */
+    public synchronized boolean isDirty() {
+        return dirty;
+    }
+
+    public synchronized int documentCount() {
+        return documents.size();
+    }
+
+    /**
+     * The parsed document of a world resource: from the snapshot if present, otherwise parsed
+     * from the resource now and added to the snapshot.
+     *
+     * @param parser turns the resource text into a document tree
+     * @return the document (null for an empty one), or null if the resource does not exist
+     */
+    public Object document(String resourcePath, Function<String, Object> parser) throws IOException {
+        synchronized (this) {
+            if (documents.containsKey(resourcePath)) return documents.get(resourcePath);
+        }
+        Object document = parseResource(resourcePath, parser);
+        if (document != null) put(resourcePath, document);
+        return document;
+    }
+
+    /**
+     * Parse a classpath resource without a snapshot.
+     *
+     * @return the document, or null if the resource does not exist or is empty
+     */
+    public static Object parseResource(String resourcePath, Function<String, Object> parser) throws IOException {
+        byte[] bytes = readResource(resourcePath);
+        return bytes == null ? null : parser.apply(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    synchronized void put(String resourcePath, Object document) {
+        documents.put(resourcePath, document);
+        dirty = true;
+    }
+
+    private static byte[] readResource(String resourcePath) throws IOException {
+        try (InputStream in = WorldSnapshot.class.getResourceAsStream(resourcePath)) {
+            return in == null ? null : in.readAllBytes();
+        }
+    }
+
+    /**
+     * Read a snapshot file. It is read onto the heap rather than memory-mapped: a live mapping
+     * would keep the file locked on Windows until it is garbage collected, so the rebuild that
+     * follows a stale read could not move the new snapshot into place.
+     *
+     * @return the snapshot, or null if the file is missing, unreadable, from another format
+     *         version or built from resources with a different hash
+     */
+    public static WorldSnapshot read(Path file, String expectedHash) {
+        if (!Files.isRegularFile(file)) return null;
+        try {
+            ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (buf.getInt() != MAGIC || buf.getInt() != FORMAT_VERSION) {
+                logger.info("[WorldSnapshot] {} has an unknown format; it will be rebuilt", file);
+                return null;
+            }
+            Decoder in = new Decoder(buf);
+            String hash = in.readRawString();
+            if (!hash.equals(expectedHash)) {
+                logger.info("[WorldSnapshot] World resources changed since {} was written; it will be rebuilt", file);
+                return null;
+            }
+            int count = in.readVarInt();
+            Map<String, Object> documents = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                String path = in.readRawString();
+                documents.put(path, in.readValue());
+            }
+            return new WorldSnapshot(hash, documents);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("[WorldSnapshot] Could not read {}, it will be rebuilt: {}", file, e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Write the snapshot to a temporary file and move it into place, so a crash mid-write never
+     * leaves a truncated snapshot behind.
+     *
+     * @throws IllegalArgumentException if a document holds a value the format cannot store
+     */
+    public void write(Path file) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Map<String, Object> sorted;
+        synchronized (this) {
+            sorted = new TreeMap<>(documents);
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            Encoder enc = new Encoder(out);
+            enc.writeRawString(hash);
+            enc.writeVarInt(sorted.size());
+            for (Map.Entry<String, Object> e : sorted.entrySet()) {
+                enc.writeRawString(e.getKey());
+                enc.writeValue(e.getValue());
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        synchronized (this) {
+            dirty = false;
+        }
+    }
+
+    private static final class Encoder {
+        private final DataOutputStream out;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        Encoder(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void writeVarInt(int v) throws IOException {
+            while ((v & ~0x7F) != 0) {
+                out.writeByte((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            out.writeByte(v);
+        }
+
+        void writeRawString(String s) throws IOException {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            out.write(bytes);
+        }
+
+        void writeValue(Object v) throws IOException {
+            if (v == null) {
+                out.writeByte(T_NULL);
+            } else if (v instanceof Boolean b) {
+                out.writeByte(b ? T_TRUE : T_FALSE);
+            } else if (v instanceof Integer i) {
+                out.writeByte(T_INT);
+                out.writeInt(i);
+            } else if (v instanceof Long l) {
+                out.writeByte(T_LONG);
+                out.writeLong(l);
+            } else if (v instanceof BigInteger bi) {
+                out.writeByte(T_BIGINT);
+                writeRawString(bi.toString());
+            } else if (v instanceof Double d) {
+                out.writeByte(T_DOUBLE);
+                out.writeDouble(d);
+            } else if (v instanceof String s) {
+                Integer ref = strings.get(s);
+                if (ref != null) {
+                    out.writeByte(T_STRING_REF);
+                    writeVarInt(ref);
+                } else {
+                    strings.put(s, strings.size());
+                    out.writeByte(T_STRING);
+                    writeRawString(s);
+                }
+            } else if (v instanceof List<?> list) {
+                out.writeByte(T_LIST);
+                writeVarInt(list.size());
+                for (Object o : list) writeValue(o);
+            } else if (v instanceof Map<?, ?> map) {
+                out.writeByte(T_MAP);
+                writeVarInt(map.size());
+                for (Map.Entry<?, ?> e : map.entrySet()) {
+                    writeValue(e.getKey());
+                    writeValue(e.getValue());
+                }
+            } else {
+                throw new IllegalArgumentException("Cannot store " + v.getClass().getName() + " in a world snapshot");
+            }
+        }
+    }
+
+    private static final class Decoder {
+        private final ByteBuffer buf;
+        private final List<String> strings = new ArrayList<>();
+
+        Decoder(ByteBuffer buf) {
+            this.buf = buf;
+        }
+
+        int readVarInt() {
+            int v = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = buf.get() & 0xFF;
+                v |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return v;
+            }
+            throw new IllegalStateException("Malformed varint at " + buf.position());
+        }
+
+        String readRawString() {
+            byte[] bytes = new byte[readVarInt()];
+            buf.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        Object readValue() {
+            int tag = buf.get();
+            switch (tag) {
+                case T_NULL: return null;
+                case T_TRUE: return Boolean.TRUE;
+                case T_FALSE: return Boolean.FALSE;
+                case T_INT: return buf.getInt();
+                case T_LONG: return buf.getLong();
+                case T_BIGINT: return new BigInteger(readRawString());
+                case T_DOUBLE: return buf.getDouble();
+                case T_STRING: {
+                    String s = readRawString();
+                    strings.add(s);
+                    return s;
+                }
+                case T_STRING_REF: return strings.get(readVarInt());
+                case T_LIST: {
+                    int n = readVarInt();
+                    List<Object> list = new ArrayList<>(n);
+                    for (int i = 0; i < n; i++) list.add(readValue());
+                    return list;
+                }
+                case T_MAP: {
+                    int n = readVarInt();
+                    Map<Object, Object> map = new LinkedHashMap<>(Math.max(16, n * 4 / 3 + 1));
+                    for (int i = 0; i < n; i++) {
+                        Object k = readValue();
+                        map.put(k, readValue());
+                    }
+                    return map;
+                }
+                default:
+                    throw new IllegalStateException("Unknown value tag " + tag + " at " + (buf.position() - 1));
+            }
+        }
+    }
+}
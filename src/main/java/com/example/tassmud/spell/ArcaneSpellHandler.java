@@ -678,7 +678,7 @@ public class ArcaneSpellHandler {
             casterName + " vanishes in a flash of arcane light!", cc.characterId, true);
 
         DaoProvider.characters().updateCharacterRoom(casterName, roomId);
-        cc.handler.currentRoomId = roomId;
+        cc.handler.setCurrentRoomId(roomId);
 
         // Aura room-change: update recipient sets for sanctuary-like auras
         com.example.tassmud.effect.AuraManager.getInstance()
@@ -733,7 +733,7 @@ public class ArcaneSpellHandler {
                 memberName + " vanishes in a flash of arcane light!", memberId, true);
 
             DaoProvider.characters().updateCharacterRoom(memberName, roomId);
-            memberHandler.currentRoomId = roomId;
+            memberHandler.setCurrentRoomId(roomId);
 
             if (memberId.equals(casterId)) {
                 cc.send("\nYou rip open a portal through space, pulling your party to " + destRoom.getName() + ".\n");
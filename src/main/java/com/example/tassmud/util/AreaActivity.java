@@ -0,0 +1,208 @@
+package com.example.tassmud.util;
+
+import com.example.tassmud.model.Mobile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Tracks which areas have players in them, so mob simulation can skip the rest.
+ *
+ * <p>An area is <em>active</em> while a player is in it and for
+ * {@code tassmud.world.dormantAfterMs} (default two minutes) after the last one leaves; after
+ * that it is <em>dormant</em>, and roaming, mob regeneration and out-of-combat specials leave its
+ * mobs frozen. Areas nobody has visited since startup are dormant, and the first player to
+ * enter one wakes it however soon after startup that is. A negative value turns dormancy off.
+ *
+ * <p>When a player walks into a dormant area, the area stays frozen until its
+ * {@link #onWake wake listeners} have run on the tick thread, with how long it was dormant, so
+ * services can catch its mobs up in one coarse batch (a lump of regeneration, fresh roam timers)
+ * before normal ticking resumes.
+ */
+public final class AreaActivity {
+
+    private static final Logger logger = LoggerFactory.getLogger(AreaActivity.class);
+
+    static final long DEFAULT_DORMANT_AFTER_MS = 120_000;
+
+    private static final AreaActivity INSTANCE =
+            new AreaActivity(Long.getLong("tassmud.world.dormantAfterMs", DEFAULT_DORMANT_AFTER_MS));
+
+    /** Point-in-time counters for diagnostics. */
+    public record Stats(boolean enabled, long dormantAfterMs, int occupiedAreas, long skipped, long wakes) {}
+
+    private record Wake(int areaId, long dormantMs) {}
+
+    private static final class AreaState {
+        volatile int players;
+        volatile long lastOccupiedMs;
+        // True from a player's arrival in a dormant area until the wake listeners have run
+        volatile boolean waking;
+
+        AreaState(long lastOccupiedMs) { this.lastOccupiedMs = lastOccupiedMs; }
+    }
+
+    private final long dormantAfterMs;
+    private final long startedMs;
+    private final ConcurrentHashMap<Integer, AreaState> areas = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Wake> pendingWakes = new ConcurrentLinkedQueue<>();
+    private final List<BiConsumer<Integer, Long>> wakeListeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong wakes = new AtomicLong();
+    private volatile TickService tickService;
+
+    AreaActivity(long dormantAfterMs) {
+        this(dormantAfterMs, System.currentTimeMillis());
+    }
+
+    AreaActivity(long dormantAfterMs, long startedMs) {
+        this.dormantAfterMs = dormantAfterMs;
+        this.startedMs = startedMs;
+    }
+
+    public static AreaActivity getInstance() {
+        return INSTANCE;
+    }
+
+    /** Run wake catch-up on {@code tickService}'s thread. Call once at startup. */
+    public void initialize(TickService tickService) {
+        this.tickService = tickService;
+        if (isEnabled()) {
+            logger.info("[AreaActivity] Areas go dormant {}s after their last player leaves", dormantAfterMs / 1000);
+        } else {
+            logger.info("[AreaActivity] Dormant areas disabled; every area is simulated");
+        }
+    }
+
+    public boolean isEnabled() {
+        return dormantAfterMs >= 0;
+    }
+
+    /**
+     * Call {@code listener} with (areaId, dormantMs) on the tick thread whenever a dormant area
+     * wakes up, before its mobs are ticked again.
+     */
+    public void onWake(BiConsumer<Integer, Long> listener) {
+        wakeListeners.add(listener);
+    }
+
+    public void playerEntered(int areaId) {
+        playerEntered(areaId, System.currentTimeMillis());
+    }
+
+    public void playerLeft(int areaId) {
+        playerLeft(areaId, System.currentTimeMillis());
+    }
+
+    void playerEntered(int areaId, long nowMs) {
+        long[] dormantMs = {-1};
+        areas.compute(areaId, (k, st) -> {
+            // An area nobody has entered yet has been frozen since startup
+            boolean firstVisit = st == null;
+            if (firstVisit) st = new AreaState(startedMs);
+            if (st.players == 0 && isEnabled() && !st.waking
+                    && (firstVisit || nowMs - st.lastOccupiedMs >= dormantAfterMs)) {
+                st.waking = true;
+                dormantMs[0] = Math.max(0, nowMs - st.lastOccupiedMs);
+            }
+            st.players++;
+            return st;
+        });
+        if (dormantMs[0] < 0) return;
+
+        wakes.incrementAndGet();
+        pendingWakes.add(new Wake(areaId, dormantMs[0]));
+        TickService ts = tickService;
+        if (ts != null) {
+            ts.execute(this::runWakes);
+        } else {
+            runWakes();
+        }
+    }
+
+    void playerLeft(int areaId, long nowMs) {
+        areas.computeIfPresent(areaId, (k, st) -> {
+            st.players = Math.max(0, st.players - 1);
+            st.lastOccupiedMs = nowMs;
+            return st;
+        });
+    }
+
+    /** @return true if mobs in {@code areaId} should be simulated ({@link AreaShards#NO_AREA} always is) */
+    public boolean isActive(int areaId) {
+        return isActive(areaId, System.currentTimeMillis());
+    }
+
+    boolean isActive(int areaId, long nowMs) {
+        if (!isEnabled() || areaId == AreaShards.NO_AREA) return true;
+        AreaState st = areas.get(areaId);
+        if (st == null || st.waking) return false;
+        return st.players > 0 || nowMs - st.lastOccupiedMs < dormantAfterMs;
+    }
+
+    /**
+     * The items in active areas, by the area of the room {@code roomOf} gives for each; the rest
+     * are counted as skipped.
+     */
+    public <T> List<T> activeOnly(Collection<T> items, Function<? super T, Integer> roomOf) {
+        if (!isEnabled()) return new ArrayList<>(items);
+        long now = System.currentTimeMillis();
+        Map<Integer, Boolean> activeByArea = new HashMap<>();
+        List<T> out = new ArrayList<>(items.size());
+        int dropped = 0;
+        for (T item : items) {
+            int area = AreaShards.areaOf(roomOf.apply(item));
+            if (activeByArea.computeIfAbsent(area, a -> isActive(a, now))) {
+                out.add(item);
+            } else {
+                dropped++;
+            }
+        }
+        if (dropped > 0) skipped.addAndGet(dropped);
+        return out;
+    }
+
+    /** Live mobiles currently in {@code areaId}; for wake listeners. */
+    public static List<Mobile> mobilesIn(int areaId) {
+        List<Mobile> out = new ArrayList<>();
+        for (Mobile m : MobileRegistry.getInstance().getAll()) {
+            if (AreaShards.areaOf(m.getCurrentRoom()) == areaId) out.add(m);
+        }
+        return out;
+    }
+
+    public Stats stats() {
+        int occupied = 0;
+        for (AreaState st : areas.values()) {
+            if (st.players > 0) occupied++;
+        }
+        return new Stats(isEnabled(), dormantAfterMs, occupied, skipped.get(), wakes.get());
+    }
+
+    private void runWakes() {
+        Wake w;
+        while ((w = pendingWakes.poll()) != null) {
+            for (BiConsumer<Integer, Long> listener : wakeListeners) {
+                try {
+                    listener.accept(w.areaId(), w.dormantMs());
+                } catch (RuntimeException e) {
+                    logger.warn("[AreaActivity] Wake listener failed for area {}: {}", w.areaId(), e.getMessage(), e);
+                }
+            }
+            AreaState st = areas.get(w.areaId());
+            if (st != null) st.waking = false;
+            logger.debug("[AreaActivity] Area {} woke after {}s dormant", w.areaId(), w.dormantMs() / 1000);
+        }
+    }
+}
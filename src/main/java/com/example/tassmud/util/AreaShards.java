@@ -0,0 +1,243 @@
+package com.example.tassmud.util;
+
+import com.example.tassmud.model.Room;
+import com.example.tassmud.persistence.DaoProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Optional area-sharded world simulation, enabled with {@code tassmud.world.loop=sharded}
+ * (or {@code TASSMUD_WORLD_LOOP=sharded}). The worker count comes from {@code tassmud.world.shards}
+ * ({@code TASSMUD_WORLD_SHARDS}) and defaults to the number of cores.
+ *
+ * <p>Sharded mode is the {@link GameLoop single-writer loop} plus a worker pool. Player commands,
+ * effect ticks and {@link WorldScheduler} tasks still run one at a time on the {@code tassmud-tick}
+ * thread, but the per-area parts of a world tick (combat rounds, roaming, mob regeneration,
+ * out-of-combat specials, spawns) are fanned out with {@link #forEach}. An area always runs on the
+ * same worker ({@code areaId % shards}) and the tick thread waits for the whole phase, so a phase
+ * never overlaps a player command or another phase.
+ *
+ * <p>Work that reaches outside its own area, such as a mob roaming over an area boundary or a
+ * combatant fleeing the room, goes through {@link #handoff}: it is queued and run on the tick
+ * thread as soon as the phase completes. With sharding off, {@link #forEach} runs everything
+ * inline on the caller and {@link #handoff} runs its task immediately.
+ */
+public final class AreaShards {
+
+    private static final Logger logger = LoggerFactory.getLogger(AreaShards.class);
+
+    /** Key for work with no known area; it runs on the tick thread after the areas. */
+    public static final int NO_AREA = -1;
+
+    private static final AreaShards INSTANCE = new AreaShards();
+
+    /** Point-in-time counters for diagnostics. */
+    public record Stats(boolean enabled, int shards, long phases, long areaRuns, long handoffs,
+                        long failures, long maxPhaseMs) {}
+
+    /** Area whose work the current worker thread is running; unset outside a phase. */
+    private static final ThreadLocal<Integer> currentArea = new ThreadLocal<>();
+
+    private final ConcurrentLinkedQueue<Runnable> handoffs = new ConcurrentLinkedQueue<>();
+    private final AtomicLong phases = new AtomicLong();
+    private final AtomicLong areaRuns = new AtomicLong();
+    private final AtomicLong handoffCount = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile long maxPhaseNanos;
+    private volatile ExecutorService[] workers;
+
+    AreaShards() {}
+
+    public static AreaShards getInstance() {
+        return INSTANCE;
+    }
+
+    /** Start {@code shards} area workers. Call once at startup, after the {@link GameLoop}. */
+    public void initialize(int shards) {
+        int n = Math.max(1, shards);
+        ExecutorService[] w = new ExecutorService[n];
+        for (int i = 0; i < n; i++) {
+            String name = "tassmud-area-" + i;
+            w[i] = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, name);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        workers = w;
+        logger.info("[AreaShards] Area-sharded world simulation on {} worker(s)", n);
+    }
+
+    public boolean isEnabled() {
+        return workers != null;
+    }
+
+    public int shardCount() {
+        ExecutorService[] w = workers;
+        return w == null ? 0 : w.length;
+    }
+
+    /** @return the area whose work the caller is running, or {@link #NO_AREA} outside a phase */
+    public int currentArea() {
+        Integer a = currentArea.get();
+        return a == null ? NO_AREA : a;
+    }
+
+    /** @return true if the caller may touch {@code areaId} directly: outside a phase, or in that area's own work */
+    public boolean owns(int areaId) {
+        Integer a = currentArea.get();
+        return a == null || a == areaId;
+    }
+
+    /** @return the area {@code roomId} belongs to, or {@link #NO_AREA} if it's unknown */
+    public static int areaOf(Integer roomId) {
+        if (roomId == null) return NO_AREA;
+        Room room = DaoProvider.rooms().getRoomById(roomId);
+        return room != null ? room.getAreaId() : NO_AREA;
+    }
+
+    /**
+     * Run {@code action} on every item, partitioned by the area of the room {@code roomOf} gives
+     * for it. Sharded, the caller blocks until every area is done and queued handoffs have run;
+     * otherwise the items simply run in order on the caller. An exception from one item is
+     * logged and doesn't stop the rest.
+     */
+    public <T> void forEach(String phase, Collection<T> items, Function<? super T, Integer> roomOf,
+                            Consumer<? super T> action) {
+        if (!isEnabled() || currentArea.get() != null) {
+            for (T item : items) runItem(phase, item, action);
+            return;
+        }
+        Map<Integer, List<T>> byArea = new LinkedHashMap<>();
+        for (T item : items) {
+            byArea.computeIfAbsent(areaOf(roomOf.apply(item)), k -> new ArrayList<>()).add(item);
+        }
+        forEachArea(phase, byArea, action);
+    }
+
+    /** {@link #forEach} for items already grouped by area id. */
+    public <T> void forEachArea(String phase, Map<Integer, List<T>> byArea, Consumer<? super T> action) {
+        ExecutorService[] w = workers;
+        if (w == null || currentArea.get() != null) {
+            for (List<T> items : byArea.values()) {
+                for (T item : items) runItem(phase, item, action);
+            }
+            return;
+        }
+        long start = System.nanoTime();
+        List<List<Integer>> perShard = new ArrayList<>(w.length);
+        for (int i = 0; i < w.length; i++) perShard.add(new ArrayList<>());
+        int busy = 0;
+        for (Integer area : byArea.keySet()) {
+            if (area == NO_AREA) continue;
+            List<Integer> mine = perShard.get(Math.floorMod(area, w.length));
+            if (mine.isEmpty()) busy++;
+            mine.add(area);
+        }
+
+        CountDownLatch done = new CountDownLatch(busy);
+        for (int i = 0; i < w.length; i++) {
+            List<Integer> areas = perShard.get(i);
+            if (areas.isEmpty()) continue;
+            w[i].execute(() -> {
+                try {
+                    for (Integer area : areas) {
+                        currentArea.set(area);
+                        try {
+                            for (T item : byArea.get(area)) runItem(phase, item, action);
+                        } finally {
+                            currentArea.remove();
+                        }
+                        areaRuns.incrementAndGet();
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        awaitUninterruptibly(done);
+
+        List<T> unplaced = byArea.get(NO_AREA);
+        if (unplaced != null) {
+            for (T item : unplaced) runItem(phase, item, action);
+        }
+        runHandoffs();
+
+        phases.incrementAndGet();
+        long took = System.nanoTime() - start;
+        if (took > maxPhaseNanos) maxPhaseNanos = took;
+    }
+
+    /**
+     * Run {@code task} on the tick thread once the current phase completes, or right away if the
+     * caller isn't running area work. Use it for anything that touches another area's rooms.
+     */
+    public void handoff(Runnable task) {
+        if (currentArea.get() == null) {
+            task.run();
+            return;
+        }
+        handoffCount.incrementAndGet();
+        handoffs.add(task);
+    }
+
+    public Stats stats() {
+        return new Stats(isEnabled(), shardCount(), phases.get(), areaRuns.get(), handoffCount.get(),
+                failures.get(), maxPhaseNanos / 1_000_000);
+    }
+
+    public void shutdown() {
+        ExecutorService[] w = workers;
+        workers = null;
+        if (w == null) return;
+        for (ExecutorService s : w) s.shutdownNow();
+    }
+
+    private void runHandoffs() {
+        Runnable task;
+        while ((task = handoffs.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+                logger.error("[AreaShards] Handoff threw: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private <T> void runItem(String phase, T item, Consumer<? super T> action) {
+        try {
+            action.accept(item);
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            logger.error("[AreaShards] {} work in area {} threw: {}", phase, currentArea(), e.getMessage(), e);
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        // The phase must be finished before the tick thread touches world state again
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+}
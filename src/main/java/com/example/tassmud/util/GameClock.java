@@ -28,7 +28,7 @@ public class GameClock {
         this.bootTimeMillis = System.currentTimeMillis();
         loadOrInit();
         // schedule tick every 1000ms (1 real second == 1 in-game minute)
-        tickService.scheduleAtFixedRate("game-clock", this::tick, 1000, 1000);
+        tickService.scheduleAtFixedRate("game-clock", TickService.Lane.BACKGROUND, this::tick, 1000, 1000);
         this.running = true;
     }
 
@@ -0,0 +1,142 @@
+package com.example.tassmud.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Optional single-writer game loop, enabled with {@code tassmud.world.loop=single}
+ * (or {@code TASSMUD_WORLD_LOOP=single}).
+ *
+ * <p>When enabled, client threads only read and parse input; the work of executing each command
+ * is {@link #submit submitted} here and run on the {@code tassmud-tick} thread, the same thread
+ * that runs combat, regeneration, roaming, effects and spawns. Queued work is drained in FIFO
+ * order between tick tasks, at most {@link #MAX_PER_DRAIN} items at a time so a burst of input
+ * can't delay a due tick by more than one batch. World state is then only ever mutated by one
+ * thread.
+ *
+ * <p>When disabled (the default) {@link #submit} runs the work immediately on the caller's thread,
+ * preserving the original concurrent behaviour.
+ */
+public final class GameLoop {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameLoop.class);
+
+    /** Work items run per drain before yielding to scheduled tick tasks. */
+    static final int MAX_PER_DRAIN = 200;
+
+    private static final GameLoop INSTANCE = new GameLoop();
+
+    /** A queued work item with its enqueue time (for latency stats). */
+    private record Work(Runnable task, CompletableFuture<Void> done, long enqueuedNanos) {}
+
+    /** Point-in-time counters for diagnostics. */
+    public record Stats(boolean enabled, int queued, long executed, long failed,
+                        double avgWaitMs, long maxWaitMs, long maxDrainMs) {}
+
+    private final ConcurrentLinkedQueue<Work> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private volatile long maxWaitNanos;
+    private volatile long maxDrainNanos;
+    private volatile TickService tickService;
+
+    GameLoop() {}
+
+    public static GameLoop getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Route submitted work through {@code tickService}'s thread from now on.
+     * Call once at startup, before clients connect.
+     */
+    public void initialize(TickService tickService) {
+        this.tickService = tickService;
+        logger.info("[GameLoop] Single-writer mode: commands run on the tick thread");
+    }
+
+    public boolean isEnabled() {
+        return tickService != null;
+    }
+
+    /** @return true if the caller is the world thread (or single-writer mode is off) */
+    public boolean isWorldThread() {
+        TickService ts = tickService;
+        return ts == null || ts.isTickThread();
+    }
+
+    /**
+     * Run {@code task} on the world thread. Returns immediately with a future that completes once
+     * the task has run; when the loop is disabled or the caller already is the world thread the
+     * task runs inline and the returned future is already complete.
+     */
+    public CompletableFuture<Void> submit(Runnable task) {
+        if (isWorldThread()) {
+            try {
+                task.run();
+                return CompletableFuture.completedFuture(null);
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        queue.add(new Work(task, done, System.nanoTime()));
+        scheduleDrain();
+        return done;
+    }
+
+    /** Run {@code task} on the world thread and wait for it to finish. */
+    public void runAndWait(Runnable task) {
+        submit(task).join();
+    }
+
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            tickService.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < MAX_PER_DRAIN; i++) {
+                Work w = queue.poll();
+                if (w == null) break;
+                long wait = System.nanoTime() - w.enqueuedNanos();
+                totalWaitNanos.addAndGet(wait);
+                if (wait > maxWaitNanos) maxWaitNanos = wait;
+                Throwable error = null;
+                try {
+                    w.task().run();
+                } catch (Throwable t) {
+                    error = t;
+                    failed.incrementAndGet();
+                    logger.error("[GameLoop] Work item threw: {}", t.getMessage(), t);
+                }
+                // Count before completing so a caller waiting on the future sees it in stats()
+                executed.incrementAndGet();
+                if (error == null) w.done().complete(null); else w.done().completeExceptionally(error);
+            }
+        } finally {
+            long took = System.nanoTime() - start;
+            if (took > maxDrainNanos) maxDrainNanos = took;
+            drainScheduled.set(false);
+        }
+        // Anything left (or added meanwhile) goes behind tick tasks that are already due
+        if (!queue.isEmpty()) scheduleDrain();
+    }
+
+    public Stats stats() {
+        long n = executed.get();
+        double avgWaitMs = n == 0 ? 0.0 : totalWaitNanos.get() / 1_000_000.0 / n;
+        return new Stats(isEnabled(), queue.size(), n, failed.get(), avgWaitMs,
+                maxWaitNanos / 1_000_000, maxDrainNanos / 1_000_000);
+    }
+}
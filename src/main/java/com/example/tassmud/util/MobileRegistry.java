@@ -18,13 +18,16 @@ import org.slf4j.LoggerFactory;
  * Replaces the expensive pattern of calling {@code MobileDAO.getAllInstances()}
  * (full DB SELECT + JOIN) on every tick of {@code MobileRoamingService} (1 s)
  * and {@code RegenerationService} (10 s).  Also replaces per-room DB queries
- * ({@code MobileDAO.getMobilesInRoom()}) used by combat, look, give, etc.
+ * ({@code MobileDAO.getMobilesInRoom()}) used by combat, look, give, etc.,
+ * and the per-mapping {@code MobileDAO.getInstanceByOriginUuid()} check that
+ * {@code SpawnEvent} runs on every repop.
  * <p>
  * <b>Contract</b>:
  * <ul>
  *   <li>{@link #register(Mobile)} after every {@code MobileDAO.spawnMobile()}.</li>
  *   <li>{@link #unregister(long)} before/after every
- *       {@code MobileDAO.deleteInstance()}.</li>
+ *       {@code MobileDAO.deleteInstance()}. Also cancels the mob's
+ *       {@link WorldScheduler} tasks.</li>
  *   <li>{@link #moveToRoom(long, int, int)} whenever a mob changes rooms
  *       (roaming, teleport).</li>
  *   <li>{@link #clear()} on server startup (matches
@@ -48,6 +51,9 @@ public class MobileRegistry {
     /** Secondary index: roomId → set of instanceIds in that room */
     private final ConcurrentHashMap<Integer, Set<Long>> byRoom = new ConcurrentHashMap<>();
 
+    /** Secondary index: spawn-mapping origin UUID → instanceId of the mob spawned for it */
+    private final ConcurrentHashMap<String, Long> byOriginUuid = new ConcurrentHashMap<>();
+
     private MobileRegistry() {}
 
     public static MobileRegistry getInstance() {
@@ -64,11 +70,16 @@ public class MobileRegistry {
         if (mob == null) return;
         long id = mob.getInstanceId();
         byId.put(id, mob);
+        WorldScheduler.getInstance().arrived(WorldScheduler.Owner.mobile(id));
 
         Integer room = mob.getCurrentRoom();
         if (room != null) {
             byRoom.computeIfAbsent(room, k -> ConcurrentHashMap.newKeySet()).add(id);
         }
+        String uuid = mob.getOriginUuid();
+        if (uuid != null) {
+            byOriginUuid.put(uuid, id);
+        }
 
         logger.debug("[MobileRegistry] Registered mob {} (instance #{}) in room {}",
                 mob.getName(), id, room);
@@ -89,9 +100,14 @@ public class MobileRegistry {
                     // Don't bother removing empty sets — negligible memory.
                 }
             }
+            String uuid = mob.getOriginUuid();
+            if (uuid != null) {
+                byOriginUuid.remove(uuid, instanceId);
+            }
             logger.debug("[MobileRegistry] Unregistered mob {} (instance #{})",
                     mob.getName(), instanceId);
         }
+        WorldScheduler.getInstance().cancelAll(WorldScheduler.Owner.mobile(instanceId));
     }
 
     /**
@@ -115,6 +131,7 @@ public class MobileRegistry {
         int count = byId.size();
         byId.clear();
         byRoom.clear();
+        byOriginUuid.clear();
         logger.info("[MobileRegistry] Cleared {} registered mobiles", count);
     }
 
@@ -153,6 +170,18 @@ public class MobileRegistry {
         return byId.get(instanceId);
     }
 
+    /**
+     * Look up the live mobile spawned for a spawn-mapping origin UUID, or
+     * {@code null} if there is none (never spawned, or dead).
+     */
+    public Mobile getByOriginUuid(String originUuid) {
+        if (originUuid == null) return null;
+        Long id = byOriginUuid.get(originUuid);
+        if (id == null) return null;
+        Mobile mob = byId.get(id);
+        return mob != null && !mob.isDead() ? mob : null;
+    }
+
     /**
      * Total number of registered mobile instances.
      */
@@ -40,8 +40,6 @@ public class MobileRoamingService {
     private static final long TICK_INTERVAL_MS = 1000; // Check every second
     private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(MobileRoamingService.class);
     
-    private static MobileRoamingService instance;
-    
     private final CharacterDAO dao;
     private final MobileDAO mobileDao;
     private final CombatManager combatManager;
@@ -55,11 +53,12 @@ public class MobileRoamingService {
         this.combatManager = CombatManager.getInstance();
     }
     
-    public static synchronized MobileRoamingService getInstance() {
-        if (instance == null) {
-            instance = new MobileRoamingService();
-        }
-        return instance;
+    public static MobileRoamingService getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private static final class Holder {
+        static final MobileRoamingService INSTANCE = new MobileRoamingService();
     }
     
     /**
@@ -67,6 +66,11 @@ public class MobileRoamingService {
      */
     public void initialize(TickService tickService) {
         tickService.scheduleAtFixedRate("mobile-roaming", this::tick, TICK_INTERVAL_MS, TICK_INTERVAL_MS);
+        // Timers of mobs frozen in a dormant area ran out long ago; re-roll them so the area
+        // doesn't empty out the moment a player arrives
+        AreaActivity.getInstance().onWake((areaId, dormantMs) -> {
+            for (Mobile mobile : AreaActivity.mobilesIn(areaId)) registerMobile(mobile.getInstanceId());
+        });
         logger.info("[MobileRoamingService] Initialized with {}ms interval", TICK_INTERVAL_MS);
     }
     
@@ -102,15 +106,16 @@ public class MobileRoamingService {
         
         // Get all alive mobiles from in-memory registry (no DB query)
         MobileRegistry registry = MobileRegistry.getInstance();
-        List<Mobile> allMobiles = new ArrayList<>(registry.getAll());
-        
-        for (Mobile mobile : allMobiles) {
+        // Mobs in areas without players stay put (see AreaActivity)
+        List<Mobile> allMobiles = AreaActivity.getInstance().activeOnly(registry.getAll(), Mobile::getCurrentRoom);
+
+        AreaShards.getInstance().forEach("roaming", allMobiles, Mobile::getCurrentRoom, mobile -> {
             try {
                 processMobile(mobile, now);
             } catch (Exception e) {
                 logger.warn("[MobileRoamingService] Error processing mobile {}: {}", mobile.getInstanceId(), e.getMessage(), e);
             }
-        }
+        });
     }
     
     /**
@@ -188,7 +193,25 @@ public class MobileRoamingService {
         
         // Deduct movement points
         mobile.setMvCur(mobile.getMvCur() - moveCost);
-        
+
+        // Stepping into another area touches that area's rooms, so it waits for the phase to end
+        AreaShards shards = AreaShards.getInstance();
+        if (shards.owns(AreaShards.areaOf(chosen.destinationRoomId))) {
+            moveMobile(mobile, currentRoomId, chosen);
+        } else {
+            shards.handoff(() -> moveMobile(mobile, currentRoomId, chosen));
+        }
+    }
+
+    /**
+     * Move a mobile through the chosen exit, with announcements, persistence and an aggro check.
+     */
+    private void moveMobile(Mobile mobile, int currentRoomId, ExitChoice chosen) {
+        // A handed-off move may find the mob already gone
+        if (mobile.isDead() || mobile.getCurrentRoom() == null || mobile.getCurrentRoom() != currentRoomId) {
+            return;
+        }
+
         // Announce departure from old room
         // Use the mob's template name for movement messages and strip any
         // short-description action phrases (e.g. "hisses menacingly") so that
@@ -24,14 +24,16 @@ import org.slf4j.LoggerFactory;
  * - SITTING:  5% of max HP/MP/MV
  * - SLEEPING: 10% of max HP/MP/MV
  * - SWIMMING/FLYING: 1% (same as standing)
+ *
+ * The regen pass itself runs on the world lane and only touches memory: online players' vitals
+ * live in the session state cache and mobiles' on the {@link Mobile}. Writing regenerated mobiles
+ * back to the database is the slow part, so a second task does that on the background lane.
  */
 public class RegenerationService {
     private static final Logger logger = LoggerFactory.getLogger(RegenerationService.class);
     
     private static final long REGEN_INTERVAL_MS = 10_000; // 10 seconds
     
-    private static RegenerationService instance;
-    
     private final CharacterDAO dao;
     private final MobileDAO mobileDao;
     private final CombatManager combatManager;
@@ -39,6 +41,9 @@ public class RegenerationService {
     // Track player stances (character ID -> stance)
     // Players default to STANDING when they log in
     private final ConcurrentHashMap<Integer, Stance> playerStances = new ConcurrentHashMap<>();
+
+    // Mobiles regenerated since the last persist pass
+    private final Set<Mobile> unsavedMobiles = ConcurrentHashMap.newKeySet();
     
     private RegenerationService() {
         this.dao = DaoProvider.characters();
@@ -46,18 +51,27 @@ public class RegenerationService {
         this.combatManager = CombatManager.getInstance();
     }
     
-    public static synchronized RegenerationService getInstance() {
-        if (instance == null) {
-            instance = new RegenerationService();
-        }
-        return instance;
+    public static RegenerationService getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private static final class Holder {
+        static final RegenerationService INSTANCE = new RegenerationService();
     }
     
     /**
      * Initialize the regeneration tick.
      */
     public void initialize(TickService tickService) {
-        tickService.scheduleAtFixedRate("regeneration", this::tick, REGEN_INTERVAL_MS, REGEN_INTERVAL_MS);
+        // On the world lane, so a regen pass never overlaps a combat round and its in-combat
+        // checks stay valid while it runs. Changes are applied as deltas, so a command thread
+        // damaging the same character meanwhile (concurrent mode) doesn't lose its update.
+        tickService.scheduleAtFixedRate("regeneration", TickService.Lane.WORLD, this::tick,
+                REGEN_INTERVAL_MS, REGEN_INTERVAL_MS, "combat-tick");
+        // The DB writes for the pass, off the world lane; waits for a pass still in progress
+        tickService.scheduleAtFixedRate("regen-persist", TickService.Lane.BACKGROUND, this::persistMobiles,
+                REGEN_INTERVAL_MS, REGEN_INTERVAL_MS, "regeneration");
+        AreaActivity.getInstance().onWake(this::catchUpArea);
         logger.info("[RegenerationService] Initialized with {}ms interval", REGEN_INTERVAL_MS);
     }
     
@@ -119,7 +133,7 @@ public class RegenerationService {
                     continue;
                 }
                 
-                // Get current stats from DB
+                // Current stats (served from the session state cache)
                 CharacterRecord rec = dao.findById(charId);
                 if (rec == null) continue;
                 
@@ -128,22 +142,9 @@ public class RegenerationService {
                     continue; // Already at full
                 }
                 
-                // Calculate regen based on stance
+                // Regen based on stance, added to whatever the vitals are when it is applied
                 Stance stance = playerStances.getOrDefault(charId, Stance.STANDING);
-                int percent = stance.getRegenPercent();
-                
-                int hpRegen = Math.max(1, (rec.hpMax * percent) / 100);
-                int mpRegen = Math.max(1, (rec.mpMax * percent) / 100);
-                int mvRegen = Math.max(1, (rec.mvMax * percent) / 100);
-                
-                int newHp = Math.min(rec.hpMax, rec.hpCur + hpRegen);
-                int newMp = Math.min(rec.mpMax, rec.mpCur + mpRegen);
-                int newMv = Math.min(rec.mvMax, rec.mvCur + mvRegen);
-                
-                // Only update if something changed
-                if (newHp != rec.hpCur || newMp != rec.mpCur || newMv != rec.mvCur) {
-                    dao.saveCharacterStateByName(rec.name, newHp, newMp, newMv, rec.currentRoom);
-                }
+                dao.regenerateVitals(charId, stance.getRegenPercent());
             } catch (Exception e) {
                 logger.warn("[RegenerationService] Error regenerating player {}: {}", charId, e.getMessage(), e);
             }
@@ -156,35 +157,65 @@ public class RegenerationService {
     private void regenerateMobiles() {
         // Use in-memory registry instead of DB query (no more getAllInstances() every 10s)
         MobileRegistry registry = MobileRegistry.getInstance();
-        for (Mobile mobile : new java.util.ArrayList<>(registry.getAll())) {
+        // Mobs in areas without players are caught up when the area wakes instead
+        List<Mobile> mobiles = AreaActivity.getInstance().activeOnly(registry.getAll(), Mobile::getCurrentRoom);
+        AreaShards.getInstance().forEach("regen-mobiles", mobiles, Mobile::getCurrentRoom,
+                mobile -> regenerateMobile(mobile, 1));
+    }
+
+    /**
+     * Give the mobs of a waking area the regeneration they missed while it was dormant, as one
+     * lump of up to 100%.
+     */
+    private void catchUpArea(int areaId, long dormantMs) {
+        long missed = dormantMs / REGEN_INTERVAL_MS;
+        if (missed <= 0) return;
+        int ticks = (int) Math.min(missed, 100);
+        for (Mobile mobile : AreaActivity.mobilesIn(areaId)) {
+            regenerateMobile(mobile, ticks);
+        }
+    }
+
+    /** Apply {@code ticks} regen intervals' worth of recovery to one mobile. */
+    private void regenerateMobile(Mobile mobile, int ticks) {
+        try {
+            // Skip if dead or in combat
+            if (mobile.isDead()) return;
+            if (combatManager.isInCombat(mobile)) return;
+
+            // Check if needs regen
+            if (!mobile.needsRegen()) return;
+
+            // Mobiles use their stance (usually standing = 1% regen)
+            Stance stance = mobile.getStance();
+            int percent = Math.min(100, stance.getRegenPercent() * ticks);
+            
+            int hpRegen = Math.max(1, (mobile.getHpMax() * percent) / 100);
+            int mpRegen = Math.max(1, (mobile.getMpMax() * percent) / 100);
+            int mvRegen = Math.max(1, (mobile.getMvMax() * percent) / 100);
+            
+            mobile.regenerate(hpRegen, mpRegen, mvRegen);
+            unsavedMobiles.add(mobile);
+        } catch (Exception e) {
+            logger.warn("[RegenerationService] Error regenerating mobile {}: {}", mobile.getInstanceId(), e.getMessage(), e);
+        }
+    }
+    
+    /** Write the mobiles regenerated since the last pass to the database. */
+    private void persistMobiles() {
+        for (var it = unsavedMobiles.iterator(); it.hasNext(); ) {
+            Mobile mobile = it.next();
+            it.remove();
+            // A mob that died meanwhile has been despawned; there's nothing to save
+            if (mobile.isDead()) continue;
             try {
-                // Skip if dead or in combat
-                if (mobile.isDead()) continue;
-                if (combatManager.isInCombat(mobile)) continue;
-                
-                // Check if needs regen
-                if (!mobile.needsRegen()) continue;
-                
-                // Mobiles use their stance (usually standing = 1% regen)
-                Stance stance = mobile.getStance();
-                int percent = stance.getRegenPercent();
-                
-                int hpRegen = Math.max(1, (mobile.getHpMax() * percent) / 100);
-                int mpRegen = Math.max(1, (mobile.getMpMax() * percent) / 100);
-                int mvRegen = Math.max(1, (mobile.getMvMax() * percent) / 100);
-                
-                mobile.setHpCur(mobile.getHpCur() + hpRegen);
-                mobile.setMpCur(mobile.getMpCur() + mpRegen);
-                mobile.setMvCur(mobile.getMvCur() + mvRegen);
-                
-                // Persist mobile state to DB
                 mobileDao.updateInstance(mobile);
             } catch (Exception e) {
-                logger.warn("[RegenerationService] Error regenerating mobile {}: {}", mobile.getInstanceId(), e.getMessage(), e);
+                logger.warn("[RegenerationService] Error saving mobile {}: {}", mobile.getInstanceId(), e.getMessage(), e);
             }
         }
     }
-    
+
     /**
      * Shutdown the regeneration service.
      */
@@ -0,0 +1,168 @@
+package com.example.tassmud.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Timing profile of every named {@link TickService} task, shown by the GM {@code tickstats}
+ * command.
+ *
+ * <p>Each task records its run latencies into a log2 histogram (microsecond buckets, so p50/p99
+ * are accurate to within a factor of two), plus run, exception, overrun and wait counts. It also
+ * tracks how far behind its fixed-rate schedule each run started: a run more than a tenth of a
+ * period (and at least {@value #LATE_MIN_MS}ms) behind is <em>late</em>, and every period slot in
+ * which no run started counts as <em>skipped</em> (the executor then runs the missed runs back to
+ * back, late, within a later slot).
+ *
+ * <p>Recording is lock-free; profiles are replaced when a task name is registered again.
+ */
+public final class TickProfiler {
+
+    static final long LATE_MIN_MS = 10;
+    private static final int BUCKETS = 40;
+
+    private static final TickProfiler INSTANCE = new TickProfiler();
+
+    /** Point-in-time numbers for one task; times in milliseconds. */
+    public record TaskStats(String name, TickService.Lane lane, long periodMs, long runs, long exceptions,
+                            long overruns, long lateRuns, long skippedRuns, long waits,
+                            double p50Ms, double p99Ms, long maxRunMs, long lastRunMs) {}
+
+    private final ConcurrentHashMap<String, TaskProfile> profiles = new ConcurrentHashMap<>();
+
+    TickProfiler() {}
+
+    public static TickProfiler getInstance() {
+        return INSTANCE;
+    }
+
+    /** Start a fresh profile for {@code name}, replacing any previous one. */
+    TaskProfile register(String name, TickService.Lane lane, long periodMs, long firstDueNanos) {
+        TaskProfile p = new TaskProfile(name, lane, periodMs, firstDueNanos);
+        profiles.put(name, p);
+        return p;
+    }
+
+    void unregister(String name, TaskProfile p) {
+        profiles.remove(name, p);
+    }
+
+    /** Snapshot of every task, slowest (by p99) first. */
+    public List<TaskStats> snapshot() {
+        List<TaskStats> out = new ArrayList<>();
+        for (TaskProfile p : profiles.values()) out.add(p.stats());
+        out.sort(Comparator.comparingDouble(TaskStats::p99Ms).reversed().thenComparing(TaskStats::name));
+        return out;
+    }
+
+    /** Zero every task's counters and histogram (schedules are kept). */
+    public void reset() {
+        for (TaskProfile p : profiles.values()) p.reset();
+    }
+
+    /** Counters and latency histogram for one task. */
+    static final class TaskProfile {
+        final String name;
+        final TickService.Lane lane;
+        final long periodMs;
+        private final long periodNanos;
+        private final long lateNanos;
+        private final long firstDueNanos;
+        private final AtomicLong scheduledRuns = new AtomicLong(); // never reset; indexes the schedule
+        private final AtomicLong lastStartSlot = new AtomicLong(-1); // never reset; period slot of the last start
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+        private final AtomicLong runs = new AtomicLong();
+        private final AtomicLong exceptions = new AtomicLong();
+        private final AtomicLong overruns = new AtomicLong();
+        private final AtomicLong lateRuns = new AtomicLong();
+        private final AtomicLong skippedRuns = new AtomicLong();
+        private final AtomicLong waits = new AtomicLong();
+        private volatile long maxNanos;
+        private volatile long lastNanos;
+
+        TaskProfile(String name, TickService.Lane lane, long periodMs, long firstDueNanos) {
+            this.name = name;
+            this.lane = lane;
+            this.periodMs = periodMs;
+            this.periodNanos = TimeUnit.MILLISECONDS.toNanos(periodMs);
+            this.lateNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(LATE_MIN_MS), periodNanos / 10);
+            this.firstDueNanos = firstDueNanos;
+        }
+
+        /**
+         * Note the start of a run: late if it started well after its own due time in the
+         * fixed-rate schedule, and any period slots passed since the previous start without a
+         * run are counted as skipped (once, however many catch-up runs follow).
+         */
+        void started(long startNanos) {
+            long due = firstDueNanos + scheduledRuns.getAndIncrement() * periodNanos;
+            if (startNanos - due > lateNanos) lateRuns.incrementAndGet();
+            if (periodNanos > 0) {
+                long slot = Math.max(0, (startNanos - firstDueNanos) / periodNanos);
+                long previous = lastStartSlot.getAndSet(slot);
+                if (slot - previous > 1) skippedRuns.addAndGet(slot - previous - 1);
+            }
+        }
+
+        /** @return true if the run overran its period */
+        boolean finished(long tookNanos, boolean failed) {
+            runs.incrementAndGet();
+            if (failed) exceptions.incrementAndGet();
+            lastNanos = tookNanos;
+            if (tookNanos > maxNanos) maxNanos = tookNanos;
+            histogram.incrementAndGet(bucket(tookNanos));
+            if (tookNanos > periodNanos) {
+                overruns.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        long overrunCount() { return overruns.get(); }
+
+        void waited() { waits.incrementAndGet(); }
+
+        void reset() {
+            for (int i = 0; i < BUCKETS; i++) histogram.set(i, 0);
+            runs.set(0);
+            exceptions.set(0);
+            overruns.set(0);
+            lateRuns.set(0);
+            skippedRuns.set(0);
+            waits.set(0);
+            maxNanos = 0;
+        }
+
+        /** Bucket i holds runs of under 2^i microseconds. */
+        static int bucket(long nanos) {
+            long micros = nanos / 1000;
+            int b = 64 - Long.numberOfLeadingZeros(micros);
+            return Math.min(b, BUCKETS - 1);
+        }
+
+        /** Upper bound (ms) of the bucket holding the q-quantile run. */
+        double quantileMs(double q) {
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) total += histogram.get(i);
+            if (total == 0) return 0;
+            long rank = (long) Math.ceil(q * total);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += histogram.get(i);
+                if (seen >= rank) return Math.min((1L << i) / 1000.0, maxNanos / 1_000_000.0);
+            }
+            return maxNanos / 1_000_000.0;
+        }
+
+        TaskStats stats() {
+            return new TaskStats(name, lane, periodMs, runs.get(), exceptions.get(), overruns.get(),
+                    lateRuns.get(), skippedRuns.get(), waits.get(), quantileMs(0.50), quantileMs(0.99),
+                    maxNanos / 1_000_000, lastNanos / 1_000_000);
+        }
+    }
+}
@@ -3,6 +3,9 @@ package com.example.tassmud.util;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
@@ -13,50 +16,196 @@ import java.util.concurrent.TimeUnit;
 /**
  * Simple scheduler for periodic "tick" tasks.
  * Subsystems can register Runnables at different intervals (ms).
+ *
+ * <p>Tasks run on one of two {@link Lane lanes}, each a single thread. {@link Lane#WORLD}
+ * ({@code tassmud-tick}) is the world thread: combat, cooldowns, effects, roaming, the
+ * {@link GameLoop} and {@link WorldScheduler} all run there, serialized. {@link Lane#BACKGROUND}
+ * ({@code tassmud-tick-bg}) takes slow maintenance work (heartbeat, clock, weather, saving
+ * regenerated mobiles) so it can't delay a combat round.
+ *
+ * <p>A named task may declare that it runs after other named tasks. Those must already be
+ * registered, so on a shared lane they also come first when due together; across lanes the
+ * later task waits for a predecessor's in-progress run to finish before starting (without
+ * blocking the predecessor's next run).
+ *
+ * <p>Every named task is timed into the {@link TickProfiler}; a run that takes longer than the
+ * task's period is counted as an overrun and logged.
  */
 public class TickService {
     private static final Logger logger = LoggerFactory.getLogger(TickService.class);
-    private final ScheduledExecutorService scheduler;
+
+    /** Overruns of one task are logged at WARN the first time and then every this many. */
+    private static final long OVERRUN_LOG_EVERY = 100;
+
+    public enum Lane {
+        /** World-state work; the thread {@link #isTickThread()} refers to. */
+        WORLD("tassmud-tick"),
+        /** Slow maintenance that must not hold up combat rounds. */
+        BACKGROUND("tassmud-tick-bg");
+
+        private final String threadName;
+
+        Lane(String threadName) { this.threadName = threadName; }
+    }
+
+    private final Map<Lane, ScheduledExecutorService> lanes = new EnumMap<>(Lane.class);
     private final Map<String, ScheduledFuture<?>> tasks = new ConcurrentHashMap<>();
+    private final Map<String, NamedTask> named = new ConcurrentHashMap<>();
+    private volatile Thread tickThread;
 
     public TickService() {
-        // single-threaded scheduler to serialize tick operations by default
-        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
-            Thread t = new Thread(r, "tassmud-tick");
-            t.setDaemon(true);
-            return t;
-        });
+        for (Lane lane : Lane.values()) {
+            lanes.put(lane, Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, lane.threadName);
+                t.setDaemon(true);
+                if (lane == Lane.WORLD) tickThread = t;
+                return t;
+            }));
+        }
+    }
+
+    private ScheduledExecutorService world() {
+        return lanes.get(Lane.WORLD);
     }
 
     public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long initialDelayMs, long periodMs) {
-        return scheduler.scheduleAtFixedRate(task, initialDelayMs, periodMs, TimeUnit.MILLISECONDS);
+        return world().scheduleAtFixedRate(task, initialDelayMs, periodMs, TimeUnit.MILLISECONDS);
     }
 
     public ScheduledFuture<?> scheduleAtFixedRate(String name, Runnable task, long initialDelayMs, long periodMs) {
-        Runnable safeTask = () -> {
-            try {
-                task.run();
-            } catch (Exception e) {
-                logger.error("[TickService] Task '{}' threw uncaught exception — task continues: {}", name, e.getMessage(), e);
+        return scheduleAtFixedRate(name, Lane.WORLD, task, initialDelayMs, periodMs);
+    }
+
+    /**
+     * Register a named periodic task on {@code lane}.
+     *
+     * @param runAfter names of tasks this one must run after; each must already be registered
+     * @throws IllegalStateException if a {@code runAfter} task hasn't been registered yet
+     */
+    public ScheduledFuture<?> scheduleAtFixedRate(String name, Lane lane, Runnable task,
+                                                  long initialDelayMs, long periodMs, String... runAfter) {
+        List<NamedTask> preds = new ArrayList<>();
+        for (String p : runAfter) {
+            NamedTask pred = named.get(p);
+            if (pred == null) {
+                throw new IllegalStateException("Tick task '" + name + "' must run after '" + p
+                        + "', which isn't registered yet");
             }
-        };
-        ScheduledFuture<?> f = scheduleAtFixedRate(safeTask, initialDelayMs, periodMs);
+            // Same lane: registration order already puts the predecessor first
+            if (pred.lane != lane) preds.add(pred);
+        }
+        TickProfiler.TaskProfile profile = TickProfiler.getInstance().register(name, lane, periodMs,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(initialDelayMs));
+        NamedTask nt = new NamedTask(name, lane, periodMs, task, preds, profile);
+        named.put(name, nt);
+        ScheduledFuture<?> f = lanes.get(lane).scheduleAtFixedRate(nt::run, initialDelayMs, periodMs, TimeUnit.MILLISECONDS);
         tasks.put(name, f);
         return f;
     }
 
+    /** Run {@code task} once on the tick thread after {@code delayMs}. */
+    public ScheduledFuture<?> schedule(Runnable task, long delayMs) {
+        return world().schedule(task, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** Run {@code task} once on the tick thread, after any tick tasks already due. */
+    public void execute(Runnable task) {
+        world().execute(task);
+    }
+
+    /** @return true if the caller is running on this service's tick thread */
+    public boolean isTickThread() {
+        return Thread.currentThread() == tickThread;
+    }
+
     public boolean cancel(String name) {
+        NamedTask nt = named.remove(name);
+        if (nt != null) TickProfiler.getInstance().unregister(name, nt.profile);
         ScheduledFuture<?> f = tasks.remove(name);
         if (f == null) return false;
         return f.cancel(false);
     }
 
+    /** Timing of this service's named tasks, in no particular order. */
+    public List<TickProfiler.TaskStats> stats() {
+        List<TickProfiler.TaskStats> out = new ArrayList<>();
+        for (NamedTask nt : named.values()) out.add(nt.profile.stats());
+        return out;
+    }
+
     public void shutdown() {
         try {
             for (Map.Entry<String, ScheduledFuture<?>> e : tasks.entrySet()) {
                 try { e.getValue().cancel(false); } catch (Exception ignored) {}
             }
-            scheduler.shutdownNow();
+            for (ScheduledExecutorService s : lanes.values()) s.shutdownNow();
         } catch (Exception ignored) {}
     }
+
+    /** A registered periodic task and its ordering constraints. */
+    private static final class NamedTask {
+        final String name;
+        final Lane lane;
+        final long periodMs;
+        final Runnable body;
+        final List<NamedTask> runAfter;
+        final TickProfiler.TaskProfile profile;
+        // Guarded by this; true while a run is in progress
+        private boolean running;
+
+        NamedTask(String name, Lane lane, long periodMs, Runnable body, List<NamedTask> runAfter,
+                  TickProfiler.TaskProfile profile) {
+            this.name = name;
+            this.lane = lane;
+            this.periodMs = periodMs;
+            this.body = body;
+            this.runAfter = runAfter;
+            this.profile = profile;
+        }
+
+        void run() {
+            profile.started(System.nanoTime());
+            for (NamedTask pred : runAfter) pred.awaitIdle(this);
+            setRunning(true);
+            long start = System.nanoTime();
+            boolean failed = false;
+            try {
+                body.run();
+            } catch (Exception e) {
+                failed = true;
+                logger.error("[TickService] Task '{}' threw uncaught exception — task continues: {}", name, e.getMessage(), e);
+            } finally {
+                long took = System.nanoTime() - start;
+                setRunning(false);
+                if (profile.finished(took, failed)) {
+                    long n = profile.overrunCount();
+                    if (n == 1 || n % OVERRUN_LOG_EVERY == 0) {
+                        logger.warn("[TickService] Task '{}' ({} lane) took {}ms, over its {}ms period (overrun #{})",
+                                name, lane, took / 1_000_000, periodMs, n);
+                    }
+                }
+            }
+        }
+
+        private synchronized void setRunning(boolean r) {
+            running = r;
+            if (!r) notifyAll();
+        }
+
+        /** Wait (up to the waiter's period) for a run of this task on another lane to finish. */
+        private synchronized void awaitIdle(NamedTask waiter) {
+            if (!running) return;
+            waiter.profile.waited();
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waiter.periodMs);
+            try {
+                while (running) {
+                    long left = deadline - System.nanoTime();
+                    if (left <= 0) return;
+                    TimeUnit.NANOSECONDS.timedWait(this, left);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
 }
@@ -44,8 +44,8 @@ public class WeatherService {
         loadWeather();
         
         // Schedule weather changes every 3 in-game hours (180 seconds)
-        tickService.scheduleAtFixedRate("weather-service", this::tick, 
-                WEATHER_CHANGE_INTERVAL_MS, WEATHER_CHANGE_INTERVAL_MS);
+        tickService.scheduleAtFixedRate("weather-service", TickService.Lane.BACKGROUND, this::tick,
+                WEATHER_CHANGE_INTERVAL_MS, WEATHER_CHANGE_INTERVAL_MS, "game-clock");
         this.running = true;
         
         logger.info("[WeatherService] Started. Current weather: {}", currentWeather.getDisplayName());
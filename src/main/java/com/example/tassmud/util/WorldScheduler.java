@@ -0,0 +1,222 @@
+package com.example.tassmud.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared scheduler for delayed and repeating game work (effects, skills, mob behaviour).
+ *
+ * <p>Every task runs on the {@code tassmud-tick} thread, serialized with combat rounds,
+ * regeneration and effect ticks, so scheduled work can touch combat state without racing
+ * {@code CombatManager.tick()}. Effects and skills must use this rather than creating private
+ * executors or threads.
+ *
+ * <p>Each task belongs to an {@link Owner} — the character or mobile whose lifetime it is tied
+ * to. {@link #cancelAll(Owner)} is called when a character leaves the world and when a mobile
+ * is unregistered, so forgotten tasks can't keep firing for entities that no longer exist.
+ * The owner is then remembered as departed, and a task scheduled for it afterwards (say, by a
+ * skill that was already running when the character left) is cancelled at once instead of
+ * starting a new set. {@link #arrived(Owner)} clears that mark when the owner comes back; marks
+ * are dropped after {@link #DEPARTED_TTL_MS} so they don't pile up.
+ */
+public final class WorldScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorldScheduler.class);
+
+    private static final WorldScheduler INSTANCE = new WorldScheduler();
+
+    /** How long a departed owner is remembered; long enough for any start already in flight. */
+    static final long DEPARTED_TTL_MS = 60_000;
+
+    /** The entity a task's lifetime is tied to. */
+    public record Owner(String kind, long id) {
+        public static Owner character(int characterId) { return new Owner("character", characterId); }
+        public static Owner mobile(long instanceId) { return new Owner("mobile", instanceId); }
+    }
+
+    /** Cancellable handle for a scheduled task. */
+    public interface Handle {
+        /** Stop the task; a run already in progress finishes. @return false if it was already done */
+        boolean cancel();
+        boolean isDone();
+    }
+
+    private final ConcurrentHashMap<Owner, Set<Task>> byOwner = new ConcurrentHashMap<>();
+    /** When each owner was cancelled; changed only inside {@code byOwner.compute}. */
+    private final ConcurrentHashMap<Owner, Long> departed = new ConcurrentHashMap<>();
+    private volatile long lastPurgeMs = System.currentTimeMillis();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile TickService tickService;
+
+    WorldScheduler() {}
+
+    public static WorldScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    /** Run tasks on {@code tickService}'s thread. Call once at startup. */
+    public void initialize(TickService tickService) {
+        this.tickService = tickService;
+        logger.info("[WorldScheduler] Initialized");
+    }
+
+    /** Run {@code task} once, {@code delayMs} from now. */
+    public Handle schedule(Owner owner, long delayMs, Runnable task) {
+        return start(owner, task, delayMs, 0);
+    }
+
+    /** Run {@code task} every {@code periodMs}, first after {@code initialDelayMs}, until cancelled. */
+    public Handle scheduleRepeating(Owner owner, long initialDelayMs, long periodMs, Runnable task) {
+        if (periodMs <= 0) throw new IllegalArgumentException("periodMs must be positive");
+        return start(owner, task, initialDelayMs, periodMs);
+    }
+
+    /**
+     * Cancel every task owned by {@code owner} and treat it as departed: tasks scheduled for it
+     * from now on are cancelled straight away, until {@link #arrived(Owner)}.
+     * @return the number cancelled
+     */
+    public int cancelAll(Owner owner) {
+        long now = System.currentTimeMillis();
+        purgeDeparted(now);
+        List<Task> removed = new ArrayList<>();
+        byOwner.compute(owner, (k, set) -> {
+            departed.put(owner, now);
+            if (set != null) removed.addAll(set);
+            return null;
+        });
+        int n = 0;
+        for (Task t : removed) {
+            if (t.cancelQuietly()) n++;
+        }
+        if (n > 0) logger.debug("[WorldScheduler] Cancelled {} task(s) of {}", n, owner);
+        return n;
+    }
+
+    /** {@code owner} has (re)entered the world: let tasks be scheduled for it again. */
+    public void arrived(Owner owner) {
+        byOwner.compute(owner, (k, set) -> {
+            departed.remove(owner);
+            return set;
+        });
+    }
+
+    private void purgeDeparted(long now) {
+        if (now - lastPurgeMs < DEPARTED_TTL_MS) return;
+        lastPurgeMs = now;
+        for (Owner owner : departed.keySet()) {
+            byOwner.compute(owner, (k, set) -> {
+                Long at = departed.get(owner);
+                if (at != null && now - at >= DEPARTED_TTL_MS) departed.remove(owner);
+                return set;
+            });
+        }
+    }
+
+    /** Live tasks owned by {@code owner}. */
+    public int activeCount(Owner owner) {
+        Set<Task> set = byOwner.get(owner);
+        return set == null ? 0 : set.size();
+    }
+
+    public long runCount() { return runs.get(); }
+    public long failureCount() { return failures.get(); }
+
+    private Handle start(Owner owner, Runnable body, long delayMs, long periodMs) {
+        TickService ts = tickService;
+        Task t = new Task(owner, body, periodMs > 0);
+        if (ts == null) {
+            logger.warn("[WorldScheduler] Not initialized; dropping task for {}", owner);
+            t.done = true;
+            return t;
+        }
+        // Registered under the same lock cancelAll takes, so an owner can't depart in between
+        boolean[] ownerGone = {false};
+        byOwner.compute(owner, (k, set) -> {
+            if (departed.containsKey(owner)) {
+                ownerGone[0] = true;
+                return set;
+            }
+            if (set == null) set = ConcurrentHashMap.newKeySet();
+            set.add(t);
+            return set;
+        });
+        if (ownerGone[0]) {
+            logger.debug("[WorldScheduler] {} has left the world; dropping task", owner);
+            t.done = true;
+            return t;
+        }
+        long delay = Math.max(0, delayMs);
+        t.future = periodMs > 0
+                ? ts.scheduleAtFixedRate(t::run, delay, periodMs)
+                : ts.schedule(t::run, delay);
+        // cancel() may have raced the assignment above
+        if (t.done) t.future.cancel(false);
+        return t;
+    }
+
+    private void forget(Task t) {
+        byOwner.computeIfPresent(t.owner, (k, set) -> {
+            set.remove(t);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private final class Task implements Handle {
+        final Owner owner;
+        final Runnable body;
+        final boolean repeating;
+        volatile ScheduledFuture<?> future;
+        volatile boolean done;
+
+        Task(Owner owner, Runnable body, boolean repeating) {
+            this.owner = owner;
+            this.body = body;
+            this.repeating = repeating;
+        }
+
+        void run() {
+            if (done) return;
+            if (!repeating) {
+                done = true;
+                forget(this);
+            }
+            runs.incrementAndGet();
+            try {
+                body.run();
+            } catch (Throwable e) {
+                // Keep repeating tasks alive; one bad run shouldn't stop the rest
+                failures.incrementAndGet();
+                logger.error("[WorldScheduler] Task for {} threw: {}", owner, e.getMessage(), e);
+            }
+        }
+
+        boolean cancelQuietly() {
+            if (done) return false;
+            done = true;
+            ScheduledFuture<?> f = future;
+            if (f != null) f.cancel(false);
+            return true;
+        }
+
+        @Override
+        public boolean cancel() {
+            boolean was = cancelQuietly();
+            forget(this);
+            return was;
+        }
+
+        @Override
+        public boolean isDone() {
+            return done;
+        }
+    }
+}
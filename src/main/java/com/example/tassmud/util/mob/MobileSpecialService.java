@@ -3,12 +3,14 @@ package com.example.tassmud.util.mob;
 import com.example.tassmud.combat.CombatManager;
 import com.example.tassmud.model.Mobile;
 import com.example.tassmud.net.ClientHandler;
+import com.example.tassmud.util.AreaActivity;
+import com.example.tassmud.util.AreaShards;
 import com.example.tassmud.util.MobileRegistry;
 import com.example.tassmud.util.TickService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Collection;
+import java.util.List;
 
 /**
  * Periodic service that fires out-of-combat mobile specials (~every 4 seconds).
@@ -37,39 +39,45 @@ public class MobileSpecialService {
     }
 
     private void tick() {
-        Collection<Mobile> mobs = MobileRegistry.getInstance().getAll();
+        // Mobs in areas without players are frozen (see AreaActivity)
+        List<Mobile> mobs = AreaActivity.getInstance().activeOnly(MobileRegistry.getInstance().getAll(),
+                Mobile::getCurrentRoom);
         if (mobs.isEmpty()) return;
 
         MobileSpecialRegistry registry = MobileSpecialRegistry.getInstance();
         CombatManager combatManager = CombatManager.getInstance();
 
-        for (Mobile mob : mobs) {
-            if (mob.isDead()) continue;
-            String specFun = mob.getSpecFun();
-            if (specFun == null) continue;
-            // Skip — combat specials are handled by CombatManager tick
-            if (combatManager.isInCombat(mob)) continue;
-
-            MobileSpecialHandler handler = registry.get(specFun);
-            if (handler == null) continue;
-
-            Integer roomId = mob.getCurrentRoom();
-            if (roomId == null) continue;
-
-            MobileSpecialContext ctx = new MobileSpecialContext(
-                    null,   // no active combat
-                    roomId,
-                    (charId, msg) -> ClientHandler.sendToCharacter(charId, msg),
-                    (rid, msg) -> ClientHandler.broadcastRoomMessage(rid, msg),
-                    combatManager
-            );
-
-            try {
-                handler.trigger(mob, ctx);
-            } catch (Exception e) {
-                logger.warn("MobileSpecialService: error in '{}' for mob {} (instance {}): {}",
-                        specFun, mob.getName(), mob.getInstanceId(), e.getMessage(), e);
-            }
+        // Specials act on the mob's own room, so with area sharding they run per area in parallel
+        AreaShards.getInstance().forEach("mob-specials", mobs, Mobile::getCurrentRoom,
+                mob -> fire(mob, registry, combatManager));
+    }
+
+    private void fire(Mobile mob, MobileSpecialRegistry registry, CombatManager combatManager) {
+        if (mob.isDead()) return;
+        String specFun = mob.getSpecFun();
+        if (specFun == null) return;
+        // Skip — combat specials are handled by CombatManager tick
+        if (combatManager.isInCombat(mob)) return;
+
+        MobileSpecialHandler handler = registry.get(specFun);
+        if (handler == null) return;
+
+        Integer roomId = mob.getCurrentRoom();
+        if (roomId == null) return;
+
+        MobileSpecialContext ctx = new MobileSpecialContext(
+                null,   // no active combat
+                roomId,
+                (charId, msg) -> ClientHandler.sendToCharacter(charId, msg),
+                (rid, msg) -> ClientHandler.broadcastRoomMessage(rid, msg),
+                combatManager
+        );
+
+        try {
+            handler.trigger(mob, ctx);
+        } catch (Exception e) {
+            logger.warn("MobileSpecialService: error in '{}' for mob {} (instance {}): {}",
+                    specFun, mob.getName(), mob.getInstanceId(), e.getMessage(), e);
         }
     }
 }
@@ -466,7 +466,7 @@ public final class MobileSpecials {
                         Room room = DaoProvider.rooms().getRoomById(currentRoomId);
                         if (room != null) {
                             String dirName = dir.name().toLowerCase();
-                            Integer destId = room.getExit(dir);
+                            Integer destId = DaoProvider.rooms().getExitTarget(currentRoomId, dir);
                             if (destId != null) {
                                 ClientHandler.roomAnnounce(currentRoomId, mobName + " leaves " + dirName + ".");
                                 mob.setCurrentRoom(destId);
@@ -0,0 +1,157 @@
+package com.example.tassmud;
+
+import com.example.tassmud.persistence.ConnectionPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ConnectionPool: reuse, bounding, auto-commit reset, statement caching and metrics.
+ * Uses a private in-memory H2 database so it never touches the game DB.
+ */
+class ConnectionPoolTest {
+
+    private static final String URL = "jdbc:h2:mem:pooltest;DB_CLOSE_DELAY=-1";
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        // 2 connections, 200ms borrow timeout, no housekeeping thread
+        pool = new ConnectionPool(URL, "sa", "",
+                new ConnectionPool.Config(2, 0, 200, 60_000, 30_000, 2, 0, 0, 4));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void closedConnectionIsReused() throws SQLException {
+        try (Connection c = pool.borrow()) {
+            assertFalse(c.isClosed());
+        }
+        try (Connection c = pool.borrow()) {
+            assertFalse(c.isClosed());
+        }
+        ConnectionPool.Stats s = pool.stats();
+        assertEquals(2, s.borrows());
+        assertEquals(1, s.created(), "Second borrow should reuse the idle connection");
+        assertEquals(0, s.active());
+        assertEquals(1, s.idle());
+    }
+
+    @Test
+    void exhaustedPoolTimesOut() throws SQLException {
+        Connection a = pool.borrow();
+        Connection b = pool.borrow();
+        assertThrows(SQLTimeoutException.class, () -> pool.borrow());
+        assertEquals(1, pool.stats().timeouts());
+        a.close();
+        b.close();
+        try (Connection c = pool.borrow()) {
+            assertNotNull(c);
+        }
+    }
+
+    @Test
+    void handleIsUnusableAfterClose() throws SQLException {
+        Connection c = pool.borrow();
+        c.close();
+        assertTrue(c.isClosed());
+        assertThrows(SQLException.class, c::createStatement);
+        c.close(); // double close must not release twice
+        assertEquals(1, pool.stats().idle());
+    }
+
+    @Test
+    void openTransactionIsRolledBackOnReturn() throws SQLException {
+        try (Connection c = pool.borrow(); Statement s = c.createStatement()) {
+            s.execute("CREATE TABLE IF NOT EXISTS pool_tx (id INT PRIMARY KEY)");
+            s.execute("DELETE FROM pool_tx");
+        }
+        Connection c = pool.borrow();
+        c.setAutoCommit(false);
+        try (Statement s = c.createStatement()) {
+            s.execute("INSERT INTO pool_tx (id) VALUES (1)");
+        }
+        c.close();
+
+        try (Connection c2 = pool.borrow(); Statement s = c2.createStatement()) {
+            assertTrue(c2.getAutoCommit(), "Returned connection must be back in auto-commit mode");
+            try (var rs = s.executeQuery("SELECT COUNT(*) FROM pool_tx")) {
+                assertTrue(rs.next());
+                assertEquals(0, rs.getInt(1), "Uncommitted insert must not survive return to pool");
+            }
+        }
+    }
+
+    @Test
+    void repeatedPrepareHitsStatementCache() throws SQLException {
+        String sql = "SELECT 1";
+        try (Connection c = pool.borrow()) {
+            try (PreparedStatement ps = c.prepareStatement(sql)) { assertNotNull(ps); }
+            try (PreparedStatement ps = c.prepareStatement(sql)) { assertFalse(ps.isClosed()); }
+        }
+        try (Connection c = pool.borrow(); PreparedStatement ps = c.prepareStatement(sql)) {
+            assertNotNull(ps);
+        }
+        ConnectionPool.Stats s = pool.stats();
+        assertEquals(1, s.statementMisses());
+        assertEquals(2, s.statementHits());
+    }
+
+    @Test
+    void statementConnectionIsThePooledHandle() throws SQLException {
+        String sql = "SELECT 1";
+        try (Connection c = pool.borrow();
+             PreparedStatement cached = c.prepareStatement(sql);
+             PreparedStatement uncached = c.prepareStatement(sql);
+             Statement plain = c.createStatement()) {
+            assertSame(c, cached.getConnection());
+            assertSame(c, uncached.getConnection());
+            assertSame(c, plain.getConnection());
+        }
+        Connection c = pool.borrow();
+        try (Statement s = c.createStatement()) {
+            s.getConnection().close();
+        }
+        assertTrue(c.isClosed());
+        assertEquals(1, pool.stats().idle(), "Closing via the statement must return, not destroy, the connection");
+        assertEquals(0, pool.stats().destroyed());
+        try (Connection again = pool.borrow(); Statement s = again.createStatement()) {
+            assertTrue(s.execute("SELECT 1"));
+        }
+    }
+
+    @Test
+    void statementStillOpenIsNotHandedOutTwice() throws SQLException {
+        String sql = "SELECT 1";
+        try (Connection c = pool.borrow();
+             PreparedStatement outer = c.prepareStatement(sql);
+             PreparedStatement inner = c.prepareStatement(sql)) {
+            assertNotSame(outer, inner);
+            assertFalse(outer.isClosed());
+        }
+        assertEquals(2, pool.stats().statementMisses());
+    }
+
+    @Test
+    void leastRecentlyUsedStatementIsEvicted() throws SQLException {
+        try (Connection c = pool.borrow()) {
+            for (int i = 0; i < 6; i++) {
+                try (PreparedStatement ps = c.prepareStatement("SELECT " + i)) { assertNotNull(ps); }
+            }
+        }
+        assertEquals(2, pool.stats().statementEvictions(), "Cache size 4 should evict 2 of 6 statements");
+    }
+}
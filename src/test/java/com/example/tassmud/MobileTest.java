@@ -448,4 +448,18 @@ public class MobileTest {
             assertTrue(damage <= 10, "Damage should not exceed max possible");
         }
     }
+
+    @Test
+    @DisplayName("Mobile regenerate should add to each pool up to its max")
+    void mobileRegenerate() {
+        MobileTemplate template = createTestTemplate();
+        Mobile mobile = new Mobile(1L, template, 1000);
+        mobile.setHpCur(10);
+        mobile.setMpCur(5);
+
+        mobile.regenerate(5, 50, 3);
+        assertEquals(15, mobile.getHpCur());
+        assertEquals(10, mobile.getMpCur(), "MP is capped at max");
+        assertEquals(100, mobile.getMvCur(), "Full pools are left alone");
+    }
 }
@@ -0,0 +1,53 @@
+package com.example.tassmud.combat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Combat log ring buffer")
+class CombatLogTest {
+
+    @Test
+    @DisplayName("Entries are formatted with round and elapsed time, oldest first")
+    void formatsEntries() {
+        CombatLog log = new CombatLog(4);
+        log.add(1, 0, "A enters combat!");
+        log.add(2, 3500, "A hits B");
+
+        assertEquals(List.of("[R1 0.0s] A enters combat!", "[R2 3.5s] A hits B"), log.entries());
+        assertEquals(2, log.size());
+        assertEquals(0, log.dropped());
+    }
+
+    @Test
+    @DisplayName("A full buffer overwrites its oldest entries")
+    void overwritesOldest() {
+        CombatLog log = new CombatLog(3);
+        for (int i = 1; i <= 5; i++) log.add(i, 0, "event " + i);
+
+        List<String> entries = log.entries();
+        assertEquals(3, entries.size());
+        assertTrue(entries.get(0).endsWith("event 3"));
+        assertTrue(entries.get(2).endsWith("event 5"));
+        assertEquals(2, log.dropped());
+        assertEquals(3, log.capacity());
+    }
+
+    @Test
+    @DisplayName("recent() returns at most the requested number of newest entries")
+    void recent() {
+        CombatLog log = new CombatLog(3);
+        for (int i = 1; i <= 4; i++) log.add(1, 0, "event " + i);
+
+        List<String> last2 = log.recent(2);
+        assertEquals(2, last2.size());
+        assertTrue(last2.get(0).endsWith("event 3"));
+        assertTrue(last2.get(1).endsWith("event 4"));
+        assertEquals(3, log.recent(10).size());
+        assertTrue(log.recent(0).isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> log.recent(1).add("x"));
+    }
+}
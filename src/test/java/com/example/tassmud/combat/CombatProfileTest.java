@@ -0,0 +1,47 @@
+package com.example.tassmud.combat;
+
+import com.example.tassmud.model.CharacterSkill;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Combat profile snapshot")
+class CombatProfileTest {
+
+    private static CombatProfile profile(int characterId, Long mainHand, Long offHand) {
+        return new CombatProfile(characterId, CombatProfile.generation(characterId), 12, mainHand, offHand,
+                null, null, null, null, Map.of(13, new CharacterSkill(characterId, 13, 60)));
+    }
+
+    @Test
+    @DisplayName("Skills and equipment are answered from the snapshot")
+    void readsSnapshot() {
+        CombatProfile p = profile(9001, 55L, 55L);
+        assertEquals(12, p.getLevel());
+        assertTrue(p.isArmed());
+        assertTrue(p.isTwoHanded());
+        assertEquals(60, p.getSkill(13).getProficiency());
+        assertNull(p.getSkill(14));
+        assertNull(p.getWeaponFamily(), "No template means no weapon family");
+
+        CombatProfile unarmed = profile(9002, null, null);
+        assertFalse(unarmed.isArmed());
+        assertFalse(unarmed.isTwoHanded());
+    }
+
+    @Test
+    @DisplayName("A loadout change makes only that character's profiles stale")
+    void invalidation() {
+        CombatProfile a = profile(9003, 1L, null);
+        CombatProfile b = profile(9004, 2L, null);
+        assertTrue(a.isCurrent());
+
+        CombatProfile.invalidate(9003);
+        assertFalse(a.isCurrent());
+        assertTrue(b.isCurrent());
+        assertTrue(profile(9003, 1L, null).isCurrent(), "A profile read after the change is current");
+    }
+}
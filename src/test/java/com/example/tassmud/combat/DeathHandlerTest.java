@@ -0,0 +1,97 @@
+package com.example.tassmud.combat;
+
+import com.example.tassmud.model.GameCharacter;
+import com.example.tassmud.model.Mobile;
+import com.example.tassmud.model.MobileTemplate;
+import com.example.tassmud.model.StatBlock;
+import com.example.tassmud.util.AreaShards;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Player death")
+class DeathHandlerTest {
+
+    private static final int DEATH_AREA = 10;
+    private static final int DEATH_ROOM = 1001;
+    private static final int CHARACTER_ID = 7;
+
+    private final AreaShards shards = AreaShards.getInstance();
+
+    @AfterEach
+    void tearDown() {
+        shards.shutdown();
+    }
+
+    @Test
+    @DisplayName("Sharded: a player killed in one area is recalled on the tick thread after the phase")
+    void recallIsHandedOff() {
+        shards.initialize(2);
+        Thread caller = Thread.currentThread();
+        List<String> events = new CopyOnWriteArrayList<>();
+
+        DeathHandler handler = new DeathHandler(
+                (id, msg) -> events.add("player " + id + ": " + msg),
+                (room, msg) -> events.add("room " + room + ": " + msg),
+                new CombatRewardService(null)) {
+            @Override
+            PlayerLosses leaveCorpse(int characterId, String playerName, int deathRoomId) {
+                events.add("corpse in " + deathRoomId + where(caller));
+                return new PlayerLosses(55L, 120, 250);
+            }
+
+            @Override
+            void moveCharacterRecord(int characterId, String playerName, int roomId) {
+                events.add("moved " + playerName + " to " + roomId + where(caller));
+            }
+        };
+
+        GameCharacter aria = new GameCharacter("Aria", 20, "", 100, 0, 50, 50, 80, 80, DEATH_ROOM, StatBlock.ZERO);
+        Combat combat = new Combat(1L, DEATH_ROOM);
+        Combatant victim = new Combatant(1L, aria, CHARACTER_ID, 1);
+        Combatant killer = new Combatant(2L, new Mobile(3L, goblin(), DEATH_ROOM), 2);
+
+        long handoffsBefore = shards.stats().handoffs();
+        // Failures on a worker are only logged, so the phase records what it saw instead of asserting
+        shards.forEachArea("combat", Map.of(DEATH_AREA, List.of(victim)), v -> {
+            handler.handleCombatantDeath(combat, v, killer);
+            events.add("area done, in room " + aria.getCurrentRoom());
+        });
+
+        assertEquals(DeathHandler.RECALL_ROOM_ID, aria.getCurrentRoom());
+        assertEquals(1, aria.getHpCur());
+        assertEquals(0, aria.getMvCur());
+
+        int corpse = events.indexOf("corpse in " + DEATH_ROOM + " on area " + DEATH_AREA);
+        int areaDone = events.indexOf("area done, in room " + DEATH_ROOM);
+        int moved = events.indexOf("moved Aria to " + DeathHandler.RECALL_ROOM_ID + " on the tick thread");
+        int arrived = events.indexOf("room " + DeathHandler.RECALL_ROOM_ID
+                + ": The spirit of Aria materializes, barely clinging to life.");
+        assertTrue(corpse >= 0, "the corpse is left by the death room's area: " + events);
+        assertTrue(corpse < areaDone, "the player stays in the death room for the rest of the phase: " + events);
+        assertTrue(events.contains("room " + DEATH_ROOM + ": Aria has fallen! Their corpse lies on the ground."));
+        assertTrue(areaDone < moved, "the recall waits for the death room's area to finish: " + events);
+        assertTrue(moved < arrived);
+        assertTrue(events.indexOf("player " + CHARACTER_ID + ": You have lost \u001B[1;31m250 experience\u001B[0m.") > arrived);
+        assertEquals(handoffsBefore + 1, shards.stats().handoffs());
+    }
+
+    private String where(Thread caller) {
+        int area = shards.currentArea();
+        if (area != AreaShards.NO_AREA) return " on area " + area;
+        return Thread.currentThread() == caller ? " on the tick thread" : " on an idle worker";
+    }
+
+    private static MobileTemplate goblin() {
+        return MobileTemplate.builder()
+                .id(1).key("test_goblin").name("Test Goblin")
+                .level(3).hpMax(25).mpMax(10).mvMax(100)
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.tassmud.effect;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Typed effect params")
+class EffectParamsTest {
+
+    private static EffectDefinition def(String dice, Set<EffectDefinition.ProficiencyImpact> impact) {
+        return new EffectDefinition("params_test", "Params Test", EffectDefinition.Type.DOT,
+                Map.of(), 30, 0, dice, 0, impact, EffectDefinition.StackPolicy.REFRESH, true, 0);
+    }
+
+    @Test
+    @DisplayName("Dice specs compile once and scale by proficiency")
+    void dice() {
+        assertEquals(new EffectParams.Dice(5, 6), EffectParams.Dice.parse(" 5D6 "));
+        assertNull(EffectParams.Dice.parse("d6"));
+        assertNull(EffectParams.Dice.parse("xdy"));
+        assertEquals(new EffectParams.Dice(2, 6), new EffectParams.Dice(5, 6).scaled(50));
+        assertEquals(new EffectParams.Dice(1, 6), new EffectParams.Dice(5, 6).scaled(1));
+
+        EffectParams ep = EffectParams.compile(def("4d4", Set.of(EffectDefinition.ProficiencyImpact.DICE_MULTIPLIER)),
+                Map.of("proficiency", "50"), 3000, "fire", 0);
+        assertEquals(new EffectParams.Dice(2, 4), ep.getDice());
+        for (int i = 0; i < 100; i++) {
+            int r = ep.getDice().roll();
+            assertTrue(r >= 2 && r <= 8);
+        }
+
+        EffectParams fromParam = EffectParams.compile(def("", Set.of()), Map.of("dice", "3d8"), 3000, "fire", 0);
+        assertEquals(new EffectParams.Dice(3, 8), fromParam.getDice());
+    }
+
+    @Test
+    @DisplayName("Interval, damage type and counters fall back to defaults")
+    void defaults() {
+        EffectParams ep = EffectParams.compile(def("", Set.of()),
+                Map.of("tick_interval", "abc", "proficiency", "250"), 3000, "magical", 42);
+        assertEquals(3000, ep.getTickIntervalMs());
+        assertEquals(100, ep.getProficiency());
+        assertEquals("magical", ep.getDamageType());
+        assertEquals(42, ep.getLastTickMs());
+        assertEquals(-1, ep.getTicksRemaining());
+        assertNull(ep.getDice());
+
+        EffectParams ms = EffectParams.compile(def("", Set.of()),
+                Map.of("tick_interval", "5", "tick_interval_ms", "1500", "damage_type", "acid"), 3000, "magical", 0);
+        assertEquals(1500, ms.getTickIntervalMs());
+        assertEquals("acid", ms.getDamageType());
+        assertEquals(5000, EffectParams.compile(def("", Set.of()), Map.of("tick_interval", "5"), 3000, "", 0)
+                .getTickIntervalMs());
+    }
+
+    @Test
+    @DisplayName("Ticks are claimed once per interval and mirrored into the string params")
+    void tickState() {
+        Map<String, String> p = new HashMap<>(Map.of("tick_interval", "3", "ticks_remaining", "4", "last_tick_ms", "1000"));
+        EffectParams ep = EffectParams.compile(def("", Set.of()), p, 3000, "", 0);
+        EffectInstance ei = new EffectInstance(UUID.randomUUID(), "params_test", 1, 2, p, 1000, 0, 0, ep);
+
+        assertFalse(ep.tryTick(3999));
+        assertTrue(ep.tryTick(4000));
+        assertFalse(ep.tryTick(4001));
+        ep.setTicksRemaining(ep.getTicksRemaining() - 1);
+
+        assertSame(ep, ei.getEffectParams());
+        assertEquals("4000", ei.getParams().get("last_tick_ms"));
+        assertEquals("3", ei.getParams().get("ticks_remaining"));
+        assertEquals("3", ei.getParams().get("tick_interval"));
+        assertEquals("1000", p.get("last_tick_ms"), "Reading the params must not write to the source map");
+        assertThrows(UnsupportedOperationException.class, () -> ei.getParams().put("ticks_remaining", "9"));
+    }
+}
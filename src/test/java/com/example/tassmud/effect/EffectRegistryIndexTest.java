@@ -0,0 +1,112 @@
+package com.example.tassmud.effect;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EffectRegistry per-target index")
+class EffectRegistryIndexTest {
+
+    /** Minimal persistent effect that counts expire() calls. */
+    private static final class CountingHandler implements EffectHandler {
+        final AtomicInteger expired = new AtomicInteger();
+
+        @Override
+        public EffectInstance apply(EffectDefinition def, Integer casterId, Integer targetId, Map<String, String> extra) {
+            long now = System.currentTimeMillis();
+            return new EffectInstance(UUID.randomUUID(), def.getId(), casterId, targetId, Map.of(),
+                    now, now + 60_000, def.getPriority());
+        }
+
+        @Override
+        public void expire(EffectInstance instance) {
+            expired.incrementAndGet();
+        }
+    }
+
+    private static String register(EffectDefinition.StackPolicy policy, Set<String> tags, EffectHandler h) {
+        String id = "index_test_" + UUID.randomUUID();
+        EffectRegistry.registerDefinition(new EffectDefinition(id, "Index Test", EffectDefinition.Type.MODIFIER,
+                Map.of(), 60, 0, "", 0, Set.of(), policy, true, 0, tags));
+        EffectRegistry.registerHandler(id, h);
+        return id;
+    }
+
+    /** Target ids far from anything other tests use. */
+    private static int freshTarget() {
+        return -1_000_000 - (int) (Math.random() * 1_000_000);
+    }
+
+    @Test
+    @DisplayName("Applied effects are found per target and per definition")
+    void lookupByTargetAndDefinition() {
+        CountingHandler h = new CountingHandler();
+        String a = register(EffectDefinition.StackPolicy.STACK, Set.of("buff"), h);
+        String b = register(EffectDefinition.StackPolicy.STACK, Set.of("buff"), h);
+        int target = freshTarget();
+        int other = target - 1;
+
+        EffectRegistry.apply(a, 1, target, Map.of());
+        EffectRegistry.apply(a, 1, target, Map.of());
+        EffectRegistry.apply(b, 1, target, Map.of());
+        EffectRegistry.apply(b, 1, other, Map.of());
+
+        assertEquals(3, EffectRegistry.getActiveForTarget(target).size());
+        assertEquals(2, EffectRegistry.getActiveForTarget(target, a).size());
+        assertTrue(EffectRegistry.hasEffect(other, b));
+        assertFalse(EffectRegistry.hasEffect(other, a));
+
+        EffectRegistry.removeAllEffectsOfType(target, a);
+        assertFalse(EffectRegistry.hasEffect(target, a));
+        assertEquals(1, EffectRegistry.getActiveForTarget(target).size());
+
+        for (EffectInstance ei : EffectRegistry.getActiveForTarget(target)) EffectRegistry.removeInstance(ei.getId());
+        EffectRegistry.removeAllEffectsOfType(other, b);
+        assertTrue(EffectRegistry.getActiveForTarget(target).isEmpty());
+        assertTrue(EffectRegistry.getActiveForTarget(other).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Refresh policy replaces the previous instance on the same target")
+    void refreshReplaces() {
+        CountingHandler h = new CountingHandler();
+        String id = register(EffectDefinition.StackPolicy.REFRESH, Set.of(), h);
+        int target = freshTarget();
+
+        EffectInstance first = EffectRegistry.apply(id, 1, target, Map.of());
+        EffectInstance second = EffectRegistry.apply(id, 1, target, Map.of());
+
+        List<EffectInstance> active = EffectRegistry.getActiveForTarget(target, id);
+        assertEquals(List.of(second), active);
+        assertNull(EffectRegistry.getInstance(first.getId()));
+        assertEquals(1, h.expired.get());
+        EffectRegistry.removeInstance(second.getId());
+    }
+
+    @Test
+    @DisplayName("Removing by tag only touches matching effects on that target")
+    void removeByTag() {
+        CountingHandler h = new CountingHandler();
+        String poison = register(EffectDefinition.StackPolicy.STACK, Set.of("magical", "dot"), h);
+        String bless = register(EffectDefinition.StackPolicy.STACK, Set.of("magical"), h);
+        int target = freshTarget();
+        EffectRegistry.apply(poison, 1, target, Map.of());
+        EffectRegistry.apply(bless, 1, target, Map.of());
+        EffectRegistry.apply(poison, 1, target - 1, Map.of());
+
+        assertEquals(1, EffectRegistry.removeEffectsByTag(target, "magical", "dot"));
+        assertEquals(1, h.expired.get());
+        assertTrue(EffectRegistry.hasEffect(target, bless));
+        assertTrue(EffectRegistry.hasEffect(target - 1, poison));
+
+        EffectRegistry.removeAllEffectsOfType(target, bless);
+        EffectRegistry.removeAllEffectsOfType(target - 1, poison);
+    }
+}
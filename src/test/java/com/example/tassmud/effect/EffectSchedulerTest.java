@@ -0,0 +1,129 @@
+package com.example.tassmud.effect;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EffectScheduler timer queue")
+class EffectSchedulerTest {
+
+    /** Passive effect: only expire() is overridden. */
+    private static class PassiveHandler implements EffectHandler {
+        final AtomicInteger expired = new AtomicInteger();
+        final long durationMs;
+
+        PassiveHandler(long durationMs) { this.durationMs = durationMs; }
+
+        @Override
+        public EffectInstance apply(EffectDefinition def, Integer casterId, Integer targetId, Map<String, String> extra) {
+            long now = System.currentTimeMillis();
+            return new EffectInstance(UUID.randomUUID(), def.getId(), casterId, targetId, Map.of(),
+                    now, now + durationMs, def.getPriority());
+        }
+
+        @Override
+        public void expire(EffectInstance instance) {
+            expired.incrementAndGet();
+        }
+    }
+
+    private static final class TickingHandler extends PassiveHandler {
+        final AtomicInteger ticks = new AtomicInteger();
+
+        TickingHandler(long durationMs) { super(durationMs); }
+
+        @Override
+        public boolean isPeriodic() { return true; }
+
+        @Override
+        public void tick(EffectInstance instance, long nowMs) {
+            ticks.incrementAndGet();
+        }
+    }
+
+    private static EffectInstance applyWith(EffectHandler h) {
+        String id = "scheduler_test_" + UUID.randomUUID();
+        EffectRegistry.registerDefinition(new EffectDefinition(id, "Scheduler Test", EffectDefinition.Type.MODIFIER,
+                Map.of(), 60, 0, "", 0, Set.of(), EffectDefinition.StackPolicy.STACK, true, 0));
+        EffectRegistry.registerHandler(id, h);
+        EffectInstance ei = EffectRegistry.apply(id, 1, -2_000_000 - (int) (Math.random() * 1_000_000), Map.of());
+        assertNotNull(ei);
+        assertSame(h, ei.getHandler(), "Handler is bound at apply time");
+        return ei;
+    }
+
+    @Test
+    @DisplayName("Only handlers that report isPeriodic() are polled")
+    void periodicDetection() {
+        EffectScheduler s = new EffectScheduler();
+        assertFalse(s.isPeriodic(new PassiveHandler(1000)));
+        assertTrue(s.isPeriodic(new TickingHandler(1000)));
+        assertTrue(s.isPeriodic(new DotEffect()));
+        assertFalse(s.isPeriodic(new BlindEffect()));
+    }
+
+    @Test
+    @DisplayName("Passive effects are only touched when they expire")
+    void passiveExpiresOnTime() {
+        EffectScheduler s = new EffectScheduler();
+        PassiveHandler h = new PassiveHandler(5_000);
+        EffectInstance ei = applyWith(h);
+        s.arm(ei);
+
+        s.tickOnce(ei.getExpiresAtMs() - 1);
+        assertEquals(1, s.pendingTimers(), "Just the expiry timer");
+        assertEquals(0, h.expired.get());
+        assertSame(ei, EffectRegistry.getInstance(ei.getId()));
+
+        s.tickOnce(ei.getExpiresAtMs());
+        assertEquals(1, h.expired.get());
+        assertNull(EffectRegistry.getInstance(ei.getId()));
+        assertEquals(0, s.pendingTimers());
+    }
+
+    @Test
+    @DisplayName("Periodic effects tick once per run until they expire")
+    void periodicTicksThenExpires() {
+        EffectScheduler s = new EffectScheduler();
+        TickingHandler h = new TickingHandler(3_500);
+        EffectInstance ei = applyWith(h);
+        s.arm(ei);
+
+        long t = ei.getStartAtMs();
+        for (int i = 0; i < 3; i++) {
+            s.tickOnce(t + i * EffectScheduler.TICK_MS);
+        }
+        assertEquals(3, h.ticks.get());
+        // Slightly early run (scheduling jitter) must not skip the tick
+        s.tickOnce(t + 3 * EffectScheduler.TICK_MS - 20);
+        assertEquals(4, h.ticks.get());
+
+        s.tickOnce(t + 4 * EffectScheduler.TICK_MS);
+        assertEquals(4, h.ticks.get(), "Expired instances are not ticked");
+        assertEquals(1, h.expired.get());
+        assertEquals(0, s.pendingTimers());
+    }
+
+    @Test
+    @DisplayName("Timers of removed instances are dropped without calling the handler")
+    void removedInstanceIsSkipped() {
+        EffectScheduler s = new EffectScheduler();
+        TickingHandler h = new TickingHandler(2_000);
+        EffectInstance ei = applyWith(h);
+        s.arm(ei);
+        s.tickOnce(ei.getStartAtMs());
+        assertEquals(1, h.ticks.get());
+
+        EffectRegistry.removeInstance(ei.getId());
+        s.tickOnce(ei.getExpiresAtMs());
+        assertEquals(1, h.ticks.get());
+        assertEquals(0, h.expired.get());
+        assertEquals(0, s.pendingTimers());
+    }
+}
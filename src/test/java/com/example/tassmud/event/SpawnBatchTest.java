@@ -0,0 +1,59 @@
+package com.example.tassmud.event;
+
+import com.example.tassmud.model.Mobile;
+import com.example.tassmud.util.MobileRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Spawn mapping claims within one repop")
+class SpawnBatchTest {
+
+    private final MobileRegistry registry = MobileRegistry.getInstance();
+
+    @BeforeEach
+    void setUp() {
+        registry.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.clear();
+    }
+
+    @Test
+    @DisplayName("Two spawn configs for the same room and template insert one mob per mapping")
+    void duplicateConfigsShareTheMapping() {
+        // DataLoader seeds one mapping per (room, template), however often the area lists the mob
+        List<String> mappings = List.of("room6308-mob6301");
+        SpawnBatch batch = new SpawnBatch();
+
+        List<String> first = batch.claimMissing(mappings);
+        List<String> second = batch.claimMissing(mappings);
+
+        assertEquals(mappings, first);
+        assertTrue(second.isEmpty(), "the second config must not insert a mob the first already claimed");
+    }
+
+    @Test
+    @DisplayName("Mappings with a live mob are skipped, and a new repop claims them again once it dies")
+    void liveMobsAreLeftAlone() {
+        Mobile goblin = Mobile.dbBuilder()
+                .instanceId(1L).templateId(6301).level(1).name("goblin")
+                .hpMax(10).hpCur(10).currentRoom(6308).spawnRoomId(6308)
+                .keywords(List.of("goblin")).behaviors(List.of())
+                .originUuid("uuid-a")
+                .build();
+        registry.register(goblin);
+
+        assertEquals(List.of("uuid-b"), new SpawnBatch().claimMissing(List.of("uuid-a", "uuid-b")));
+
+        goblin.die();
+        assertEquals(List.of("uuid-a"), new SpawnBatch().claimMissing(List.of("uuid-a")));
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.tassmud.net;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("NIO connection line handling")
+class NioConnectionTest {
+
+    private final SocketChannel channel;
+    private final NioConnection conn;
+
+    NioConnectionTest() throws IOException {
+        channel = SocketChannel.open();
+        // Run dispatched lines inline so the test sees them immediately
+        conn = new NioConnection(channel, null, Runnable::run);
+    }
+
+    @AfterEach
+    void closeChannel() throws IOException {
+        channel.close();
+    }
+
+    private void receive(String text) {
+        conn.onBytes(ByteBuffer.wrap(text.getBytes(Charset.defaultCharset())));
+    }
+
+    @Test
+    @DisplayName("Login input is split into lines with CR stripped, across partial reads")
+    void loginLines() throws IOException {
+        receive("Ar");
+        receive("ia\r\nsecret\n");
+        BufferedReader in = conn.loginReader();
+        assertEquals("Aria", in.readLine());
+        assertEquals("secret", in.readLine());
+
+        conn.onEof();
+        assertNull(in.readLine());
+        assertNull(in.readLine(), "EOF is sticky");
+    }
+
+    @Test
+    @DisplayName("Lines not read during login are dispatched first, then new ones in order")
+    void handoffToEvents() throws IOException {
+        receive("name\nlook\nscore\n");
+        assertEquals("name", conn.loginReader().readLine());
+
+        List<String> seen = new ArrayList<>();
+        conn.startEvents(seen::add, () -> seen.add("<closed>"));
+        receive("north\n");
+        assertEquals(List.of("look", "score", "north"), seen);
+
+        conn.onEof();
+        assertEquals(List.of("look", "score", "north", "<closed>"), seen);
+        conn.onEof();
+        assertEquals(4, seen.size(), "Close handler runs once");
+    }
+
+    @Test
+    @DisplayName("Disconnecting before the hand-off still runs the close handler")
+    void eofBeforeEvents() {
+        conn.onEof();
+        List<String> seen = new ArrayList<>();
+        conn.startEvents(seen::add, () -> seen.add("<closed>"));
+        assertEquals(List.of("<closed>"), seen);
+    }
+
+    @Test
+    @DisplayName("Overlong lines are truncated")
+    void longLine() throws IOException {
+        receive("x".repeat(NioConnection.MAX_LINE_BYTES + 100) + "\n");
+        assertEquals(NioConnection.MAX_LINE_BYTES, conn.loginReader().readLine().length());
+    }
+
+    @Test
+    @DisplayName("Login input beyond the pending-line limit is dropped, and EOF still arrives")
+    void loginFlood() throws IOException {
+        receive("line\n".repeat(NioConnection.MAX_PENDING_LINES + 50));
+        conn.onEof();
+        BufferedReader in = conn.loginReader();
+        int lines = 0;
+        while (in.readLine() != null) lines++;
+        assertEquals(NioConnection.MAX_PENDING_LINES, lines);
+    }
+
+    @Test
+    @DisplayName("A partial line never grows past the line limit")
+    void unterminatedFlood() throws IOException {
+        for (int i = 0; i < 100; i++) receive("y".repeat(NioConnection.MAX_LINE_BYTES));
+        receive("\nnext\n");
+        BufferedReader in = conn.loginReader();
+        assertEquals(NioConnection.MAX_LINE_BYTES, in.readLine().length());
+        assertEquals("next", in.readLine());
+    }
+}
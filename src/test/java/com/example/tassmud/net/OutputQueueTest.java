@@ -0,0 +1,101 @@
+package com.example.tassmud.net;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.PrintWriter;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Per-session output queue")
+class OutputQueueTest {
+
+    @Test
+    @DisplayName("Flushed output is coalesced into a single batch")
+    void coalescing() {
+        AtomicInteger ready = new AtomicInteger();
+        OutputQueue q = new OutputQueue(100, OutputQueue.OverflowPolicy.DROP_OLDEST, ready::incrementAndGet, () -> fail("no overflow"));
+        PrintWriter out = new PrintWriter(q, true);
+        out.println("one");
+        out.print("two");
+        assertEquals(1, ready.get(), "Unflushed print is not queued yet");
+        out.flush();
+        assertEquals(2, q.stats().queuedChunks());
+
+        assertEquals("one" + System.lineSeparator() + "two", q.takeAll());
+        assertNull(q.takeAll());
+        assertEquals(0, q.stats().queuedChars());
+    }
+
+    @Test
+    @DisplayName("Drop-oldest discards the oldest chunks to make room")
+    void dropOldest() throws Exception {
+        OutputQueue q = new OutputQueue(10, OutputQueue.OverflowPolicy.DROP_OLDEST, () -> {}, () -> fail("no overflow"));
+        for (String s : new String[] { "aaaa", "bbbb", "cccc" }) {
+            q.write(s);
+            q.flush();
+        }
+        OutputQueue.Stats st = q.stats();
+        assertEquals(1, st.droppedChunks());
+        assertEquals(8, st.queuedChars());
+        assertEquals(8, st.highWaterChars());
+        assertEquals("bbbbcccc", q.takeAll());
+    }
+
+    @Test
+    @DisplayName("Disconnect policy closes the queue and reports the overflow once")
+    void disconnect() throws Exception {
+        AtomicInteger overflows = new AtomicInteger();
+        OutputQueue q = new OutputQueue(10, OutputQueue.OverflowPolicy.DISCONNECT, () -> {}, overflows::incrementAndGet);
+        q.write("aaaaaaaa");
+        q.flush();
+        q.write("bbbbbbbb");
+        q.flush();
+        q.write("cccc");
+        q.flush();
+        assertEquals(1, overflows.get());
+        assertNull(q.awaitAll(), "Closed and emptied: the drainer stops");
+    }
+
+    @Test
+    @DisplayName("Closing still hands over output queued before the close")
+    void closeDrains() throws Exception {
+        OutputQueue q = new OutputQueue(100, OutputQueue.OverflowPolicy.DROP_OLDEST, () -> {}, () -> {});
+        q.write("Goodbye!");
+        q.flush();
+        q.close();
+        q.write("late");
+        q.flush();
+        assertEquals("Goodbye!", q.awaitAll());
+        assertNull(q.awaitAll());
+    }
+
+    @Test
+    @DisplayName("Policy names parse leniently")
+    void parsePolicy() {
+        assertEquals(OutputQueue.OverflowPolicy.DISCONNECT, OutputQueue.OverflowPolicy.parse(" Disconnect "));
+        assertEquals(OutputQueue.OverflowPolicy.DROP_OLDEST, OutputQueue.OverflowPolicy.parse("drop_oldest"));
+        assertEquals(OutputQueue.OverflowPolicy.DROP_OLDEST, OutputQueue.OverflowPolicy.parse(null));
+    }
+
+    @Test
+    @DisplayName("onReady can drain from another thread while a PrintWriter over the queue is flushing")
+    void readyCallbackDoesNotHoldTheQueueLock() throws Exception {
+        StringBuilder drained = new StringBuilder();
+        OutputQueue[] holder = new OutputQueue[1];
+        OutputQueue q = new OutputQueue(100, OutputQueue.OverflowPolicy.DROP_OLDEST, () -> {
+            Thread drainer = new Thread(() -> drained.append(holder[0].takeAll()));
+            drainer.start();
+            try {
+                drainer.join(2_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            assertFalse(drainer.isAlive(), "the drainer was blocked on the queue's lock");
+        }, () -> fail("no overflow"));
+        holder[0] = q;
+        new PrintWriter(q, true).println("hello");
+        assertEquals("hello" + System.lineSeparator(), drained.toString());
+    }
+}
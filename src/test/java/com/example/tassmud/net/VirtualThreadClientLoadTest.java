@@ -0,0 +1,117 @@
+package com.example.tassmud.net;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Idle-connection load test for the "virtual" client mode: every accepted socket runs a real
+ * {@link ClientHandler}, and every client then sits at the name prompt like a player who has
+ * not typed anything yet.
+ *
+ * <p>Opt-in, since it opens thousands of sockets: run with {@code -Dtassmud.loadtest=true}
+ * (e.g. {@code mvn test -Dtest=VirtualThreadClientLoadTest -Dtassmud.loadtest=true}), and
+ * {@code -Dtassmud.loadtest.connections=10000} plus a matching open-file limit for the
+ * full-size check. Without an explicit {@code tassmud.db.url} it uses a private in-memory
+ * database, so run it in its own JVM to be sure the DAOs pick that up.
+ */
+@Tag("load")
+@EnabledIfSystemProperty(named = "tassmud.loadtest", matches = "true")
+@DisplayName("Virtual-thread client mode under idle load")
+class VirtualThreadClientLoadTest {
+
+    private static final int CONNECTIONS = Integer.getInteger("tassmud.loadtest.connections", 1000);
+    private static final String PROMPT = "Enter character name: ";
+
+    @BeforeAll
+    static void useScratchDatabase() {
+        if (System.getProperty("tassmud.db.url") == null) {
+            System.setProperty("tassmud.db.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+        }
+    }
+
+    @Test
+    @DisplayName("Idle connections park without consuming platform threads")
+    void idleConnectionsAreCheap() throws Exception {
+        int platformBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+        int sessionsBefore = ClientHandler.sessions.size();
+        List<Socket> clients = new ArrayList<>(CONNECTIONS);
+
+        try (ServerSocket server = new ServerSocket(0, CONNECTIONS, InetAddress.getLoopbackAddress());
+             ExecutorService pool = Server.newClientExecutor("virtual")) {
+            Thread acceptor = Thread.ofVirtual().start(() -> {
+                try {
+                    for (int i = 0; i < CONNECTIONS; i++) {
+                        pool.submit(new ClientHandler(server.accept(), null));
+                    }
+                } catch (IOException ignored) {
+                    // server closed
+                }
+            });
+
+            try {
+                for (int i = 0; i < CONNECTIONS; i++) {
+                    Socket s = new Socket(server.getInetAddress(), server.getLocalPort());
+                    s.setSoTimeout(60_000);
+                    clients.add(s);
+                }
+                for (Socket s : clients) {
+                    readUntilPrompt(s.getInputStream());
+                }
+
+                int platformDuring = ManagementFactory.getThreadMXBean().getThreadCount();
+                int extra = platformDuring - platformBefore;
+                assertTrue(extra < 64,
+                        CONNECTIONS + " idle sessions added " + extra + " platform threads");
+
+                // Sessions are still alive and responsive after idling
+                Socket first = clients.get(0);
+                new PrintWriter(first.getOutputStream(), true).println("");
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(first.getInputStream(), StandardCharsets.UTF_8));
+                assertEquals("Invalid name. Disconnecting.", in.readLine());
+                assertNull(in.readLine(), "Session closes the connection after rejecting the name");
+            } finally {
+                for (Socket c : clients) c.close();
+                server.close();
+                acceptor.join();
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+            while (ClientHandler.sessions.size() > sessionsBefore && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals(sessionsBefore, ClientHandler.sessions.size(), "Every session ended on disconnect");
+        }
+    }
+
+    /** Consume the title art and banner up to the (unterminated) name prompt. */
+    private static void readUntilPrompt(InputStream in) throws IOException {
+        StringBuilder seen = new StringBuilder();
+        while (seen.length() < PROMPT.length()
+                || seen.lastIndexOf(PROMPT) != seen.length() - PROMPT.length()) {
+            int b = in.read();
+            if (b < 0) fail("Connection closed before the name prompt: " + seen);
+            seen.append((char) b);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.tassmud.persistence;
+
+import com.example.tassmud.persistence.CharacterDAO.CharacterRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Character session state cache")
+class CharacterStateCacheTest {
+
+    private static CharacterRecord sample() {
+        return CharacterRecord.builder()
+                .name("Aria").hpMax(100).hpCur(40).mpMax(50).mpCur(50).mvMax(80).mvCur(10)
+                .str(14).wis(12).trainedStr(2).goldPieces(250).currentRoom(3001).title("the Brave")
+                .build();
+    }
+
+    @Test
+    @DisplayName("toBuilder copies every field")
+    void toBuilderRoundTrip() {
+        CharacterRecord r = sample();
+        CharacterRecord copy = r.toBuilder().build();
+        assertEquals(r.name, copy.name);
+        assertEquals(r.hpCur, copy.hpCur);
+        assertEquals(r.baseStats, copy.baseStats);
+        assertEquals(r.trainedStr, copy.trainedStr);
+        assertEquals(r.goldPieces, copy.goldPieces);
+        assertEquals(r.currentRoom, copy.currentRoom);
+        assertEquals(r.title, copy.title);
+    }
+
+    @Test
+    @DisplayName("Attached characters are found by id and by name")
+    void attachAndLookup() {
+        CharacterStateCache cache = new CharacterStateCache();
+        CharacterStateCache.State state = cache.attach(7, sample(), Map.of("is_gm", "1"));
+        assertSame(state, cache.get(7));
+        assertSame(state, cache.get("Aria"));
+        assertNull(cache.get("aria"), "Lookups match the stored name exactly, like the SQL query");
+
+        CharacterStateCache.State again = cache.attach(7, sample().toBuilder().hpCur(1).build(), Map.of());
+        assertSame(state, again, "A second attach keeps the existing state");
+        assertEquals(40, again.record().hpCur);
+        assertEquals("1", again.flags.get("is_gm"), "Flags loaded on first attach are kept");
+    }
+
+    @Test
+    @DisplayName("Dirty changes are tracked until flushed")
+    void dirtyTracking() {
+        CharacterStateCache.State state = new CharacterStateCache.State(7, sample());
+        assertFalse(state.isDirty());
+
+        assertEquals(CharacterStateCache.Outcome.APPLIED,
+                state.apply(null, (r, b) -> b.goldPieces(r.goldPieces + 50), true));
+        assertEquals(300, state.record().goldPieces);
+        assertTrue(state.isDirty());
+
+        state.markFlushed(1);
+        assertFalse(state.isDirty());
+
+        state.apply(null, (r, b) -> b.armorEquipBonus(3), false);
+        assertFalse(state.isDirty(), "Mirrored write-through values don't need flushing");
+        assertEquals(3, state.record().armorEquipBonus);
+    }
+
+    @Test
+    @DisplayName("Guarded changes are rejected when the condition fails")
+    void conditionalChange() {
+        CharacterStateCache.State state = new CharacterStateCache.State(7, sample());
+        assertEquals(CharacterStateCache.Outcome.REJECTED,
+                state.apply(r -> r.mvCur >= 20, (r, b) -> b.mvCur(r.mvCur - 20), true));
+        assertEquals(10, state.record().mvCur);
+        assertFalse(state.isDirty());
+
+        assertEquals(CharacterStateCache.Outcome.APPLIED,
+                state.apply(r -> r.mvCur >= 5, (r, b) -> b.mvCur(r.mvCur - 5), true));
+        assertEquals(5, state.record().mvCur);
+    }
+
+    @Test
+    @DisplayName("A flush captured before a newer change keeps the record dirty")
+    void staleFlushKeepsDirty() {
+        CharacterStateCache.State state = new CharacterStateCache.State(7, sample());
+        state.apply(null, (r, b) -> b.hpCur(50), true);
+        state.apply(null, (r, b) -> b.hpCur(60), true);
+        state.markFlushed(1); // flusher wrote the first version only
+        assertTrue(state.isDirty());
+        state.markFlushed(2);
+        assertFalse(state.isDirty());
+    }
+
+    @Test
+    @DisplayName("A record being written by one flush is skipped or waited for by another")
+    void flushClaims() throws Exception {
+        CharacterStateCache.State state = new CharacterStateCache.State(7, sample());
+        assertTrue(state.tryClaim());
+        assertFalse(state.tryClaim(), "the background flusher skips a claimed record");
+
+        Thread waiter = new Thread(state::claim);
+        waiter.start();
+        waiter.join(200);
+        assertTrue(waiter.isAlive(), "a logout flush waits for the write in progress");
+        state.release();
+        waiter.join(5_000);
+        assertFalse(waiter.isAlive());
+        assertFalse(state.tryClaim(), "the waiter now holds the claim");
+        state.release();
+        assertTrue(state.tryClaim());
+    }
+
+    @Test
+    @DisplayName("A failed logout flush keeps the state until a later flush writes it")
+    void failedLogoutFlushIsRetried() throws Exception {
+        String url = "jdbc:h2:mem:statecache;DB_CLOSE_DELAY=-1";
+        try (Connection c = DriverManager.getConnection(url, "sa", "");
+             Statement s = c.createStatement()) {
+            s.execute("CREATE TABLE characters (id INT PRIMARY KEY, hp_max INT, hp_cur INT, mp_max INT, " +
+                    "mp_cur INT, mv_max INT, mv_cur INT, ki_max INT, ki_cur INT, current_room INT, " +
+                    "gold_pieces BIGINT, autoflee INT, title VARCHAR(100), talent_points INT, " +
+                    "trained_str INT, trained_dex INT, trained_con INT, trained_int INT, trained_wis INT, " +
+                    "trained_cha INT, autoloot BOOLEAN, autogold BOOLEAN, autosac BOOLEAN, autojunk BOOLEAN, " +
+                    "autoassist BOOLEAN, deaf_chat BOOLEAN, deaf_yell BOOLEAN)");
+            s.execute("INSERT INTO characters (id, hp_cur) VALUES (7, 40)");
+        }
+        AtomicInteger failuresLeft = new AtomicInteger(1);
+        CharacterStateCache cache = new CharacterStateCache(() -> {
+            if (failuresLeft.getAndDecrement() > 0) throw new SQLException("database unavailable");
+            return DriverManager.getConnection(url, "sa", "");
+        });
+
+        CharacterStateCache.State state = cache.attach(7, sample(), Map.of());
+        state.apply(null, (r, b) -> b.hpCur(77), true);
+        cache.detach(7);
+        assertSame(state, cache.get(7), "the unsaved state is kept after the failed write");
+        assertTrue(state.isDirty());
+        assertEquals(1, cache.stats().failures());
+
+        assertEquals(1, cache.flushAll());
+        assertNull(cache.get(7), "the logout completes once the state is written");
+        assertNull(cache.get("Aria"));
+        assertFalse(state.isDirty());
+        try (Connection c = DriverManager.getConnection(url, "sa", "");
+             Statement s = c.createStatement();
+             ResultSet rs = s.executeQuery("SELECT hp_cur FROM characters WHERE id = 7")) {
+            assertTrue(rs.next());
+            assertEquals(77, rs.getInt(1));
+        }
+    }
+}
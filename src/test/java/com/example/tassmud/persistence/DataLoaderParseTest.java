@@ -0,0 +1,66 @@
+package com.example.tassmud.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Per-area world document parsing")
+class DataLoaderParseTest {
+
+    private static final String BAD = "/loadertest/broken/areas.yaml";
+
+    /** One group per area, the way the loader groups MERC area directories. */
+    private static List<List<String>> groups() {
+        List<List<String>> groups = new ArrayList<>();
+        for (String dir : List.of("midgaard", "moria", "broken")) {
+            groups.add(List.of("/loadertest/" + dir + "/areas.yaml", "/loadertest/" + dir + "/rooms.yaml"));
+        }
+        return groups;
+    }
+
+    private static final Function<String, Object> NOT_PARSED = text -> {
+        throw new AssertionError("expected the document to be in the snapshot already");
+    };
+
+    @Test
+    @DisplayName("Parallel and sequential parsing produce the same documents")
+    void parallelMatchesSequential() throws Exception {
+        WorldSnapshot parallel = WorldSnapshot.empty("test");
+        WorldSnapshot sequential = WorldSnapshot.empty("test");
+        DataLoader.parseDocuments(parallel, groups(), 4);
+        DataLoader.parseDocuments(sequential, groups(), 1);
+
+        assertEquals(5, parallel.documentCount(), "every document but the malformed one");
+        assertEquals(sequential.documentCount(), parallel.documentCount());
+        for (List<String> group : groups()) {
+            for (String path : group) {
+                if (path.equals(BAD)) continue;
+                Object expected = WorldSnapshot.parseResource(path, new Yaml()::load);
+                assertNotNull(expected, path);
+                assertEquals(expected, parallel.document(path, NOT_PARSED), path);
+                assertEquals(expected, sequential.document(path, NOT_PARSED), path);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A malformed file is left for the import, which reports the parse error")
+    void badFileErrorReachesTheImport() {
+        for (int threads : new int[] {4, 1}) {
+            WorldSnapshot snapshot = WorldSnapshot.empty("test");
+            DataLoader.parseDocuments(snapshot, groups(), threads);
+            assertDoesNotThrow(() -> snapshot.document("/loadertest/broken/rooms.yaml", NOT_PARSED),
+                    "the rest of the bad file's area still parses");
+            Yaml yaml = new Yaml();
+            assertThrows(YAMLException.class, () -> snapshot.document(BAD, yaml::load),
+                    "the import parses the bad file again and sees its error");
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.tassmud.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Versioned schema migrations against a private in-memory H2 database, so they never touch the
+ * game DB.
+ */
+@DisplayName("Versioned schema migrations")
+class MigrationManagerTest {
+
+    private Connection c;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        // No DB_CLOSE_DELAY: the database is dropped when the connection closes
+        c = DriverManager.getConnection("jdbc:h2:mem:migrationtest", "sa", "");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        c.close();
+    }
+
+    private static MigrationManager.Migration createTable(int version, String table) {
+        // Not idempotent on purpose: running it twice fails
+        return new MigrationManager.Migration(version, "Create " + table, "CREATE TABLE " + table + " (id INT)");
+    }
+
+    private List<Integer> recordedVersions() throws SQLException {
+        List<Integer> out = new ArrayList<>();
+        try (Statement s = c.createStatement();
+             ResultSet rs = s.executeQuery("SELECT version FROM schema_version ORDER BY version")) {
+            while (rs.next()) out.add(rs.getInt(1));
+        }
+        return out;
+    }
+
+    private boolean tableExists(String table) throws SQLException {
+        try (ResultSet rs = c.getMetaData().getTables(null, null, table.toUpperCase(), null)) {
+            return rs.next();
+        }
+    }
+
+    @Test
+    @DisplayName("Pending migrations are applied in order and recorded")
+    void appliesAndRecords() throws SQLException {
+        List<MigrationManager.Migration> migrations = List.of(createTable(1, "m_one"), createTable(2, "m_two"));
+        assertEquals(2, MigrationManager.applyVersionedMigrations(c, migrations));
+        assertTrue(tableExists("m_one"));
+        assertTrue(tableExists("m_two"));
+        assertEquals(List.of(1, 2), recordedVersions());
+        try (Statement s = c.createStatement();
+             ResultSet rs = s.executeQuery("SELECT description, applied_at FROM schema_version WHERE version = 2")) {
+            assertTrue(rs.next());
+            assertEquals("Create m_two", rs.getString(1));
+            assertTrue(rs.getLong(2) > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Recorded migrations are skipped on the next run; new ones still apply")
+    void rerunSkipsApplied() throws SQLException {
+        MigrationManager.applyVersionedMigrations(c, List.of(createTable(1, "m_one")));
+        // Would fail with "table already exists" if version 1 ran again
+        assertEquals(2, MigrationManager.applyVersionedMigrations(c,
+                List.of(createTable(1, "m_one"), createTable(2, "m_two"))));
+        assertEquals(List.of(1, 2), recordedVersions());
+        assertEquals(2, MigrationManager.applyVersionedMigrations(c,
+                List.of(createTable(1, "m_one"), createTable(2, "m_two"))));
+        assertEquals(List.of(1, 2), recordedVersions());
+    }
+
+    @Test
+    @DisplayName("A failing migration is left unrecorded and stops later ones until it succeeds")
+    void failureStopsTheRun() throws SQLException {
+        List<MigrationManager.Migration> broken = List.of(
+                createTable(1, "m_one"),
+                new MigrationManager.Migration(2, "Index a missing table",
+                        "CREATE INDEX idx_missing ON no_such_table(id)"),
+                createTable(3, "m_three"));
+        assertEquals(1, MigrationManager.applyVersionedMigrations(c, broken));
+        assertEquals(List.of(1), recordedVersions());
+        assertFalse(tableExists("m_three"), "later versions may depend on the failed one");
+
+        List<MigrationManager.Migration> fixed = List.of(
+                createTable(1, "m_one"), createTable(2, "m_two"), createTable(3, "m_three"));
+        assertEquals(3, MigrationManager.applyVersionedMigrations(c, fixed));
+        assertEquals(List.of(1, 2, 3), recordedVersions());
+        assertTrue(tableExists("m_three"));
+    }
+}
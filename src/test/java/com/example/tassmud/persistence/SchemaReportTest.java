@@ -0,0 +1,33 @@
+package com.example.tassmud.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Schema report plan parsing")
+class SchemaReportTest {
+
+    @Test
+    @DisplayName("The index name is taken from the plan comment")
+    void indexLookup() {
+        String plan = "SELECT \"PUBLIC\".\"ITEM_INSTANCE\".\"INSTANCE_ID\"\nFROM \"PUBLIC\".\"ITEM_INSTANCE\"\n"
+                + "    /* PUBLIC.IDX_ITEM_INSTANCE_ROOM: LOCATION_ROOM_ID = 0 */\nWHERE \"LOCATION_ROOM_ID\" = 0";
+        assertEquals("PUBLIC.IDX_ITEM_INSTANCE_ROOM", SchemaReport.parsePlanIndex(plan));
+    }
+
+    @Test
+    @DisplayName("A table scan is reported as such")
+    void tableScan() {
+        String plan = "SELECT *\nFROM \"PUBLIC\".\"MOBILE_INSTANCE\"\n    /* PUBLIC.MOBILE_INSTANCE.tableScan */\n"
+                + "WHERE \"TEMPLATE_ID\" = 0";
+        assertEquals("PUBLIC.MOBILE_INSTANCE.tableScan", SchemaReport.parsePlanIndex(plan));
+    }
+
+    @Test
+    @DisplayName("Plans without a comment yield null")
+    void noComment() {
+        assertNull(SchemaReport.parsePlanIndex("SELECT 1"));
+        assertNull(SchemaReport.parsePlanIndex(null));
+    }
+}
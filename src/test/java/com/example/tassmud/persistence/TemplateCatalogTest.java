@@ -0,0 +1,77 @@
+package com.example.tassmud.persistence;
+
+import com.example.tassmud.model.Skill;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Template catalog")
+class TemplateCatalogTest {
+
+    private static Skill skill(int id, String name) {
+        return new Skill(id, name, "", null);
+    }
+
+    private static final Map<Integer, String> KEYS = Map.of(3, "dodge", 7, "parry", 12, "kick");
+
+    private static TemplateCatalog<Skill> sample() {
+        return TemplateCatalog.build(
+                List.of(skill(12, "Kick"), skill(3, "Dodge"), skill(7, "Parry")),
+                Skill::getId, s -> KEYS.get(s.getId()));
+    }
+
+    @Test
+    @DisplayName("Lookups by id and key hit the right template")
+    void lookups() {
+        TemplateCatalog<Skill> cat = sample();
+        assertEquals(3, cat.size());
+        assertEquals("Parry", cat.byId(7).getName());
+        assertEquals("Kick", cat.byKey("kick").getName());
+        assertTrue(cat.contains(3));
+    }
+
+    @Test
+    @DisplayName("Unknown and out-of-range ids and keys return null")
+    void misses() {
+        TemplateCatalog<Skill> cat = sample();
+        assertNull(cat.byId(5));
+        assertNull(cat.byId(-1));
+        assertNull(cat.byId(1000));
+        assertNull(cat.byKey("bash"));
+        assertNull(cat.byKey(null));
+        assertFalse(cat.contains(99));
+    }
+
+    @Test
+    @DisplayName("all() and idsInRange are ordered by id")
+    void ordering() {
+        TemplateCatalog<Skill> cat = sample();
+        assertEquals(List.of(3, 7, 12), cat.all().stream().map(Skill::getId).toList());
+        assertEquals(List.of(7, 12), cat.idsInRange(4, 50));
+        assertEquals(List.of(3, 7, 12), cat.idsInRange(Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertTrue(cat.idsInRange(13, 20).isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> cat.all().add(skill(1, "x")));
+    }
+
+    @Test
+    @DisplayName("Duplicate keys keep the lowest id; null keys are id-only")
+    void keyCollisions() {
+        TemplateCatalog<Skill> cat = TemplateCatalog.build(
+                List.of(skill(9, "Later"), skill(2, "Earlier"), skill(4, "Unkeyed")),
+                Skill::getId, s -> s.getId() == 4 ? null : "shared");
+        assertEquals("Earlier", cat.byKey("shared").getName());
+        assertEquals("Unkeyed", cat.byId(4).getName());
+    }
+
+    @Test
+    @DisplayName("Ids that cannot be indexed densely are rejected")
+    void rejectsHugeIds() {
+        assertThrows(IllegalArgumentException.class,
+                () -> TemplateCatalog.build(List.of(skill(WorldGraph.MAX_DENSE_ID, "huge")), Skill::getId, s -> null));
+        assertEquals(0, TemplateCatalog.build(List.<Skill>of(), Skill::getId, s -> null).size());
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.tassmud.persistence;
+
+import com.example.tassmud.model.Area;
+import com.example.tassmud.model.Direction;
+import com.example.tassmud.model.Door;
+import com.example.tassmud.model.Room;
+import com.example.tassmud.model.RoomFlag;
+import com.example.tassmud.model.SectorType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("World graph snapshot")
+class WorldGraphTest {
+
+    private static WorldGraph sampleWorld() {
+        Area town = new Area(1, "Town", "", SectorType.CITY);
+        // 10 <-> 11 north/south, 11 has a dangling exit east to 99
+        Room square = new Room(10, 1, "Square", "", "", 11, null, null, null, null, null);
+        Room gate = new Room(11, 1, "Gate", "", "", null, 99, 10, null, null, null, 5, SectorType.FOREST);
+        Door gateDoor = new Door(11, "east", 99, "CLOSED", false, false, false, null, "A gate");
+        return WorldGraph.build(List.of(town), List.of(square, gate),
+                Map.of(11, List.of(gateDoor)),
+                Map.of(10, EnumSet.of(RoomFlag.SAFE)),
+                Map.of(10, Map.of("sign", "Welcome")));
+    }
+
+    @Test
+    @DisplayName("Rooms, areas, flags and extras are served from the snapshot")
+    void lookups() {
+        WorldGraph w = sampleWorld();
+        assertEquals(2, w.roomCount());
+        assertEquals("Square", w.room(10).getName());
+        assertEquals("Town", w.area(1).getName());
+        assertNull(w.room(12));
+        assertNull(w.room(-1));
+        assertTrue(w.node(10).hasFlag(RoomFlag.SAFE));
+        assertFalse(w.node(11).hasFlag(RoomFlag.SAFE));
+        assertEquals("Welcome", w.node(10).extras.get("sign"));
+    }
+
+    @Test
+    @DisplayName("Exit targets are pre-resolved and dangling exits dropped")
+    void exitTargets() {
+        WorldGraph w = sampleWorld();
+        assertEquals(11, w.node(10).exitTarget(Direction.NORTH));
+        assertEquals(10, w.node(11).exitTarget(Direction.SOUTH));
+        assertEquals(-1, w.node(11).exitTarget(Direction.EAST), "Room 99 does not exist");
+        assertEquals(-1, w.node(10).exitTarget(Direction.UP));
+    }
+
+    @Test
+    @DisplayName("Editing a room's exits re-resolves them; door edits keep them")
+    void exitEditsReResolve() {
+        WorldGraph w = sampleWorld()
+                .withRoom(new Room(10, 1, "Square", "", "", null, 11, null, null, null, null))
+                .withDoor(new Door(11, "east", 99, "OPEN", false, false, false, null, "A gate"));
+        assertEquals(-1, w.node(10).exitTarget(Direction.NORTH));
+        assertEquals(11, w.node(10).exitTarget(Direction.EAST));
+        assertEquals(10, w.node(11).exitTarget(Direction.SOUTH));
+    }
+
+    @Test
+    @DisplayName("Sector and move cost fall back to the area")
+    void sectorAndMoveCost() {
+        WorldGraph w = sampleWorld();
+        assertEquals(SectorType.CITY, w.node(10).sectorType());
+        assertEquals(SectorType.CITY.getMoveCost(), w.node(10).moveCost());
+        assertEquals(SectorType.FOREST, w.node(11).sectorType());
+        assertEquals(5, w.node(11).moveCost());
+    }
+
+    @Test
+    @DisplayName("Copy-on-write updates leave the old snapshot untouched")
+    void copyOnWrite() {
+        WorldGraph before = sampleWorld();
+        WorldGraph after = before
+                .withDoor(new Door(11, "east", 99, "OPEN", false, false, false, null, "A gate"))
+                .withFlags(11, Set.of(RoomFlag.DARK));
+
+        assertTrue(before.door(11, "EAST").isClosed());
+        assertTrue(after.door(11, "east").isOpen());
+        assertFalse(before.node(11).hasFlag(RoomFlag.DARK));
+        assertTrue(after.node(11).hasFlag(RoomFlag.DARK));
+    }
+
+    @Test
+    @DisplayName("Adding a room keeps the existing rooms' doors and flags")
+    void addingRoomKeepsNeighbours() {
+        WorldGraph w = sampleWorld().withRoom(new Room(99, 1, "Field", "", "", null, null, null, 11, null, null));
+        assertEquals("Field", w.room(99).getName());
+        assertEquals(SectorType.CITY, w.node(99).sectorType());
+        assertTrue(w.door(11, "east").isClosed());
+        assertTrue(w.node(10).hasFlag(RoomFlag.SAFE));
+        assertEquals(3, w.roomCount());
+    }
+
+    @Test
+    @DisplayName("Adding a room resolves exits that previously dangled")
+    void addingRoomResolvesExits() {
+        WorldGraph w = sampleWorld().withRoom(new Room(99, 1, "Field", "", "", null, null, null, 11, null, null));
+        assertEquals(99, w.node(11).exitTarget(Direction.EAST));
+        assertEquals(11, w.node(99).exitTarget(Direction.WEST));
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.tassmud.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.Yaml;
+
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("World snapshot")
+class WorldSnapshotTest {
+
+    private Path dir;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dir = Files.createTempDirectory("world-snapshot");
+        file = dir.resolve("world.snapshot");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        try (var files = Files.list(dir)) {
+            for (Path p : files.toList()) Files.deleteIfExists(p);
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    private static Map<Object, Object> room() {
+        Map<String, Object> exits = new LinkedHashMap<>();
+        exits.put("north", 3002);
+        exits.put("up", "temple_3054");
+        Map<Object, Object> room = new LinkedHashMap<>();
+        room.put("id", 3001);
+        room.put("name", "The Temple Of Midgaard");
+        room.put("long_desc", "You are in the southern end of the temple hall.\nA statue of the god towers over you.");
+        room.put("exits", exits);
+        room.put("flags", new ArrayList<>(List.of("safe", "no_mob")));
+        room.put("weight", 2.5);
+        room.put("created", 1_700_000_000_000L);
+        room.put("big", new BigInteger("123456789012345678901234567890"));
+        room.put("dark", false);
+        room.put("key", null);
+        room.put(42, "non-string key");
+        return room;
+    }
+
+    private static Object document(String name) {
+        return Map.of("rooms", List.of(room(), room()), "name", name);
+    }
+
+    @Test
+    @DisplayName("Documents survive a write and read with types and key order intact")
+    void roundTrip() throws Exception {
+        WorldSnapshot snapshot = WorldSnapshot.empty("abc123");
+        snapshot.put("/data/MERC/midgaard/rooms.yaml", List.of(room()));
+        snapshot.put("/data/MERC/midgaard/items.yaml", null);
+        assertTrue(snapshot.isDirty());
+        snapshot.write(file);
+        assertFalse(snapshot.isDirty());
+
+        WorldSnapshot read = WorldSnapshot.read(file, "abc123");
+        assertNotNull(read);
+        assertEquals(2, read.documentCount());
+        assertFalse(read.isDirty());
+        assertEquals(List.of(room()), read.document("/data/MERC/midgaard/rooms.yaml", WorldSnapshotTest::notParsed));
+        assertNull(read.document("/data/MERC/midgaard/items.yaml", WorldSnapshotTest::notParsed));
+
+        @SuppressWarnings("unchecked")
+        Map<Object, Object> decoded = ((List<Map<Object, Object>>) read.document("/data/MERC/midgaard/rooms.yaml", null)).get(0);
+        assertEquals(new ArrayList<>(room().keySet()), new ArrayList<>(decoded.keySet()));
+        assertEquals(Integer.class, decoded.get("id").getClass());
+        assertEquals(Long.class, decoded.get("created").getClass());
+        assertEquals(Double.class, decoded.get("weight").getClass());
+    }
+
+    private static Object notParsed(String text) {
+        throw new AssertionError("document should come from the snapshot");
+    }
+
+    @Test
+    @DisplayName("A parsed YAML document reads back equal and dumps to the same YAML")
+    void yamlDocument() throws Exception {
+        String yaml = "rooms:\n"
+                + "  - id: 3001\n"
+                + "    key: temple_3001\n"
+                + "    long_desc: |\n"
+                + "      You are in the temple.\n"
+                + "    exits: {north: 3005, up: null}\n"
+                + "    spawns:\n"
+                + "      - {type: MOB, id: 3011, quantity: 1, equipment: [{vnum: 3022, wear: wield}]}\n"
+                + "    weight: 1.5\n"
+                + "    safe: yes\n";
+        Object parsed = new Yaml().load(yaml);
+        WorldSnapshot snapshot = WorldSnapshot.empty("h");
+        snapshot.put("/data/rooms.yaml", parsed);
+        snapshot.write(file);
+
+        Object read = WorldSnapshot.read(file, "h").document("/data/rooms.yaml", WorldSnapshotTest::notParsed);
+        assertEquals(parsed, read);
+        assertEquals(new Yaml().dump(parsed), new Yaml().dump(read));
+    }
+
+    @Test
+    @DisplayName("Repeated strings are stored once")
+    void stringsAreShared() throws Exception {
+        WorldSnapshot one = WorldSnapshot.empty("h");
+        one.put("/a.yaml", document("a"));
+        one.write(file);
+        long single = Files.size(file);
+
+        WorldSnapshot many = WorldSnapshot.empty("h");
+        for (int i = 0; i < 10; i++) many.put("/a" + i + ".yaml", document("a"));
+        many.write(file);
+        assertTrue(Files.size(file) < single * 7, "10 documents took " + Files.size(file) + " bytes vs " + single);
+        assertEquals(10, WorldSnapshot.read(file, "h").documentCount());
+    }
+
+    @Test
+    @DisplayName("A snapshot for other resources, or a damaged one, is not used")
+    void staleOrDamaged() throws Exception {
+        WorldSnapshot snapshot = WorldSnapshot.empty("old-hash");
+        snapshot.put("/a.yaml", document("a"));
+        snapshot.write(file);
+        assertNull(WorldSnapshot.read(file, "new-hash"));
+        assertNull(WorldSnapshot.read(dir.resolve("missing.snapshot"), "old-hash"));
+
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length / 2));
+        assertNull(WorldSnapshot.read(file, "old-hash"));
+
+        bytes[7] = 99; // format version
+        Files.write(file, bytes);
+        assertNull(WorldSnapshot.read(file, "old-hash"));
+    }
+
+    @Test
+    @DisplayName("A stale snapshot can be rebuilt in place right after it was read")
+    void rebuildAfterStaleRead() throws Exception {
+        WorldSnapshot old = WorldSnapshot.empty("old-hash");
+        old.put("/a.yaml", document("a"));
+        old.write(file);
+        assertNull(WorldSnapshot.read(file, "new-hash"));
+
+        WorldSnapshot rebuilt = WorldSnapshot.empty("new-hash");
+        rebuilt.put("/a.yaml", document("b"));
+        rebuilt.write(file);
+        assertEquals(document("b"), WorldSnapshot.read(file, "new-hash").document("/a.yaml", WorldSnapshotTest::notParsed));
+        assertFalse(Files.exists(dir.resolve("world.snapshot.tmp")));
+    }
+
+    @Test
+    @DisplayName("Values the format cannot hold fail the write and leave no file behind")
+    void unsupportedValue() {
+        WorldSnapshot snapshot = WorldSnapshot.empty("h");
+        snapshot.put("/a.yaml", Map.of("when", new java.util.Date()));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.write(file));
+        assertFalse(Files.exists(file));
+        assertFalse(Files.exists(dir.resolve("world.snapshot.tmp")));
+    }
+
+    @Test
+    @DisplayName("The content hash is stable and ignores missing resources")
+    void contentHash() throws Exception {
+        String a = WorldSnapshot.contentHash(List.of("/no/such/resource.yaml"));
+        assertEquals(a, WorldSnapshot.contentHash(List.of()));
+        assertEquals(64, a.length());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.tassmud.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Dormant-area tracking")
+class AreaActivityTest {
+
+    private static final long GRACE = 60_000;
+
+    @Test
+    @DisplayName("Areas are dormant until a player enters, and for the grace period after they leave stay active")
+    void presenceDrivesActivity() {
+        AreaActivity a = new AreaActivity(GRACE);
+        long t = System.currentTimeMillis() + 10 * GRACE;
+        assertFalse(a.isActive(7, t), "never-visited area is dormant");
+        assertTrue(a.isActive(AreaShards.NO_AREA, t), "unknown area always runs");
+
+        a.playerEntered(7, t);
+        assertTrue(a.isActive(7, t + 5 * GRACE));
+        a.playerLeft(7, t + 100);
+        assertTrue(a.isActive(7, t + 100 + GRACE - 1));
+        assertFalse(a.isActive(7, t + 100 + GRACE));
+        assertEquals(0, a.stats().occupiedAreas());
+    }
+
+    @Test
+    @DisplayName("Entering a dormant area fires wake listeners with the dormant time; a quick return doesn't")
+    void wakeListeners() {
+        AreaActivity a = new AreaActivity(GRACE);
+        List<String> woke = new ArrayList<>();
+        a.onWake((area, ms) -> woke.add(area + ":" + ms));
+        long t = System.currentTimeMillis() + 10 * GRACE;
+
+        a.playerEntered(3, t);
+        assertEquals(1, woke.size(), "first visit wakes the area");
+        woke.clear();
+
+        a.playerLeft(3, t + 1_000);
+        a.playerEntered(3, t + 2_000);        // back within the grace period
+        assertTrue(woke.isEmpty());
+
+        a.playerLeft(3, t + 3_000);
+        a.playerEntered(3, t + 3_000 + 5 * GRACE);
+        assertEquals(List.of("3:" + 5 * GRACE), woke);
+        assertEquals(2, a.stats().wakes());
+    }
+
+    @Test
+    @DisplayName("The first visit wakes an area even within the grace period after startup")
+    void firstVisitSoonAfterStartup() {
+        long started = System.currentTimeMillis();
+        AreaActivity a = new AreaActivity(GRACE, started);
+        List<String> woke = new ArrayList<>();
+        a.onWake((area, ms) -> woke.add(area + ":" + ms));
+        assertFalse(a.isActive(5, started + 1_000), "unvisited areas are frozen from startup");
+
+        a.playerEntered(5, started + 1_000);
+        assertEquals(List.of("5:1000"), woke, "catch-up covers the time since startup");
+        assertTrue(a.isActive(5, started + 1_000));
+    }
+
+    @Test
+    @DisplayName("A second player in the same area doesn't change presence until both have left")
+    void countsPlayers() {
+        AreaActivity a = new AreaActivity(GRACE);
+        long t = System.currentTimeMillis() + 10 * GRACE;
+        a.playerEntered(4, t);
+        a.playerEntered(4, t);
+        a.playerLeft(4, t);
+        assertTrue(a.isActive(4, t + 2 * GRACE));
+        assertEquals(1, a.stats().occupiedAreas());
+        a.playerLeft(4, t);
+        assertFalse(a.isActive(4, t + 2 * GRACE));
+    }
+
+    @Test
+    @DisplayName("A negative grace period disables dormancy")
+    void disabled() {
+        AreaActivity a = new AreaActivity(-1);
+        List<Integer> woke = new ArrayList<>();
+        a.onWake((area, ms) -> woke.add(area));
+        assertTrue(a.isActive(9, System.currentTimeMillis()));
+        a.playerEntered(9, System.currentTimeMillis());
+        assertTrue(woke.isEmpty());
+    }
+}
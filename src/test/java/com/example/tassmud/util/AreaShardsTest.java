@@ -0,0 +1,111 @@
+package com.example.tassmud.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Area-sharded world work")
+class AreaShardsTest {
+
+    private final AreaShards shards = new AreaShards();
+
+    @AfterEach
+    void tearDown() {
+        shards.shutdown();
+    }
+
+    private static Map<Integer, List<String>> work() {
+        Map<Integer, List<String>> byArea = new LinkedHashMap<>();
+        for (int area = 1; area <= 6; area++) {
+            List<String> items = new ArrayList<>();
+            for (int i = 0; i < 5; i++) items.add(area + ":" + i);
+            byArea.put(area, items);
+        }
+        byArea.put(AreaShards.NO_AREA, List.of("none:0"));
+        return byArea;
+    }
+
+    @Test
+    @DisplayName("Disabled: everything runs inline, in order, and handoffs run immediately")
+    void disabledRunsInline() {
+        Thread caller = Thread.currentThread();
+        List<String> seen = new ArrayList<>();
+        shards.forEachArea("test", work(), item -> {
+            assertSame(caller, Thread.currentThread());
+            assertTrue(shards.owns(42));
+            seen.add(item);
+            shards.handoff(() -> seen.add("handoff " + item));
+        });
+        assertEquals(62, seen.size());
+        assertEquals(List.of("1:0", "handoff 1:0"), seen.subList(0, 2));
+    }
+
+    @Test
+    @DisplayName("Sharded: each area runs in order on one worker; handoffs run on the caller after the phase")
+    void shardedPartitionsByArea() {
+        shards.initialize(3);
+        Thread caller = Thread.currentThread();
+        Map<Integer, Thread> threadOf = new ConcurrentHashMap<>();
+        Map<Integer, List<String>> order = new ConcurrentHashMap<>();
+        List<String> handedOff = new CopyOnWriteArrayList<>();
+        List<Integer> doneAtHandoff = new CopyOnWriteArrayList<>();
+
+        shards.forEachArea("test", work(), item -> {
+            int area = shards.currentArea();
+            if (area == AreaShards.NO_AREA) {
+                assertSame(caller, Thread.currentThread(), "unplaced work runs on the caller");
+                return;
+            }
+            assertNotSame(caller, Thread.currentThread());
+            assertTrue(shards.owns(area));
+            assertFalse(shards.owns(area + 100));
+            Thread prev = threadOf.putIfAbsent(area, Thread.currentThread());
+            if (prev != null) assertSame(prev, Thread.currentThread(), "an area stays on one worker");
+            order.computeIfAbsent(area, k -> Collections.synchronizedList(new ArrayList<>())).add(item);
+            shards.handoff(() -> {
+                assertSame(caller, Thread.currentThread());
+                handedOff.add(item);
+                doneAtHandoff.add(order.values().stream().mapToInt(List::size).sum());
+            });
+        });
+
+        assertEquals(6, order.size());
+        for (int area = 1; area <= 6; area++) {
+            assertEquals(List.of(area + ":0", area + ":1", area + ":2", area + ":3", area + ":4"), order.get(area));
+        }
+        assertEquals(30, handedOff.size());
+        assertTrue(doneAtHandoff.stream().allMatch(n -> n == 30), "handoffs wait for the whole phase");
+        // Areas one shard apart land on the same worker
+        assertSame(threadOf.get(1), threadOf.get(4));
+
+        AreaShards.Stats s = shards.stats();
+        assertEquals(3, s.shards());
+        assertEquals(1, s.phases());
+        assertEquals(6, s.areaRuns());
+        assertEquals(30, s.handoffs());
+    }
+
+    @Test
+    @DisplayName("An exception in one item is counted and the rest of the area still runs")
+    void failuresAreIsolated() {
+        shards.initialize(2);
+        List<String> seen = new CopyOnWriteArrayList<>();
+        shards.forEachArea("test", work(), item -> {
+            if (item.equals("2:1")) throw new IllegalStateException("boom");
+            seen.add(item);
+        });
+        assertEquals(30, seen.size());
+        assertTrue(seen.contains("2:4"));
+        assertEquals(1, shards.stats().failures());
+    }
+}
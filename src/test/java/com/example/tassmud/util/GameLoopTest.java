@@ -0,0 +1,85 @@
+package com.example.tassmud.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Single-writer game loop")
+class GameLoopTest {
+
+    private final TickService ticks = new TickService();
+
+    @AfterEach
+    void stop() {
+        ticks.shutdown();
+    }
+
+    @Test
+    @DisplayName("Disabled loop runs work inline on the caller")
+    void disabledRunsInline() {
+        GameLoop loop = new GameLoop();
+        Thread caller = Thread.currentThread();
+        Thread[] ran = new Thread[1];
+        CompletableFuture<Void> f = loop.submit(() -> ran[0] = Thread.currentThread());
+        assertTrue(f.isDone());
+        assertSame(caller, ran[0]);
+        assertFalse(loop.stats().enabled());
+    }
+
+    @Test
+    @DisplayName("Enabled loop runs work on the tick thread in submission order")
+    void runsOnTickThreadInOrder() throws Exception {
+        GameLoop loop = new GameLoop();
+        loop.initialize(ticks);
+        assertFalse(loop.isWorldThread());
+
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        List<String> threads = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> last = null;
+        for (int i = 0; i < 500; i++) {
+            int n = i;
+            last = loop.submit(() -> {
+                order.add(n);
+                threads.add(Thread.currentThread().getName());
+            });
+        }
+        last.get(5, TimeUnit.SECONDS);
+        assertEquals(500, order.size());
+        for (int i = 0; i < 500; i++) assertEquals(i, order.get(i).intValue());
+        assertTrue(threads.stream().allMatch("tassmud-tick"::equals));
+        assertEquals(500, loop.stats().executed());
+    }
+
+    @Test
+    @DisplayName("A failing work item doesn't stop later ones")
+    void failureIsContained() throws Exception {
+        GameLoop loop = new GameLoop();
+        loop.initialize(ticks);
+        CompletableFuture<Void> bad = loop.submit(() -> { throw new IllegalStateException("boom"); });
+        boolean[] ran = new boolean[1];
+        loop.runAndWait(() -> ran[0] = true);
+        assertTrue(ran[0]);
+        assertTrue(bad.isCompletedExceptionally());
+        assertEquals(1, loop.stats().failed());
+    }
+
+    @Test
+    @DisplayName("Work submitted from the tick thread runs immediately")
+    void reentrantSubmitRunsInline() throws Exception {
+        GameLoop loop = new GameLoop();
+        loop.initialize(ticks);
+        boolean[] inner = new boolean[1];
+        loop.submit(() -> {
+            assertTrue(loop.isWorldThread());
+            loop.runAndWait(() -> inner[0] = true); // must not deadlock
+        }).get(5, TimeUnit.SECONDS);
+        assertTrue(inner[0]);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.tassmud.util;
+
+import com.example.tassmud.model.Mobile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Mobile registry origin UUID index")
+class MobileRegistryTest {
+
+    private final MobileRegistry registry = MobileRegistry.getInstance();
+
+    private static Mobile mob(long instanceId, String originUuid) {
+        return Mobile.dbBuilder()
+                .instanceId(instanceId).templateId(1).level(1).name("goblin " + instanceId)
+                .hpMax(10).hpCur(10).currentRoom(3001).spawnRoomId(3001)
+                .keywords(List.of("goblin")).behaviors(List.of())
+                .originUuid(originUuid)
+                .build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        registry.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.clear();
+    }
+
+    @Test
+    @DisplayName("A registered mob is found by its origin UUID until it is unregistered")
+    void lookupAndUnregister() {
+        Mobile m = mob(1L, "uuid-a");
+        registry.register(m);
+        assertSame(m, registry.getByOriginUuid("uuid-a"));
+        assertNull(registry.getByOriginUuid("uuid-b"));
+
+        registry.unregister(1L);
+        assertNull(registry.getByOriginUuid("uuid-a"));
+    }
+
+    @Test
+    @DisplayName("Dead mobs and mobs without a UUID are not returned")
+    void deadAndUnmapped() {
+        Mobile m = mob(2L, "uuid-c");
+        registry.register(m);
+        registry.register(mob(3L, null));
+        m.die();
+        assertNull(registry.getByOriginUuid("uuid-c"));
+        assertNull(registry.getByOriginUuid(null));
+    }
+
+    @Test
+    @DisplayName("Unregistering an old instance keeps its respawned replacement")
+    void respawnReplacesOldInstance() {
+        Mobile old = mob(4L, "uuid-d");
+        registry.register(old);
+        Mobile fresh = mob(5L, "uuid-d");
+        registry.register(fresh);
+
+        registry.unregister(4L);
+        assertSame(fresh, registry.getByOriginUuid("uuid-d"));
+    }
+
+    @Test
+    @DisplayName("clear() empties the index")
+    void clearEmptiesIndex() {
+        registry.register(mob(6L, "uuid-e"));
+        registry.clear();
+        assertNull(registry.getByOriginUuid("uuid-e"));
+    }
+}
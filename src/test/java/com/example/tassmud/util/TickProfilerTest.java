@@ -0,0 +1,82 @@
+package com.example.tassmud.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tick task profiler")
+class TickProfilerTest {
+
+    private static long ms(long ms) {
+        return TimeUnit.MILLISECONDS.toNanos(ms);
+    }
+
+    @Test
+    @DisplayName("Percentiles come from the latency histogram and never exceed the max")
+    void percentiles() {
+        TickProfiler p = new TickProfiler();
+        TickProfiler.TaskProfile t = p.register("combat-test", TickService.Lane.WORLD, 500, 0);
+        for (int i = 0; i < 98; i++) t.finished(ms(1), false);
+        t.finished(ms(40), false);
+        t.finished(ms(700), true);
+
+        TickProfiler.TaskStats s = t.stats();
+        assertEquals(100, s.runs());
+        assertEquals(1, s.exceptions());
+        assertEquals(1, s.overruns());
+        assertEquals(700, s.maxRunMs());
+        assertTrue(s.p50Ms() >= 1 && s.p50Ms() <= 2.1, "p50 within a factor of two of 1ms: " + s.p50Ms());
+        assertTrue(s.p99Ms() >= 40 && s.p99Ms() <= 82, "p99 within a factor of two of 40ms: " + s.p99Ms());
+    }
+
+    @Test
+    @DisplayName("Runs behind their fixed-rate slot count as late, whole periods as skipped")
+    void lateAndSkipped() {
+        TickProfiler p = new TickProfiler();
+        TickProfiler.TaskProfile t = p.register("roam-test", TickService.Lane.WORLD, 1000, ms(5000));
+        t.started(ms(5000));          // on time
+        t.started(ms(6005));          // 5ms behind: within tolerance
+        t.started(ms(7300));          // 300ms behind: late
+        t.started(ms(10_600));        // slot 8000, 2.6 periods behind: late, 2 skipped
+        TickProfiler.TaskStats s = t.stats();
+        assertEquals(2, s.lateRuns());
+        assertEquals(2, s.skippedRuns());
+    }
+
+    @Test
+    @DisplayName("Back-to-back catch-up runs don't count the same skipped slots again")
+    void consecutiveLateRuns() {
+        TickProfiler p = new TickProfiler();
+        TickProfiler.TaskProfile t = p.register("regen-test", TickService.Lane.WORLD, 1000, ms(0));
+        t.started(ms(0));             // on time
+        t.started(ms(3500));          // due 1000: late; slots 1 and 2 had no run
+        t.started(ms(3510));          // due 2000: late, catching up in the same slot
+        t.started(ms(3520));          // due 3000: late, catching up in the same slot
+        t.started(ms(4000));          // due 4000: back on schedule
+        t.started(ms(7200));          // due 5000: late; slots 5 and 6 had no run
+        t.started(ms(7210));          // due 6000: late, catching up
+        TickProfiler.TaskStats s = t.stats();
+        assertEquals(5, s.lateRuns());
+        assertEquals(4, s.skippedRuns());
+    }
+
+    @Test
+    @DisplayName("Snapshot lists the slowest tasks first and reset zeroes counters")
+    void snapshotAndReset() {
+        TickProfiler p = new TickProfiler();
+        p.register("fast", TickService.Lane.WORLD, 1000, 0).finished(ms(1), false);
+        TickProfiler.TaskProfile slow = p.register("slow", TickService.Lane.BACKGROUND, 10_000, 0);
+        slow.finished(ms(300), false);
+
+        assertEquals("slow", p.snapshot().get(0).name());
+        p.reset();
+        assertEquals(0, slow.stats().runs());
+        assertEquals(0.0, slow.stats().p99Ms());
+
+        p.unregister("slow", slow);
+        assertEquals(1, p.snapshot().size());
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.tassmud.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TickService lanes")
+class TickServiceTest {
+
+    private TickService ts;
+
+    @BeforeEach
+    void setUp() {
+        ts = new TickService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ts.shutdown();
+    }
+
+    private TickProfiler.TaskStats stats(String name) {
+        return ts.stats().stream().filter(s -> s.name().equals(name)).findFirst().orElseThrow();
+    }
+
+    @Test
+    @DisplayName("A slow background task does not hold up the world lane")
+    void lanesAreIndependent() throws Exception {
+        CountDownLatch bgStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ts.scheduleAtFixedRate("slow-maintenance", TickService.Lane.BACKGROUND, () -> {
+            bgStarted.countDown();
+            try { release.await(5, TimeUnit.SECONDS); } catch (InterruptedException ignored) {}
+        }, 0, 10_000);
+        assertTrue(bgStarted.await(2, TimeUnit.SECONDS));
+
+        CountDownLatch worldRan = new CountDownLatch(3);
+        AtomicBoolean onTickThread = new AtomicBoolean(true);
+        ts.scheduleAtFixedRate("fast-world", () -> {
+            if (!ts.isTickThread()) onTickThread.set(false);
+            worldRan.countDown();
+        }, 0, 10);
+        assertTrue(worldRan.await(2, TimeUnit.SECONDS), "World lane kept ticking while background was busy");
+        assertTrue(onTickThread.get());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Runs longer than the period are counted as overruns")
+    void overrunsAreCounted() throws Exception {
+        CountDownLatch thrice = new CountDownLatch(3);
+        ts.scheduleAtFixedRate("overrunning", TickService.Lane.BACKGROUND, () -> {
+            try { Thread.sleep(30); } catch (InterruptedException ignored) {}
+            thrice.countDown();
+        }, 0, 5);
+        assertTrue(thrice.await(2, TimeUnit.SECONDS));
+        // The third run is still in progress; the first two have been recorded
+        TickProfiler.TaskStats s = stats("overrunning");
+        assertTrue(s.runs() >= 2);
+        assertTrue(s.overruns() >= 2);
+        assertTrue(s.maxRunMs() >= 25);
+        assertEquals(TickService.Lane.BACKGROUND, s.lane());
+    }
+
+    @Test
+    @DisplayName("Ordering constraints require the predecessor to be registered first")
+    void unknownPredecessorIsRejected() {
+        assertThrows(IllegalStateException.class, () ->
+                ts.scheduleAtFixedRate("late", TickService.Lane.WORLD, () -> {}, 0, 100, "never-registered"));
+    }
+
+    @Test
+    @DisplayName("A task never starts while its predecessor on another lane is running")
+    void crossLaneOrdering() throws Exception {
+        CountDownLatch predStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean predRunning = new AtomicBoolean();
+        ts.scheduleAtFixedRate("combat", TickService.Lane.WORLD, () -> {
+            predRunning.set(true);
+            predStarted.countDown();
+            try { release.await(5, TimeUnit.SECONDS); } catch (InterruptedException ignored) {}
+            predRunning.set(false);
+        }, 0, 10_000);
+        assertTrue(predStarted.await(2, TimeUnit.SECONDS));
+
+        AtomicReference<Boolean> overlapped = new AtomicReference<>();
+        CountDownLatch ran = new CountDownLatch(1);
+        ts.scheduleAtFixedRate("regen", TickService.Lane.BACKGROUND, () -> {
+            overlapped.compareAndSet(null, predRunning.get());
+            ran.countDown();
+        }, 0, 2_000, "combat");
+
+        assertFalse(ran.await(100, TimeUnit.MILLISECONDS), "Waits while the predecessor runs");
+        release.countDown();
+        assertTrue(ran.await(2, TimeUnit.SECONDS));
+        assertFalse(overlapped.get());
+        assertEquals(1, stats("regen").waits());
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.tassmud.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Shared world scheduler")
+class WorldSchedulerTest {
+
+    private TickService tickService;
+    private WorldScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        tickService = new TickService();
+        scheduler = new WorldScheduler();
+        scheduler.initialize(tickService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tickService.shutdown();
+    }
+
+    @Test
+    @DisplayName("One-shot tasks run once on the tick thread and are then forgotten")
+    void oneShotOnTickThread() throws Exception {
+        WorldScheduler.Owner owner = WorldScheduler.Owner.character(7);
+        CountDownLatch ran = new CountDownLatch(1);
+        AtomicBoolean onTickThread = new AtomicBoolean();
+        WorldScheduler.Handle h = scheduler.schedule(owner, 10, () -> {
+            onTickThread.set(tickService.isTickThread());
+            ran.countDown();
+        });
+        assertTrue(ran.await(2, TimeUnit.SECONDS));
+        assertTrue(onTickThread.get());
+        assertTrue(h.isDone());
+        assertEquals(0, scheduler.activeCount(owner));
+        assertFalse(h.cancel(), "Already ran");
+    }
+
+    @Test
+    @DisplayName("Repeating tasks keep running after a failure until cancelled")
+    void repeatingSurvivesFailure() throws Exception {
+        WorldScheduler.Owner owner = WorldScheduler.Owner.mobile(42);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch three = new CountDownLatch(3);
+        WorldScheduler.Handle h = scheduler.scheduleRepeating(owner, 0, 10, () -> {
+            calls.incrementAndGet();
+            three.countDown();
+            if (calls.get() == 1) throw new IllegalStateException("boom");
+        });
+        assertTrue(three.await(2, TimeUnit.SECONDS));
+        assertTrue(scheduler.failureCount() >= 1);
+        assertTrue(h.cancel());
+        int after = calls.get();
+        Thread.sleep(60);
+        assertTrue(calls.get() <= after + 1, "At most a run already in progress finishes");
+        assertEquals(0, scheduler.activeCount(owner));
+    }
+
+    @Test
+    @DisplayName("Cancelling an owner stops all of its tasks but no one else's")
+    void cancelAllByOwner() throws Exception {
+        WorldScheduler.Owner ranger = WorldScheduler.Owner.character(1);
+        WorldScheduler.Owner other = WorldScheduler.Owner.character(2);
+        AtomicInteger rangerRuns = new AtomicInteger();
+        CountDownLatch otherRan = new CountDownLatch(1);
+        scheduler.schedule(ranger, 200, rangerRuns::incrementAndGet);
+        scheduler.scheduleRepeating(ranger, 200, 50, rangerRuns::incrementAndGet);
+        scheduler.schedule(other, 250, otherRan::countDown);
+
+        assertEquals(2, scheduler.activeCount(ranger));
+        assertEquals(2, scheduler.cancelAll(ranger));
+        assertEquals(0, scheduler.cancelAll(ranger));
+
+        assertTrue(otherRan.await(2, TimeUnit.SECONDS));
+        assertEquals(0, rangerRuns.get());
+    }
+
+    @Test
+    @DisplayName("A task scheduled after its owner left is dropped until the owner returns")
+    void departedOwner() throws Exception {
+        WorldScheduler.Owner ranger = WorldScheduler.Owner.character(5);
+        scheduler.cancelAll(ranger);
+
+        WorldScheduler.Handle late = scheduler.scheduleRepeating(ranger, 0, 10, () -> fail("owner has left"));
+        assertTrue(late.isDone());
+        assertEquals(0, scheduler.activeCount(ranger));
+
+        scheduler.arrived(ranger);
+        CountDownLatch ran = new CountDownLatch(1);
+        WorldScheduler.Handle h = scheduler.schedule(ranger, 0, ran::countDown);
+        assertTrue(ran.await(2, TimeUnit.SECONDS));
+        assertTrue(h.isDone());
+    }
+
+    @Test
+    @DisplayName("Tasks scheduled before initialization are dropped with a done handle")
+    void uninitialized() {
+        WorldScheduler cold = new WorldScheduler();
+        WorldScheduler.Handle h = cold.schedule(WorldScheduler.Owner.character(3), 0, () -> fail("must not run"));
+        assertTrue(h.isDone());
+        assertEquals(0, cold.activeCount(WorldScheduler.Owner.character(3)));
+    }
+}